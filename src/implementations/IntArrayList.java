@@ -0,0 +1,313 @@
+package implementations;
+
+import utilities.GrowthPolicies;
+import utilities.IntIterator;
+import java.io.Serializable;
+import java.util.NoSuchElementException;
+import java.util.function.IntConsumer;
+
+/**
+ * A list of primitive <code>int</code> values backed by an <code>int[]</code>.
+ * It offers the same operations as {@link MyArrayList} without boxing each
+ * element, so every element costs four bytes instead of an object header and a
+ * reference. Because elements are primitives, there are no null checks; values are
+ * removed by position with {@link #remove(int)} or by value with
+ * {@link #removeValue(int)}.
+ */
+public class IntArrayList implements Serializable {
+    private static final long serialVersionUID = 7340152263842518401L;
+
+    /**
+     * The array that stores elements in the list.
+     */
+    private int[] elements;
+
+    /**
+     * The current number of elements in the list.
+     */
+    private int size;
+
+    /**
+     * The default initial capacity of the array.
+     */
+    private static final int DEFAULT_CAPACITY = 10;
+
+    /**
+     * Creates an empty list with an initial capacity of 10.
+     */
+    public IntArrayList() {
+        this(DEFAULT_CAPACITY);
+    }
+
+    /**
+     * Creates an empty list with the given initial capacity that doubles when full.
+     *
+     * @param initialCapacity The number of values the list can hold before growing.
+     * @throws IllegalArgumentException If the capacity is negative.
+     */
+    public IntArrayList(int initialCapacity) {
+        if (initialCapacity < 0) throw new IllegalArgumentException("Capacity cannot be negative.");
+        elements = new int[initialCapacity];
+        size = 0;
+    }
+
+    /**
+     * Adds a value to a specific position in the list.
+     * Moves other values to make room.
+     *
+     * @param index   The position to add the value.
+     * @param element The value to add.
+     * @return True if the value was added successfully.
+     * @throws IndexOutOfBoundsException If the index is out of bounds.
+     */
+    public boolean add(int index, int element) {
+        if (index < 0 || index > size) throw new IndexOutOfBoundsException("Invalid position.");
+        if (size == elements.length) grow(size + 1);
+        System.arraycopy(elements, index, elements, index + 1, size - index);
+        elements[index] = element;
+        size++;
+        return true;
+    }
+
+    /**
+     * Adds a value to the end of the list.
+     *
+     * @param element The value to add.
+     * @return True if the value was added successfully.
+     */
+    public boolean add(int element) {
+        if (size == elements.length) grow(size + 1);
+        elements[size] = element;
+        size++;
+        return true;
+    }
+
+    /**
+     * Adds all values from another list to the end of this list.
+     *
+     * @param toAdd The list of values to add.
+     * @return True if the values were added successfully.
+     * @throws NullPointerException If the provided list is null.
+     */
+    public boolean addAll(IntArrayList toAdd) {
+        if (toAdd == null) throw new NullPointerException("Cannot add from a null list.");
+        int count = toAdd.size;
+        if (count > Integer.MAX_VALUE - size) throw new OutOfMemoryError("Required array size too large.");
+        if (size + count > elements.length) grow(size + count);
+        System.arraycopy(toAdd.elements, 0, elements, size, count);
+        size += count;
+        return true;
+    }
+
+    /**
+     * Removes the value at a specific position.
+     * Shifts other values to fill the gap.
+     *
+     * @param index The position of the value to remove.
+     * @return The removed value.
+     * @throws IndexOutOfBoundsException If the index is invalid.
+     */
+    public int remove(int index) {
+        if (index < 0 || index >= size) throw new IndexOutOfBoundsException("Invalid position.");
+        int removed = elements[index];
+        System.arraycopy(elements, index + 1, elements, index, size - index - 1);
+        size--;
+        return removed;
+    }
+
+    /**
+     * Removes the first occurrence of a specific value.
+     *
+     * @param element The value to remove.
+     * @return True if the value was found and removed.
+     */
+    public boolean removeValue(int element) {
+        int index = indexOf(element);
+        if (index == -1) return false;
+        remove(index);
+        return true;
+    }
+
+    /**
+     * Gets the value at a specific position.
+     *
+     * @param index The position of the value.
+     * @return The value at the specified position.
+     * @throws IndexOutOfBoundsException If the index is invalid.
+     */
+    public int get(int index) {
+        if (index < 0 || index >= size) throw new IndexOutOfBoundsException("Invalid position.");
+        return elements[index];
+    }
+
+    /**
+     * Updates the value at a specific position.
+     *
+     * @param index   The position to update.
+     * @param element The new value.
+     * @return The old value that was replaced.
+     * @throws IndexOutOfBoundsException If the index is invalid.
+     */
+    public int set(int index, int element) {
+        if (index < 0 || index >= size) throw new IndexOutOfBoundsException("Invalid position.");
+        int old = elements[index];
+        elements[index] = element;
+        return old;
+    }
+
+    /**
+     * Finds the position of the first occurrence of a value.
+     *
+     * @param element The value to find.
+     * @return The position of the value, or -1 if it is not in the list.
+     */
+    public int indexOf(int element) {
+        for (int i = 0; i < size; i++) {
+            if (elements[i] == element) return i;
+        }
+        return -1;
+    }
+
+    /**
+     * Checks if the list contains a specific value.
+     *
+     * @param element The value to check for.
+     * @return True if the value is in the list, false otherwise.
+     */
+    public boolean contains(int element) {
+        return indexOf(element) != -1;
+    }
+
+    /**
+     * Clears all values from the list.
+     */
+    public void clear() {
+        size = 0;
+    }
+
+    /**
+     * Gets the number of values in the list.
+     *
+     * @return The number of values in the list.
+     */
+    public int size() {
+        return size;
+    }
+
+    /**
+     * Checks if the list is empty.
+     *
+     * @return True if the list is empty, false otherwise.
+     */
+    public boolean isEmpty() {
+        return size == 0;
+    }
+
+    /**
+     * Copies the list into an array.
+     *
+     * @param holder The array to store the values, used if it is large enough.
+     * @return The array containing the list values.
+     * @throws NullPointerException If the provided array is null.
+     */
+    public int[] toArray(int[] holder) {
+        if (holder == null) throw new NullPointerException("Provided array cannot be null.");
+        if (holder.length < size) holder = new int[size];
+        System.arraycopy(elements, 0, holder, 0, size);
+        return holder;
+    }
+
+    /**
+     * Copies the list into a new array.
+     *
+     * @return An array containing the list values.
+     */
+    public int[] toArray() {
+        int[] array = new int[size];
+        System.arraycopy(elements, 0, array, 0, size);
+        return array;
+    }
+
+    /**
+     * Performs an action on each value in order, looping over the backing array so
+     * that values are neither boxed nor copied.
+     *
+     * @param action The action to perform.
+     * @throws NullPointerException If the action is null.
+     */
+    public void forEach(IntConsumer action) {
+        if (action == null) throw new NullPointerException("Action cannot be null.");
+        int[] array = elements;
+        int end = size;
+        for (int i = 0; i < end; i++) {
+            action.accept(array[i]);
+        }
+    }
+
+    /**
+     * Returns an iterator for the list that does not box values.
+     *
+     * @return An iterator to traverse the list.
+     */
+    public IntIterator iterator() {
+        return new IntIterator() {
+            private int currentIndex = 0;
+
+            @Override
+            public boolean hasNext() {
+                return currentIndex < size;
+            }
+
+            @Override
+            public int nextInt() {
+                if (!hasNext()) throw new NoSuchElementException();
+                return elements[currentIndex++];
+            }
+        };
+    }
+
+    /**
+     * Makes sure the list can hold at least the given number of values without growing
+     * again, for example before a bulk load.
+     *
+     * @param minCapacity The number of values the list must be able to hold.
+     */
+    public void ensureCapacity(int minCapacity) {
+        if (minCapacity > elements.length) grow(minCapacity);
+    }
+
+    /**
+     * Shrinks the array to the current number of values, releasing unused capacity.
+     */
+    public void trimToSize() {
+        if (size < elements.length) {
+            int[] newArray = new int[size];
+            System.arraycopy(elements, 0, newArray, 0, size);
+            elements = newArray;
+        }
+    }
+
+    /**
+     * Gets the number of values the list can hold before it has to grow.
+     *
+     * @return The length of the backing array.
+     */
+    public int capacity() {
+        return elements.length;
+    }
+
+    /**
+     * Grows the array once so that it holds at least the given number of values,
+     * doubling it where possible. The new capacity is worked out without overflow and
+     * capped at {@link GrowthPolicies#MAX_CAPACITY}.
+     *
+     * @param minCapacity The number of values the array must hold.
+     * @throws OutOfMemoryError If the capacity cannot be represented.
+     */
+    private void grow(int minCapacity) {
+        if (minCapacity < 0) throw new OutOfMemoryError("Required array size too large.");
+        int[] newArray = new int[GrowthPolicies.doubling().newCapacity(elements.length, minCapacity)];
+        System.arraycopy(elements, 0, newArray, 0, size);
+        elements = newArray;
+    }
+}
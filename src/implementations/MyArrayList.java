@@ -1,9 +1,21 @@
 package implementations;
 
+import utilities.GrowthPolicies;
+import utilities.GrowthPolicy;
 import utilities.ListADT;
+import utilities.IndexedConsumer;
 import utilities.Iterator;
+import utilities.ParallelMergeSort;
+import java.io.IOException;
+import java.io.InvalidObjectException;
+import java.io.ObjectInputStream;
+import java.io.ObjectOutputStream;
 import java.io.Serializable;
+import java.util.Comparator;
+import java.util.ConcurrentModificationException;
 import java.util.NoSuchElementException;
+import java.util.Spliterator;
+import java.util.function.Consumer;
 
 /**
  * A simple implementation of a list using an array. 
@@ -13,29 +25,71 @@ import java.util.NoSuchElementException;
  * @param <E> The type of elements in the list.
  */
 public class MyArrayList<E> implements ListADT<E>, Serializable {
-    private static final long serialVersionUID = -7717442477139935929L;
+    private static final long serialVersionUID = 3190546218860071423L;
 
     /**
-     * The array that stores elements in the list.
+     * The array that stores elements in the list. Only the used part is serialized,
+     * by <code>writeObject</code>.
      */
-    private E[] elements;
+    private transient E[] elements;
 
     /**
      * The current number of elements in the list.
      */
     private int size;
 
+    /**
+     * The number of structural modifications, used by iterators to fail fast.
+     */
+    private transient int modCount;
+
     /**
      * The default initial capacity of the array.
      */
     private static final int DEFAULT_CAPACITY = 10;
 
+    /**
+     * Decides how far the array grows when it is full.
+     */
+    private GrowthPolicy growthPolicy;
+
+    /**
+     * Counts the items in the list for fast lookups, or null when indexing is off.
+     * It is rebuilt rather than serialized.
+     */
+    private transient MyHashMultiset<E> elementIndex;
+
     /**
      * Creates an empty list with an initial capacity of 10.
      */
-    @SuppressWarnings("unchecked")
     public MyArrayList() {
-        elements = (E[]) new Object[DEFAULT_CAPACITY];
+        this(DEFAULT_CAPACITY);
+    }
+
+    /**
+     * Creates an empty list with the given initial capacity that doubles when full.
+     *
+     * @param initialCapacity The number of items the list can hold before growing.
+     * @throws IllegalArgumentException If the capacity is negative.
+     */
+    public MyArrayList(int initialCapacity) {
+        this(initialCapacity, GrowthPolicies.doubling());
+    }
+
+    /**
+     * Creates an empty list with the given initial capacity and growth policy.
+     *
+     * @param initialCapacity The number of items the list can hold before growing.
+     * @param growthPolicy    Decides the new capacity when the list is full.
+     * @throws IllegalArgumentException If the capacity is negative.
+     * @throws NullPointerException     If the growth policy is null.
+     */
+    @SuppressWarnings("unchecked")
+    public MyArrayList(int initialCapacity, GrowthPolicy growthPolicy) {
+        if (initialCapacity < 0) throw new IllegalArgumentException("Capacity cannot be negative.");
+        if (growthPolicy == null) throw new NullPointerException("Growth policy cannot be null.");
+        elements = (E[]) new Object[initialCapacity];
+        this.growthPolicy = growthPolicy;
         size = 0;
     }
 
@@ -54,11 +108,11 @@ public class MyArrayList<E> implements ListADT<E>, Serializable {
         if (element == null) throw new NullPointerException("Cannot add null item.");
         if (index < 0 || index > size) throw new IndexOutOfBoundsException("Invalid position.");
         if (size == elements.length) resizeArray();
-        for (int i = size; i > index; i--) {
-            elements[i] = elements[i - 1];
-        }
+        System.arraycopy(elements, index, elements, index + 1, size - index);
         elements[index] = element;
         size++;
+        modCount++;
+        if (elementIndex != null) elementIndex.add(element);
         return true;
     }
 
@@ -75,6 +129,8 @@ public class MyArrayList<E> implements ListADT<E>, Serializable {
         if (size == elements.length) resizeArray();
         elements[size] = element;
         size++;
+        modCount++;
+        if (elementIndex != null) elementIndex.add(element);
         return true;
     }
 
@@ -90,16 +146,17 @@ public class MyArrayList<E> implements ListADT<E>, Serializable {
     public E remove(int index) {
         if (index < 0 || index >= size) throw new IndexOutOfBoundsException("Invalid position.");
         E removed = elements[index];
-        for (int i = index; i < size - 1; i++) {
-            elements[i] = elements[i + 1];
-        }
+        System.arraycopy(elements, index + 1, elements, index, size - index - 1);
         elements[size - 1] = null;
         size--;
+        modCount++;
+        if (elementIndex != null) elementIndex.remove(removed);
         return removed;
     }
 
     /**
-     * Removes the first occurrence of a specific item.
+     * Removes the first occurrence of a specific item. When the index is enabled,
+     * an item that is not in the list is rejected without scanning.
      *
      * @param element The item to remove.
      * @return The removed item, or null if not found.
@@ -108,6 +165,7 @@ public class MyArrayList<E> implements ListADT<E>, Serializable {
     @Override
     public E remove(E element) {
         if (element == null) throw new NullPointerException("Cannot remove null item.");
+        if (elementIndex != null && !elementIndex.contains(element)) return null;
         for (int i = 0; i < size; i++) {
             if (elements[i].equals(element)) {
                 return remove(i);
@@ -144,11 +202,16 @@ public class MyArrayList<E> implements ListADT<E>, Serializable {
         if (element == null) throw new NullPointerException("Cannot set null item.");
         E old = elements[index];
         elements[index] = element;
+        if (elementIndex != null) {
+            elementIndex.remove(old);
+            elementIndex.add(element);
+        }
         return old;
     }
 
     /**
-     * Checks if the list contains a specific item.
+     * Checks if the list contains a specific item. This is a hash lookup when the
+     * index is enabled and a linear scan otherwise.
      *
      * @param element The item to check for.
      * @return True if the item is in the list, false otherwise.
@@ -157,6 +220,7 @@ public class MyArrayList<E> implements ListADT<E>, Serializable {
     @Override
     public boolean contains(E element) {
         if (element == null) throw new NullPointerException("Cannot check for null item.");
+        if (elementIndex != null) return elementIndex.contains(element);
         for (int i = 0; i < size; i++) {
             if (elements[i].equals(element)) return true;
         }
@@ -172,6 +236,8 @@ public class MyArrayList<E> implements ListADT<E>, Serializable {
             elements[i] = null;
         }
         size = 0;
+        modCount++;
+        if (elementIndex != null) elementIndex.clear();
     }
 
     /**
@@ -228,12 +294,41 @@ public class MyArrayList<E> implements ListADT<E>, Serializable {
     }
 
     /**
-     * Returns an iterator for the list.
+     * Returns an iterator for the list. The iterator reads the list directly rather
+     * than copying it, and fails fast: once the list is structurally modified other
+     * than through the iterator, the next call to <code>next()</code> throws a
+     * <code>ConcurrentModificationException</code>.
      *
      * @return An iterator to traverse the list.
      */
     @Override
     public Iterator<E> iterator() {
+        return new Iterator<E>() {
+            private int currentIndex = 0;
+            private final int expectedModCount = modCount;
+
+            @Override
+            public boolean hasNext() {
+                return currentIndex < size;
+            }
+
+            @Override
+            public E next() {
+                if (modCount != expectedModCount) throw new ConcurrentModificationException();
+                if (!hasNext()) throw new NoSuchElementException();
+                return elements[currentIndex++];
+            }
+        };
+    }
+
+    /**
+     * Returns an iterator over a copy of the list taken now. Later changes to the
+     * list are not seen and never cause the iterator to fail, at the cost of copying
+     * every item up front.
+     *
+     * @return An iterator over a snapshot of the list.
+     */
+    public Iterator<E> snapshotIterator() {
         Object[] snapshot = toArray();
         return new Iterator<E>() {
             private int currentIndex = 0;
@@ -253,28 +348,599 @@ public class MyArrayList<E> implements ListADT<E>, Serializable {
     }
 
     /**
-     * Adds all items from another list to this list.
+     * Performs an action on each item in order, looping over the backing array so
+     * that nothing is allocated. Like the iterator, it fails fast if the action
+     * structurally modifies the list.
+     *
+     * @param action The action to perform.
+     * @throws NullPointerException If the action is null.
+     */
+    @Override
+    public void forEach(Consumer<? super E> action) {
+        if (action == null) throw new NullPointerException("Action cannot be null.");
+        int expectedModCount = modCount;
+        E[] array = elements;
+        int end = size;
+        for (int i = 0; i < end && modCount == expectedModCount; i++) {
+            action.accept(array[i]);
+        }
+        if (modCount != expectedModCount) throw new ConcurrentModificationException();
+    }
+
+    /**
+     * Performs an action on each item and its position, looping over the backing
+     * array. Fails fast like {@link #forEach(Consumer)}.
+     *
+     * @param action The action to perform.
+     * @throws NullPointerException If the action is null.
+     */
+    @Override
+    public void forEachIndexed(IndexedConsumer<? super E> action) {
+        if (action == null) throw new NullPointerException("Action cannot be null.");
+        int expectedModCount = modCount;
+        E[] array = elements;
+        int end = size;
+        for (int i = 0; i < end && modCount == expectedModCount; i++) {
+            action.accept(i, array[i]);
+        }
+        if (modCount != expectedModCount) throw new ConcurrentModificationException();
+    }
+
+    /**
+     * Returns a spliterator that splits the list in half by position, so parallel
+     * streams partition the backing array directly. Like the iterator, it fails fast
+     * if the list is structurally modified while it is in use.
+     *
+     * @return A spliterator over the list.
+     */
+    @Override
+    public Spliterator<E> spliterator() {
+        return new IndexSpliterator(0, size, modCount);
+    }
+
+    /**
+     * Adds all items from another list to the end of this list.
+     * The array grows at most once and the items are copied in bulk.
      *
      * @param toAdd The list of items to add.
      * @return True if the items were added successfully.
-     * @throws NullPointerException If the provided list is null.
+     * @throws NullPointerException If the provided list is null or contains a null item.
      */
     @Override
     public boolean addAll(ListADT<? extends E> toAdd) {
+        return addAll(size, toAdd);
+    }
+
+    /**
+     * Inserts all items from another list at a specific position in this list.
+     * Items at and after that position are shifted once to make room, and the
+     * array grows at most once.
+     *
+     * @param index The position to insert the first item at.
+     * @param toAdd The list of items to add.
+     * @return True if the items were added successfully.
+     * @throws NullPointerException      If the provided list is null or contains a null item.
+     * @throws IndexOutOfBoundsException If the index is out of bounds.
+     * @throws OutOfMemoryError          If the combined size cannot be represented.
+     */
+    public boolean addAll(int index, ListADT<? extends E> toAdd) {
         if (toAdd == null) throw new NullPointerException("Cannot add from a null list.");
-        for (Object obj : toAdd.toArray()) {
-            add((E) obj);
+        if (index < 0 || index > size) throw new IndexOutOfBoundsException("Invalid position.");
+        Object[] source;
+        int count = toAdd.size();
+        if (toAdd instanceof MyArrayList && toAdd != this) {
+            source = ((MyArrayList<?>) toAdd).elements; // No nulls, no copy needed
+        } else {
+            source = toAdd.toArray();
+            count = source.length;
+            for (int i = 0; i < count; i++) {
+                if (source[i] == null) throw new NullPointerException("Cannot add null item.");
+            }
+        }
+        if (count > Integer.MAX_VALUE - size) throw new OutOfMemoryError("Required array size too large.");
+        if (size + count > elements.length) grow(size + count);
+        System.arraycopy(elements, index, elements, index + count, size - index);
+        System.arraycopy(source, 0, elements, index, count);
+        size += count;
+        modCount++;
+        if (elementIndex != null) {
+            for (int i = index; i < index + count; i++) {
+                elementIndex.add(elements[i]);
+            }
         }
         return true;
     }
 
+    /**
+     * Removes every item from <code>fromIndex</code>, inclusive, to
+     * <code>toIndex</code>, exclusive. Later items are shifted left in one copy.
+     *
+     * @param fromIndex The position of the first item to remove.
+     * @param toIndex   The position after the last item to remove.
+     * @throws IndexOutOfBoundsException If the range is invalid.
+     */
+    public void removeRange(int fromIndex, int toIndex) {
+        if (fromIndex < 0 || toIndex > size || fromIndex > toIndex) throw new IndexOutOfBoundsException("Invalid range.");
+        if (elementIndex != null) {
+            for (int i = fromIndex; i < toIndex; i++) {
+                elementIndex.remove(elements[i]);
+            }
+        }
+        System.arraycopy(elements, toIndex, elements, fromIndex, size - toIndex);
+        int newSize = size - (toIndex - fromIndex);
+        for (int i = newSize; i < size; i++) {
+            elements[i] = null;
+        }
+        size = newSize;
+        modCount++;
+    }
+
+    /**
+     * Returns a view of the items from <code>fromIndex</code>, inclusive, to
+     * <code>toIndex</code>, exclusive. Nothing is copied: the view reads and writes
+     * this list's array at an offset, and changes made through it, including
+     * <code>clear()</code> on the whole range, are changes to this list. Once this
+     * list is structurally modified other than through the view, every use of the
+     * view throws a <code>ConcurrentModificationException</code>.
+     *
+     * @param fromIndex The position of the first item in the view.
+     * @param toIndex   The position after the last item in the view.
+     * @return A view of the range.
+     * @throws IndexOutOfBoundsException If the range is invalid.
+     */
+    public ListADT<E> subList(int fromIndex, int toIndex) {
+        if (fromIndex < 0 || toIndex > size || fromIndex > toIndex) throw new IndexOutOfBoundsException("Invalid range.");
+        return new SubList(fromIndex, toIndex - fromIndex);
+    }
+
+    /**
+     * Sorts the list in place. The backing array is sorted directly with a stable
+     * merge sort, which runs in parallel on the common fork/join pool for large lists
+     * and falls back to insertion sort for short runs.
+     *
+     * @param comparator The order to sort by, or null for the natural order of the items.
+     * @throws ClassCastException If the comparator is null and the items are not
+     *                            mutually comparable.
+     */
+    public void sort(Comparator<? super E> comparator) {
+        ParallelMergeSort.sort(elements, 0, size, comparator);
+        modCount++;
+    }
+
+    /**
+     * Searches a sorted list for an item by binary search. The list must already be
+     * sorted by the same comparator, otherwise the result is undefined.
+     *
+     * @param key        The item to find.
+     * @param comparator The order the list is sorted by, or null for the natural order.
+     * @return The position of a matching item, or <code>-(insertionPoint) - 1</code> if
+     *         there is none, where the insertion point is where the item would go.
+     * @throws NullPointerException If the key is null.
+     */
+    public int binarySearch(E key, Comparator<? super E> comparator) {
+        if (key == null) throw new NullPointerException("Cannot search for null item.");
+        Comparator<? super E> order = comparator != null ? comparator : ParallelMergeSort.<E>naturalOrder();
+        int low = 0;
+        int high = size - 1;
+        while (low <= high) {
+            int mid = (low + high) >>> 1;
+            int result = order.compare(elements[mid], key);
+            if (result < 0) {
+                low = mid + 1;
+            } else if (result > 0) {
+                high = mid - 1;
+            } else {
+                return mid;
+            }
+        }
+        return -(low + 1);
+    }
+
+    /**
+     * Adds an item to a sorted list, keeping it sorted. The item goes after any equal
+     * items, so adding in arrival order keeps equal items in arrival order.
+     *
+     * @param element    The item to add.
+     * @param comparator The order the list is sorted by, or null for the natural order.
+     * @return The position the item was added at.
+     * @throws NullPointerException If the element is null.
+     */
+    public int addSorted(E element, Comparator<? super E> comparator) {
+        if (element == null) throw new NullPointerException("Cannot add null item.");
+        Comparator<? super E> order = comparator != null ? comparator : ParallelMergeSort.<E>naturalOrder();
+        int low = 0;
+        int high = size;
+        while (low < high) {
+            int mid = (low + high) >>> 1;
+            if (order.compare(elements[mid], element) <= 0) {
+                low = mid + 1;
+            } else {
+                high = mid;
+            }
+        }
+        add(low, element);
+        return low;
+    }
+
+    /**
+     * Turns on the hash index, which keeps a count of every item so that
+     * <code>contains</code> takes constant expected time. The index is built from the
+     * current items and then kept up to date by every change to the list.
+     */
+    public void enableIndex() {
+        if (elementIndex != null) return;
+        elementIndex = new MyHashMultiset<>();
+        for (int i = 0; i < size; i++) {
+            elementIndex.add(elements[i]);
+        }
+    }
+
+    /**
+     * Turns off the hash index and releases its memory.
+     */
+    public void disableIndex() {
+        elementIndex = null;
+    }
+
+    /**
+     * Checks whether the hash index is enabled.
+     *
+     * @return True if lookups use the index.
+     */
+    public boolean isIndexed() {
+        return elementIndex != null;
+    }
+
+    /**
+     * Estimates the extra memory used by the hash index.
+     *
+     * @return The approximate size of the index in bytes, or zero if it is disabled.
+     */
+    public long indexMemoryBytes() {
+        return elementIndex == null ? 0 : elementIndex.memoryBytes();
+    }
+
+    /**
+     * Makes sure the list can hold at least the given number of items without growing
+     * again, for example before a bulk load.
+     *
+     * @param minCapacity The number of items the list must be able to hold.
+     */
+    public void ensureCapacity(int minCapacity) {
+        if (minCapacity > elements.length) grow(minCapacity);
+    }
+
+    /**
+     * Shrinks the array to the current number of items, releasing unused capacity.
+     */
+    public void trimToSize() {
+        if (size < elements.length) {
+            @SuppressWarnings("unchecked")
+            E[] newArray = (E[]) new Object[size];
+            System.arraycopy(elements, 0, newArray, 0, size);
+            elements = newArray;
+        }
+    }
+
+    /**
+     * Gets the number of items the list can hold before it has to grow.
+     *
+     * @return The length of the backing array.
+     */
+    public int capacity() {
+        return elements.length;
+    }
+
+    /**
+     * Saves the list as its size and growth policy, whether it is indexed, and then
+     * the items alone, so unused capacity is never written.
+     *
+     * @param out The stream to write to.
+     * @throws IOException If the stream cannot be written.
+     */
+    private void writeObject(ObjectOutputStream out) throws IOException {
+        int expectedModCount = modCount;
+        out.defaultWriteObject();
+        out.writeBoolean(elementIndex != null);
+        for (int i = 0; i < size; i++) {
+            out.writeObject(elements[i]);
+        }
+        if (modCount != expectedModCount) throw new ConcurrentModificationException();
+    }
+
+    /**
+     * Restores a list saved by <code>writeObject</code> into an array of exactly the
+     * saved size, and rebuilds the index if the list was indexed.
+     *
+     * @param in The stream to read from.
+     * @throws IOException            If the stream cannot be read or holds an invalid list.
+     * @throws ClassNotFoundException If the class of an item cannot be found.
+     */
+    @SuppressWarnings("unchecked")
+    private void readObject(ObjectInputStream in) throws IOException, ClassNotFoundException {
+        in.defaultReadObject();
+        if (size < 0) throw new InvalidObjectException("Invalid size: " + size);
+        if (growthPolicy == null) throw new InvalidObjectException("Missing growth policy.");
+        boolean indexed = in.readBoolean();
+        E[] items = (E[]) new Object[size];
+        for (int i = 0; i < size; i++) {
+            Object item = in.readObject();
+            if (item == null) throw new InvalidObjectException("Null item.");
+            items[i] = (E) item;
+        }
+        elements = items;
+        if (indexed) enableIndex();
+    }
+
     /**
      * Resizes the array when it becomes full.
      */
     private void resizeArray() {
+        grow(size + 1);
+    }
+
+    /**
+     * Grows the array once so that it holds at least the given number of items,
+     * using the growth policy to decide how much extra room to leave.
+     *
+     * @param minCapacity The number of items the array must hold.
+     * @throws OutOfMemoryError If the capacity cannot be represented.
+     */
+    private void grow(int minCapacity) {
+        if (minCapacity < 0) throw new OutOfMemoryError("Required array size too large.");
+        int newCapacity = growthPolicy.newCapacity(elements.length, minCapacity);
+        if (newCapacity < minCapacity) newCapacity = minCapacity;
         @SuppressWarnings("unchecked")
-        E[] newArray = (E[]) new Object[elements.length * 2];
+        E[] newArray = (E[]) new Object[newCapacity];
         System.arraycopy(elements, 0, newArray, 0, size);
         elements = newArray;
     }
+
+    /**
+     * A view of a range of the list. Positions in the view are turned into positions
+     * in the array by adding the offset.
+     */
+    private class SubList implements ListADT<E> {
+        private static final long serialVersionUID = 6204174871095372210L;
+
+        /**
+         * The position in the list of the first item in the view.
+         */
+        private final int offset;
+
+        /**
+         * The number of items in the view.
+         */
+        private int size;
+
+        /**
+         * The list's modification count as of the last change made through this view.
+         */
+        private int expectedModCount;
+
+        SubList(int offset, int size) {
+            this.offset = offset;
+            this.size = size;
+            this.expectedModCount = modCount;
+        }
+
+        @Override
+        public boolean add(int index, E element) {
+            checkForComodification();
+            if (index < 0 || index > size) throw new IndexOutOfBoundsException("Invalid position.");
+            MyArrayList.this.add(offset + index, element);
+            updateSize(1);
+            return true;
+        }
+
+        @Override
+        public boolean add(E element) {
+            return add(size, element);
+        }
+
+        @Override
+        public boolean addAll(ListADT<? extends E> toAdd) {
+            checkForComodification();
+            if (toAdd == null) throw new NullPointerException("Cannot add from a null list.");
+            int count = toAdd.size();
+            MyArrayList.this.addAll(offset + size, toAdd);
+            updateSize(count);
+            return true;
+        }
+
+        @Override
+        public E remove(int index) {
+            checkForComodification();
+            if (index < 0 || index >= size) throw new IndexOutOfBoundsException("Invalid position.");
+            E removed = MyArrayList.this.remove(offset + index);
+            updateSize(-1);
+            return removed;
+        }
+
+        @Override
+        public E remove(E element) {
+            if (element == null) throw new NullPointerException("Cannot remove null item.");
+            checkForComodification();
+            for (int i = 0; i < size; i++) {
+                if (elements[offset + i].equals(element)) return remove(i);
+            }
+            return null;
+        }
+
+        @Override
+        public E get(int index) {
+            checkForComodification();
+            if (index < 0 || index >= size) throw new IndexOutOfBoundsException("Invalid position.");
+            return elements[offset + index];
+        }
+
+        @Override
+        public E set(int index, E element) {
+            checkForComodification();
+            if (index < 0 || index >= size) throw new IndexOutOfBoundsException("Invalid position.");
+            return MyArrayList.this.set(offset + index, element);
+        }
+
+        @Override
+        public boolean contains(E element) {
+            if (element == null) throw new NullPointerException("Cannot check for null item.");
+            checkForComodification();
+            for (int i = offset; i < offset + size; i++) {
+                if (elements[i].equals(element)) return true;
+            }
+            return false;
+        }
+
+        /**
+         * Removes every item in the view from the list with a single shift of the
+         * items after it.
+         */
+        @Override
+        public void clear() {
+            checkForComodification();
+            removeRange(offset, offset + size);
+            updateSize(-size);
+        }
+
+        @Override
+        public int size() {
+            checkForComodification();
+            return size;
+        }
+
+        @Override
+        public boolean isEmpty() {
+            return size() == 0;
+        }
+
+        @Override
+        public E[] toArray(E[] holder) {
+            if (holder == null) throw new NullPointerException("Provided array cannot be null.");
+            checkForComodification();
+            if (holder.length < size) {
+                @SuppressWarnings("unchecked")
+                E[] newArray = (E[]) new Object[size];
+                holder = newArray;
+            }
+            System.arraycopy(elements, offset, holder, 0, size);
+            if (holder.length > size) holder[size] = null;
+            return holder;
+        }
+
+        @Override
+        public Object[] toArray() {
+            checkForComodification();
+            Object[] array = new Object[size];
+            System.arraycopy(elements, offset, array, 0, size);
+            return array;
+        }
+
+        /**
+         * Returns an iterator over the range that reads the array directly and fails
+         * fast like the list's own iterator.
+         *
+         * @return An iterator over the view.
+         */
+        @Override
+        public Iterator<E> iterator() {
+            checkForComodification();
+            return new Iterator<E>() {
+                private int currentIndex = offset;
+                private final int fence = offset + size;
+                private final int expectedModCount = modCount;
+
+                @Override
+                public boolean hasNext() {
+                    return currentIndex < fence;
+                }
+
+                @Override
+                public E next() {
+                    if (modCount != expectedModCount) throw new ConcurrentModificationException();
+                    if (!hasNext()) throw new NoSuchElementException();
+                    return elements[currentIndex++];
+                }
+            };
+        }
+
+        @Override
+        public Spliterator<E> spliterator() {
+            checkForComodification();
+            return new IndexSpliterator(offset, offset + size, modCount);
+        }
+
+        /**
+         * Records a change in size made through this view.
+         *
+         * @param delta The change in the number of items.
+         */
+        private void updateSize(int delta) {
+            size += delta;
+            expectedModCount = modCount;
+        }
+
+        /**
+         * Checks that the list has not been structurally modified other than through
+         * this view.
+         *
+         * @throws ConcurrentModificationException If it has.
+         */
+        private void checkForComodification() {
+            if (modCount != expectedModCount) throw new ConcurrentModificationException();
+        }
+    }
+
+    /**
+     * A spliterator over a range of the backing array that splits at the midpoint.
+     */
+    private class IndexSpliterator implements Spliterator<E> {
+        private int index;
+        private final int fence;
+        private final int expectedModCount;
+
+        IndexSpliterator(int index, int fence, int expectedModCount) {
+            this.index = index;
+            this.fence = fence;
+            this.expectedModCount = expectedModCount;
+        }
+
+        @Override
+        public boolean tryAdvance(Consumer<? super E> action) {
+            if (action == null) throw new NullPointerException("Action cannot be null.");
+            if (index >= fence) return false;
+            if (modCount != expectedModCount) throw new ConcurrentModificationException();
+            action.accept(elements[index++]);
+            return true;
+        }
+
+        @Override
+        public void forEachRemaining(Consumer<? super E> action) {
+            if (action == null) throw new NullPointerException("Action cannot be null.");
+            E[] array = elements;
+            for (int i = index; i < fence; i++) {
+                action.accept(array[i]);
+            }
+            index = fence;
+            if (modCount != expectedModCount) throw new ConcurrentModificationException();
+        }
+
+        @Override
+        public Spliterator<E> trySplit() {
+            int mid = (index + fence) >>> 1;
+            if (index >= mid) return null;
+            Spliterator<E> prefix = new IndexSpliterator(index, mid, expectedModCount);
+            index = mid;
+            return prefix;
+        }
+
+        @Override
+        public long estimateSize() {
+            return fence - index;
+        }
+
+        @Override
+        public int characteristics() {
+            return Spliterator.ORDERED | Spliterator.SIZED | Spliterator.SUBSIZED | Spliterator.NONNULL;
+        }
+    }
 }
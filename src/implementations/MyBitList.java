@@ -0,0 +1,348 @@
+package implementations;
+
+import java.io.Serializable;
+import java.util.Arrays;
+import java.util.function.IntConsumer;
+
+/**
+ * A list of <code>boolean</code> values packed 64 to a <code>long</code>, so each value
+ * takes one bit instead of a reference to a <code>Boolean</code>. Bulk operations work a
+ * word at a time: {@link #and(MyBitList)}, {@link #or(MyBitList)},
+ * {@link #xor(MyBitList)} and {@link #andNot(MyBitList)} combine 64 values per step,
+ * {@link #cardinality()} counts them with one population count per word, and
+ * {@link #nextSetBit(int)} skips over whole words of false values.
+ * <p>
+ * Bits past the end of the list are always zero, so whole words can be combined and
+ * counted without masking the last one.
+ * </p>
+ */
+public class MyBitList implements Serializable {
+    private static final long serialVersionUID = 2873094511286317629L;
+
+    /**
+     * The default initial capacity in values.
+     */
+    private static final int DEFAULT_CAPACITY = 64;
+
+    /**
+     * The packed values, the first in the lowest bit of the first word.
+     */
+    private long[] words;
+
+    /**
+     * The number of values.
+     */
+    private int size;
+
+    /**
+     * Creates an empty list with room for 64 values.
+     */
+    public MyBitList() {
+        this(DEFAULT_CAPACITY);
+    }
+
+    /**
+     * Creates an empty list with the given initial capacity.
+     *
+     * @param initialCapacity The number of values the list can hold before growing.
+     * @throws IllegalArgumentException If the capacity is negative.
+     */
+    public MyBitList(int initialCapacity) {
+        if (initialCapacity < 0) throw new IllegalArgumentException("Capacity cannot be negative.");
+        words = new long[wordCount(initialCapacity)];
+    }
+
+    /**
+     * Adds a value to the end of the list.
+     *
+     * @param value The value to add.
+     */
+    public void add(boolean value) {
+        if (size == Integer.MAX_VALUE) throw new OutOfMemoryError("List is too large.");
+        int word = size >>> 6;
+        if (word == words.length) words = Arrays.copyOf(words, Math.max(words.length * 2, word + 1));
+        if (value) words[word] |= 1L << size;
+        size++;
+    }
+
+    /**
+     * Adds a number of copies of a value to the end of the list, whole words at a time.
+     *
+     * @param value The value to add.
+     * @param count The number of copies.
+     * @throws IllegalArgumentException If the count is negative.
+     */
+    public void addRepeated(boolean value, int count) {
+        if (count < 0) throw new IllegalArgumentException("Count cannot be negative.");
+        if (count > Integer.MAX_VALUE - size) throw new OutOfMemoryError("List is too large.");
+        ensureCapacity(size + count);
+        int from = size;
+        size += count;
+        if (value) setRange(from, size);
+    }
+
+    /**
+     * Gets the value at a specific position.
+     *
+     * @param index The position of the value.
+     * @return The value.
+     * @throws IndexOutOfBoundsException If the index is invalid.
+     */
+    public boolean get(int index) {
+        if (index < 0 || index >= size) throw new IndexOutOfBoundsException("Invalid position.");
+        return (words[index >>> 6] & (1L << index)) != 0;
+    }
+
+    /**
+     * Updates the value at a specific position.
+     *
+     * @param index The position to update.
+     * @param value The new value.
+     * @return The old value.
+     * @throws IndexOutOfBoundsException If the index is invalid.
+     */
+    public boolean set(int index, boolean value) {
+        boolean old = get(index);
+        if (value) {
+            words[index >>> 6] |= 1L << index;
+        } else {
+            words[index >>> 6] &= ~(1L << index);
+        }
+        return old;
+    }
+
+    /**
+     * Inverts the value at a specific position.
+     *
+     * @param index The position to invert.
+     * @throws IndexOutOfBoundsException If the index is invalid.
+     */
+    public void flip(int index) {
+        if (index < 0 || index >= size) throw new IndexOutOfBoundsException("Invalid position.");
+        words[index >>> 6] ^= 1L << index;
+    }
+
+    /**
+     * Combines this list with another of the same size, keeping a value true only
+     * where both are true.
+     *
+     * @param other The other list.
+     * @throws NullPointerException     If the other list is null.
+     * @throws IllegalArgumentException If the lists differ in size.
+     */
+    public void and(MyBitList other) {
+        checkSameSize(other);
+        for (int i = wordCount(size) - 1; i >= 0; i--) {
+            words[i] &= other.words[i];
+        }
+    }
+
+    /**
+     * Combines this list with another of the same size, making a value true where
+     * either is true.
+     *
+     * @param other The other list.
+     * @throws NullPointerException     If the other list is null.
+     * @throws IllegalArgumentException If the lists differ in size.
+     */
+    public void or(MyBitList other) {
+        checkSameSize(other);
+        for (int i = wordCount(size) - 1; i >= 0; i--) {
+            words[i] |= other.words[i];
+        }
+    }
+
+    /**
+     * Combines this list with another of the same size, making a value true where
+     * exactly one is true.
+     *
+     * @param other The other list.
+     * @throws NullPointerException     If the other list is null.
+     * @throws IllegalArgumentException If the lists differ in size.
+     */
+    public void xor(MyBitList other) {
+        checkSameSize(other);
+        for (int i = wordCount(size) - 1; i >= 0; i--) {
+            words[i] ^= other.words[i];
+        }
+    }
+
+    /**
+     * Clears every value of this list that is true in another list of the same size.
+     *
+     * @param other The other list.
+     * @throws NullPointerException     If the other list is null.
+     * @throws IllegalArgumentException If the lists differ in size.
+     */
+    public void andNot(MyBitList other) {
+        checkSameSize(other);
+        for (int i = wordCount(size) - 1; i >= 0; i--) {
+            words[i] &= ~other.words[i];
+        }
+    }
+
+    /**
+     * Counts the true values with one population count per word.
+     *
+     * @return The number of true values.
+     */
+    public int cardinality() {
+        int count = 0;
+        for (int i = wordCount(size) - 1; i >= 0; i--) {
+            count += Long.bitCount(words[i]);
+        }
+        return count;
+    }
+
+    /**
+     * Finds the first true value at or after a position, skipping whole words of false
+     * values.
+     *
+     * @param fromIndex The position to start from.
+     * @return The position of the next true value, or -1 if there is none.
+     * @throws IndexOutOfBoundsException If the position is negative.
+     */
+    public int nextSetBit(int fromIndex) {
+        if (fromIndex < 0) throw new IndexOutOfBoundsException("Invalid position.");
+        if (fromIndex >= size) return -1;
+        int last = wordCount(size) - 1;
+        int i = fromIndex >>> 6;
+        long word = words[i] & (-1L << fromIndex);
+        while (word == 0) {
+            if (i == last) return -1;
+            word = words[++i];
+        }
+        return (i << 6) + Long.numberOfTrailingZeros(word);
+    }
+
+    /**
+     * Finds the first false value at or after a position, skipping whole words of true
+     * values.
+     *
+     * @param fromIndex The position to start from.
+     * @return The position of the next false value, or -1 if there is none.
+     * @throws IndexOutOfBoundsException If the position is negative.
+     */
+    public int nextClearBit(int fromIndex) {
+        if (fromIndex < 0) throw new IndexOutOfBoundsException("Invalid position.");
+        if (fromIndex >= size) return -1;
+        int last = wordCount(size) - 1;
+        int i = fromIndex >>> 6;
+        long word = ~words[i] & (-1L << fromIndex);
+        while (word == 0) {
+            if (i == last) return -1;
+            word = ~words[++i];
+        }
+        int index = (i << 6) + Long.numberOfTrailingZeros(word);
+        return index < size ? index : -1;
+    }
+
+    /**
+     * Performs an action on the position of every true value in order, one word at a
+     * time.
+     *
+     * @param action The action to perform.
+     * @throws NullPointerException If the action is null.
+     */
+    public void forEachSetBit(IntConsumer action) {
+        if (action == null) throw new NullPointerException("Action cannot be null.");
+        for (int i = 0, end = wordCount(size); i < end; i++) {
+            long word = words[i];
+            while (word != 0) {
+                action.accept((i << 6) + Long.numberOfTrailingZeros(word));
+                word &= word - 1;
+            }
+        }
+    }
+
+    /**
+     * Removes every value. The list keeps its capacity.
+     */
+    public void clear() {
+        Arrays.fill(words, 0, wordCount(size), 0L);
+        size = 0;
+    }
+
+    /**
+     * Gets the number of values in the list.
+     *
+     * @return The number of values.
+     */
+    public int size() {
+        return size;
+    }
+
+    /**
+     * Checks if the list is empty.
+     *
+     * @return True if the list holds no values.
+     */
+    public boolean isEmpty() {
+        return size == 0;
+    }
+
+    /**
+     * Makes sure the list can hold at least the given number of values without growing
+     * again.
+     *
+     * @param minCapacity The number of values the list must be able to hold.
+     */
+    public void ensureCapacity(int minCapacity) {
+        int needed = wordCount(minCapacity);
+        if (needed > words.length) words = Arrays.copyOf(words, Math.max(words.length * 2, needed));
+    }
+
+    /**
+     * Converts the list to an array.
+     *
+     * @return An array holding every value in order.
+     */
+    public boolean[] toArray() {
+        boolean[] array = new boolean[size];
+        forEachSetBit(i -> array[i] = true);
+        return array;
+    }
+
+    /**
+     * Sets every value in a range to true, filling whole words in the middle.
+     *
+     * @param fromIndex The position of the first value.
+     * @param toIndex   The position after the last value.
+     */
+    private void setRange(int fromIndex, int toIndex) {
+        if (fromIndex == toIndex) return;
+        int first = fromIndex >>> 6;
+        int last = (toIndex - 1) >>> 6;
+        long firstMask = -1L << fromIndex;
+        long lastMask = -1L >>> -toIndex; // Keeps the bits below toIndex in its word
+        if (first == last) {
+            words[first] |= firstMask & lastMask;
+            return;
+        }
+        words[first] |= firstMask;
+        Arrays.fill(words, first + 1, last, -1L);
+        words[last] |= lastMask;
+    }
+
+    /**
+     * Checks that another list can be combined with this one.
+     *
+     * @param other The other list.
+     * @throws NullPointerException     If the other list is null.
+     * @throws IllegalArgumentException If the lists differ in size.
+     */
+    private void checkSameSize(MyBitList other) {
+        if (other == null) throw new NullPointerException("Other list cannot be null.");
+        if (other.size != size) throw new IllegalArgumentException("Lists must be the same size.");
+    }
+
+    /**
+     * Gets the number of words needed for a number of values.
+     *
+     * @param values The number of values.
+     * @return The number of words.
+     */
+    private static int wordCount(int values) {
+        return (int) (((long) values + 63) >>> 6);
+    }
+}
@@ -0,0 +1,797 @@
+package implementations;
+
+import utilities.GrowthPolicies;
+import utilities.GrowthPolicy;
+import java.io.IOException;
+import java.io.InvalidObjectException;
+import java.io.ObjectInputStream;
+import java.io.ObjectOutputStream;
+import java.io.Serializable;
+import java.util.Arrays;
+import java.util.function.DoubleConsumer;
+import java.util.function.IntConsumer;
+import java.util.function.LongConsumer;
+
+/**
+ * A list of records stored column by column. Each field of the records has its own
+ * primitive array, so a record such as (id, timestamp, value) costs only the bytes of
+ * its fields, and scanning one field reads a single contiguous array instead of
+ * chasing a reference per record.
+ * <p>
+ * The columns are fixed when the list is created, each holding <code>int</code>,
+ * <code>long</code> or <code>double</code> values, and are addressed by their
+ * position. Rows are added, removed and grown in every column together, so the
+ * columns always have the same length. A {@link Cursor} gives access to one row at a
+ * time without creating an object per record.
+ * </p>
+ */
+public class MyColumnarList implements Serializable {
+    private static final long serialVersionUID = -7418735506217399032L;
+
+    /**
+     * The kinds of values a column can hold.
+     */
+    public enum ColumnType {
+        INT, LONG, DOUBLE
+    }
+
+    /**
+     * The default initial capacity of each column.
+     */
+    private static final int DEFAULT_CAPACITY = 10;
+
+    /**
+     * The kind of values in each column.
+     */
+    private final ColumnType[] types;
+
+    /**
+     * The backing array of each column: an <code>int[]</code>, <code>long[]</code> or
+     * <code>double[]</code> according to its type. All have the same length. Only the
+     * used rows are serialized, by <code>writeObject</code>.
+     */
+    private transient Object[] columns;
+
+    /**
+     * The number of rows.
+     */
+    private int size;
+
+    /**
+     * The length of every column array.
+     */
+    private transient int capacity;
+
+    /**
+     * Decides how far the columns grow when they are full.
+     */
+    private GrowthPolicy growthPolicy;
+
+    /**
+     * Creates an empty list with the given columns and room for 10 rows.
+     *
+     * @param types The type of each column, in order.
+     * @throws NullPointerException     If the types or any of them are null.
+     * @throws IllegalArgumentException If no columns are given.
+     */
+    public MyColumnarList(ColumnType... types) {
+        this(DEFAULT_CAPACITY, GrowthPolicies.doubling(), types);
+    }
+
+    /**
+     * Creates an empty list with the given columns, initial capacity and growth
+     * policy.
+     *
+     * @param initialCapacity The number of rows the list can hold before growing.
+     * @param growthPolicy    Decides the new capacity when the list is full.
+     * @param types           The type of each column, in order.
+     * @throws NullPointerException     If the growth policy, the types or any of them
+     *                                  are null.
+     * @throws IllegalArgumentException If the capacity is negative or no columns are
+     *                                  given.
+     */
+    public MyColumnarList(int initialCapacity, GrowthPolicy growthPolicy, ColumnType... types) {
+        if (initialCapacity < 0) throw new IllegalArgumentException("Capacity cannot be negative.");
+        if (growthPolicy == null) throw new NullPointerException("Growth policy cannot be null.");
+        if (types == null) throw new NullPointerException("Column types cannot be null.");
+        if (types.length == 0) throw new IllegalArgumentException("At least one column is needed.");
+        this.types = types.clone();
+        this.growthPolicy = growthPolicy;
+        columns = new Object[types.length];
+        for (int c = 0; c < types.length; c++) {
+            if (types[c] == null) throw new NullPointerException("Column type cannot be null.");
+            columns[c] = newColumn(types[c], initialCapacity);
+        }
+        capacity = initialCapacity;
+    }
+
+    /**
+     * Adds a row of zeros to the end of the list, to be filled in with the setters or
+     * a cursor.
+     *
+     * @return The position of the new row.
+     */
+    public int addRow() {
+        if (size == capacity) grow(size + 1);
+        return size++;
+    }
+
+    /**
+     * Inserts a row of zeros at a specific position, shifting later rows down in every
+     * column.
+     *
+     * @param row The position of the new row.
+     * @throws IndexOutOfBoundsException If the position is invalid.
+     */
+    public void insertRow(int row) {
+        if (row < 0 || row > size) throw new IndexOutOfBoundsException("Invalid position.");
+        if (size == capacity) grow(size + 1);
+        for (int c = 0; c < columns.length; c++) {
+            System.arraycopy(columns[c], row, columns[c], row + 1, size - row);
+        }
+        size++;
+        clearRows(row, row + 1);
+    }
+
+    /**
+     * Removes the row at a specific position, shifting later rows up in every column.
+     *
+     * @param row The position of the row to remove.
+     * @throws IndexOutOfBoundsException If the position is invalid.
+     */
+    public void removeRow(int row) {
+        if (row < 0 || row >= size) throw new IndexOutOfBoundsException("Invalid position.");
+        removeRange(row, row + 1);
+    }
+
+    /**
+     * Removes every row from <code>fromRow</code>, inclusive, to <code>toRow</code>,
+     * exclusive, with one shift per column.
+     *
+     * @param fromRow The position of the first row to remove.
+     * @param toRow   The position after the last row to remove.
+     * @throws IndexOutOfBoundsException If the range is invalid.
+     */
+    public void removeRange(int fromRow, int toRow) {
+        if (fromRow < 0 || toRow > size || fromRow > toRow) throw new IndexOutOfBoundsException("Invalid range.");
+        for (int c = 0; c < columns.length; c++) {
+            System.arraycopy(columns[c], toRow, columns[c], fromRow, size - toRow);
+        }
+        int newSize = size - (toRow - fromRow);
+        clearRows(newSize, size); // Rows past the end stay zero for addRow
+        size = newSize;
+    }
+
+    /**
+     * Removes every row. The columns keep their capacity.
+     */
+    public void clear() {
+        clearRows(0, size);
+        size = 0;
+    }
+
+    /**
+     * Gets the number of rows.
+     *
+     * @return The number of rows.
+     */
+    public int size() {
+        return size;
+    }
+
+    /**
+     * Checks if the list is empty.
+     *
+     * @return True if the list has no rows.
+     */
+    public boolean isEmpty() {
+        return size == 0;
+    }
+
+    /**
+     * Gets the number of columns.
+     *
+     * @return The number of columns.
+     */
+    public int columnCount() {
+        return types.length;
+    }
+
+    /**
+     * Gets the type of a column.
+     *
+     * @param column The position of the column.
+     * @return The kind of values it holds.
+     * @throws IndexOutOfBoundsException If the column is invalid.
+     */
+    public ColumnType columnType(int column) {
+        if (column < 0 || column >= types.length) throw new IndexOutOfBoundsException("Invalid column.");
+        return types[column];
+    }
+
+    /**
+     * Gets an <code>int</code> field.
+     *
+     * @param row    The position of the row.
+     * @param column The position of an int column.
+     * @return The value.
+     * @throws IndexOutOfBoundsException If the row or column is invalid.
+     * @throws IllegalArgumentException  If the column does not hold int values.
+     */
+    public int getInt(int row, int column) {
+        checkRow(row);
+        return ints(column)[row];
+    }
+
+    /**
+     * Gets a <code>long</code> field.
+     *
+     * @param row    The position of the row.
+     * @param column The position of a long column.
+     * @return The value.
+     * @throws IndexOutOfBoundsException If the row or column is invalid.
+     * @throws IllegalArgumentException  If the column does not hold long values.
+     */
+    public long getLong(int row, int column) {
+        checkRow(row);
+        return longs(column)[row];
+    }
+
+    /**
+     * Gets a <code>double</code> field.
+     *
+     * @param row    The position of the row.
+     * @param column The position of a double column.
+     * @return The value.
+     * @throws IndexOutOfBoundsException If the row or column is invalid.
+     * @throws IllegalArgumentException  If the column does not hold double values.
+     */
+    public double getDouble(int row, int column) {
+        checkRow(row);
+        return doubles(column)[row];
+    }
+
+    /**
+     * Sets an <code>int</code> field.
+     *
+     * @param row    The position of the row.
+     * @param column The position of an int column.
+     * @param value  The new value.
+     * @throws IndexOutOfBoundsException If the row or column is invalid.
+     * @throws IllegalArgumentException  If the column does not hold int values.
+     */
+    public void setInt(int row, int column, int value) {
+        checkRow(row);
+        ints(column)[row] = value;
+    }
+
+    /**
+     * Sets a <code>long</code> field.
+     *
+     * @param row    The position of the row.
+     * @param column The position of a long column.
+     * @param value  The new value.
+     * @throws IndexOutOfBoundsException If the row or column is invalid.
+     * @throws IllegalArgumentException  If the column does not hold long values.
+     */
+    public void setLong(int row, int column, long value) {
+        checkRow(row);
+        longs(column)[row] = value;
+    }
+
+    /**
+     * Sets a <code>double</code> field.
+     *
+     * @param row    The position of the row.
+     * @param column The position of a double column.
+     * @param value  The new value.
+     * @throws IndexOutOfBoundsException If the row or column is invalid.
+     * @throws IllegalArgumentException  If the column does not hold double values.
+     */
+    public void setDouble(int row, int column, double value) {
+        checkRow(row);
+        doubles(column)[row] = value;
+    }
+
+    /**
+     * Performs an action on every value of an <code>int</code> column in row order,
+     * reading the column's array from start to end.
+     *
+     * @param column The position of an int column.
+     * @param action The action to perform.
+     * @throws NullPointerException      If the action is null.
+     * @throws IndexOutOfBoundsException If the column is invalid.
+     * @throws IllegalArgumentException  If the column does not hold int values.
+     */
+    public void forEachInt(int column, IntConsumer action) {
+        if (action == null) throw new NullPointerException("Action cannot be null.");
+        int[] values = ints(column);
+        int end = size;
+        for (int i = 0; i < end; i++) {
+            action.accept(values[i]);
+        }
+    }
+
+    /**
+     * Performs an action on every value of a <code>long</code> column in row order.
+     *
+     * @param column The position of a long column.
+     * @param action The action to perform.
+     * @throws NullPointerException      If the action is null.
+     * @throws IndexOutOfBoundsException If the column is invalid.
+     * @throws IllegalArgumentException  If the column does not hold long values.
+     */
+    public void forEachLong(int column, LongConsumer action) {
+        if (action == null) throw new NullPointerException("Action cannot be null.");
+        long[] values = longs(column);
+        int end = size;
+        for (int i = 0; i < end; i++) {
+            action.accept(values[i]);
+        }
+    }
+
+    /**
+     * Performs an action on every value of a <code>double</code> column in row order.
+     *
+     * @param column The position of a double column.
+     * @param action The action to perform.
+     * @throws NullPointerException      If the action is null.
+     * @throws IndexOutOfBoundsException If the column is invalid.
+     * @throws IllegalArgumentException  If the column does not hold double values.
+     */
+    public void forEachDouble(int column, DoubleConsumer action) {
+        if (action == null) throw new NullPointerException("Action cannot be null.");
+        double[] values = doubles(column);
+        int end = size;
+        for (int i = 0; i < end; i++) {
+            action.accept(values[i]);
+        }
+    }
+
+    /**
+     * Adds up an <code>int</code> or <code>long</code> column with a plain loop over its
+     * array.
+     *
+     * @param column The position of an int or long column.
+     * @return The sum, which wraps around on overflow.
+     * @throws IndexOutOfBoundsException If the column is invalid.
+     * @throws IllegalArgumentException  If the column holds double values.
+     */
+    public long sumLong(int column) {
+        long sum = 0;
+        if (columnType(column) == ColumnType.INT) {
+            int[] values = ints(column);
+            for (int i = 0; i < size; i++) {
+                sum += values[i];
+            }
+            return sum;
+        }
+        long[] values = longs(column);
+        for (int i = 0; i < size; i++) {
+            sum += values[i];
+        }
+        return sum;
+    }
+
+    /**
+     * Adds up a <code>double</code> column with a plain loop over its array.
+     *
+     * @param column The position of a double column.
+     * @return The sum.
+     * @throws IndexOutOfBoundsException If the column is invalid.
+     * @throws IllegalArgumentException  If the column does not hold double values.
+     */
+    public double sumDouble(int column) {
+        double[] values = doubles(column);
+        double sum = 0;
+        for (int i = 0; i < size; i++) {
+            sum += values[i];
+        }
+        return sum;
+    }
+
+    /**
+     * Copies an <code>int</code> column into a new array.
+     *
+     * @param column The position of an int column.
+     * @return The column's values in row order.
+     * @throws IndexOutOfBoundsException If the column is invalid.
+     * @throws IllegalArgumentException  If the column does not hold int values.
+     */
+    public int[] toIntArray(int column) {
+        int[] values = new int[size];
+        System.arraycopy(ints(column), 0, values, 0, size);
+        return values;
+    }
+
+    /**
+     * Copies a <code>long</code> column into a new array.
+     *
+     * @param column The position of a long column.
+     * @return The column's values in row order.
+     * @throws IndexOutOfBoundsException If the column is invalid.
+     * @throws IllegalArgumentException  If the column does not hold long values.
+     */
+    public long[] toLongArray(int column) {
+        long[] values = new long[size];
+        System.arraycopy(longs(column), 0, values, 0, size);
+        return values;
+    }
+
+    /**
+     * Copies a <code>double</code> column into a new array.
+     *
+     * @param column The position of a double column.
+     * @return The column's values in row order.
+     * @throws IndexOutOfBoundsException If the column is invalid.
+     * @throws IllegalArgumentException  If the column does not hold double values.
+     */
+    public double[] toDoubleArray(int column) {
+        double[] values = new double[size];
+        System.arraycopy(doubles(column), 0, values, 0, size);
+        return values;
+    }
+
+    /**
+     * Creates a cursor positioned before the first row.
+     *
+     * @return A new cursor over this list.
+     */
+    public Cursor cursor() {
+        return new Cursor();
+    }
+
+    /**
+     * Makes sure every column can hold at least the given number of rows without
+     * growing again.
+     *
+     * @param minCapacity The number of rows the list must be able to hold.
+     */
+    public void ensureCapacity(int minCapacity) {
+        if (minCapacity > capacity) grow(minCapacity);
+    }
+
+    /**
+     * Shrinks every column to the current number of rows.
+     */
+    public void trimToSize() {
+        if (size < capacity) resize(size);
+    }
+
+    /**
+     * Gets the number of rows the list can hold before it has to grow.
+     *
+     * @return The length of each column array.
+     */
+    public int capacity() {
+        return capacity;
+    }
+
+    /**
+     * Saves the list as its column types, size and growth policy, and then the used
+     * rows of each column in turn, so unused capacity is never written.
+     *
+     * @param out The stream to write to.
+     * @throws IOException If the stream cannot be written.
+     */
+    private void writeObject(ObjectOutputStream out) throws IOException {
+        out.defaultWriteObject();
+        for (int c = 0; c < columns.length; c++) {
+            switch (types[c]) {
+                case INT:
+                    int[] ints = (int[]) columns[c];
+                    for (int row = 0; row < size; row++) out.writeInt(ints[row]);
+                    break;
+                case LONG:
+                    long[] longs = (long[]) columns[c];
+                    for (int row = 0; row < size; row++) out.writeLong(longs[row]);
+                    break;
+                default:
+                    double[] doubles = (double[]) columns[c];
+                    for (int row = 0; row < size; row++) out.writeDouble(doubles[row]);
+                    break;
+            }
+        }
+    }
+
+    /**
+     * Restores a list saved by <code>writeObject</code> into columns of exactly the
+     * saved size.
+     *
+     * @param in The stream to read from.
+     * @throws IOException            If the stream cannot be read or holds an invalid list.
+     * @throws ClassNotFoundException If the class of a field cannot be found.
+     */
+    private void readObject(ObjectInputStream in) throws IOException, ClassNotFoundException {
+        in.defaultReadObject();
+        if (types == null || types.length == 0) throw new InvalidObjectException("Missing column types.");
+        if (size < 0) throw new InvalidObjectException("Invalid size: " + size);
+        if (growthPolicy == null) throw new InvalidObjectException("Missing growth policy.");
+        Object[] restored = new Object[types.length];
+        for (int c = 0; c < types.length; c++) {
+            if (types[c] == null) throw new InvalidObjectException("Missing type of column " + c + ".");
+            restored[c] = newColumn(types[c], size);
+            switch (types[c]) {
+                case INT:
+                    int[] ints = (int[]) restored[c];
+                    for (int row = 0; row < size; row++) ints[row] = in.readInt();
+                    break;
+                case LONG:
+                    long[] longs = (long[]) restored[c];
+                    for (int row = 0; row < size; row++) longs[row] = in.readLong();
+                    break;
+                default:
+                    double[] doubles = (double[]) restored[c];
+                    for (int row = 0; row < size; row++) doubles[row] = in.readDouble();
+                    break;
+            }
+        }
+        columns = restored;
+        capacity = size;
+    }
+
+    /**
+     * Grows every column once so that it holds at least the given number of rows.
+     *
+     * @param minCapacity The number of rows the columns must hold.
+     * @throws OutOfMemoryError If the capacity cannot be represented.
+     */
+    private void grow(int minCapacity) {
+        if (minCapacity < 0) throw new OutOfMemoryError("Required array size too large.");
+        int newCapacity = growthPolicy.newCapacity(capacity, minCapacity);
+        resize(Math.max(newCapacity, minCapacity));
+    }
+
+    /**
+     * Replaces every column with an array of a new length holding the same rows.
+     *
+     * @param newCapacity The new length, at least the number of rows.
+     */
+    private void resize(int newCapacity) {
+        for (int c = 0; c < columns.length; c++) {
+            Object newColumn = newColumn(types[c], newCapacity);
+            System.arraycopy(columns[c], 0, newColumn, 0, size);
+            columns[c] = newColumn;
+        }
+        capacity = newCapacity;
+    }
+
+    /**
+     * Sets a range of rows to zero in every column.
+     *
+     * @param fromRow The position of the first row.
+     * @param toRow   The position after the last row.
+     */
+    private void clearRows(int fromRow, int toRow) {
+        for (int c = 0; c < columns.length; c++) {
+            switch (types[c]) {
+                case INT:
+                    Arrays.fill((int[]) columns[c], fromRow, toRow, 0);
+                    break;
+                case LONG:
+                    Arrays.fill((long[]) columns[c], fromRow, toRow, 0L);
+                    break;
+                default:
+                    Arrays.fill((double[]) columns[c], fromRow, toRow, 0.0);
+                    break;
+            }
+        }
+    }
+
+    /**
+     * Checks that a position holds a row.
+     *
+     * @param row The position to check.
+     * @throws IndexOutOfBoundsException If the position is invalid.
+     */
+    private void checkRow(int row) {
+        if (row < 0 || row >= size) throw new IndexOutOfBoundsException("Invalid position.");
+    }
+
+    /**
+     * Gets the array of an <code>int</code> column.
+     *
+     * @param column The position of the column.
+     * @return The backing array.
+     * @throws IndexOutOfBoundsException If the column is invalid.
+     * @throws IllegalArgumentException  If the column does not hold int values.
+     */
+    private int[] ints(int column) {
+        if (columnType(column) != ColumnType.INT) throw new IllegalArgumentException("Column " + column + " does not hold int values.");
+        return (int[]) columns[column];
+    }
+
+    /**
+     * Gets the array of a <code>long</code> column.
+     *
+     * @param column The position of the column.
+     * @return The backing array.
+     * @throws IndexOutOfBoundsException If the column is invalid.
+     * @throws IllegalArgumentException  If the column does not hold long values.
+     */
+    private long[] longs(int column) {
+        if (columnType(column) != ColumnType.LONG) throw new IllegalArgumentException("Column " + column + " does not hold long values.");
+        return (long[]) columns[column];
+    }
+
+    /**
+     * Gets the array of a <code>double</code> column.
+     *
+     * @param column The position of the column.
+     * @return The backing array.
+     * @throws IndexOutOfBoundsException If the column is invalid.
+     * @throws IllegalArgumentException  If the column does not hold double values.
+     */
+    private double[] doubles(int column) {
+        if (columnType(column) != ColumnType.DOUBLE) throw new IllegalArgumentException("Column " + column + " does not hold double values.");
+        return (double[]) columns[column];
+    }
+
+    /**
+     * Creates a column array of the right primitive type.
+     *
+     * @param type   The type of the column.
+     * @param length The length of the array.
+     * @return The new array.
+     */
+    private static Object newColumn(ColumnType type, int length) {
+        switch (type) {
+            case INT:
+                return new int[length];
+            case LONG:
+                return new long[length];
+            default:
+                return new double[length];
+        }
+    }
+
+    /**
+     * A movable view of one row. A single cursor can visit every row in turn, so a
+     * scan over whole records creates no object per record. A cursor is not
+     * thread-safe, and its position is not adjusted when rows are inserted or removed
+     * before it.
+     */
+    public final class Cursor {
+
+        /**
+         * The position of the current row, or -1 before the first.
+         */
+        private int row = -1;
+
+        private Cursor() {
+        }
+
+        /**
+         * Moves to the next row.
+         *
+         * @return True if there is a next row, false if the cursor has passed the last.
+         */
+        public boolean next() {
+            if (row < size) row++;
+            return row < size;
+        }
+
+        /**
+         * Moves to a specific row.
+         *
+         * @param row The position of the row.
+         * @return This cursor.
+         * @throws IndexOutOfBoundsException If the position is invalid.
+         */
+        public Cursor moveTo(int row) {
+            checkRow(row);
+            this.row = row;
+            return this;
+        }
+
+        /**
+         * Adds a row of zeros to the end of the list and moves to it.
+         *
+         * @return This cursor.
+         */
+        public Cursor append() {
+            row = addRow();
+            return this;
+        }
+
+        /**
+         * Moves back to before the first row.
+         */
+        public void reset() {
+            row = -1;
+        }
+
+        /**
+         * Gets the position of the current row.
+         *
+         * @return The position, or -1 before the first row.
+         */
+        public int row() {
+            return row;
+        }
+
+        /**
+         * Gets an <code>int</code> field of the current row.
+         *
+         * @param column The position of an int column.
+         * @return The value.
+         * @throws IndexOutOfBoundsException If there is no current row or the column is
+         *                                   invalid.
+         * @throws IllegalArgumentException  If the column does not hold int values.
+         */
+        public int getInt(int column) {
+            return MyColumnarList.this.getInt(row, column);
+        }
+
+        /**
+         * Gets a <code>long</code> field of the current row.
+         *
+         * @param column The position of a long column.
+         * @return The value.
+         * @throws IndexOutOfBoundsException If there is no current row or the column is
+         *                                   invalid.
+         * @throws IllegalArgumentException  If the column does not hold long values.
+         */
+        public long getLong(int column) {
+            return MyColumnarList.this.getLong(row, column);
+        }
+
+        /**
+         * Gets a <code>double</code> field of the current row.
+         *
+         * @param column The position of a double column.
+         * @return The value.
+         * @throws IndexOutOfBoundsException If there is no current row or the column is
+         *                                   invalid.
+         * @throws IllegalArgumentException  If the column does not hold double values.
+         */
+        public double getDouble(int column) {
+            return MyColumnarList.this.getDouble(row, column);
+        }
+
+        /**
+         * Sets an <code>int</code> field of the current row.
+         *
+         * @param column The position of an int column.
+         * @param value  The new value.
+         * @return This cursor.
+         * @throws IndexOutOfBoundsException If there is no current row or the column is
+         *                                   invalid.
+         * @throws IllegalArgumentException  If the column does not hold int values.
+         */
+        public Cursor setInt(int column, int value) {
+            MyColumnarList.this.setInt(row, column, value);
+            return this;
+        }
+
+        /**
+         * Sets a <code>long</code> field of the current row.
+         *
+         * @param column The position of a long column.
+         * @param value  The new value.
+         * @return This cursor.
+         * @throws IndexOutOfBoundsException If there is no current row or the column is
+         *                                   invalid.
+         * @throws IllegalArgumentException  If the column does not hold long values.
+         */
+        public Cursor setLong(int column, long value) {
+            MyColumnarList.this.setLong(row, column, value);
+            return this;
+        }
+
+        /**
+         * Sets a <code>double</code> field of the current row.
+         *
+         * @param column The position of a double column.
+         * @param value  The new value.
+         * @return This cursor.
+         * @throws IndexOutOfBoundsException If there is no current row or the column is
+         *                                   invalid.
+         * @throws IllegalArgumentException  If the column does not hold double values.
+         */
+        public Cursor setDouble(int column, double value) {
+            MyColumnarList.this.setDouble(row, column, value);
+            return this;
+        }
+    }
+}
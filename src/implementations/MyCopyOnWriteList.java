@@ -0,0 +1,429 @@
+package implementations;
+
+import utilities.IndexedConsumer;
+import utilities.Iterator;
+import utilities.ListADT;
+import java.io.Serializable;
+import java.util.NoSuchElementException;
+import java.util.Spliterator;
+import java.util.Spliterators;
+import java.util.function.Consumer;
+import java.util.function.Predicate;
+import java.util.function.UnaryOperator;
+
+/**
+ * A thread-safe list for data that is read far more often than it is changed. The
+ * items live in an array that is never modified once published: every change copies
+ * it, modifies the copy and publishes the copy through a volatile field. Reads take
+ * no lock and see a consistent array, and iterators walk the array they started
+ * with, so they never fail and never see a half-finished change.
+ * <p>
+ * Writers are serialized on the list itself. Since each write copies the whole
+ * array, the bulk methods such as {@link #addAll(ListADT)} and
+ * {@link #removeIf(Predicate)} should be preferred over loops of single changes:
+ * they copy only once per batch.
+ * </p>
+ *
+ * @param <E> The type of elements in the list.
+ */
+public class MyCopyOnWriteList<E> implements ListADT<E>, Serializable {
+    private static final long serialVersionUID = 1284390178451220937L;
+
+    /**
+     * The published array. It is replaced, never modified, so readers need no lock.
+     */
+    private volatile Object[] array;
+
+    /**
+     * Creates an empty list.
+     */
+    public MyCopyOnWriteList() {
+        array = new Object[0];
+    }
+
+    /**
+     * Creates a list holding the items of another list, in order.
+     *
+     * @param items The items to start with.
+     * @throws NullPointerException If the list is null or contains a null item.
+     */
+    public MyCopyOnWriteList(ListADT<? extends E> items) {
+        if (items == null) throw new NullPointerException("Cannot copy a null list.");
+        Object[] source = items.toArray();
+        for (Object item : source) {
+            if (item == null) throw new NullPointerException("Cannot add null item.");
+        }
+        array = source;
+    }
+
+    /**
+     * Adds an item to a specific position in the list.
+     *
+     * @param index   The position to add the item.
+     * @param element The item to add.
+     * @return True if the item was added successfully.
+     * @throws NullPointerException      If the element is null.
+     * @throws IndexOutOfBoundsException If the index is out of bounds.
+     */
+    @Override
+    public synchronized boolean add(int index, E element) {
+        if (element == null) throw new NullPointerException("Cannot add null item.");
+        Object[] current = array;
+        if (index < 0 || index > current.length) throw new IndexOutOfBoundsException("Invalid position.");
+        Object[] copy = new Object[current.length + 1];
+        System.arraycopy(current, 0, copy, 0, index);
+        System.arraycopy(current, index, copy, index + 1, current.length - index);
+        copy[index] = element;
+        array = copy;
+        return true;
+    }
+
+    /**
+     * Adds an item to the end of the list.
+     *
+     * @param element The item to add.
+     * @return True if the item was added successfully.
+     * @throws NullPointerException If the element is null.
+     */
+    @Override
+    public synchronized boolean add(E element) {
+        return add(array.length, element);
+    }
+
+    /**
+     * Adds all items from another list to the end of this list with a single copy.
+     *
+     * @param toAdd The list of items to add.
+     * @return True if the items were added successfully.
+     * @throws NullPointerException If the provided list is null or contains a null item.
+     */
+    @Override
+    public boolean addAll(ListADT<? extends E> toAdd) {
+        return addAll(Integer.MAX_VALUE, toAdd);
+    }
+
+    /**
+     * Inserts all items from another list at a specific position with a single copy.
+     *
+     * @param index The position to insert the first item, or any value at least the
+     *              size of the list to append.
+     * @param toAdd The list of items to add.
+     * @return True if the items were added successfully.
+     * @throws NullPointerException      If the provided list is null or contains a null item.
+     * @throws IndexOutOfBoundsException If the index is negative.
+     */
+    public boolean addAll(int index, ListADT<? extends E> toAdd) {
+        if (toAdd == null) throw new NullPointerException("Cannot add from a null list.");
+        if (index < 0) throw new IndexOutOfBoundsException("Invalid position.");
+        Object[] source = toAdd.toArray(); // Taken outside the lock, since toAdd may be this list
+        for (Object item : source) {
+            if (item == null) throw new NullPointerException("Cannot add null item.");
+        }
+        synchronized (this) {
+            Object[] current = array;
+            int at = Math.min(index, current.length);
+            Object[] copy = new Object[current.length + source.length];
+            System.arraycopy(current, 0, copy, 0, at);
+            System.arraycopy(source, 0, copy, at, source.length);
+            System.arraycopy(current, at, copy, at + source.length, current.length - at);
+            array = copy;
+        }
+        return true;
+    }
+
+    /**
+     * Removes an item from a specific position.
+     *
+     * @param index The position of the item to remove.
+     * @return The removed item.
+     * @throws IndexOutOfBoundsException If the index is invalid.
+     */
+    @Override
+    @SuppressWarnings("unchecked")
+    public synchronized E remove(int index) {
+        Object[] current = array;
+        if (index < 0 || index >= current.length) throw new IndexOutOfBoundsException("Invalid position.");
+        E removed = (E) current[index];
+        array = without(current, index, index + 1);
+        return removed;
+    }
+
+    /**
+     * Removes the first occurrence of a specific item.
+     *
+     * @param element The item to remove.
+     * @return The removed item, or null if not found.
+     * @throws NullPointerException If the element is null.
+     */
+    @Override
+    @SuppressWarnings("unchecked")
+    public synchronized E remove(E element) {
+        if (element == null) throw new NullPointerException("Cannot remove null item.");
+        Object[] current = array;
+        int index = indexOf(current, element);
+        if (index == -1) return null;
+        E removed = (E) current[index];
+        array = without(current, index, index + 1);
+        return removed;
+    }
+
+    /**
+     * Removes every item from <code>fromIndex</code>, inclusive, to
+     * <code>toIndex</code>, exclusive, with a single copy.
+     *
+     * @param fromIndex The position of the first item to remove.
+     * @param toIndex   The position after the last item to remove.
+     * @throws IndexOutOfBoundsException If the range is invalid.
+     */
+    public synchronized void removeRange(int fromIndex, int toIndex) {
+        Object[] current = array;
+        if (fromIndex < 0 || toIndex > current.length || fromIndex > toIndex) throw new IndexOutOfBoundsException("Invalid range.");
+        if (fromIndex < toIndex) array = without(current, fromIndex, toIndex);
+    }
+
+    /**
+     * Removes every item that matches a condition, with a single copy.
+     *
+     * @param filter The condition; items for which it returns true are removed.
+     * @return True if any item was removed.
+     * @throws NullPointerException If the filter is null.
+     */
+    @SuppressWarnings("unchecked")
+    public synchronized boolean removeIf(Predicate<? super E> filter) {
+        if (filter == null) throw new NullPointerException("Filter cannot be null.");
+        Object[] current = array;
+        Object[] kept = new Object[current.length];
+        int count = 0;
+        for (Object item : current) {
+            if (!filter.test((E) item)) kept[count++] = item;
+        }
+        if (count == current.length) return false;
+        Object[] copy = new Object[count];
+        System.arraycopy(kept, 0, copy, 0, count);
+        array = copy;
+        return true;
+    }
+
+    /**
+     * Replaces every item with the result of applying a function to it, with a
+     * single copy.
+     *
+     * @param operator The function to apply to each item.
+     * @throws NullPointerException If the function is null or returns null.
+     */
+    @SuppressWarnings("unchecked")
+    public synchronized void replaceAll(UnaryOperator<E> operator) {
+        if (operator == null) throw new NullPointerException("Operator cannot be null.");
+        Object[] copy = array.clone();
+        for (int i = 0; i < copy.length; i++) {
+            copy[i] = operator.apply((E) copy[i]);
+            if (copy[i] == null) throw new NullPointerException("Cannot set null item.");
+        }
+        array = copy;
+    }
+
+    /**
+     * Gets the item at a specific position without locking.
+     *
+     * @param index The position of the item.
+     * @return The item at the specified position.
+     * @throws IndexOutOfBoundsException If the index is invalid.
+     */
+    @Override
+    @SuppressWarnings("unchecked")
+    public E get(int index) {
+        Object[] current = array;
+        if (index < 0 || index >= current.length) throw new IndexOutOfBoundsException("Invalid position.");
+        return (E) current[index];
+    }
+
+    /**
+     * Updates the item at a specific position with a new value.
+     *
+     * @param index   The position to update.
+     * @param element The new item.
+     * @return The old item that was replaced.
+     * @throws NullPointerException      If the new element is null.
+     * @throws IndexOutOfBoundsException If the index is invalid.
+     */
+    @Override
+    @SuppressWarnings("unchecked")
+    public synchronized E set(int index, E element) {
+        if (element == null) throw new NullPointerException("Cannot set null item.");
+        Object[] current = array;
+        if (index < 0 || index >= current.length) throw new IndexOutOfBoundsException("Invalid position.");
+        E old = (E) current[index];
+        Object[] copy = current.clone();
+        copy[index] = element;
+        array = copy;
+        return old;
+    }
+
+    /**
+     * Checks if the list contains a specific item, without locking.
+     *
+     * @param element The item to check for.
+     * @return True if the item is in the list, false otherwise.
+     * @throws NullPointerException If the element is null.
+     */
+    @Override
+    public boolean contains(E element) {
+        if (element == null) throw new NullPointerException("Cannot check for null item.");
+        return indexOf(array, element) != -1;
+    }
+
+    /**
+     * Clears all items from the list.
+     */
+    @Override
+    public synchronized void clear() {
+        array = new Object[0];
+    }
+
+    /**
+     * Gets the number of items in the list.
+     *
+     * @return The number of items in the list.
+     */
+    @Override
+    public int size() {
+        return array.length;
+    }
+
+    /**
+     * Checks if the list is empty.
+     *
+     * @return True if the list is empty, false otherwise.
+     */
+    @Override
+    public boolean isEmpty() {
+        return array.length == 0;
+    }
+
+    /**
+     * Converts the list to an array.
+     *
+     * @param holder The array to store the items.
+     * @return The array containing the list items.
+     * @throws NullPointerException If the provided array is null.
+     */
+    @Override
+    @SuppressWarnings("unchecked")
+    public E[] toArray(E[] holder) {
+        if (holder == null) throw new NullPointerException("Provided array cannot be null.");
+        Object[] current = array;
+        if (holder.length < current.length) holder = (E[]) new Object[current.length];
+        System.arraycopy(current, 0, holder, 0, current.length);
+        if (holder.length > current.length) holder[current.length] = null;
+        return holder;
+    }
+
+    /**
+     * Converts the list to an array.
+     *
+     * @return An array containing the list items.
+     */
+    @Override
+    public Object[] toArray() {
+        return array.clone();
+    }
+
+    /**
+     * Performs an action on each item of the array current at the time of the call.
+     * Like the iterator, it never fails, and it allocates nothing.
+     *
+     * @param action The action to perform.
+     * @throws NullPointerException If the action is null.
+     */
+    @Override
+    @SuppressWarnings("unchecked")
+    public void forEach(Consumer<? super E> action) {
+        if (action == null) throw new NullPointerException("Action cannot be null.");
+        for (Object item : array) {
+            action.accept((E) item);
+        }
+    }
+
+    /**
+     * Performs an action on each item and its position in the array current at the
+     * time of the call.
+     *
+     * @param action The action to perform.
+     * @throws NullPointerException If the action is null.
+     */
+    @Override
+    @SuppressWarnings("unchecked")
+    public void forEachIndexed(IndexedConsumer<? super E> action) {
+        if (action == null) throw new NullPointerException("Action cannot be null.");
+        Object[] current = array;
+        for (int i = 0; i < current.length; i++) {
+            action.accept(i, (E) current[i]);
+        }
+    }
+
+    /**
+     * Returns an iterator over the items as they were when it was created. The array
+     * is never modified once published, so nothing is copied and the iterator never
+     * fails, whatever other threads do to the list.
+     *
+     * @return An iterator over a snapshot of the list.
+     */
+    @Override
+    public Iterator<E> iterator() {
+        final Object[] snapshot = array;
+        return new Iterator<E>() {
+            private int currentIndex = 0;
+
+            @Override
+            public boolean hasNext() {
+                return currentIndex < snapshot.length;
+            }
+
+            @Override
+            @SuppressWarnings("unchecked")
+            public E next() {
+                if (!hasNext()) throw new NoSuchElementException();
+                return (E) snapshot[currentIndex++];
+            }
+        };
+    }
+
+    /**
+     * Returns a spliterator over a snapshot of the list that splits by position.
+     *
+     * @return A spliterator over the list as it is now.
+     */
+    @Override
+    public Spliterator<E> spliterator() {
+        return Spliterators.spliterator(array, Spliterator.ORDERED | Spliterator.IMMUTABLE | Spliterator.NONNULL);
+    }
+
+    /**
+     * Finds the position of the first occurrence of an item in an array.
+     *
+     * @param items   The array to search.
+     * @param element The item to find.
+     * @return The position of the item, or -1 if it is not in the array.
+     */
+    private static int indexOf(Object[] items, Object element) {
+        for (int i = 0; i < items.length; i++) {
+            if (items[i].equals(element)) return i;
+        }
+        return -1;
+    }
+
+    /**
+     * Copies an array leaving out a range of positions.
+     *
+     * @param items     The array to copy.
+     * @param fromIndex The first position to leave out.
+     * @param toIndex   The position after the last one to leave out.
+     * @return The shorter copy.
+     */
+    private static Object[] without(Object[] items, int fromIndex, int toIndex) {
+        Object[] copy = new Object[items.length - (toIndex - fromIndex)];
+        System.arraycopy(items, 0, copy, 0, fromIndex);
+        System.arraycopy(items, toIndex, copy, fromIndex, items.length - toIndex);
+        return copy;
+    }
+}
@@ -1,8 +1,15 @@
 package implementations;
 
+import java.io.IOException;
+import java.io.InvalidObjectException;
+import java.io.ObjectInputStream;
+import java.io.ObjectOutputStream;
 import java.io.Serializable;
+import java.util.ConcurrentModificationException;
 import java.util.NoSuchElementException;
+import java.util.function.Consumer;
 
+import utilities.IndexedConsumer;
 import utilities.Iterator;
 import utilities.ListADT;
 
@@ -13,10 +20,21 @@ import utilities.ListADT;
  * @param <E> The type of elements stored in the list.
  */
 public class MyDLL<E> implements ListADT<E>, Serializable {
-    private static final long serialVersionUID = 2410843404827905565L;
-	private MyDLLNode<E> head;
-    private MyDLLNode<E> tail;
-    private int size;
+    private static final long serialVersionUID = -5203985734096316270L;
+	private transient MyDLLNode<E> head;
+    private transient MyDLLNode<E> tail;
+    private transient int size;
+
+    /**
+     * Counts structural changes, so that sublist views can detect changes made
+     * around them.
+     */
+    private transient int modCount;
+
+    /**
+     * Counts the elements in the list for fast lookups, or null when indexing is off.
+     */
+    private transient MyHashMultiset<E> elementIndex;
 
     /**
      * Constructs an empty doubly linked list.
@@ -54,6 +72,8 @@ public class MyDLL<E> implements ListADT<E>, Serializable {
         }
 
         size++;
+        modCount++;
+        if (elementIndex != null) elementIndex.add(element);
         return true;
     }
 
@@ -88,12 +108,15 @@ public class MyDLL<E> implements ListADT<E>, Serializable {
         }
 
         size--;
+        modCount++;
+        if (elementIndex != null) elementIndex.remove(toRemove.data);
         return toRemove.data;
     }
 
     @Override
     public E remove(E element) {
         if (element == null) throw new NullPointerException("Cannot remove null element.");
+        if (elementIndex != null && !elementIndex.contains(element)) return null;
         MyDLLNode<E> current = head;
         while (current != null) {
             if (current.data.equals(element)) {
@@ -102,6 +125,8 @@ public class MyDLL<E> implements ListADT<E>, Serializable {
                 current.prev.next = current.next;
                 current.next.prev = current.prev;
                 size--;
+                modCount++;
+                if (elementIndex != null) elementIndex.remove(current.data);
                 return current.data;
             }
             current = current.next;
@@ -122,12 +147,17 @@ public class MyDLL<E> implements ListADT<E>, Serializable {
         MyDLLNode<E> current = getNodeAt(index);
         E oldValue = current.data;
         current.data = element;
+        if (elementIndex != null) {
+            elementIndex.remove(oldValue);
+            elementIndex.add(element);
+        }
         return oldValue;
     }
 
     @Override
     public boolean contains(E element) {
         if (element == null) throw new NullPointerException("Cannot search for null element.");
+        if (elementIndex != null) return elementIndex.contains(element);
         MyDLLNode<E> current = head;
         while (current != null) {
             if (current.data.equals(element)) return true;
@@ -141,6 +171,8 @@ public class MyDLL<E> implements ListADT<E>, Serializable {
         head = null;
         tail = null;
         size = 0;
+        modCount++;
+        if (elementIndex != null) elementIndex.clear();
     }
 
     @Override
@@ -212,6 +244,215 @@ public class MyDLL<E> implements ListADT<E>, Serializable {
         return true;
     }
 
+    /**
+     * Performs an action on each element from head to tail by following the links
+     * directly, so nothing is allocated. Fails fast if the action structurally
+     * modifies the list.
+     *
+     * @param action The action to perform.
+     * @throws NullPointerException If the action is null.
+     */
+    @Override
+    public void forEach(Consumer<? super E> action) {
+        if (action == null) throw new NullPointerException("Action cannot be null.");
+        int expectedModCount = modCount;
+        for (MyDLLNode<E> current = head; current != null && modCount == expectedModCount; current = current.next) {
+            action.accept(current.data);
+        }
+        if (modCount != expectedModCount) throw new ConcurrentModificationException();
+    }
+
+    /**
+     * Performs an action on each element and its position from head to tail. Fails
+     * fast like {@link #forEach(Consumer)}.
+     *
+     * @param action The action to perform.
+     * @throws NullPointerException If the action is null.
+     */
+    @Override
+    public void forEachIndexed(IndexedConsumer<? super E> action) {
+        if (action == null) throw new NullPointerException("Action cannot be null.");
+        int expectedModCount = modCount;
+        int index = 0;
+        for (MyDLLNode<E> current = head; current != null && modCount == expectedModCount; current = current.next) {
+            action.accept(index++, current.data);
+        }
+        if (modCount != expectedModCount) throw new ConcurrentModificationException();
+    }
+
+    /**
+     * Removes every element from <code>fromIndex</code>, inclusive, to
+     * <code>toIndex</code>, exclusive. The list is walked to the start of the range
+     * once and the whole range is unlinked in one step.
+     *
+     * @param fromIndex The position of the first element to remove.
+     * @param toIndex   The position after the last element to remove.
+     * @throws IndexOutOfBoundsException If the range is invalid.
+     */
+    public void removeRange(int fromIndex, int toIndex) {
+        if (fromIndex < 0 || toIndex > size || fromIndex > toIndex) throw new IndexOutOfBoundsException("Invalid range.");
+        if (fromIndex == toIndex) return;
+        MyDLLNode<E> first = getNodeAt(fromIndex);
+        MyDLLNode<E> last = first;
+        if (elementIndex != null) elementIndex.remove(first.data);
+        for (int i = fromIndex + 1; i < toIndex; i++) {
+            last = last.next;
+            if (elementIndex != null) elementIndex.remove(last.data);
+        }
+        if (first.prev == null) {
+            head = last.next;
+        } else {
+            first.prev.next = last.next;
+        }
+        if (last.next == null) {
+            tail = first.prev;
+        } else {
+            last.next.prev = first.prev;
+        }
+        size -= toIndex - fromIndex;
+        modCount++;
+    }
+
+    /**
+     * Returns a view of the elements from <code>fromIndex</code>, inclusive, to
+     * <code>toIndex</code>, exclusive. Nothing is copied: positions in the view are
+     * positions in this list plus an offset, and changes made through the view,
+     * including <code>clear()</code> on the whole range, are changes to this list.
+     * Once this list is structurally modified other than through the view, every use
+     * of the view throws a <code>ConcurrentModificationException</code>.
+     *
+     * @param fromIndex The position of the first element in the view.
+     * @param toIndex   The position after the last element in the view.
+     * @return A view of the range.
+     * @throws IndexOutOfBoundsException If the range is invalid.
+     */
+    public ListADT<E> subList(int fromIndex, int toIndex) {
+        if (fromIndex < 0 || toIndex > size || fromIndex > toIndex) throw new IndexOutOfBoundsException("Invalid range.");
+        return new SubList(fromIndex, toIndex - fromIndex);
+    }
+
+    /**
+     * Turns on the hash index so that <code>contains</code> no longer walks the list.
+     * The index is built from the current elements and kept in sync by every change.
+     */
+    public void enableIndex() {
+        if (elementIndex != null) return;
+        elementIndex = new MyHashMultiset<>();
+        for (MyDLLNode<E> current = head; current != null; current = current.next) {
+            elementIndex.add(current.data);
+        }
+    }
+
+    /**
+     * Turns off the hash index and releases its memory.
+     */
+    public void disableIndex() {
+        elementIndex = null;
+    }
+
+    /**
+     * Checks whether the hash index is enabled.
+     *
+     * @return True if lookups use the index.
+     */
+    public boolean isIndexed() {
+        return elementIndex != null;
+    }
+
+    /**
+     * Estimates the extra memory used by the hash index.
+     *
+     * @return The approximate size of the index in bytes, or zero if it is disabled.
+     */
+    public long indexMemoryBytes() {
+        return elementIndex == null ? 0 : elementIndex.memoryBytes();
+    }
+
+    /**
+     * Saves the list as its size, whether it is indexed, and then the items from head
+     * to tail. The nodes themselves are never written, so long lists do not recurse.
+     *
+     * @param out The stream to write to.
+     * @throws IOException If the stream cannot be written.
+     */
+    private void writeObject(ObjectOutputStream out) throws IOException {
+        out.defaultWriteObject();
+        out.writeInt(size);
+        out.writeBoolean(elementIndex != null);
+        for (MyDLLNode<E> current = head; current != null; current = current.next) {
+            out.writeObject(current.data);
+        }
+    }
+
+    /**
+     * Restores a list saved by <code>writeObject</code>, linking the nodes one at a
+     * time, and rebuilds the index if the list was indexed.
+     *
+     * @param in The stream to read from.
+     * @throws IOException            If the stream cannot be read or holds an invalid list.
+     * @throws ClassNotFoundException If the class of an item cannot be found.
+     */
+    @SuppressWarnings("unchecked")
+    private void readObject(ObjectInputStream in) throws IOException, ClassNotFoundException {
+        in.defaultReadObject();
+        int count = in.readInt();
+        if (count < 0) throw new InvalidObjectException("Invalid size: " + count);
+        boolean indexed = in.readBoolean();
+        for (int i = 0; i < count; i++) {
+            Object item = in.readObject();
+            if (item == null) throw new InvalidObjectException("Null item.");
+            MyDLLNode<E> node = new MyDLLNode<>((E) item);
+            if (tail == null) {
+                head = node;
+            } else {
+                node.prev = tail;
+                tail.next = node;
+            }
+            tail = node;
+        }
+        size = count;
+        if (indexed) enableIndex();
+    }
+
+    /**
+     * Inserts a batch of elements at a position. The chain of new nodes is built first
+     * and spliced in with a single walk to the insertion point.
+     *
+     * @param index    The position to insert at.
+     * @param elements The elements to insert, in order.
+     * @throws NullPointerException If any element is null. The list is left unchanged.
+     */
+    private void insertAll(int index, Object[] elements) {
+        if (elements.length == 0) return;
+        MyDLLNode<E> first = null;
+        MyDLLNode<E> last = null;
+        for (Object obj : elements) {
+            if (obj == null) throw new NullPointerException("Cannot add null element.");
+            @SuppressWarnings("unchecked")
+            MyDLLNode<E> node = new MyDLLNode<>((E) obj);
+            if (first == null) {
+                first = node;
+            } else {
+                last.next = node;
+                node.prev = last;
+            }
+            last = node;
+        }
+
+        MyDLLNode<E> after = index == size ? null : getNodeAt(index);
+        MyDLLNode<E> before = after == null ? tail : after.prev;
+        first.prev = before;
+        last.next = after;
+        if (before == null) head = first; else before.next = first;
+        if (after == null) tail = last; else after.prev = last;
+
+        size += elements.length;
+        modCount++;
+        if (elementIndex != null) {
+            for (MyDLLNode<E> node = first; node != after; node = node.next) elementIndex.add(node.data);
+        }
+    }
+
     private MyDLLNode<E> getNodeAt(int index) {
         MyDLLNode<E> current;
         if (index < size / 2) {
@@ -224,6 +465,208 @@ public class MyDLL<E> implements ListADT<E>, Serializable {
         return current;
     }
 
+    /**
+     * A view of a range of the list. Single positions are found through the list,
+     * while iteration, searching and copying walk the nodes of the range once.
+     */
+    private class SubList implements ListADT<E> {
+        private static final long serialVersionUID = -3957105863329467026L;
+
+        /**
+         * The position in the list of the first element in the view.
+         */
+        private final int offset;
+
+        /**
+         * The number of elements in the view.
+         */
+        private int size;
+
+        /**
+         * The list's modification count as of the last change made through this view.
+         */
+        private int expectedModCount;
+
+        SubList(int offset, int size) {
+            this.offset = offset;
+            this.size = size;
+            this.expectedModCount = modCount;
+        }
+
+        @Override
+        public boolean add(int index, E element) {
+            checkForComodification();
+            if (index < 0 || index > size) throw new IndexOutOfBoundsException("Index out of bounds.");
+            MyDLL.this.add(offset + index, element);
+            updateSize(1);
+            return true;
+        }
+
+        @Override
+        public boolean add(E element) {
+            return add(size, element);
+        }
+
+        @Override
+        public boolean addAll(ListADT<? extends E> toAdd) {
+            checkForComodification();
+            if (toAdd == null) throw new NullPointerException("Cannot add elements from a null list.");
+            Object[] elements = toAdd.toArray();
+            insertAll(offset + size, elements);
+            updateSize(elements.length);
+            return true;
+        }
+
+        @Override
+        public E remove(int index) {
+            checkForComodification();
+            if (index < 0 || index >= size) throw new IndexOutOfBoundsException("Index out of bounds.");
+            E removed = MyDLL.this.remove(offset + index);
+            updateSize(-1);
+            return removed;
+        }
+
+        @Override
+        public E remove(E element) {
+            if (element == null) throw new NullPointerException("Cannot remove null element.");
+            checkForComodification();
+            MyDLLNode<E> current = first();
+            for (int i = 0; i < size; i++) {
+                if (current.data.equals(element)) return remove(i);
+                current = current.next;
+            }
+            return null;
+        }
+
+        @Override
+        public E get(int index) {
+            checkForComodification();
+            if (index < 0 || index >= size) throw new IndexOutOfBoundsException("Index out of bounds.");
+            return getNodeAt(offset + index).data;
+        }
+
+        @Override
+        public E set(int index, E element) {
+            checkForComodification();
+            if (index < 0 || index >= size) throw new IndexOutOfBoundsException("Index out of bounds.");
+            return MyDLL.this.set(offset + index, element);
+        }
+
+        @Override
+        public boolean contains(E element) {
+            if (element == null) throw new NullPointerException("Cannot search for null element.");
+            checkForComodification();
+            MyDLLNode<E> current = first();
+            for (int i = 0; i < size; i++) {
+                if (current.data.equals(element)) return true;
+                current = current.next;
+            }
+            return false;
+        }
+
+        @Override
+        public void clear() {
+            checkForComodification();
+            removeRange(offset, offset + size);
+            updateSize(-size);
+        }
+
+        @Override
+        public int size() {
+            checkForComodification();
+            return size;
+        }
+
+        @Override
+        public boolean isEmpty() {
+            return size() == 0;
+        }
+
+        @Override
+        public E[] toArray(E[] holder) {
+            if (holder == null) throw new NullPointerException("Holder array cannot be null.");
+            checkForComodification();
+            if (holder.length < size) {
+                @SuppressWarnings("unchecked")
+                E[] newArray = (E[]) new Object[size];
+                holder = newArray;
+            }
+            MyDLLNode<E> current = first();
+            for (int i = 0; i < size; i++) {
+                holder[i] = current.data;
+                current = current.next;
+            }
+            if (holder.length > size) holder[size] = null;
+            return holder;
+        }
+
+        @Override
+        public Object[] toArray() {
+            checkForComodification();
+            Object[] array = new Object[size];
+            MyDLLNode<E> current = first();
+            for (int i = 0; i < size; i++) {
+                array[i] = current.data;
+                current = current.next;
+            }
+            return array;
+        }
+
+        @Override
+        public Iterator<E> iterator() {
+            checkForComodification();
+            return new Iterator<E>() {
+                private MyDLLNode<E> current = first();
+                private int remaining = size;
+                private final int expectedModCount = modCount;
+
+                @Override
+                public boolean hasNext() {
+                    return remaining > 0;
+                }
+
+                @Override
+                public E next() {
+                    if (modCount != expectedModCount) throw new ConcurrentModificationException();
+                    if (!hasNext()) throw new NoSuchElementException();
+                    E data = current.data;
+                    current = current.next;
+                    remaining--;
+                    return data;
+                }
+            };
+        }
+
+        /**
+         * Finds the first node of the view.
+         *
+         * @return The first node, or null if the view is empty.
+         */
+        private MyDLLNode<E> first() {
+            return size == 0 ? null : getNodeAt(offset);
+        }
+
+        /**
+         * Records a change in size made through this view.
+         *
+         * @param delta The change in the number of elements.
+         */
+        private void updateSize(int delta) {
+            size += delta;
+            expectedModCount = modCount;
+        }
+
+        /**
+         * Checks that the list has not been structurally modified other than through
+         * this view.
+         *
+         * @throws ConcurrentModificationException If it has.
+         */
+        private void checkForComodification() {
+            if (modCount != expectedModCount) throw new ConcurrentModificationException();
+        }
+    }
+
     private static class MyDLLNode<E> {
         E data;
         MyDLLNode<E> next;
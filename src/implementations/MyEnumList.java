@@ -0,0 +1,249 @@
+package implementations;
+
+import java.io.Serializable;
+import java.util.Arrays;
+
+/**
+ * A list of values of a small enum type, each stored as its ordinal in a few bits of
+ * a <code>long</code>. The number of bits is the smallest power of two that holds every
+ * ordinal, so an enum of up to four constants takes two bits per value and no value
+ * ever spans two words. Compared with references in a {@link MyArrayList}, that is 16
+ * to 64 times less memory for enums of up to 16 constants.
+ * <p>
+ * {@link #count(Enum)} and {@link #indexOf(Enum, int)} compare all the values of a
+ * word at once: the word is XORed with the wanted ordinal repeated in every field, and
+ * each field that comes out zero is a match.
+ * </p>
+ *
+ * @param <E> The enum type of the values.
+ */
+public class MyEnumList<E extends Enum<E>> implements Serializable {
+    private static final long serialVersionUID = -6150377424689127440L;
+
+    /**
+     * The default initial capacity in values.
+     */
+    private static final int DEFAULT_CAPACITY = 64;
+
+    /**
+     * The constants of the enum type, in ordinal order.
+     */
+    private final E[] constants;
+
+    /**
+     * The number of bits per value: 1, 2, 4, 8, 16 or 32.
+     */
+    private final int bits;
+
+    /**
+     * The number of bits per value as a power of two.
+     */
+    private final int bitsShift;
+
+    /**
+     * The number of values per word, as a power of two.
+     */
+    private final int perWordShift;
+
+    /**
+     * Selects one value from the bottom of a word.
+     */
+    private final long fieldMask;
+
+    /**
+     * A word with the lowest bit of every field set.
+     */
+    private final long lowBits;
+
+    /**
+     * The packed ordinals, the first in the lowest bits of the first word.
+     */
+    private long[] words;
+
+    /**
+     * The number of values.
+     */
+    private int size;
+
+    /**
+     * Creates an empty list for an enum type.
+     *
+     * @param type The enum type of the values.
+     * @throws NullPointerException If the type is null.
+     */
+    public MyEnumList(Class<E> type) {
+        if (type == null) throw new NullPointerException("Enum type cannot be null.");
+        constants = type.getEnumConstants();
+        int needed = Math.max(1, 32 - Integer.numberOfLeadingZeros(constants.length - 1));
+        int shift = 0;
+        while ((1 << shift) < needed) {
+            shift++;
+        }
+        bitsShift = shift;
+        bits = 1 << shift;
+        perWordShift = 6 - shift;
+        fieldMask = -1L >>> (64 - bits);
+        long low = 0;
+        for (int i = 0; i < 64; i += bits) {
+            low |= 1L << i;
+        }
+        lowBits = low;
+        words = new long[DEFAULT_CAPACITY >>> perWordShift];
+    }
+
+    /**
+     * Adds a value to the end of the list.
+     *
+     * @param value The value to add.
+     * @throws NullPointerException If the value is null.
+     */
+    public void add(E value) {
+        if (value == null) throw new NullPointerException("Cannot add null item.");
+        if (size == Integer.MAX_VALUE) throw new OutOfMemoryError("List is too large.");
+        int word = size >>> perWordShift;
+        if (word == words.length) words = Arrays.copyOf(words, Math.max(words.length * 2, word + 1));
+        words[word] |= (long) value.ordinal() << bitOffset(size);
+        size++;
+    }
+
+    /**
+     * Gets the value at a specific position.
+     *
+     * @param index The position of the value.
+     * @return The value.
+     * @throws IndexOutOfBoundsException If the index is invalid.
+     */
+    public E get(int index) {
+        if (index < 0 || index >= size) throw new IndexOutOfBoundsException("Invalid position.");
+        return constants[(int) ((words[index >>> perWordShift] >>> bitOffset(index)) & fieldMask)];
+    }
+
+    /**
+     * Updates the value at a specific position.
+     *
+     * @param index The position to update.
+     * @param value The new value.
+     * @return The old value.
+     * @throws NullPointerException      If the value is null.
+     * @throws IndexOutOfBoundsException If the index is invalid.
+     */
+    public E set(int index, E value) {
+        if (value == null) throw new NullPointerException("Cannot set null item.");
+        E old = get(index);
+        int word = index >>> perWordShift;
+        int offset = bitOffset(index);
+        words[word] = (words[word] & ~(fieldMask << offset)) | ((long) value.ordinal() << offset);
+        return old;
+    }
+
+    /**
+     * Counts the occurrences of a value, comparing a whole word of values at a time.
+     *
+     * @param value The value to count.
+     * @return The number of positions holding the value.
+     * @throws NullPointerException If the value is null.
+     */
+    public int count(E value) {
+        if (value == null) throw new NullPointerException("Cannot search for null item.");
+        long pattern = value.ordinal() * lowBits;
+        int count = 0;
+        int full = size >>> perWordShift;
+        for (int i = 0; i < full; i++) {
+            count += Long.bitCount(matches(words[i], pattern));
+        }
+        int rest = size & ((1 << perWordShift) - 1);
+        if (rest > 0) {
+            long valid = (1L << (rest << bitsShift)) - 1;
+            count += Long.bitCount(matches(words[full], pattern) & valid);
+        }
+        return count;
+    }
+
+    /**
+     * Finds the first occurrence of a value at or after a position, skipping whole words
+     * without a match.
+     *
+     * @param value     The value to find.
+     * @param fromIndex The position to start from.
+     * @return The position of the value, or -1 if it does not occur.
+     * @throws NullPointerException      If the value is null.
+     * @throws IndexOutOfBoundsException If the position is negative.
+     */
+    public int indexOf(E value, int fromIndex) {
+        if (value == null) throw new NullPointerException("Cannot search for null item.");
+        if (fromIndex < 0) throw new IndexOutOfBoundsException("Invalid position.");
+        if (fromIndex >= size) return -1;
+        long pattern = value.ordinal() * lowBits;
+        int last = (size - 1) >>> perWordShift;
+        int i = fromIndex >>> perWordShift;
+        long found = matches(words[i], pattern) & (-1L << bitOffset(fromIndex));
+        while (found == 0 && i < last) {
+            found = matches(words[++i], pattern);
+        }
+        if (found == 0) return -1;
+        int index = (i << perWordShift) + (Long.numberOfTrailingZeros(found) >>> bitsShift);
+        return index < size ? index : -1;
+    }
+
+    /**
+     * Removes every value. The list keeps its capacity.
+     */
+    public void clear() {
+        Arrays.fill(words, 0, (int) (((long) size + (1 << perWordShift) - 1) >>> perWordShift), 0L);
+        size = 0;
+    }
+
+    /**
+     * Gets the number of values in the list.
+     *
+     * @return The number of values.
+     */
+    public int size() {
+        return size;
+    }
+
+    /**
+     * Checks if the list is empty.
+     *
+     * @return True if the list holds no values.
+     */
+    public boolean isEmpty() {
+        return size == 0;
+    }
+
+    /**
+     * Gets the number of bits each value takes.
+     *
+     * @return The bits per value.
+     */
+    public int bitsPerValue() {
+        return bits;
+    }
+
+    /**
+     * Marks the fields of a word that equal a pattern, by setting the lowest bit of each
+     * matching field. A field matches when its XOR with the pattern is zero, which is
+     * found without carries crossing from one field into the next.
+     *
+     * @param word    The packed values.
+     * @param pattern The ordinal to find, repeated in every field.
+     * @return A word with the lowest bit of each matching field set.
+     */
+    private long matches(long word, long pattern) {
+        long x = word ^ pattern;
+        for (int s = 1; s < bits; s <<= 1) { // Fold every bit of a field into its lowest bit
+            x |= x >>> s;
+        }
+        return ~x & lowBits;
+    }
+
+    /**
+     * Gets the position of a value's lowest bit within its word.
+     *
+     * @param index The position of the value.
+     * @return The bit offset.
+     */
+    private int bitOffset(int index) {
+        return (index << bitsShift) & 63;
+    }
+}
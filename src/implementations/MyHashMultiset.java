@@ -0,0 +1,228 @@
+package implementations;
+
+import java.io.Serializable;
+
+/**
+ * A multiset that counts how many times each element has been added, stored in an
+ * open-addressing hash table with linear probing. Removal shifts later entries of
+ * the same probe run back into the gap, so the table never holds tombstones and
+ * lookups stay short after many removals.
+ * <p>
+ * The array-backed and linked structures in this package use it as an optional
+ * secondary index, so that <code>contains</code> takes O(1) expected time instead
+ * of a linear scan.
+ * </p>
+ *
+ * @param <E> The type of elements counted.
+ */
+public class MyHashMultiset<E> implements Serializable {
+    private static final long serialVersionUID = 5544108329164210571L;
+
+    /**
+     * The default number of slots in the table.
+     */
+    private static final int DEFAULT_CAPACITY = 16;
+
+    /**
+     * The approximate size of an object header plus array length, in bytes.
+     */
+    private static final int ARRAY_OVERHEAD = 16;
+
+    /**
+     * The distinct elements, or null for empty slots.
+     */
+    private Object[] keys;
+
+    /**
+     * The number of occurrences of the element in the same slot.
+     */
+    private int[] counts;
+
+    /**
+     * The number of distinct elements.
+     */
+    private int distinct;
+
+    /**
+     * The total number of occurrences of all elements.
+     */
+    private int size;
+
+    /**
+     * Creates an empty multiset.
+     */
+    public MyHashMultiset() {
+        keys = new Object[DEFAULT_CAPACITY];
+        counts = new int[DEFAULT_CAPACITY];
+    }
+
+    /**
+     * Adds one occurrence of an element.
+     *
+     * @param element The element to add.
+     * @throws NullPointerException If the element is null.
+     */
+    public void add(E element) {
+        if (element == null) throw new NullPointerException("Cannot add null item.");
+        int slot = find(element);
+        if (keys[slot] != null) {
+            counts[slot]++;
+        } else {
+            keys[slot] = element;
+            counts[slot] = 1;
+            distinct++;
+            if (distinct * 2 > keys.length) resize(keys.length * 2);
+        }
+        size++;
+    }
+
+    /**
+     * Removes one occurrence of an element.
+     *
+     * @param element The element to remove.
+     * @return True if an occurrence was removed, false if the element was absent.
+     */
+    public boolean remove(Object element) {
+        if (element == null) return false;
+        int slot = find(element);
+        if (keys[slot] == null) return false;
+        size--;
+        if (--counts[slot] == 0) {
+            deleteSlot(slot);
+            distinct--;
+        }
+        return true;
+    }
+
+    /**
+     * Gets the number of occurrences of an element.
+     *
+     * @param element The element to count.
+     * @return The number of occurrences, zero if absent.
+     */
+    public int count(Object element) {
+        if (element == null) return 0;
+        int slot = find(element);
+        return keys[slot] == null ? 0 : counts[slot];
+    }
+
+    /**
+     * Checks whether an element has at least one occurrence.
+     *
+     * @param element The element to look for.
+     * @return True if the element is present.
+     */
+    public boolean contains(Object element) {
+        return count(element) > 0;
+    }
+
+    /**
+     * Removes every element.
+     */
+    public void clear() {
+        keys = new Object[DEFAULT_CAPACITY];
+        counts = new int[DEFAULT_CAPACITY];
+        distinct = 0;
+        size = 0;
+    }
+
+    /**
+     * Gets the total number of occurrences of all elements.
+     *
+     * @return The number of occurrences.
+     */
+    public int size() {
+        return size;
+    }
+
+    /**
+     * Gets the number of distinct elements.
+     *
+     * @return The number of distinct elements.
+     */
+    public int distinctCount() {
+        return distinct;
+    }
+
+    /**
+     * Estimates the memory used by the table itself, not counting the elements,
+     * assuming four-byte compressed references.
+     *
+     * @return The approximate size of the table in bytes.
+     */
+    public long memoryBytes() {
+        return 2L * ARRAY_OVERHEAD + 4L * keys.length + 4L * counts.length;
+    }
+
+    /**
+     * Finds the slot holding an element, or the empty slot where it would be placed.
+     *
+     * @param element The element to look for.
+     * @return The slot index.
+     */
+    private int find(Object element) {
+        int mask = keys.length - 1;
+        int slot = spread(element.hashCode()) & mask;
+        while (keys[slot] != null && !keys[slot].equals(element)) {
+            slot = (slot + 1) & mask;
+        }
+        return slot;
+    }
+
+    /**
+     * Empties a slot and moves later entries of the same probe run back so that every
+     * entry stays reachable from its home slot.
+     *
+     * @param slot The slot to empty.
+     */
+    private void deleteSlot(int slot) {
+        int mask = keys.length - 1;
+        int gap = slot;
+        int next = (gap + 1) & mask;
+        while (keys[next] != null) {
+            int home = spread(keys[next].hashCode()) & mask;
+            // Move the entry if its home is not in the cyclic range (gap, next]
+            if (((next - home) & mask) >= ((next - gap) & mask)) {
+                keys[gap] = keys[next];
+                counts[gap] = counts[next];
+                gap = next;
+            }
+            next = (next + 1) & mask;
+        }
+        keys[gap] = null;
+        counts[gap] = 0;
+    }
+
+    /**
+     * Rehashes every entry into a table of the given size.
+     *
+     * @param newCapacity The new number of slots, a power of two.
+     */
+    private void resize(int newCapacity) {
+        Object[] oldKeys = keys;
+        int[] oldCounts = counts;
+        keys = new Object[newCapacity];
+        counts = new int[newCapacity];
+        int mask = newCapacity - 1;
+        for (int i = 0; i < oldKeys.length; i++) {
+            if (oldKeys[i] != null) {
+                int slot = spread(oldKeys[i].hashCode()) & mask;
+                while (keys[slot] != null) {
+                    slot = (slot + 1) & mask;
+                }
+                keys[slot] = oldKeys[i];
+                counts[slot] = oldCounts[i];
+            }
+        }
+    }
+
+    /**
+     * Mixes the high bits of a hash code into the low bits used to pick a slot.
+     *
+     * @param hash The hash code.
+     * @return The spread hash.
+     */
+    private static int spread(int hash) {
+        return hash ^ (hash >>> 16);
+    }
+}
@@ -0,0 +1,426 @@
+package implementations;
+
+import utilities.Iterator;
+import utilities.RecordLayout;
+import java.io.Closeable;
+import java.io.IOException;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.NoSuchElementException;
+
+/**
+ * A list of fixed-size records kept in a memory-mapped file, so that it survives
+ * restarts. Opening an existing file only maps it: no record is read until it is
+ * used, and the operating system's page cache loads and writes back pages on
+ * demand. How a record maps to bytes is described by a {@link RecordLayout}.
+ * <p>
+ * The file starts with a 64-byte header holding a magic number, the format
+ * version, the record size, the segment size, the number of records and the
+ * capacity. Records follow in segments of a fixed power-of-two size. The list only
+ * grows at the end: when it is full, the file is extended by one segment and the
+ * new region is mapped, while existing mappings stay valid.
+ * </p>
+ * <p>
+ * Appends are crash-safe because the size and capacity in the header are only
+ * updated by {@link #force()}, after the records and the new file length have been
+ * written to disk. Records past the checkpointed size are never part of the list
+ * after a restart, so a crash between checkpoints loses the appends made since the
+ * last one, but never leaves a partly written record. {@link #clear()} takes its own
+ * checkpoint so that later appends also land past the checkpointed size.
+ * {@link #close()} takes a final checkpoint.
+ * </p>
+ * <p>
+ * The guarantee covers appends only. {@link #set(long, Object)} overwrites a record
+ * in place, and the operating system may write the page back at any time, so a
+ * crash before the next checkpoint can leave an overwritten record old, new or
+ * partly written.
+ * </p>
+ *
+ * @param <T> The type of records in the list.
+ */
+public class MyMappedList<T> implements Closeable {
+
+    /**
+     * The current file format version.
+     */
+    public static final int VERSION = 1;
+
+    /**
+     * The size of the header in bytes.
+     */
+    public static final int HEADER_SIZE = 64;
+
+    /**
+     * The default segment size as a power of two, in bytes (64 MB).
+     */
+    private static final int DEFAULT_SEGMENT_BYTES_SHIFT = 26;
+
+    /**
+     * Identifies the file format ("MLST").
+     */
+    private static final int MAGIC = 0x4D4C5354;
+
+    private static final int MAGIC_OFFSET = 0;
+    private static final int VERSION_OFFSET = 4;
+    private static final int RECORD_SIZE_OFFSET = 8;
+    private static final int SHIFT_OFFSET = 12;
+    private static final int SIZE_OFFSET = 16;
+    private static final int CAPACITY_OFFSET = 24;
+
+    /**
+     * The initial length of the segment directory.
+     */
+    private static final int DEFAULT_DIRECTORY_CAPACITY = 4;
+
+    /**
+     * How records are written to and read from memory.
+     */
+    private final RecordLayout<T> layout;
+
+    /**
+     * The size of each record in bytes.
+     */
+    private final int recordSize;
+
+    /**
+     * The number of records in a segment, as a power of two.
+     */
+    private final int shift;
+
+    /**
+     * Selects the position within a segment from a record position.
+     */
+    private final long mask;
+
+    /**
+     * The open file.
+     */
+    private final FileChannel channel;
+
+    /**
+     * The mapped header.
+     */
+    private final MappedByteBuffer header;
+
+    /**
+     * The mapped segments. Null once the list is closed.
+     */
+    private MappedByteBuffer[] segments;
+
+    /**
+     * The number of segments mapped.
+     */
+    private int segmentCount;
+
+    /**
+     * The current number of records, which may be ahead of the size in the header.
+     */
+    private long size;
+
+    /**
+     * Whether the file has been extended since the last checkpoint, so that its new
+     * length still has to be made durable.
+     */
+    private boolean grown;
+
+    /**
+     * Opens a list file, creating it with segments of about 64 MB if it does not
+     * exist.
+     *
+     * @param path   The file to open.
+     * @param layout How records are stored.
+     * @throws IOException              If the file cannot be opened or is not a list file
+     *                                  of this version and record size.
+     * @throws NullPointerException     If the layout is null.
+     * @throws IllegalArgumentException If the record size is not positive.
+     */
+    public MyMappedList(Path path, RecordLayout<T> layout) throws IOException {
+        this(path, layout, defaultShift(layout));
+    }
+
+    /**
+     * Opens a list file, creating it with segments of <code>2^segmentShift</code>
+     * records if it does not exist. An existing file keeps the segment size it was
+     * created with.
+     *
+     * @param path         The file to open.
+     * @param layout       How records are stored.
+     * @param segmentShift The number of records in a segment of a new file, as a
+     *                     power of two.
+     * @throws IOException              If the file cannot be opened or is not a list file
+     *                                  of this version and record size.
+     * @throws NullPointerException     If the layout is null.
+     * @throws IllegalArgumentException If the record size is not positive or a segment
+     *                                  would exceed 1 GB.
+     */
+    public MyMappedList(Path path, RecordLayout<T> layout, int segmentShift) throws IOException {
+        if (layout == null) throw new NullPointerException("Layout cannot be null.");
+        if (layout.size() < 1) throw new IllegalArgumentException("Record size must be positive.");
+        if (segmentShift < 0 || segmentShift > 30 || (1L << segmentShift) * layout.size() > 1L << 30) {
+            throw new IllegalArgumentException("Segments must hold at least one record and fit in 1 GB.");
+        }
+        this.layout = layout;
+        this.recordSize = layout.size();
+        channel = FileChannel.open(path, StandardOpenOption.READ, StandardOpenOption.WRITE, StandardOpenOption.CREATE);
+        try {
+            boolean created = channel.size() == 0;
+            if (!created && channel.size() < HEADER_SIZE) throw new IOException("Not a list file: " + path);
+            header = channel.map(FileChannel.MapMode.READ_WRITE, 0, HEADER_SIZE);
+            if (created) {
+                header.putInt(MAGIC_OFFSET, MAGIC);
+                header.putInt(VERSION_OFFSET, VERSION);
+                header.putInt(RECORD_SIZE_OFFSET, recordSize);
+                header.putInt(SHIFT_OFFSET, segmentShift);
+                header.force();
+            } else {
+                if (header.getInt(MAGIC_OFFSET) != MAGIC) throw new IOException("Not a list file: " + path);
+                if (header.getInt(VERSION_OFFSET) != VERSION) throw new IOException("Unsupported list file version: " + header.getInt(VERSION_OFFSET));
+                if (header.getInt(RECORD_SIZE_OFFSET) != recordSize) throw new IOException("Record size does not match the layout.");
+            }
+            shift = header.getInt(SHIFT_OFFSET);
+            mask = (1L << shift) - 1;
+            size = header.getLong(SIZE_OFFSET);
+            long capacity = header.getLong(CAPACITY_OFFSET);
+            if (shift < 0 || shift > 30 || (1L << shift) * recordSize > 1L << 30 || size < 0 || size > capacity || (capacity & mask) != 0) throw new IOException("Corrupt list header: " + path);
+            segments = new MappedByteBuffer[Math.max(DEFAULT_DIRECTORY_CAPACITY, (int) (capacity >>> shift))];
+            while (((long) segmentCount << shift) < capacity) {
+                mapSegment();
+            }
+        } catch (IOException | RuntimeException e) {
+            channel.close();
+            throw e;
+        }
+    }
+
+    /**
+     * Adds a record to the end of the list. The record is durable once
+     * {@link #force()} or {@link #close()} has been called.
+     *
+     * @param record The record to add.
+     * @throws IOException           If the file cannot be extended.
+     * @throws NullPointerException  If the record is null.
+     * @throws IllegalStateException If the list is closed.
+     */
+    public void add(T record) throws IOException {
+        if (record == null) throw new NullPointerException("Cannot add null record.");
+        ensureCapacity(size + 1);
+        layout.write(segments[(int) (size >>> shift)], offset(size), record);
+        size++;
+    }
+
+    /**
+     * Reads the record at a specific position.
+     *
+     * @param index The position of the record.
+     * @return A new object holding the record.
+     * @throws IndexOutOfBoundsException If the index is invalid.
+     * @throws IllegalStateException     If the list is closed.
+     */
+    public T get(long index) {
+        checkIndex(index);
+        return layout.read(segments[(int) (index >>> shift)], offset(index));
+    }
+
+    /**
+     * Overwrites the record at a specific position in place. Unlike an append, the
+     * change is not crash-safe: a crash before the next checkpoint can leave the
+     * record partly written.
+     *
+     * @param index  The position to update.
+     * @param record The new record.
+     * @throws NullPointerException      If the record is null.
+     * @throws IndexOutOfBoundsException If the index is invalid.
+     * @throws IllegalStateException     If the list is closed.
+     */
+    public void set(long index, T record) {
+        if (record == null) throw new NullPointerException("Cannot set null record.");
+        checkIndex(index);
+        layout.write(segments[(int) (index >>> shift)], offset(index), record);
+    }
+
+    /**
+     * Removes every record. The file keeps its capacity. The empty size is written to
+     * the header and forced to disk straight away, so records added afterwards lie
+     * past the checkpointed size and a crash can never reopen the old size over them.
+     *
+     * @throws IllegalStateException If the list is closed.
+     */
+    public void clear() {
+        checkOpen();
+        size = 0;
+        header.putLong(SIZE_OFFSET, 0);
+        header.force();
+    }
+
+    /**
+     * Gets the number of records in the list, including any added since the last
+     * checkpoint.
+     *
+     * @return The number of records.
+     */
+    public long size() {
+        return size;
+    }
+
+    /**
+     * Checks if the list is empty.
+     *
+     * @return True if the list holds no records.
+     */
+    public boolean isEmpty() {
+        return size == 0;
+    }
+
+    /**
+     * Gets the number of records the file can hold before it has to grow.
+     *
+     * @return The capacity in records.
+     */
+    public long capacity() {
+        return (long) segmentCount << shift;
+    }
+
+    /**
+     * Makes sure the file can hold at least the given number of records, extending it
+     * one segment at a time. The new capacity is recorded in the header at the next
+     * checkpoint.
+     *
+     * @param minCapacity The number of records the file must be able to hold.
+     * @throws IOException           If the file cannot be extended.
+     * @throws IllegalStateException If the list is closed.
+     */
+    public void ensureCapacity(long minCapacity) throws IOException {
+        checkOpen();
+        while (capacity() < minCapacity) {
+            mapSegment();
+            grown = true;
+        }
+    }
+
+    /**
+     * Takes a checkpoint: writes every changed record to disk, and the new file length
+     * if the file has grown, then records the current size and capacity in the header
+     * and writes that too. Until this returns, a crash leaves the appended records as
+     * they were at the previous checkpoint.
+     *
+     * @throws IOException           If the file length cannot be written to disk.
+     * @throws IllegalStateException If the list is closed.
+     */
+    public void force() throws IOException {
+        checkOpen();
+        for (int i = 0; i < segmentCount; i++) {
+            segments[i].force();
+        }
+        if (grown) {
+            channel.force(true);
+            grown = false;
+        }
+        header.putLong(CAPACITY_OFFSET, capacity());
+        header.putLong(SIZE_OFFSET, size);
+        header.force();
+    }
+
+    /**
+     * Returns an iterator that reads each record in order.
+     *
+     * @return An iterator over the records.
+     * @throws IllegalStateException If the list is closed.
+     */
+    public Iterator<T> iterator() {
+        checkOpen();
+        return new Iterator<T>() {
+            private long currentIndex = 0;
+
+            @Override
+            public boolean hasNext() {
+                return currentIndex < size;
+            }
+
+            @Override
+            public T next() {
+                if (!hasNext()) throw new NoSuchElementException();
+                return get(currentIndex++);
+            }
+        };
+    }
+
+    /**
+     * Takes a final checkpoint and closes the file. Closing it again has no effect.
+     *
+     * @throws IOException If the file cannot be closed.
+     */
+    @Override
+    public void close() throws IOException {
+        if (segments == null) return;
+        force();
+        segments = null;
+        segmentCount = 0;
+        channel.close();
+    }
+
+    /**
+     * Maps the next segment, which extends the file if needed.
+     *
+     * @throws IOException If the region cannot be mapped.
+     */
+    private void mapSegment() throws IOException {
+        if (segmentCount == segments.length) {
+            MappedByteBuffer[] newDirectory = new MappedByteBuffer[segments.length * 2];
+            System.arraycopy(segments, 0, newDirectory, 0, segmentCount);
+            segments = newDirectory;
+        }
+        long segmentBytes = (mask + 1) * recordSize;
+        long position = HEADER_SIZE + segmentCount * segmentBytes;
+        segments[segmentCount++] = channel.map(FileChannel.MapMode.READ_WRITE, position, segmentBytes);
+    }
+
+    /**
+     * Finds the byte offset of a record within its segment.
+     *
+     * @param index The position of the record.
+     * @return The offset of the record's first byte.
+     */
+    private int offset(long index) {
+        return (int) (index & mask) * recordSize;
+    }
+
+    /**
+     * Checks that a position holds a record.
+     *
+     * @param index The position to check.
+     * @throws IndexOutOfBoundsException If the position is invalid.
+     * @throws IllegalStateException     If the list is closed.
+     */
+    private void checkIndex(long index) {
+        checkOpen();
+        if (index < 0 || index >= size) throw new IndexOutOfBoundsException("Invalid position.");
+    }
+
+    /**
+     * Checks that the list has not been closed.
+     *
+     * @throws IllegalStateException If the list is closed.
+     */
+    private void checkOpen() {
+        if (segments == null) throw new IllegalStateException("List is closed.");
+    }
+
+    /**
+     * Works out the largest power-of-two segment of whole records that stays within
+     * 64 MB.
+     *
+     * @param layout The record layout.
+     * @return The segment size as a power of two.
+     */
+    private static int defaultShift(RecordLayout<?> layout) {
+        if (layout == null) throw new NullPointerException("Layout cannot be null.");
+        int recordSize = Math.max(layout.size(), 1);
+        int shift = 0;
+        while ((2L << shift) * recordSize <= 1L << DEFAULT_SEGMENT_BYTES_SHIFT) {
+            shift++;
+        }
+        return shift;
+    }
+}
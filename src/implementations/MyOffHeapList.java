@@ -0,0 +1,540 @@
+package implementations;
+
+import utilities.GrowthPolicies;
+import utilities.GrowthPolicy;
+import utilities.Iterator;
+import utilities.RecordLayout;
+import java.io.Closeable;
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+import java.util.NoSuchElementException;
+
+/**
+ * A list of fixed-size records stored outside the Java heap in direct buffers. The
+ * garbage collector sees only a handful of buffer objects however many records the
+ * list holds, so very large datasets add no scanning cost. How a record maps to
+ * bytes is described by a {@link RecordLayout}, and single fields can be read and
+ * written in place without creating a record object at all.
+ * <p>
+ * A single buffer is limited to 2 GB, so the records are spread over segments of
+ * a fixed power-of-two size, and positions are <code>long</code>. Only the last
+ * segment grows, following the growth policy, and once full a new segment is
+ * added; records are therefore never copied more than one segment at a time.
+ * </p>
+ * <p>
+ * Direct memory is returned to the operating system when its buffers are garbage
+ * collected. {@link #close()} drops every buffer at once, and any later use of the
+ * list throws an <code>IllegalStateException</code>.
+ * </p>
+ *
+ * @param <T> The type of records in the list.
+ */
+public class MyOffHeapList<T> implements Closeable {
+
+    /**
+     * The default number of records the list can hold before it has to grow.
+     */
+    private static final int DEFAULT_CAPACITY = 16;
+
+    /**
+     * The largest size of a default segment in bytes.
+     */
+    private static final long MAX_SEGMENT_BYTES = 1L << 30;
+
+    /**
+     * The initial length of the segment directory.
+     */
+    private static final int DEFAULT_DIRECTORY_CAPACITY = 4;
+
+    /**
+     * How records are written to and read from memory.
+     */
+    private final RecordLayout<T> layout;
+
+    /**
+     * The size of each record in bytes.
+     */
+    private final int recordSize;
+
+    /**
+     * The number of records in a full segment, as a power of two.
+     */
+    private final int shift;
+
+    /**
+     * Selects the position within a segment from a record position.
+     */
+    private final long mask;
+
+    /**
+     * Decides how far the last segment grows when it runs out of room.
+     */
+    private final GrowthPolicy growthPolicy;
+
+    /**
+     * The segments. Every segment but the last holds a full <code>2^shift</code>
+     * records. Null once the list is closed.
+     */
+    private ByteBuffer[] segments;
+
+    /**
+     * The number of segments allocated.
+     */
+    private int segmentCount;
+
+    /**
+     * The number of records the allocated segments can hold.
+     */
+    private long capacity;
+
+    /**
+     * The current number of records in the list.
+     */
+    private long size;
+
+    /**
+     * Creates an empty list with room for 16 records and doubling growth.
+     *
+     * @param layout How records are stored.
+     * @throws NullPointerException If the layout is null.
+     */
+    public MyOffHeapList(RecordLayout<T> layout) {
+        this(layout, DEFAULT_CAPACITY);
+    }
+
+    /**
+     * Creates an empty list with room for the given number of records and doubling
+     * growth.
+     *
+     * @param layout          How records are stored.
+     * @param initialCapacity The number of records to allocate room for.
+     * @throws NullPointerException     If the layout is null.
+     * @throws IllegalArgumentException If the capacity is negative.
+     */
+    public MyOffHeapList(RecordLayout<T> layout, long initialCapacity) {
+        this(layout, initialCapacity, GrowthPolicies.doubling());
+    }
+
+    /**
+     * Creates an empty list with room for the given number of records and the given
+     * growth policy, using segments of up to 1 GB.
+     *
+     * @param layout          How records are stored.
+     * @param initialCapacity The number of records to allocate room for.
+     * @param growthPolicy    Decides how the last segment grows when it is full.
+     * @throws NullPointerException     If the layout or growth policy is null.
+     * @throws IllegalArgumentException If the capacity is negative.
+     */
+    public MyOffHeapList(RecordLayout<T> layout, long initialCapacity, GrowthPolicy growthPolicy) {
+        this(layout, initialCapacity, growthPolicy, defaultShift(layout));
+    }
+
+    /**
+     * Creates an empty list with full segments of <code>2^segmentShift</code> records.
+     *
+     * @param layout          How records are stored.
+     * @param initialCapacity The number of records to allocate room for.
+     * @param growthPolicy    Decides how the last segment grows when it is full.
+     * @param segmentShift    The number of records in a full segment, as a power of two.
+     * @throws NullPointerException     If the layout or growth policy is null.
+     * @throws IllegalArgumentException If the capacity is negative, the record size is
+     *                                  not positive or a segment would exceed 2 GB.
+     */
+    public MyOffHeapList(RecordLayout<T> layout, long initialCapacity, GrowthPolicy growthPolicy, int segmentShift) {
+        if (layout == null) throw new NullPointerException("Layout cannot be null.");
+        if (growthPolicy == null) throw new NullPointerException("Growth policy cannot be null.");
+        if (layout.size() < 1) throw new IllegalArgumentException("Record size must be positive.");
+        if (initialCapacity < 0) throw new IllegalArgumentException("Initial capacity cannot be negative.");
+        if (segmentShift < 0 || segmentShift > 30 || (1L << segmentShift) * layout.size() > GrowthPolicies.MAX_CAPACITY) {
+            throw new IllegalArgumentException("Segments must hold at least one record and fit in 2 GB.");
+        }
+        this.layout = layout;
+        this.recordSize = layout.size();
+        this.shift = segmentShift;
+        this.mask = (1L << segmentShift) - 1;
+        this.growthPolicy = growthPolicy;
+        this.segments = new ByteBuffer[DEFAULT_DIRECTORY_CAPACITY];
+        ensureCapacity(initialCapacity);
+    }
+
+    /**
+     * Adds a record to the end of the list.
+     *
+     * @param record The record to add.
+     * @throws NullPointerException  If the record is null.
+     * @throws IllegalStateException If the list is closed.
+     */
+    public void add(T record) {
+        if (record == null) throw new NullPointerException("Cannot add null record.");
+        ensureCapacity(size + 1);
+        layout.write(segments[(int) (size >>> shift)], offset(size), record);
+        size++;
+    }
+
+    /**
+     * Reads the record at a specific position.
+     *
+     * @param index The position of the record.
+     * @return A new object holding the record.
+     * @throws IndexOutOfBoundsException If the index is invalid.
+     * @throws IllegalStateException     If the list is closed.
+     */
+    public T get(long index) {
+        checkIndex(index);
+        return layout.read(segments[(int) (index >>> shift)], offset(index));
+    }
+
+    /**
+     * Overwrites the record at a specific position. The old record is not read back,
+     * so no object is created for it.
+     *
+     * @param index  The position to update.
+     * @param record The new record.
+     * @throws NullPointerException      If the record is null.
+     * @throws IndexOutOfBoundsException If the index is invalid.
+     * @throws IllegalStateException     If the list is closed.
+     */
+    public void set(long index, T record) {
+        if (record == null) throw new NullPointerException("Cannot set null record.");
+        checkIndex(index);
+        layout.write(segments[(int) (index >>> shift)], offset(index), record);
+    }
+
+    /**
+     * Reads an <code>int</code> field of a record in place.
+     *
+     * @param index       The position of the record.
+     * @param fieldOffset The offset of the field within the record.
+     * @return The field value.
+     * @throws IndexOutOfBoundsException If the index or field is out of bounds.
+     * @throws IllegalStateException     If the list is closed.
+     */
+    public int getInt(long index, int fieldOffset) {
+        checkField(index, fieldOffset, Integer.BYTES);
+        return segments[(int) (index >>> shift)].getInt(offset(index) + fieldOffset);
+    }
+
+    /**
+     * Writes an <code>int</code> field of a record in place.
+     *
+     * @param index       The position of the record.
+     * @param fieldOffset The offset of the field within the record.
+     * @param value       The new field value.
+     * @throws IndexOutOfBoundsException If the index or field is out of bounds.
+     * @throws IllegalStateException     If the list is closed.
+     */
+    public void putInt(long index, int fieldOffset, int value) {
+        checkField(index, fieldOffset, Integer.BYTES);
+        segments[(int) (index >>> shift)].putInt(offset(index) + fieldOffset, value);
+    }
+
+    /**
+     * Reads a <code>long</code> field of a record in place.
+     *
+     * @param index       The position of the record.
+     * @param fieldOffset The offset of the field within the record.
+     * @return The field value.
+     * @throws IndexOutOfBoundsException If the index or field is out of bounds.
+     * @throws IllegalStateException     If the list is closed.
+     */
+    public long getLong(long index, int fieldOffset) {
+        checkField(index, fieldOffset, Long.BYTES);
+        return segments[(int) (index >>> shift)].getLong(offset(index) + fieldOffset);
+    }
+
+    /**
+     * Writes a <code>long</code> field of a record in place.
+     *
+     * @param index       The position of the record.
+     * @param fieldOffset The offset of the field within the record.
+     * @param value       The new field value.
+     * @throws IndexOutOfBoundsException If the index or field is out of bounds.
+     * @throws IllegalStateException     If the list is closed.
+     */
+    public void putLong(long index, int fieldOffset, long value) {
+        checkField(index, fieldOffset, Long.BYTES);
+        segments[(int) (index >>> shift)].putLong(offset(index) + fieldOffset, value);
+    }
+
+    /**
+     * Reads a <code>double</code> field of a record in place.
+     *
+     * @param index       The position of the record.
+     * @param fieldOffset The offset of the field within the record.
+     * @return The field value.
+     * @throws IndexOutOfBoundsException If the index or field is out of bounds.
+     * @throws IllegalStateException     If the list is closed.
+     */
+    public double getDouble(long index, int fieldOffset) {
+        checkField(index, fieldOffset, Double.BYTES);
+        return segments[(int) (index >>> shift)].getDouble(offset(index) + fieldOffset);
+    }
+
+    /**
+     * Writes a <code>double</code> field of a record in place.
+     *
+     * @param index       The position of the record.
+     * @param fieldOffset The offset of the field within the record.
+     * @param value       The new field value.
+     * @throws IndexOutOfBoundsException If the index or field is out of bounds.
+     * @throws IllegalStateException     If the list is closed.
+     */
+    public void putDouble(long index, int fieldOffset, double value) {
+        checkField(index, fieldOffset, Double.BYTES);
+        segments[(int) (index >>> shift)].putDouble(offset(index) + fieldOffset, value);
+    }
+
+    /**
+     * Copies records to another list, or to another part of this one, as raw bytes,
+     * one segment-sized run at a time. The target range must already exist.
+     *
+     * @param fromIndex The position of the first record to copy.
+     * @param target    The list to copy into, with the same record size.
+     * @param toIndex   The position in the target of the first copied record.
+     * @param count     The number of records to copy.
+     * @throws NullPointerException      If the target is null.
+     * @throws IllegalArgumentException  If the record sizes differ, or the ranges overlap
+     *                                   within this list.
+     * @throws IndexOutOfBoundsException If either range is out of bounds.
+     * @throws IllegalStateException     If either list is closed.
+     */
+    public void copyTo(long fromIndex, MyOffHeapList<T> target, long toIndex, long count) {
+        if (target == null) throw new NullPointerException("Target cannot be null.");
+        checkOpen();
+        target.checkOpen();
+        if (target.recordSize != recordSize) throw new IllegalArgumentException("Record sizes differ.");
+        if (count < 0 || fromIndex < 0 || fromIndex > size - count || toIndex < 0 || toIndex > target.size - count) {
+            throw new IndexOutOfBoundsException("Invalid range.");
+        }
+        if (target == this && fromIndex < toIndex + count && toIndex < fromIndex + count && fromIndex != toIndex) {
+            throw new IllegalArgumentException("Ranges overlap.");
+        }
+        while (count > 0) {
+            long run = Math.min(count, Math.min((mask + 1) - (fromIndex & mask), (target.mask + 1) - (toIndex & target.mask)));
+            int bytes = (int) run * recordSize;
+            ByteBuffer source = segments[(int) (fromIndex >>> shift)].duplicate();
+            int sourceOffset = offset(fromIndex);
+            source.limit(sourceOffset + bytes);
+            source.position(sourceOffset);
+            ByteBuffer destination = target.segments[(int) (toIndex >>> target.shift)].duplicate();
+            destination.position(target.offset(toIndex));
+            destination.put(source);
+            fromIndex += run;
+            toIndex += run;
+            count -= run;
+        }
+    }
+
+    /**
+     * Appends every record of another list with a bulk copy.
+     *
+     * @param source The list to copy from, with the same record size.
+     * @throws NullPointerException     If the source is null.
+     * @throws IllegalArgumentException If the record sizes differ.
+     * @throws IllegalStateException    If either list is closed.
+     */
+    public void addAll(MyOffHeapList<T> source) {
+        if (source == null) throw new NullPointerException("Cannot add from a null list.");
+        long count = source.size;
+        long start = size;
+        ensureCapacity(start + count);
+        size = start + count;
+        try {
+            source.copyTo(0, this, start, count);
+        } catch (RuntimeException e) {
+            size = start;
+            throw e;
+        }
+    }
+
+    /**
+     * Removes every record. The memory is kept for reuse.
+     *
+     * @throws IllegalStateException If the list is closed.
+     */
+    public void clear() {
+        checkOpen();
+        size = 0;
+    }
+
+    /**
+     * Gets the number of records in the list.
+     *
+     * @return The number of records.
+     */
+    public long size() {
+        return size;
+    }
+
+    /**
+     * Checks if the list is empty.
+     *
+     * @return True if the list holds no records.
+     */
+    public boolean isEmpty() {
+        return size == 0;
+    }
+
+    /**
+     * Gets the number of records the list can hold before it has to grow.
+     *
+     * @return The capacity in records.
+     */
+    public long capacity() {
+        return capacity;
+    }
+
+    /**
+     * Gets the amount of direct memory held by the list.
+     *
+     * @return The total size of the segments in bytes.
+     */
+    public long memoryBytes() {
+        return capacity * recordSize;
+    }
+
+    /**
+     * Makes sure the list can hold at least the given number of records without
+     * growing again. Full segments are added as needed, and only the last segment is
+     * ever copied to grow.
+     *
+     * @param minCapacity The number of records the list must be able to hold.
+     * @throws IllegalStateException If the list is closed.
+     */
+    public void ensureCapacity(long minCapacity) {
+        checkOpen();
+        long full = mask + 1;
+        while (capacity < minCapacity) {
+            ByteBuffer last = segmentCount == 0 ? null : segments[segmentCount - 1];
+            int lastRecords = last == null ? 0 : last.capacity() / recordSize;
+            if (last != null && lastRecords < full) {
+                // Every earlier segment is full, so the last one must hold the rest
+                long needed = Math.min(minCapacity - ((long) (segmentCount - 1) << shift), full);
+                int newRecords = (int) Math.min(growthPolicy.newCapacity(lastRecords, (int) needed), full);
+                ByteBuffer grown = allocate(newRecords);
+                ByteBuffer contents = last.duplicate();
+                contents.clear();
+                grown.put(contents);
+                segments[segmentCount - 1] = grown;
+                capacity += newRecords - lastRecords;
+            } else {
+                if (segmentCount == segments.length) {
+                    ByteBuffer[] newDirectory = new ByteBuffer[segments.length * 2];
+                    System.arraycopy(segments, 0, newDirectory, 0, segmentCount);
+                    segments = newDirectory;
+                }
+                int newRecords = (int) Math.min(minCapacity - capacity, full);
+                segments[segmentCount++] = allocate(newRecords);
+                capacity += newRecords;
+            }
+        }
+    }
+
+    /**
+     * Returns an iterator that reads each record in order.
+     *
+     * @return An iterator over the records.
+     * @throws IllegalStateException If the list is closed.
+     */
+    public Iterator<T> iterator() {
+        checkOpen();
+        return new Iterator<T>() {
+            private long currentIndex = 0;
+
+            @Override
+            public boolean hasNext() {
+                return currentIndex < size;
+            }
+
+            @Override
+            public T next() {
+                if (!hasNext()) throw new NoSuchElementException();
+                return get(currentIndex++);
+            }
+        };
+    }
+
+    /**
+     * Releases every segment. The list cannot be used afterwards; closing it again
+     * has no effect.
+     */
+    @Override
+    public void close() {
+        segments = null;
+        segmentCount = 0;
+        capacity = 0;
+        size = 0;
+    }
+
+    /**
+     * Finds the byte offset of a record within its segment.
+     *
+     * @param index The position of the record.
+     * @return The offset of the record's first byte.
+     */
+    private int offset(long index) {
+        return (int) (index & mask) * recordSize;
+    }
+
+    /**
+     * Allocates a zeroed segment in native byte order.
+     *
+     * @param records The number of records it must hold.
+     * @return The new segment.
+     */
+    private ByteBuffer allocate(int records) {
+        return ByteBuffer.allocateDirect(records * recordSize).order(ByteOrder.nativeOrder());
+    }
+
+    /**
+     * Checks that a position holds a record.
+     *
+     * @param index The position to check.
+     * @throws IndexOutOfBoundsException If the position is invalid.
+     * @throws IllegalStateException     If the list is closed.
+     */
+    private void checkIndex(long index) {
+        checkOpen();
+        if (index < 0 || index >= size) throw new IndexOutOfBoundsException("Invalid position.");
+    }
+
+    /**
+     * Checks that a field lies inside a record that exists.
+     *
+     * @param index       The position of the record.
+     * @param fieldOffset The offset of the field within the record.
+     * @param width       The size of the field in bytes.
+     * @throws IndexOutOfBoundsException If the record or field is out of bounds.
+     * @throws IllegalStateException     If the list is closed.
+     */
+    private void checkField(long index, int fieldOffset, int width) {
+        checkIndex(index);
+        if (fieldOffset < 0 || fieldOffset > recordSize - width) throw new IndexOutOfBoundsException("Invalid field offset.");
+    }
+
+    /**
+     * Checks that the list has not been closed.
+     *
+     * @throws IllegalStateException If the list is closed.
+     */
+    private void checkOpen() {
+        if (segments == null) throw new IllegalStateException("List is closed.");
+    }
+
+    /**
+     * Works out the largest power-of-two segment of whole records that stays within
+     * 1 GB.
+     *
+     * @param layout The record layout.
+     * @return The segment size as a power of two.
+     */
+    private static int defaultShift(RecordLayout<?> layout) {
+        if (layout == null) throw new NullPointerException("Layout cannot be null.");
+        int recordSize = Math.max(layout.size(), 1);
+        int shift = 0;
+        while (shift < 30 && (2L << shift) * recordSize <= MAX_SEGMENT_BYTES) {
+            shift++;
+        }
+        return shift;
+    }
+}
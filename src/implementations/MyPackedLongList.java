@@ -0,0 +1,501 @@
+package implementations;
+
+import utilities.LongIterator;
+import java.io.Serializable;
+import java.util.Arrays;
+import java.util.NoSuchElementException;
+import java.util.function.LongConsumer;
+
+/**
+ * A read-only list of <code>long</code> values compressed in blocks of 128. Each block
+ * is stored in whichever of two forms needs fewer bits per value:
+ * <ul>
+ * <li>frame of reference: every value minus the smallest value of the block, which
+ * suits clustered data, or</li>
+ * <li>delta: every difference between neighbours minus the smallest difference,
+ * which suits sorted data such as ID lists, where a gap of a few thousand takes a
+ * dozen bits instead of 64.</li>
+ * </ul>
+ * The results are bit-packed at the width of the largest one, and all blocks share
+ * one <code>long[]</code>, so a block of small gaps costs a few bytes per value
+ * rather than the 24 or so of a boxed <code>Long</code> in a {@link MyArrayList}.
+ * <p>
+ * Lists are created with a {@link Builder}. A frame-of-reference value is read in
+ * constant time; a delta value is found by adding up the gaps before it in its block.
+ * Sequential reads through {@link #iterator()} or {@link #forEach(LongConsumer)}
+ * decode a whole block at a time.
+ * </p>
+ */
+public class MyPackedLongList implements Serializable {
+    private static final long serialVersionUID = -4639217055826138304L;
+
+    /**
+     * The number of bits in a position within a block.
+     */
+    private static final int BLOCK_SHIFT = 7;
+
+    /**
+     * The number of values in a full block.
+     */
+    public static final int BLOCK_SIZE = 1 << BLOCK_SHIFT;
+
+    /**
+     * Selects the position within a block from an index.
+     */
+    private static final int BLOCK_MASK = BLOCK_SIZE - 1;
+
+    /**
+     * The packed values of every block, each block starting on a new word.
+     */
+    private final long[] data;
+
+    /**
+     * The first word of each block in <code>data</code>.
+     */
+    private final int[] starts;
+
+    /**
+     * The reference of each block: its smallest value for frame of reference, its first
+     * value for delta.
+     */
+    private final long[] bases;
+
+    /**
+     * The smallest difference between neighbours in each delta block.
+     */
+    private final long[] minDeltas;
+
+    /**
+     * The number of bits per packed value in each block.
+     */
+    private final byte[] widths;
+
+    /**
+     * Whether each block stores differences rather than offsets from its base.
+     */
+    private final boolean[] deltas;
+
+    /**
+     * The number of values.
+     */
+    private final int size;
+
+    /**
+     * Creates a list from the arrays of a builder.
+     *
+     * @param builder The builder, whose arrays are trimmed and taken over.
+     */
+    private MyPackedLongList(Builder builder) {
+        int blocks = builder.blockCount;
+        data = Arrays.copyOf(builder.data, builder.wordCount);
+        starts = Arrays.copyOf(builder.starts, blocks);
+        bases = Arrays.copyOf(builder.bases, blocks);
+        minDeltas = Arrays.copyOf(builder.minDeltas, blocks);
+        widths = Arrays.copyOf(builder.widths, blocks);
+        deltas = Arrays.copyOf(builder.deltas, blocks);
+        size = builder.size;
+    }
+
+    /**
+     * Creates a list holding the values of an array, in order.
+     *
+     * @param values The values.
+     * @return A compressed list of the values.
+     * @throws NullPointerException If the array is null.
+     */
+    public static MyPackedLongList of(long... values) {
+        if (values == null) throw new NullPointerException("Values cannot be null.");
+        Builder builder = new Builder();
+        for (long value : values) {
+            builder.add(value);
+        }
+        return builder.build();
+    }
+
+    /**
+     * Creates a list holding the values of another list, in order.
+     *
+     * @param values The values.
+     * @return A compressed list of the values.
+     * @throws NullPointerException If the list is null.
+     */
+    public static MyPackedLongList of(LongArrayList values) {
+        if (values == null) throw new NullPointerException("Values cannot be null.");
+        Builder builder = new Builder();
+        values.forEach(builder::add);
+        return builder.build();
+    }
+
+    /**
+     * Gets the value at a specific position by decoding only what is needed from its
+     * block.
+     *
+     * @param index The position of the value.
+     * @return The value.
+     * @throws IndexOutOfBoundsException If the index is invalid.
+     */
+    public long get(int index) {
+        if (index < 0 || index >= size) throw new IndexOutOfBoundsException("Invalid position.");
+        int block = index >>> BLOCK_SHIFT;
+        int position = index & BLOCK_MASK;
+        int width = widths[block];
+        int start = starts[block];
+        if (!deltas[block]) return bases[block] + unpack(data, start, width, position);
+        long value = bases[block] + position * minDeltas[block];
+        for (int i = 0; i < position; i++) {
+            value += unpack(data, start, width, i);
+        }
+        return value;
+    }
+
+    /**
+     * Finds a value in a list sorted in ascending order, first by the first value of
+     * each block and then within one decoded block.
+     *
+     * @param key The value to find.
+     * @return The position of the value if found; otherwise
+     *         <code>-(insertion point) - 1</code>, where the insertion point is the
+     *         position of the first value greater than the key.
+     */
+    public int binarySearch(long key) {
+        int low = 0;
+        int high = bases.length - 1;
+        while (low <= high) { // Find the last block starting at or before the key
+            int mid = (low + high) >>> 1;
+            if (get(mid << BLOCK_SHIFT) <= key) {
+                low = mid + 1;
+            } else {
+                high = mid - 1;
+            }
+        }
+        if (high < 0) return -1;
+        long[] values = new long[BLOCK_SIZE];
+        int count = decodeBlock(high, values);
+        int first = high << BLOCK_SHIFT;
+        low = 0;
+        high = count - 1;
+        while (low <= high) {
+            int mid = (low + high) >>> 1;
+            if (values[mid] < key) {
+                low = mid + 1;
+            } else if (values[mid] > key) {
+                high = mid - 1;
+            } else {
+                return first + mid;
+            }
+        }
+        return -(first + low) - 1;
+    }
+
+    /**
+     * Performs an action on each value in order, decoding one block at a time into a
+     * single reused buffer.
+     *
+     * @param action The action to perform.
+     * @throws NullPointerException If the action is null.
+     */
+    public void forEach(LongConsumer action) {
+        if (action == null) throw new NullPointerException("Action cannot be null.");
+        long[] values = new long[BLOCK_SIZE];
+        for (int block = 0; block < bases.length; block++) {
+            int count = decodeBlock(block, values);
+            for (int i = 0; i < count; i++) {
+                action.accept(values[i]);
+            }
+        }
+    }
+
+    /**
+     * Returns an iterator that decodes one block at a time.
+     *
+     * @return An iterator over the values.
+     */
+    public LongIterator iterator() {
+        return new LongIterator() {
+            private final long[] buffer = new long[BLOCK_SIZE];
+            private int currentIndex = 0;
+
+            @Override
+            public boolean hasNext() {
+                return currentIndex < size;
+            }
+
+            @Override
+            public long nextLong() {
+                if (!hasNext()) throw new NoSuchElementException();
+                int position = currentIndex & BLOCK_MASK;
+                if (position == 0) decodeBlock(currentIndex >>> BLOCK_SHIFT, buffer);
+                currentIndex++;
+                return buffer[position];
+            }
+        };
+    }
+
+    /**
+     * Decompresses the list into an array.
+     *
+     * @return An array holding every value in order.
+     */
+    public long[] toArray() {
+        long[] array = new long[size];
+        long[] values = new long[BLOCK_SIZE];
+        for (int block = 0; block < bases.length; block++) {
+            int count = decodeBlock(block, values);
+            System.arraycopy(values, 0, array, block << BLOCK_SHIFT, count);
+        }
+        return array;
+    }
+
+    /**
+     * Gets the number of values in the list.
+     *
+     * @return The number of values.
+     */
+    public int size() {
+        return size;
+    }
+
+    /**
+     * Checks if the list is empty.
+     *
+     * @return True if the list holds no values.
+     */
+    public boolean isEmpty() {
+        return size == 0;
+    }
+
+    /**
+     * Estimates the memory used by the packed values and the block headers.
+     *
+     * @return The approximate size in bytes.
+     */
+    public long memoryBytes() {
+        return 8L * data.length + (4L + 8L + 8L + 1L + 1L) * bases.length;
+    }
+
+    /**
+     * Decodes a whole block.
+     *
+     * @param block  The number of the block.
+     * @param target An array of at least <code>BLOCK_SIZE</code> values to fill.
+     * @return The number of values in the block.
+     */
+    private int decodeBlock(int block, long[] target) {
+        int count = Math.min(BLOCK_SIZE, size - (block << BLOCK_SHIFT));
+        int width = widths[block];
+        int start = starts[block];
+        long base = bases[block];
+        if (deltas[block]) {
+            long minDelta = minDeltas[block];
+            long value = base;
+            target[0] = value;
+            for (int i = 1; i < count; i++) {
+                value += minDelta + unpack(data, start, width, i - 1);
+                target[i] = value;
+            }
+        } else {
+            for (int i = 0; i < count; i++) {
+                target[i] = base + unpack(data, start, width, i);
+            }
+        }
+        return count;
+    }
+
+    /**
+     * Reads one packed value.
+     *
+     * @param data     The packed words.
+     * @param start    The first word of the block.
+     * @param width    The number of bits per value, from 0 to 64.
+     * @param position The position of the value within the block.
+     * @return The value as an unsigned number.
+     */
+    private static long unpack(long[] data, int start, int width, int position) {
+        if (width == 0) return 0;
+        int bit = position * width;
+        int word = start + (bit >>> 6);
+        int shift = bit & 63;
+        long value = data[word] >>> shift;
+        if (shift + width > 64) value |= data[word + 1] << (64 - shift);
+        return width == 64 ? value : value & ((1L << width) - 1);
+    }
+
+    /**
+     * Writes one packed value into words that start out zero.
+     *
+     * @param data     The packed words.
+     * @param start    The first word of the block.
+     * @param width    The number of bits per value, from 1 to 64.
+     * @param position The position of the value within the block.
+     * @param value    The value, which must fit in <code>width</code> bits.
+     */
+    private static void pack(long[] data, int start, int width, int position, long value) {
+        int bit = position * width;
+        int word = start + (bit >>> 6);
+        int shift = bit & 63;
+        data[word] |= value << shift;
+        if (shift + width > 64) data[word + 1] |= value >>> (64 - shift);
+    }
+
+    /**
+     * Gets the number of bits needed to hold an unsigned value.
+     *
+     * @param value The largest value to hold.
+     * @return The width in bits, from 0 to 64.
+     */
+    private static int bitWidth(long value) {
+        return 64 - Long.numberOfLeadingZeros(value);
+    }
+
+    /**
+     * Collects values and compresses each block of 128 as soon as it is full, so only
+     * one block is ever held uncompressed. {@link #build()} compresses the last,
+     * possibly partial, block and hands out the list. A builder is not thread-safe.
+     */
+    public static final class Builder {
+
+        /**
+         * The values of the block being filled.
+         */
+        private long[] pending = new long[BLOCK_SIZE];
+
+        /**
+         * The number of values in the pending block.
+         */
+        private int pendingCount;
+
+        /*
+         * The blocks compressed so far, laid out as in the list. The arrays have spare
+         * room and are trimmed by the list's constructor.
+         */
+        private long[] data = new long[16];
+        private int wordCount;
+        private int[] starts = new int[4];
+        private long[] bases = new long[4];
+        private long[] minDeltas = new long[4];
+        private byte[] widths = new byte[4];
+        private boolean[] deltas = new boolean[4];
+        private int blockCount;
+
+        /**
+         * The number of values added.
+         */
+        private int size;
+
+        /**
+         * Creates an empty builder.
+         */
+        public Builder() {
+        }
+
+        /**
+         * Adds a value to the end.
+         *
+         * @param value The value to add.
+         * @return This builder.
+         * @throws IllegalStateException If the builder has been built.
+         * @throws OutOfMemoryError      If the list would exceed the largest
+         *                               <code>int</code> size.
+         */
+        public Builder add(long value) {
+            if (pending == null) throw new IllegalStateException("Builder has already been built.");
+            if (size == Integer.MAX_VALUE) throw new OutOfMemoryError("List is too large.");
+            pending[pendingCount++] = value;
+            size++;
+            if (pendingCount == BLOCK_SIZE) flush();
+            return this;
+        }
+
+        /**
+         * Gets the number of values added so far.
+         *
+         * @return The number of values.
+         */
+        public int size() {
+            return size;
+        }
+
+        /**
+         * Compresses the last block and hands out the list. The builder cannot be used
+         * afterwards.
+         *
+         * @return The compressed list.
+         * @throws IllegalStateException If the builder has already been built.
+         */
+        public MyPackedLongList build() {
+            if (pending == null) throw new IllegalStateException("Builder has already been built.");
+            if (pendingCount > 0) flush();
+            pending = null;
+            return new MyPackedLongList(this);
+        }
+
+        /**
+         * Compresses the pending block in whichever form takes fewer bits, preferring
+         * frame of reference on a tie since it reads in constant time.
+         */
+        private void flush() {
+            int count = pendingCount;
+            long min = pending[0];
+            for (int i = 1; i < count; i++) {
+                min = Math.min(min, pending[i]);
+            }
+            long forBits = 0; // The OR of the values has the same highest bit as their maximum
+            for (int i = 0; i < count; i++) {
+                forBits |= pending[i] - min;
+            }
+            long minDelta = 0;
+            long deltaBits = 0;
+            if (count > 1) {
+                minDelta = pending[1] - pending[0];
+                for (int i = 2; i < count; i++) {
+                    minDelta = Math.min(minDelta, pending[i] - pending[i - 1]);
+                }
+                for (int i = 1; i < count; i++) {
+                    deltaBits |= pending[i] - pending[i - 1] - minDelta;
+                }
+            }
+            boolean delta = count > 1 && bitWidth(deltaBits) < bitWidth(forBits);
+            int width = bitWidth(delta ? deltaBits : forBits);
+            int packed = delta ? count - 1 : count;
+            int words = (int) (((long) packed * width + 63) >>> 6);
+            ensureBlockCapacity(words);
+            int start = wordCount;
+            if (width > 0) {
+                for (int i = 0; i < packed; i++) {
+                    long stored = delta ? pending[i + 1] - pending[i] - minDelta : pending[i] - min;
+                    pack(data, start, width, i, stored);
+                }
+            }
+            starts[blockCount] = start;
+            bases[blockCount] = delta ? pending[0] : min;
+            minDeltas[blockCount] = minDelta;
+            widths[blockCount] = (byte) width;
+            deltas[blockCount] = delta;
+            blockCount++;
+            wordCount += words;
+            pendingCount = 0;
+        }
+
+        /**
+         * Makes room for one more block header and the given number of words.
+         *
+         * @param words The number of words the block needs.
+         */
+        private void ensureBlockCapacity(int words) {
+            if (blockCount == starts.length) {
+                int capacity = starts.length * 2;
+                starts = Arrays.copyOf(starts, capacity);
+                bases = Arrays.copyOf(bases, capacity);
+                minDeltas = Arrays.copyOf(minDeltas, capacity);
+                widths = Arrays.copyOf(widths, capacity);
+                deltas = Arrays.copyOf(deltas, capacity);
+            }
+            if (wordCount + words > data.length) {
+                long capacity = Math.max(2L * data.length, (long) wordCount + words);
+                if (capacity > Integer.MAX_VALUE - 8) capacity = Integer.MAX_VALUE - 8;
+                if (capacity < (long) wordCount + words) throw new OutOfMemoryError("Required array size too large.");
+                data = Arrays.copyOf(data, (int) capacity);
+            }
+        }
+    }
+}
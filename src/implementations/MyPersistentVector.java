@@ -0,0 +1,846 @@
+package implementations;
+
+import utilities.IndexedConsumer;
+import utilities.Iterator;
+import utilities.ListADT;
+import java.io.IOException;
+import java.io.InvalidObjectException;
+import java.io.ObjectInputStream;
+import java.io.ObjectOutputStream;
+import java.io.Serializable;
+import java.util.NoSuchElementException;
+import java.util.function.Consumer;
+
+/**
+ * An immutable list built as a 32-way trie, in the style of the persistent vectors
+ * of Clojure and Scala. Items live in leaf arrays of 32, and inner nodes hold up to
+ * 32 children, so a lookup follows one array per five bits of the index: at most
+ * seven steps for any <code>int</code> index. The last leaf is kept outside the trie
+ * as a tail, so most appends copy only the tail.
+ * <p>
+ * A change never modifies the vector. {@link #plus(Object)}, {@link #with(int, Object)}
+ * and {@link #pop()} return a new vector that copies only the path from the root to
+ * the changed leaf and shares every other node with the original. Keeping many
+ * versions of a large list therefore costs little more than keeping one.
+ * </p>
+ * <p>
+ * The <code>ListADT</code> methods that would change the list in place throw
+ * <code>UnsupportedOperationException</code>. To build a large vector quickly, use a
+ * {@link Builder}, which changes nodes it owns in place and hands out a vector when
+ * done.
+ * </p>
+ *
+ * @param <E> The type of elements in the vector.
+ */
+public class MyPersistentVector<E> implements ListADT<E>, Serializable {
+    private static final long serialVersionUID = -2815069424317285047L;
+
+    /**
+     * The number of bits of the index used at each level.
+     */
+    private static final int BITS = 5;
+
+    /**
+     * The number of slots in a node.
+     */
+    private static final int WIDTH = 1 << BITS;
+
+    /**
+     * Selects the slot within a node from a shifted index.
+     */
+    private static final int MASK = WIDTH - 1;
+
+    /**
+     * The shared empty root.
+     */
+    private static final Node EMPTY_NODE = new Node(null, new Object[WIDTH]);
+
+    /**
+     * The shared empty vector.
+     */
+    @SuppressWarnings("rawtypes")
+    private static final MyPersistentVector EMPTY = new MyPersistentVector(0, BITS, EMPTY_NODE, new Object[0]);
+
+    /**
+     * The number of items. Like the other fields, it is set only on construction or
+     * deserialization.
+     */
+    private transient int size;
+
+    /**
+     * The shift of the root level: five times the number of inner levels.
+     */
+    private transient int shift;
+
+    /**
+     * The root of the trie, which holds every item before the tail.
+     */
+    private transient Node root;
+
+    /**
+     * The last items, exactly as many as are not in the trie.
+     */
+    private transient Object[] tail;
+
+    /**
+     * Creates a vector from its parts.
+     *
+     * @param size  The number of items.
+     * @param shift The shift of the root level.
+     * @param root  The root of the trie.
+     * @param tail  The tail array.
+     */
+    private MyPersistentVector(int size, int shift, Node root, Object[] tail) {
+        this.size = size;
+        this.shift = shift;
+        this.root = root;
+        this.tail = tail;
+    }
+
+    /**
+     * Gets the empty vector.
+     *
+     * @param <E> The type of elements in the vector.
+     * @return An empty vector.
+     */
+    @SuppressWarnings("unchecked")
+    public static <E> MyPersistentVector<E> empty() {
+        return (MyPersistentVector<E>) EMPTY;
+    }
+
+    /**
+     * Creates a vector holding the items of a list, in order.
+     *
+     * @param <E>   The type of elements in the vector.
+     * @param items The items to hold.
+     * @return A vector of the items.
+     * @throws NullPointerException If the list is null or contains a null item.
+     */
+    public static <E> MyPersistentVector<E> of(ListADT<? extends E> items) {
+        if (items == null) throw new NullPointerException("Cannot copy a null list.");
+        Builder<E> builder = builder();
+        builder.addAll(items);
+        return builder.build();
+    }
+
+    /**
+     * Creates an empty builder.
+     *
+     * @param <E> The type of elements in the vector.
+     * @return A new builder.
+     */
+    public static <E> Builder<E> builder() {
+        return MyPersistentVector.<E>empty().toBuilder();
+    }
+
+    /**
+     * Creates a builder that starts with the items of this vector. The vector itself is
+     * not affected by anything done to the builder.
+     *
+     * @return A new builder.
+     */
+    public Builder<E> toBuilder() {
+        return new Builder<>(this);
+    }
+
+    /**
+     * Returns a vector with an item added to the end. This takes constant time apart
+     * from once every 32 items, when the full tail is pushed into the trie.
+     *
+     * @param element The item to add.
+     * @return A new vector one item longer.
+     * @throws NullPointerException If the element is null.
+     */
+    public MyPersistentVector<E> plus(E element) {
+        if (element == null) throw new NullPointerException("Cannot add null item.");
+        if (size - tailOffset() < WIDTH) {
+            Object[] newTail = new Object[tail.length + 1];
+            System.arraycopy(tail, 0, newTail, 0, tail.length);
+            newTail[tail.length] = element;
+            return new MyPersistentVector<>(size + 1, shift, root, newTail);
+        }
+        Node tailNode = new Node(null, tail);
+        Node newRoot;
+        int newShift = shift;
+        if ((size >>> BITS) > (1 << shift)) {
+            newRoot = new Node(null, new Object[WIDTH]);
+            newRoot.array[0] = root;
+            newRoot.array[1] = newPath(null, shift, tailNode);
+            newShift += BITS;
+        } else {
+            newRoot = pushTail(null, size, shift, root, tailNode);
+        }
+        return new MyPersistentVector<>(size + 1, newShift, newRoot, new Object[] {element});
+    }
+
+    /**
+     * Returns a vector with the item at a specific position replaced, copying only the
+     * path to that item.
+     *
+     * @param index   The position to replace.
+     * @param element The new item.
+     * @return A new vector with the item replaced.
+     * @throws NullPointerException      If the element is null.
+     * @throws IndexOutOfBoundsException If the index is invalid.
+     */
+    public MyPersistentVector<E> with(int index, E element) {
+        if (element == null) throw new NullPointerException("Cannot set null item.");
+        if (index < 0 || index >= size) throw new IndexOutOfBoundsException("Invalid position.");
+        if (index >= tailOffset()) {
+            Object[] newTail = tail.clone();
+            newTail[index & MASK] = element;
+            return new MyPersistentVector<>(size, shift, root, newTail);
+        }
+        return new MyPersistentVector<>(size, shift, assign(null, shift, root, index, element), tail);
+    }
+
+    /**
+     * Returns a vector without its last item.
+     *
+     * @return A new vector one item shorter.
+     * @throws NoSuchElementException If the vector is empty.
+     */
+    public MyPersistentVector<E> pop() {
+        if (size == 0) throw new NoSuchElementException("Vector is empty.");
+        if (size == 1) return empty();
+        if (size - tailOffset() > 1) {
+            Object[] newTail = new Object[tail.length - 1];
+            System.arraycopy(tail, 0, newTail, 0, newTail.length);
+            return new MyPersistentVector<>(size - 1, shift, root, newTail);
+        }
+        Object[] newTail = leafFor(size - 2);
+        Node newRoot = popTail(shift, root);
+        int newShift = shift;
+        if (newRoot == null) newRoot = EMPTY_NODE;
+        if (shift > BITS && newRoot.array[1] == null) {
+            newRoot = (Node) newRoot.array[0];
+            newShift -= BITS;
+        }
+        return new MyPersistentVector<>(size - 1, newShift, newRoot, newTail);
+    }
+
+    /**
+     * Gets the last item.
+     *
+     * @return The last item.
+     * @throws NoSuchElementException If the vector is empty.
+     */
+    @SuppressWarnings("unchecked")
+    public E peek() {
+        if (size == 0) throw new NoSuchElementException("Vector is empty.");
+        return (E) tail[tail.length - 1];
+    }
+
+    /**
+     * Not supported: the vector is immutable. Use {@link #plus(Object)} or a builder.
+     *
+     * @param index   Ignored.
+     * @param element Ignored.
+     * @return Never returns.
+     * @throws UnsupportedOperationException Always.
+     */
+    @Override
+    public boolean add(int index, E element) {
+        throw new UnsupportedOperationException("Vector is immutable.");
+    }
+
+    /**
+     * Not supported: the vector is immutable. Use {@link #plus(Object)} instead.
+     *
+     * @param element Ignored.
+     * @return Never returns.
+     * @throws UnsupportedOperationException Always.
+     */
+    @Override
+    public boolean add(E element) {
+        throw new UnsupportedOperationException("Vector is immutable.");
+    }
+
+    /**
+     * Not supported: the vector is immutable. Use a builder instead.
+     *
+     * @param toAdd Ignored.
+     * @return Never returns.
+     * @throws UnsupportedOperationException Always.
+     */
+    @Override
+    public boolean addAll(ListADT<? extends E> toAdd) {
+        throw new UnsupportedOperationException("Vector is immutable.");
+    }
+
+    /**
+     * Not supported: the vector is immutable. Use {@link #pop()} to drop the last item.
+     *
+     * @param index Ignored.
+     * @return Never returns.
+     * @throws UnsupportedOperationException Always.
+     */
+    @Override
+    public E remove(int index) {
+        throw new UnsupportedOperationException("Vector is immutable.");
+    }
+
+    /**
+     * Not supported: the vector is immutable.
+     *
+     * @param element Ignored.
+     * @return Never returns.
+     * @throws UnsupportedOperationException Always.
+     */
+    @Override
+    public E remove(E element) {
+        throw new UnsupportedOperationException("Vector is immutable.");
+    }
+
+    /**
+     * Not supported: the vector is immutable. Use {@link #with(int, Object)} instead.
+     *
+     * @param index   Ignored.
+     * @param element Ignored.
+     * @return Never returns.
+     * @throws UnsupportedOperationException Always.
+     */
+    @Override
+    public E set(int index, E element) {
+        throw new UnsupportedOperationException("Vector is immutable.");
+    }
+
+    /**
+     * Not supported: the vector is immutable. Use {@link #empty()} instead.
+     *
+     * @throws UnsupportedOperationException Always.
+     */
+    @Override
+    public void clear() {
+        throw new UnsupportedOperationException("Vector is immutable.");
+    }
+
+    /**
+     * Retrieves an item at a specific position, following one node per level.
+     *
+     * @param index The position of the item.
+     * @return The item at the specified position.
+     * @throws IndexOutOfBoundsException If the index is invalid.
+     */
+    @Override
+    @SuppressWarnings("unchecked")
+    public E get(int index) {
+        if (index < 0 || index >= size) throw new IndexOutOfBoundsException("Invalid position.");
+        return (E) leafFor(index)[index & MASK];
+    }
+
+    /**
+     * Checks if the vector contains a specific item.
+     *
+     * @param element The item to search for.
+     * @return True if the item is found.
+     * @throws NullPointerException If the element is null.
+     */
+    @Override
+    public boolean contains(E element) {
+        if (element == null) throw new NullPointerException("Cannot search for null item.");
+        for (int start = 0; start < size; start += WIDTH) {
+            Object[] leaf = leafFor(start);
+            int end = Math.min(WIDTH, size - start);
+            for (int i = 0; i < end; i++) {
+                if (element.equals(leaf[i])) return true;
+            }
+        }
+        return false;
+    }
+
+    /**
+     * Gets the number of items in the vector.
+     *
+     * @return The number of items.
+     */
+    @Override
+    public int size() {
+        return size;
+    }
+
+    /**
+     * Checks if the vector is empty.
+     *
+     * @return True if the vector is empty.
+     */
+    @Override
+    public boolean isEmpty() {
+        return size == 0;
+    }
+
+    /**
+     * Converts the vector to an array.
+     *
+     * @param holder The array to store the items.
+     * @return The array containing the items.
+     * @throws NullPointerException If the provided array is null.
+     */
+    @Override
+    @SuppressWarnings("unchecked")
+    public E[] toArray(E[] holder) {
+        if (holder == null) throw new NullPointerException("Provided array cannot be null.");
+        if (holder.length < size) holder = (E[]) new Object[size];
+        copyInto(holder);
+        if (holder.length > size) holder[size] = null;
+        return holder;
+    }
+
+    /**
+     * Converts the vector to an array.
+     *
+     * @return An array containing the items.
+     */
+    @Override
+    public Object[] toArray() {
+        Object[] array = new Object[size];
+        copyInto(array);
+        return array;
+    }
+
+    /**
+     * Performs an action on each item in order, looking up each leaf once and then
+     * looping over it, so nothing is allocated.
+     *
+     * @param action The action to perform.
+     * @throws NullPointerException If the action is null.
+     */
+    @Override
+    @SuppressWarnings("unchecked")
+    public void forEach(Consumer<? super E> action) {
+        if (action == null) throw new NullPointerException("Action cannot be null.");
+        for (int start = 0; start < size; start += WIDTH) {
+            Object[] leaf = leafFor(start);
+            int end = Math.min(WIDTH, size - start);
+            for (int i = 0; i < end; i++) {
+                action.accept((E) leaf[i]);
+            }
+        }
+    }
+
+    /**
+     * Performs an action on each item and its position, one leaf at a time.
+     *
+     * @param action The action to perform.
+     * @throws NullPointerException If the action is null.
+     */
+    @Override
+    @SuppressWarnings("unchecked")
+    public void forEachIndexed(IndexedConsumer<? super E> action) {
+        if (action == null) throw new NullPointerException("Action cannot be null.");
+        for (int start = 0; start < size; start += WIDTH) {
+            Object[] leaf = leafFor(start);
+            int end = Math.min(WIDTH, size - start);
+            for (int i = 0; i < end; i++) {
+                action.accept(start + i, (E) leaf[i]);
+            }
+        }
+    }
+
+    /**
+     * Returns an iterator for the vector. It looks up each leaf once and then walks it,
+     * and since the vector never changes, it never fails.
+     *
+     * @return An iterator to traverse the vector.
+     */
+    @Override
+    public Iterator<E> iterator() {
+        return new Iterator<E>() {
+            private Object[] leaf;
+            private int currentIndex = 0;
+
+            @Override
+            public boolean hasNext() {
+                return currentIndex < size;
+            }
+
+            @Override
+            @SuppressWarnings("unchecked")
+            public E next() {
+                if (!hasNext()) throw new NoSuchElementException();
+                if ((currentIndex & MASK) == 0) leaf = leafFor(currentIndex);
+                return (E) leaf[currentIndex++ & MASK];
+            }
+        };
+    }
+
+    /**
+     * Finds the index of the first item held in the trie's tail rather than its nodes.
+     *
+     * @return The number of items in the trie.
+     */
+    private int tailOffset() {
+        return tailOffset(size);
+    }
+
+    /**
+     * Finds the leaf array holding a position.
+     *
+     * @param index A valid position.
+     * @return The tail or the leaf holding the position.
+     */
+    private Object[] leafFor(int index) {
+        if (index >= tailOffset()) return tail;
+        Node node = root;
+        for (int level = shift; level > 0; level -= BITS) {
+            node = (Node) node.array[(index >>> level) & MASK];
+        }
+        return node.array;
+    }
+
+    /**
+     * Copies the items into an array, one leaf at a time.
+     *
+     * @param target The array, at least as long as the vector.
+     */
+    private void copyInto(Object[] target) {
+        for (int start = 0; start < size; start += WIDTH) {
+            System.arraycopy(leafFor(start), 0, target, start, Math.min(WIDTH, size - start));
+        }
+    }
+
+    /**
+     * Removes the last leaf of the trie, copying the path to it.
+     *
+     * @param level The shift of this node's level.
+     * @param node  The node to remove from.
+     * @return The new node, or null if it would be empty.
+     */
+    private Node popTail(int level, Node node) {
+        int slot = ((size - 2) >>> level) & MASK;
+        if (level > BITS) {
+            Node newChild = popTail(level - BITS, (Node) node.array[slot]);
+            if (newChild == null && slot == 0) return null;
+            Node copy = new Node(null, node.array.clone());
+            copy.array[slot] = newChild;
+            return copy;
+        }
+        if (slot == 0) return null;
+        Node copy = new Node(null, node.array.clone());
+        copy.array[slot] = null;
+        return copy;
+    }
+
+    /**
+     * Finds the index of the first tail item for a given number of items.
+     *
+     * @param count The number of items.
+     * @return The number of items in the trie.
+     */
+    private static int tailOffset(int count) {
+        return count < WIDTH ? 0 : ((count - 1) >>> BITS) << BITS;
+    }
+
+    /**
+     * Gets a node that may be changed in place under an edit token, copying it if it
+     * belongs to someone else. Without a token, it always copies.
+     *
+     * @param edit The token of the caller, or null.
+     * @param node The node.
+     * @return The node itself or its copy.
+     */
+    private static Node editable(Object edit, Node node) {
+        if (edit != null && node.edit == edit) return node;
+        return new Node(edit, node.array.clone());
+    }
+
+    /**
+     * Pushes a full tail into the trie as its new last leaf.
+     *
+     * @param edit     The edit token, or null to copy the path.
+     * @param count    The number of items, including the full tail.
+     * @param level    The shift of this node's level.
+     * @param parent   The node to push into.
+     * @param tailNode The leaf to push.
+     * @return The new or changed node.
+     */
+    private static Node pushTail(Object edit, int count, int level, Node parent, Node tailNode) {
+        int slot = ((count - 1) >>> level) & MASK;
+        Node result = editable(edit, parent);
+        Node toInsert;
+        if (level == BITS) {
+            toInsert = tailNode;
+        } else {
+            Node child = (Node) parent.array[slot];
+            toInsert = child != null ? pushTail(edit, count, level - BITS, child, tailNode) : newPath(edit, level - BITS, tailNode);
+        }
+        result.array[slot] = toInsert;
+        return result;
+    }
+
+    /**
+     * Builds a chain of single-child nodes down to a leaf.
+     *
+     * @param edit  The edit token of the new nodes.
+     * @param level The shift of the top node's level.
+     * @param node  The leaf at the bottom.
+     * @return The top of the chain.
+     */
+    private static Node newPath(Object edit, int level, Node node) {
+        if (level == 0) return node;
+        Node result = new Node(edit, new Object[WIDTH]);
+        result.array[0] = newPath(edit, level - BITS, node);
+        return result;
+    }
+
+    /**
+     * Replaces an item in the trie.
+     *
+     * @param edit    The edit token, or null to copy the path.
+     * @param level   The shift of this node's level.
+     * @param node    The node holding the item.
+     * @param index   The position of the item.
+     * @param element The new item.
+     * @return The new or changed node.
+     */
+    private static Node assign(Object edit, int level, Node node, int index, Object element) {
+        Node result = editable(edit, node);
+        if (level == 0) {
+            result.array[index & MASK] = element;
+        } else {
+            int slot = (index >>> level) & MASK;
+            result.array[slot] = assign(edit, level - BITS, (Node) node.array[slot], index, element);
+        }
+        return result;
+    }
+
+    /**
+     * Writes the vector as its size followed by its items. The trie is rebuilt on
+     * reading rather than written node by node.
+     *
+     * @param out The stream to write to.
+     * @throws IOException If the stream cannot be written.
+     */
+    private void writeObject(ObjectOutputStream out) throws IOException {
+        out.defaultWriteObject();
+        out.writeInt(size);
+        Iterator<E> it = iterator();
+        while (it.hasNext()) {
+            out.writeObject(it.next());
+        }
+    }
+
+    /**
+     * Reads a vector written by {@link #writeObject(ObjectOutputStream)} through a
+     * builder.
+     *
+     * @param in The stream to read from.
+     * @throws IOException            If the stream cannot be read or holds an invalid vector.
+     * @throws ClassNotFoundException If the class of an item cannot be found.
+     */
+    @SuppressWarnings("unchecked")
+    private void readObject(ObjectInputStream in) throws IOException, ClassNotFoundException {
+        in.defaultReadObject();
+        int count = in.readInt();
+        if (count < 0) throw new InvalidObjectException("Negative size.");
+        Builder<E> builder = builder();
+        for (int i = 0; i < count; i++) {
+            Object item = in.readObject();
+            if (item == null) throw new InvalidObjectException("Null item.");
+            builder.add((E) item);
+        }
+        MyPersistentVector<E> built = builder.build();
+        size = built.size;
+        shift = built.shift;
+        root = built.root;
+        tail = built.tail;
+    }
+
+    /**
+     * A trie node: the children of an inner node or the items of a leaf.
+     */
+    private static final class Node {
+
+        /**
+         * The token of the builder that may change this node in place, or null.
+         */
+        final Object edit;
+
+        /**
+         * The children or items.
+         */
+        final Object[] array;
+
+        Node(Object edit, Object[] array) {
+            this.edit = edit;
+            this.array = array;
+        }
+    }
+
+    /**
+     * Builds a vector by changing its own nodes in place instead of copying a path for
+     * every item. Nodes it creates carry its edit token, so only they are changed;
+     * nodes shared with an existing vector are copied the first time they are touched.
+     * <p>
+     * {@link #build()} hands out the result and retires the builder, so the vector can
+     * never be changed through it afterwards. A builder is not thread-safe.
+     * </p>
+     *
+     * @param <E> The type of elements in the vector.
+     */
+    public static final class Builder<E> {
+
+        /**
+         * This builder's edit token, or null once it has been built.
+         */
+        private Object edit = new Object();
+
+        /**
+         * The number of items.
+         */
+        private int size;
+
+        /**
+         * The shift of the root level.
+         */
+        private int shift;
+
+        /**
+         * The root of the trie.
+         */
+        private Node root;
+
+        /**
+         * The tail, always a full-length array owned by the builder.
+         */
+        private Object[] tail;
+
+        /**
+         * Creates a builder starting from a vector.
+         *
+         * @param vector The vector to start from.
+         */
+        private Builder(MyPersistentVector<E> vector) {
+            size = vector.size;
+            shift = vector.shift;
+            root = new Node(edit, vector.root.array.clone());
+            tail = new Object[WIDTH];
+            System.arraycopy(vector.tail, 0, tail, 0, vector.tail.length);
+        }
+
+        /**
+         * Adds an item to the end.
+         *
+         * @param element The item to add.
+         * @return This builder.
+         * @throws NullPointerException  If the element is null.
+         * @throws IllegalStateException If the builder has been built.
+         */
+        public Builder<E> add(E element) {
+            checkActive();
+            if (element == null) throw new NullPointerException("Cannot add null item.");
+            if (size - tailOffset(size) < WIDTH) {
+                tail[size & MASK] = element;
+                size++;
+                return this;
+            }
+            Node tailNode = new Node(edit, tail);
+            tail = new Object[WIDTH];
+            tail[0] = element;
+            if ((size >>> BITS) > (1 << shift)) {
+                Node newRoot = new Node(edit, new Object[WIDTH]);
+                newRoot.array[0] = root;
+                newRoot.array[1] = newPath(edit, shift, tailNode);
+                root = newRoot;
+                shift += BITS;
+            } else {
+                root = pushTail(edit, size, shift, root, tailNode);
+            }
+            size++;
+            return this;
+        }
+
+        /**
+         * Adds every item of a list to the end, in order.
+         *
+         * @param items The items to add.
+         * @return This builder.
+         * @throws NullPointerException  If the list is null or contains a null item.
+         * @throws IllegalStateException If the builder has been built.
+         */
+        @SuppressWarnings("unchecked")
+        public Builder<E> addAll(ListADT<? extends E> items) {
+            if (items == null) throw new NullPointerException("Cannot add a null list.");
+            for (Object item : items.toArray()) {
+                add((E) item);
+            }
+            return this;
+        }
+
+        /**
+         * Replaces the item at a specific position in place.
+         *
+         * @param index   The position to replace.
+         * @param element The new item.
+         * @return This builder.
+         * @throws NullPointerException      If the element is null.
+         * @throws IndexOutOfBoundsException If the index is invalid.
+         * @throws IllegalStateException     If the builder has been built.
+         */
+        public Builder<E> set(int index, E element) {
+            checkActive();
+            if (element == null) throw new NullPointerException("Cannot set null item.");
+            if (index < 0 || index >= size) throw new IndexOutOfBoundsException("Invalid position.");
+            if (index >= tailOffset(size)) {
+                tail[index & MASK] = element;
+            } else {
+                root = assign(edit, shift, root, index, element);
+            }
+            return this;
+        }
+
+        /**
+         * Retrieves an item at a specific position.
+         *
+         * @param index The position of the item.
+         * @return The item at the specified position.
+         * @throws IndexOutOfBoundsException If the index is invalid.
+         * @throws IllegalStateException     If the builder has been built.
+         */
+        @SuppressWarnings("unchecked")
+        public E get(int index) {
+            checkActive();
+            if (index < 0 || index >= size) throw new IndexOutOfBoundsException("Invalid position.");
+            if (index >= tailOffset(size)) return (E) tail[index & MASK];
+            Node node = root;
+            for (int level = shift; level > 0; level -= BITS) {
+                node = (Node) node.array[(index >>> level) & MASK];
+            }
+            return (E) node.array[index & MASK];
+        }
+
+        /**
+         * Gets the number of items added so far.
+         *
+         * @return The number of items.
+         */
+        public int size() {
+            return size;
+        }
+
+        /**
+         * Hands out the vector built so far and retires the builder.
+         *
+         * @return The finished vector.
+         * @throws IllegalStateException If the builder has already been built.
+         */
+        public MyPersistentVector<E> build() {
+            checkActive();
+            edit = null;
+            if (size == 0) return empty();
+            int tailLength = size - tailOffset(size);
+            Object[] trimmedTail = new Object[tailLength];
+            System.arraycopy(tail, 0, trimmedTail, 0, tailLength);
+            return new MyPersistentVector<>(size, shift, root, trimmedTail);
+        }
+
+        /**
+         * Checks that the builder has not been built.
+         *
+         * @throws IllegalStateException If the builder has been built.
+         */
+        private void checkActive() {
+            if (edit == null) throw new IllegalStateException("Builder has already been built.");
+        }
+    }
+}
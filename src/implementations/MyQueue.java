@@ -2,10 +2,16 @@ package implementations;
 
 import exceptions.EmptyQueueException;
 import utilities.QueueADT;
+import utilities.IndexedConsumer;
 import utilities.Iterator;
 
+import java.io.IOException;
+import java.io.InvalidObjectException;
+import java.io.ObjectInputStream;
+import java.io.ObjectOutputStream;
 import java.io.Serializable;
 import java.util.NoSuchElementException;
+import java.util.function.Consumer;
 
 /**
  * A generic implementation of a Queue using a singly linked list.
@@ -16,22 +22,27 @@ import java.util.NoSuchElementException;
  */
 public class MyQueue<E> implements QueueADT<E>, Serializable {
 
-    private static final long serialVersionUID = 2033529128621524653L;
+    private static final long serialVersionUID = 8164208927573354071L;
 
     /**
      * The front (head) of the queue.
      */
-    private Node<E> head;
+    private transient Node<E> head;
 
     /**
      * The rear (tail) of the queue.
      */
-    private Node<E> tail;
+    private transient Node<E> tail;
 
     /**
      * The number of elements in the queue.
      */
-    private int size;
+    private transient int size;
+
+    /**
+     * Counts the elements in the queue for fast lookups, or null when indexing is off.
+     */
+    private transient MyHashMultiset<E> elementIndex;
 
     /**
      * Constructs an empty queue.
@@ -55,6 +66,9 @@ public class MyQueue<E> implements QueueADT<E>, Serializable {
             tail = newNode;
         }
         size++;
+        if (elementIndex != null) {
+            elementIndex.add(toAdd);
+        }
     }
 
     @Override
@@ -68,6 +82,9 @@ public class MyQueue<E> implements QueueADT<E>, Serializable {
             tail = null;
         }
         size--;
+        if (elementIndex != null) {
+            elementIndex.remove(data);
+        }
         return data;
     }
 
@@ -84,6 +101,9 @@ public class MyQueue<E> implements QueueADT<E>, Serializable {
         head = null;
         tail = null;
         size = 0;
+        if (elementIndex != null) {
+            elementIndex.clear();
+        }
     }
 
     @Override
@@ -96,6 +116,9 @@ public class MyQueue<E> implements QueueADT<E>, Serializable {
         if (toFind == null) {
             throw new NullPointerException("Cannot search for null in the queue.");
         }
+        if (elementIndex != null) {
+            return elementIndex.contains(toFind);
+        }
         Node<E> current = head;
         while (current != null) {
             if (current.data.equals(toFind)) {
@@ -108,7 +131,7 @@ public class MyQueue<E> implements QueueADT<E>, Serializable {
 
     @Override
     public int search(E toFind) {
-        if (toFind == null) {
+        if (toFind == null || (elementIndex != null && !elementIndex.contains(toFind))) {
             return -1;
         }
         Node<E> current = head;
@@ -183,6 +206,41 @@ public class MyQueue<E> implements QueueADT<E>, Serializable {
         return size;
     }
 
+    /**
+     * Performs an action on each element from front to back by following the links
+     * directly, so nothing is allocated.
+     *
+     * @param action The action to perform.
+     * @throws NullPointerException If the action is null.
+     */
+    @Override
+    public void forEach(Consumer<? super E> action) {
+        if (action == null) {
+            throw new NullPointerException("Action cannot be null.");
+        }
+        for (Node<E> current = head; current != null; current = current.next) {
+            action.accept(current.data);
+        }
+    }
+
+    /**
+     * Performs an action on each element from front to back, together with its
+     * distance from the front.
+     *
+     * @param action The action to perform.
+     * @throws NullPointerException If the action is null.
+     */
+    @Override
+    public void forEachIndexed(IndexedConsumer<? super E> action) {
+        if (action == null) {
+            throw new NullPointerException("Action cannot be null.");
+        }
+        int index = 0;
+        for (Node<E> current = head; current != null; current = current.next) {
+            action.accept(index++, current.data);
+        }
+    }
+
     @Override
     public Iterator<E> iterator() {
         return new Iterator<E>() {
@@ -205,6 +263,98 @@ public class MyQueue<E> implements QueueADT<E>, Serializable {
         };
     }
 
+    /**
+     * Turns on the hash index so that <code>contains</code> no longer walks the queue
+     * and <code>search</code> returns at once for absent elements. The index is built
+     * from the current elements and kept in sync by every enqueue and dequeue.
+     */
+    public void enableIndex() {
+        if (elementIndex != null) {
+            return;
+        }
+        elementIndex = new MyHashMultiset<>();
+        for (Node<E> current = head; current != null; current = current.next) {
+            elementIndex.add(current.data);
+        }
+    }
+
+    /**
+     * Turns off the hash index and releases its memory.
+     */
+    public void disableIndex() {
+        elementIndex = null;
+    }
+
+    /**
+     * Checks whether the hash index is enabled.
+     *
+     * @return True if lookups use the index.
+     */
+    public boolean isIndexed() {
+        return elementIndex != null;
+    }
+
+    /**
+     * Estimates the extra memory used by the hash index.
+     *
+     * @return The approximate size of the index in bytes, or zero if it is disabled.
+     */
+    public long indexMemoryBytes() {
+        return elementIndex == null ? 0 : elementIndex.memoryBytes();
+    }
+
+    /**
+     * Saves the queue as its size, whether it is indexed, and then the items from
+     * front to rear. The nodes themselves are never written, so long queues do not
+     * recurse.
+     *
+     * @param out The stream to write to.
+     * @throws IOException If the stream cannot be written.
+     */
+    private void writeObject(ObjectOutputStream out) throws IOException {
+        out.defaultWriteObject();
+        out.writeInt(size);
+        out.writeBoolean(elementIndex != null);
+        for (Node<E> current = head; current != null; current = current.next) {
+            out.writeObject(current.data);
+        }
+    }
+
+    /**
+     * Restores a queue saved by <code>writeObject</code>, linking the nodes one at a
+     * time, and rebuilds the index if the queue was indexed.
+     *
+     * @param in The stream to read from.
+     * @throws IOException            If the stream cannot be read or holds an invalid queue.
+     * @throws ClassNotFoundException If the class of an item cannot be found.
+     */
+    @SuppressWarnings("unchecked")
+    private void readObject(ObjectInputStream in) throws IOException, ClassNotFoundException {
+        in.defaultReadObject();
+        int count = in.readInt();
+        if (count < 0) {
+            throw new InvalidObjectException("Invalid size: " + count);
+        }
+        boolean indexed = in.readBoolean();
+        for (int i = 0; i < count; i++) {
+            Object item = in.readObject();
+            if (item == null) {
+                throw new InvalidObjectException("Null item.");
+            }
+            Node<E> node = new Node<>((E) item);
+            if (tail == null) {
+                head = node;
+            } else {
+                tail.next = node;
+            }
+            tail = node;
+        }
+        size = count;
+        if (indexed) {
+            enableIndex();
+        }
+    }
+
     @Override
     public boolean isFull() {
         return false; // This queue is dynamically sized, so it is never full.
@@ -215,8 +365,7 @@ public class MyQueue<E> implements QueueADT<E>, Serializable {
      *
      * @param <E> The type of data stored in the node.
      */
-    private static class Node<E> implements Serializable {
-        private static final long serialVersionUID = 6529685098267757693L;
+    private static class Node<E> {
 
         /**
          * The data stored in the node.
@@ -0,0 +1,450 @@
+package implementations;
+
+import utilities.IndexedConsumer;
+import utilities.Iterator;
+import utilities.ListADT;
+import java.io.Serializable;
+import java.util.ConcurrentModificationException;
+import java.util.NoSuchElementException;
+import java.util.function.Consumer;
+
+/**
+ * A list that stores its elements in fixed-size chunks reached through a directory
+ * array. Growing the list only allocates one more chunk, and at worst copies the
+ * small directory, so elements are never copied to grow and there is no moment
+ * when the old and new arrays have to fit in memory together. Chunk sizes are a
+ * power of two, so an index is split into a chunk and an offset with a shift and a
+ * mask.
+ *
+ * @param <E> The type of elements in the list.
+ */
+public class MySegmentedList<E> implements ListADT<E>, Serializable {
+    private static final long serialVersionUID = -3398572612844715503L;
+
+    /**
+     * The default chunk size as a power of two (1024 elements per chunk).
+     */
+    public static final int DEFAULT_CHUNK_SHIFT = 10;
+
+    /**
+     * The default initial length of the directory.
+     */
+    private static final int DEFAULT_DIRECTORY_CAPACITY = 8;
+
+    /**
+     * The directory of chunks. Entries from <code>chunkCount</code> onwards are null.
+     */
+    private Object[][] chunks;
+
+    /**
+     * The number of chunks allocated.
+     */
+    private int chunkCount;
+
+    /**
+     * The current number of elements in the list.
+     */
+    private int size;
+
+    /**
+     * The number of bits of an index that select the position within a chunk.
+     */
+    private final int shift;
+
+    /**
+     * Selects the position within a chunk from an index.
+     */
+    private final int mask;
+
+    /**
+     * The number of structural modifications, used by iterators to fail fast.
+     */
+    private transient int modCount;
+
+    /**
+     * Creates an empty list with chunks of 1024 elements.
+     */
+    public MySegmentedList() {
+        this(DEFAULT_CHUNK_SHIFT);
+    }
+
+    /**
+     * Creates an empty list with chunks of <code>2^chunkShift</code> elements.
+     *
+     * @param chunkShift The chunk size as a power of two, from 1 to 30.
+     * @throws IllegalArgumentException If the shift is out of range.
+     */
+    public MySegmentedList(int chunkShift) {
+        if (chunkShift < 1 || chunkShift > 30) throw new IllegalArgumentException("Chunk shift must be between 1 and 30.");
+        shift = chunkShift;
+        mask = (1 << chunkShift) - 1;
+        chunks = new Object[DEFAULT_DIRECTORY_CAPACITY][];
+    }
+
+    /**
+     * Adds an item to a specific position in the list.
+     * Moves later items one place to the right, chunk by chunk.
+     *
+     * @param index   The position to add the item.
+     * @param element The item to add.
+     * @return True if the item was added successfully.
+     * @throws NullPointerException      If the element is null.
+     * @throws IndexOutOfBoundsException If the index is out of bounds.
+     */
+    @Override
+    public boolean add(int index, E element) {
+        if (element == null) throw new NullPointerException("Cannot add null item.");
+        if (index < 0 || index > size) throw new IndexOutOfBoundsException("Invalid position.");
+        if (index == size) return add(element);
+        if (size == Integer.MAX_VALUE) throw new OutOfMemoryError("List is full.");
+        ensureChunk(size >>> shift);
+        int first = index >>> shift;
+        for (int c = size >>> shift; c >= first; c--) {
+            Object[] chunk = chunks[c];
+            int lo = c == first ? index & mask : 0;
+            int hi = c == size >>> shift ? size & mask : mask;
+            System.arraycopy(chunk, lo, chunk, lo + 1, hi - lo);
+            if (c > first) chunk[0] = chunks[c - 1][mask]; // Carry across the chunk boundary
+        }
+        chunks[first][index & mask] = element;
+        size++;
+        modCount++;
+        return true;
+    }
+
+    /**
+     * Adds an item to the end of the list, allocating a new chunk if the last one is full.
+     *
+     * @param element The item to add.
+     * @return True if the item was added successfully.
+     * @throws NullPointerException If the element is null.
+     */
+    @Override
+    public boolean add(E element) {
+        if (element == null) throw new NullPointerException("Cannot add null item.");
+        if (size == Integer.MAX_VALUE) throw new OutOfMemoryError("List is full.");
+        ensureChunk(size >>> shift);
+        chunks[size >>> shift][size & mask] = element;
+        size++;
+        modCount++;
+        return true;
+    }
+
+    /**
+     * Adds all items from another list to the end of this list.
+     *
+     * @param toAdd The list of items to add.
+     * @return True if the items were added successfully.
+     * @throws NullPointerException If the provided list is null or contains a null item.
+     */
+    @Override
+    public boolean addAll(ListADT<? extends E> toAdd) {
+        if (toAdd == null) throw new NullPointerException("Cannot add from a null list.");
+        Object[] source = toAdd.toArray();
+        for (Object item : source) {
+            if (item == null) throw new NullPointerException("Cannot add null item.");
+        }
+        for (Object item : source) {
+            @SuppressWarnings("unchecked")
+            E element = (E) item;
+            add(element);
+        }
+        return true;
+    }
+
+    /**
+     * Removes an item from a specific position.
+     * Moves later items one place to the left, chunk by chunk.
+     *
+     * @param index The position of the item to remove.
+     * @return The removed item.
+     * @throws IndexOutOfBoundsException If the index is invalid.
+     */
+    @Override
+    public E remove(int index) {
+        E removed = get(index);
+        int first = index >>> shift;
+        int last = (size - 1) >>> shift;
+        for (int c = first; c <= last; c++) {
+            Object[] chunk = chunks[c];
+            int lo = c == first ? index & mask : 0;
+            int hi = c == last ? (size - 1) & mask : mask;
+            System.arraycopy(chunk, lo + 1, chunk, lo, hi - lo);
+            if (c < last) chunk[mask] = chunks[c + 1][0]; // Carry across the chunk boundary
+        }
+        chunks[last][(size - 1) & mask] = null;
+        size--;
+        modCount++;
+        return removed;
+    }
+
+    /**
+     * Removes the first occurrence of a specific item.
+     *
+     * @param element The item to remove.
+     * @return The removed item, or null if not found.
+     * @throws NullPointerException If the element is null.
+     */
+    @Override
+    public E remove(E element) {
+        if (element == null) throw new NullPointerException("Cannot remove null item.");
+        int index = indexOf(element);
+        return index == -1 ? null : remove(index);
+    }
+
+    /**
+     * Gets the item at a specific position.
+     *
+     * @param index The position of the item.
+     * @return The item at the specified position.
+     * @throws IndexOutOfBoundsException If the index is invalid.
+     */
+    @Override
+    @SuppressWarnings("unchecked")
+    public E get(int index) {
+        if (index < 0 || index >= size) throw new IndexOutOfBoundsException("Invalid position.");
+        return (E) chunks[index >>> shift][index & mask];
+    }
+
+    /**
+     * Updates the item at a specific position with a new value.
+     *
+     * @param index   The position to update.
+     * @param element The new item.
+     * @return The old item that was replaced.
+     * @throws NullPointerException      If the new element is null.
+     * @throws IndexOutOfBoundsException If the index is invalid.
+     */
+    @Override
+    public E set(int index, E element) {
+        if (element == null) throw new NullPointerException("Cannot set null item.");
+        E old = get(index);
+        chunks[index >>> shift][index & mask] = element;
+        return old;
+    }
+
+    /**
+     * Checks if the list contains a specific item.
+     *
+     * @param element The item to check for.
+     * @return True if the item is in the list, false otherwise.
+     * @throws NullPointerException If the element is null.
+     */
+    @Override
+    public boolean contains(E element) {
+        if (element == null) throw new NullPointerException("Cannot check for null item.");
+        return indexOf(element) != -1;
+    }
+
+    /**
+     * Clears all items from the list and releases every chunk.
+     */
+    @Override
+    public void clear() {
+        chunks = new Object[DEFAULT_DIRECTORY_CAPACITY][];
+        chunkCount = 0;
+        size = 0;
+        modCount++;
+    }
+
+    /**
+     * Gets the number of items in the list.
+     *
+     * @return The number of items in the list.
+     */
+    @Override
+    public int size() {
+        return size;
+    }
+
+    /**
+     * Checks if the list is empty.
+     *
+     * @return True if the list is empty, false otherwise.
+     */
+    @Override
+    public boolean isEmpty() {
+        return size == 0;
+    }
+
+    /**
+     * Converts the list to an array.
+     *
+     * @param holder The array to store the items.
+     * @return The array containing the list items.
+     * @throws NullPointerException If the provided array is null.
+     */
+    @Override
+    public E[] toArray(E[] holder) {
+        if (holder == null) throw new NullPointerException("Provided array cannot be null.");
+        if (holder.length < size) {
+            @SuppressWarnings("unchecked")
+            E[] newArray = (E[]) new Object[size];
+            holder = newArray;
+        }
+        copyInto(holder);
+        if (holder.length > size) holder[size] = null;
+        return holder;
+    }
+
+    /**
+     * Converts the list to an array.
+     *
+     * @return An array containing the list items.
+     */
+    @Override
+    public Object[] toArray() {
+        Object[] array = new Object[size];
+        copyInto(array);
+        return array;
+    }
+
+    /**
+     * Returns an iterator for the list. The iterator walks the chunks directly and
+     * fails fast if the list is structurally modified while it is in use.
+     *
+     * @return An iterator to traverse the list.
+     */
+    @Override
+    public Iterator<E> iterator() {
+        return new Iterator<E>() {
+            private int currentIndex = 0;
+            private final int expectedModCount = modCount;
+
+            @Override
+            public boolean hasNext() {
+                return currentIndex < size;
+            }
+
+            @Override
+            @SuppressWarnings("unchecked")
+            public E next() {
+                if (modCount != expectedModCount) throw new ConcurrentModificationException();
+                if (!hasNext()) throw new NoSuchElementException();
+                E item = (E) chunks[currentIndex >>> shift][currentIndex & mask];
+                currentIndex++;
+                return item;
+            }
+        };
+    }
+
+    /**
+     * Performs an action on each item in order, looping over each chunk in turn so
+     * that nothing is allocated. Like the iterator, it fails fast if the action
+     * structurally modifies the list.
+     *
+     * @param action The action to perform.
+     * @throws NullPointerException If the action is null.
+     */
+    @Override
+    @SuppressWarnings("unchecked")
+    public void forEach(Consumer<? super E> action) {
+        if (action == null) throw new NullPointerException("Action cannot be null.");
+        int expectedModCount = modCount;
+        int index = 0;
+        for (int c = 0; index < size && modCount == expectedModCount; c++) {
+            Object[] chunk = chunks[c];
+            int count = Math.min(chunk.length, size - index);
+            for (int i = 0; i < count && modCount == expectedModCount; i++) {
+                action.accept((E) chunk[i]);
+            }
+            index += count;
+        }
+        if (modCount != expectedModCount) throw new ConcurrentModificationException();
+    }
+
+    /**
+     * Performs an action on each item and its position, one chunk at a time. Fails
+     * fast like {@link #forEach(Consumer)}.
+     *
+     * @param action The action to perform.
+     * @throws NullPointerException If the action is null.
+     */
+    @Override
+    @SuppressWarnings("unchecked")
+    public void forEachIndexed(IndexedConsumer<? super E> action) {
+        if (action == null) throw new NullPointerException("Action cannot be null.");
+        int expectedModCount = modCount;
+        int index = 0;
+        for (int c = 0; index < size && modCount == expectedModCount; c++) {
+            Object[] chunk = chunks[c];
+            int count = Math.min(chunk.length, size - index);
+            for (int i = 0; i < count && modCount == expectedModCount; i++) {
+                action.accept(index + i, (E) chunk[i]);
+            }
+            index += count;
+        }
+        if (modCount != expectedModCount) throw new ConcurrentModificationException();
+    }
+
+    /**
+     * Releases chunks that no longer hold any items, for example after many removals.
+     * They are allocated again if the list grows.
+     */
+    public void releaseEmptyChunks() {
+        int needed = (int) (((long) size + mask) >>> shift);
+        for (int c = needed; c < chunkCount; c++) {
+            chunks[c] = null;
+        }
+        chunkCount = needed;
+    }
+
+    /**
+     * Gets the number of chunks currently allocated.
+     *
+     * @return The number of allocated chunks.
+     */
+    public int chunkCount() {
+        return chunkCount;
+    }
+
+    /**
+     * Finds the position of the first occurrence of an item.
+     *
+     * @param element The item to find.
+     * @return The position of the item, or -1 if it is not in the list.
+     */
+    private int indexOf(E element) {
+        int index = 0;
+        for (int c = 0; index < size; c++) {
+            Object[] chunk = chunks[c];
+            int count = Math.min(chunk.length, size - index);
+            for (int i = 0; i < count; i++) {
+                if (chunk[i].equals(element)) return index + i;
+            }
+            index += count;
+        }
+        return -1;
+    }
+
+    /**
+     * Copies every item into the start of an array, one chunk at a time.
+     *
+     * @param target The array to fill; must hold at least <code>size</code> items.
+     */
+    private void copyInto(Object[] target) {
+        int index = 0;
+        for (int c = 0; index < size; c++) {
+            int count = Math.min(mask + 1, size - index);
+            System.arraycopy(chunks[c], 0, target, index, count);
+            index += count;
+        }
+    }
+
+    /**
+     * Makes sure the chunk with the given number is allocated, growing the directory
+     * if needed. Only the directory is ever copied.
+     *
+     * @param chunk The number of the chunk that must exist.
+     */
+    private void ensureChunk(int chunk) {
+        while (chunkCount <= chunk) {
+            if (chunkCount == chunks.length) {
+                Object[][] newDirectory = new Object[chunks.length * 2][];
+                System.arraycopy(chunks, 0, newDirectory, 0, chunkCount);
+                chunks = newDirectory;
+            }
+            chunks[chunkCount++] = new Object[mask + 1];
+        }
+    }
+}
@@ -1,11 +1,21 @@
 package implementations;
 
+import utilities.GrowthPolicies;
+import utilities.GrowthPolicy;
 import utilities.StackADT;
+import utilities.IndexedConsumer;
 import utilities.Iterator;
 
+import java.io.IOException;
+import java.io.InvalidObjectException;
+import java.io.ObjectInputStream;
+import java.io.ObjectOutputStream;
 import java.io.Serializable;
+import java.util.ConcurrentModificationException;
 import java.util.EmptyStackException;
 import java.util.NoSuchElementException;
+import java.util.Spliterator;
+import java.util.function.Consumer;
 
 /**
  * A generic stack implementation using an array.
@@ -16,28 +26,74 @@ import java.util.NoSuchElementException;
  */
 public class MyStack<E> implements StackADT<E>, Serializable {
 
-    private static final long serialVersionUID = 4468849289651320024L;
+    private static final long serialVersionUID = -2951735760442105388L;
 
     /**
-     * The array that stores the stack elements.
+     * The array that stores the stack elements. Only the used part is serialized,
+     * by <code>writeObject</code>.
      */
-    private Object[] stackArray;
+    private transient Object[] stackArray;
 
     /**
      * The current size of the stack.
      */
     private int size;
 
+    /**
+     * The number of structural modifications, used by iterators to fail fast.
+     */
+    private transient int modCount;
+
     /**
      * The default capacity of the stack.
      */
     private static final int DEFAULT_CAPACITY = 10;
 
+    /**
+     * Decides how far the array grows when it is full.
+     */
+    private GrowthPolicy growthPolicy;
+
+    /**
+     * Counts the elements on the stack for fast lookups, or null when indexing is off.
+     * It is rebuilt rather than serialized.
+     */
+    private transient MyHashMultiset<E> elementIndex;
+
     /**
      * Creates an empty stack with the default capacity.
      */
     public MyStack() {
-        stackArray = new Object[DEFAULT_CAPACITY];
+        this(DEFAULT_CAPACITY);
+    }
+
+    /**
+     * Creates an empty stack with the given initial capacity that doubles when full.
+     *
+     * @param initialCapacity The number of items the stack can hold before growing.
+     * @throws IllegalArgumentException If the capacity is negative.
+     */
+    public MyStack(int initialCapacity) {
+        this(initialCapacity, GrowthPolicies.doubling());
+    }
+
+    /**
+     * Creates an empty stack with the given initial capacity and growth policy.
+     *
+     * @param initialCapacity The number of items the stack can hold before growing.
+     * @param growthPolicy    Decides the new capacity when the stack is full.
+     * @throws IllegalArgumentException If the capacity is negative.
+     * @throws NullPointerException     If the growth policy is null.
+     */
+    public MyStack(int initialCapacity, GrowthPolicy growthPolicy) {
+        if (initialCapacity < 0) {
+            throw new IllegalArgumentException("Capacity cannot be negative.");
+        }
+        if (growthPolicy == null) {
+            throw new NullPointerException("Growth policy cannot be null.");
+        }
+        stackArray = new Object[initialCapacity];
+        this.growthPolicy = growthPolicy;
         size = 0;
     }
 
@@ -48,6 +104,10 @@ public class MyStack<E> implements StackADT<E>, Serializable {
         }
         ensureCapacity();
         stackArray[size++] = toAdd;
+        modCount++;
+        if (elementIndex != null) {
+            elementIndex.add(toAdd);
+        }
     }
 
     @Override
@@ -58,6 +118,10 @@ public class MyStack<E> implements StackADT<E>, Serializable {
         @SuppressWarnings("unchecked")
         E data = (E) stackArray[--size];
         stackArray[size] = null; // Clear reference to allow garbage collection
+        modCount++;
+        if (elementIndex != null) {
+            elementIndex.remove(data);
+        }
         return data;
     }
 
@@ -76,6 +140,10 @@ public class MyStack<E> implements StackADT<E>, Serializable {
             stackArray[i] = null;
         }
         size = 0;
+        modCount++;
+        if (elementIndex != null) {
+            elementIndex.clear();
+        }
     }
 
     @Override
@@ -88,6 +156,9 @@ public class MyStack<E> implements StackADT<E>, Serializable {
         if (toFind == null) {
             throw new NullPointerException("Cannot search for null in the stack.");
         }
+        if (elementIndex != null) {
+            return elementIndex.contains(toFind);
+        }
         for (int i = 0; i < size; i++) {
             if (stackArray[i].equals(toFind)) {
                 return true;
@@ -98,7 +169,7 @@ public class MyStack<E> implements StackADT<E>, Serializable {
 
     @Override
     public int search(E toFind) {
-        if (toFind == null) {
+        if (toFind == null || (elementIndex != null && !elementIndex.contains(toFind))) {
             return -1;
         }
         for (int i = size - 1; i >= 0; i--) {
@@ -109,6 +180,28 @@ public class MyStack<E> implements StackADT<E>, Serializable {
         return -1;
     }
 
+    /**
+     * Returns the 1-based position of an object on this stack, looking no deeper
+     * than the given number of items from the top.
+     *
+     * @param toFind   The desired object.
+     * @param maxDepth The maximum number of items to examine, starting at the top.
+     * @return The 1-based position from the top of the stack, or -1 if the object
+     *         is not within the searched depth.
+     */
+    public int search(E toFind, int maxDepth) {
+        if (toFind == null || (elementIndex != null && !elementIndex.contains(toFind))) {
+            return -1;
+        }
+        int limit = Math.max(size - maxDepth, 0);
+        for (int i = size - 1; i >= limit; i--) {
+            if (stackArray[i].equals(toFind)) {
+                return size - i; // 1-based index from the top
+            }
+        }
+        return -1;
+    }
+
     @Override
     public Object[] toArray() {
         Object[] result = new Object[size];
@@ -157,8 +250,109 @@ public class MyStack<E> implements StackADT<E>, Serializable {
         return size == stackArray.length;
     }
 
+    /**
+     * Returns an iterator from the top of the stack to the bottom. The iterator reads
+     * the stack directly rather than copying it, and fails fast: once the stack is
+     * pushed, popped or cleared, the next call to <code>next()</code> throws a
+     * <code>ConcurrentModificationException</code>.
+     *
+     * @return An iterator over the stack from top to bottom.
+     */
     @Override
     public Iterator<E> iterator() {
+        return new Iterator<E>() {
+            private int currentIndex = size - 1;
+            private final int expectedModCount = modCount;
+
+            @Override
+            public boolean hasNext() {
+                return currentIndex >= 0;
+            }
+
+            @Override
+            @SuppressWarnings("unchecked")
+            public E next() {
+                if (modCount != expectedModCount) {
+                    throw new ConcurrentModificationException();
+                }
+                if (!hasNext()) {
+                    throw new NoSuchElementException();
+                }
+                return (E) stackArray[currentIndex--];
+            }
+        };
+    }
+
+    /**
+     * Performs an action on each element from the top of the stack to the bottom,
+     * looping over the backing array so that nothing is allocated. Like the iterator,
+     * it fails fast if the action pushes, pops or clears.
+     *
+     * @param action The action to perform.
+     * @throws NullPointerException If the action is null.
+     */
+    @Override
+    @SuppressWarnings("unchecked")
+    public void forEach(Consumer<? super E> action) {
+        if (action == null) {
+            throw new NullPointerException("Action cannot be null.");
+        }
+        int expectedModCount = modCount;
+        Object[] array = stackArray;
+        for (int i = size - 1; i >= 0 && modCount == expectedModCount; i--) {
+            action.accept((E) array[i]);
+        }
+        if (modCount != expectedModCount) {
+            throw new ConcurrentModificationException();
+        }
+    }
+
+    /**
+     * Performs an action on each element from the top of the stack to the bottom,
+     * together with its distance from the top. Fails fast like
+     * {@link #forEach(Consumer)}.
+     *
+     * @param action The action to perform.
+     * @throws NullPointerException If the action is null.
+     */
+    @Override
+    @SuppressWarnings("unchecked")
+    public void forEachIndexed(IndexedConsumer<? super E> action) {
+        if (action == null) {
+            throw new NullPointerException("Action cannot be null.");
+        }
+        int expectedModCount = modCount;
+        Object[] array = stackArray;
+        int top = size - 1;
+        for (int i = top; i >= 0 && modCount == expectedModCount; i--) {
+            action.accept(top - i, (E) array[i]);
+        }
+        if (modCount != expectedModCount) {
+            throw new ConcurrentModificationException();
+        }
+    }
+
+    /**
+     * Returns a spliterator from the top of the stack to the bottom that splits the
+     * stack in half by position, so parallel streams partition the backing array
+     * directly. Like the iterator, it fails fast if the stack is pushed, popped or
+     * cleared while it is in use.
+     *
+     * @return A spliterator over the stack from top to bottom.
+     */
+    @Override
+    public Spliterator<E> spliterator() {
+        return new IndexSpliterator(0, size, modCount);
+    }
+
+    /**
+     * Returns an iterator from the top of the stack to the bottom over a copy taken
+     * now. Later changes to the stack are not seen and never cause the iterator to
+     * fail, at the cost of copying every item up front.
+     *
+     * @return An iterator over a snapshot of the stack.
+     */
+    public Iterator<E> snapshotIterator() {
         Object[] snapshot = toArray(); // Create a snapshot of the stack's current state
         return new Iterator<E>() {
             private int currentIndex = snapshot.length - 1;
@@ -179,15 +373,221 @@ public class MyStack<E> implements StackADT<E>, Serializable {
         };
     }
 
+    /**
+     * Turns on the hash index so that <code>contains</code> no longer scans the stack
+     * and <code>search</code> returns at once for absent elements. The index is built
+     * from the current elements and kept in sync by every push and pop.
+     */
+    public void enableIndex() {
+        if (elementIndex != null) {
+            return;
+        }
+        elementIndex = new MyHashMultiset<>();
+        for (int i = 0; i < size; i++) {
+            @SuppressWarnings("unchecked")
+            E element = (E) stackArray[i];
+            elementIndex.add(element);
+        }
+    }
+
+    /**
+     * Turns off the hash index and releases its memory.
+     */
+    public void disableIndex() {
+        elementIndex = null;
+    }
+
+    /**
+     * Checks whether the hash index is enabled.
+     *
+     * @return True if lookups use the index.
+     */
+    public boolean isIndexed() {
+        return elementIndex != null;
+    }
+
+    /**
+     * Estimates the extra memory used by the hash index.
+     *
+     * @return The approximate size of the index in bytes, or zero if it is disabled.
+     */
+    public long indexMemoryBytes() {
+        return elementIndex == null ? 0 : elementIndex.memoryBytes();
+    }
+
+    /**
+     * Makes sure the stack can hold at least the given number of items without
+     * growing again.
+     *
+     * @param minCapacity The number of items the stack must be able to hold.
+     */
+    public void ensureCapacity(int minCapacity) {
+        if (minCapacity > stackArray.length) {
+            grow(minCapacity);
+        }
+    }
+
+    /**
+     * Shrinks the array to the current number of items, releasing unused capacity.
+     */
+    public void trimToSize() {
+        if (size < stackArray.length) {
+            Object[] newArray = new Object[size];
+            System.arraycopy(stackArray, 0, newArray, 0, size);
+            stackArray = newArray;
+        }
+    }
+
+    /**
+     * Gets the number of items the stack can hold before it has to grow.
+     *
+     * @return The length of the backing array.
+     */
+    public int capacity() {
+        return stackArray.length;
+    }
+
+    /**
+     * Saves the stack as its size and growth policy, whether it is indexed, and then
+     * the items from bottom to top, so unused capacity is never written.
+     *
+     * @param out The stream to write to.
+     * @throws IOException If the stream cannot be written.
+     */
+    private void writeObject(ObjectOutputStream out) throws IOException {
+        int expectedModCount = modCount;
+        out.defaultWriteObject();
+        out.writeBoolean(elementIndex != null);
+        for (int i = 0; i < size; i++) {
+            out.writeObject(stackArray[i]);
+        }
+        if (modCount != expectedModCount) {
+            throw new ConcurrentModificationException();
+        }
+    }
+
+    /**
+     * Restores a stack saved by <code>writeObject</code> into an array of exactly the
+     * saved size, and rebuilds the index if the stack was indexed.
+     *
+     * @param in The stream to read from.
+     * @throws IOException            If the stream cannot be read or holds an invalid stack.
+     * @throws ClassNotFoundException If the class of an item cannot be found.
+     */
+    private void readObject(ObjectInputStream in) throws IOException, ClassNotFoundException {
+        in.defaultReadObject();
+        if (size < 0) {
+            throw new InvalidObjectException("Invalid size: " + size);
+        }
+        if (growthPolicy == null) {
+            throw new InvalidObjectException("Missing growth policy.");
+        }
+        boolean indexed = in.readBoolean();
+        Object[] items = new Object[size];
+        for (int i = 0; i < size; i++) {
+            items[i] = in.readObject();
+            if (items[i] == null) {
+                throw new InvalidObjectException("Null item.");
+            }
+        }
+        stackArray = items;
+        if (indexed) {
+            enableIndex();
+        }
+    }
+
     /**
      * Ensures that the stack has enough capacity to add a new element.
-     * If the stack is full, it doubles the size of the underlying array.
+     * If the stack is full, it grows the underlying array using the growth policy.
      */
     private void ensureCapacity() {
         if (size == stackArray.length) {
-            Object[] newArray = new Object[stackArray.length * 2];
-            System.arraycopy(stackArray, 0, newArray, 0, stackArray.length);
-            stackArray = newArray;
+            grow(size + 1);
+        }
+    }
+
+    /**
+     * Grows the array once so that it holds at least the given number of items.
+     *
+     * @param minCapacity The number of items the array must hold.
+     * @throws OutOfMemoryError If the capacity cannot be represented.
+     */
+    private void grow(int minCapacity) {
+        if (minCapacity < 0) {
+            throw new OutOfMemoryError("Required array size too large.");
+        }
+        int newCapacity = Math.max(growthPolicy.newCapacity(stackArray.length, minCapacity), minCapacity);
+        Object[] newArray = new Object[newCapacity];
+        System.arraycopy(stackArray, 0, newArray, 0, size);
+        stackArray = newArray;
+    }
+
+    /**
+     * A spliterator over a range of the backing array that returns items from the
+     * highest position down, and splits off the upper half since that comes first.
+     */
+    private class IndexSpliterator implements Spliterator<E> {
+        private final int low;
+        private int high;
+        private final int expectedModCount;
+
+        IndexSpliterator(int low, int high, int expectedModCount) {
+            this.low = low;
+            this.high = high;
+            this.expectedModCount = expectedModCount;
+        }
+
+        @Override
+        @SuppressWarnings("unchecked")
+        public boolean tryAdvance(Consumer<? super E> action) {
+            if (action == null) {
+                throw new NullPointerException("Action cannot be null.");
+            }
+            if (high <= low) {
+                return false;
+            }
+            if (modCount != expectedModCount) {
+                throw new ConcurrentModificationException();
+            }
+            action.accept((E) stackArray[--high]);
+            return true;
+        }
+
+        @Override
+        @SuppressWarnings("unchecked")
+        public void forEachRemaining(Consumer<? super E> action) {
+            if (action == null) {
+                throw new NullPointerException("Action cannot be null.");
+            }
+            Object[] array = stackArray;
+            for (int i = high - 1; i >= low; i--) {
+                action.accept((E) array[i]);
+            }
+            high = low;
+            if (modCount != expectedModCount) {
+                throw new ConcurrentModificationException();
+            }
+        }
+
+        @Override
+        public Spliterator<E> trySplit() {
+            int mid = (low + high) >>> 1;
+            if (mid <= low) {
+                return null;
+            }
+            Spliterator<E> prefix = new IndexSpliterator(mid, high, expectedModCount);
+            high = mid;
+            return prefix;
+        }
+
+        @Override
+        public long estimateSize() {
+            return high - low;
+        }
+
+        @Override
+        public int characteristics() {
+            return Spliterator.ORDERED | Spliterator.SIZED | Spliterator.SUBSIZED | Spliterator.NONNULL;
         }
     }
 }
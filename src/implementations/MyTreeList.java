@@ -0,0 +1,622 @@
+package implementations;
+
+import utilities.IndexedConsumer;
+import utilities.Iterator;
+import utilities.ListADT;
+import java.io.Serializable;
+import java.util.ConcurrentModificationException;
+import java.util.NoSuchElementException;
+import java.util.function.Consumer;
+
+/**
+ * A list backed by a balanced B+-tree in which every node records the number of
+ * elements beneath it. Elements live in small arrays at the leaves, and inner nodes
+ * hold their children in the same kind of array. An index is found by walking down
+ * the tree and subtracting the sizes of the subtrees it skips, so
+ * <code>get</code>, <code>set</code>, <code>add(int, E)</code> and
+ * <code>remove(int)</code> all take O(log n) time at any position. Iteration walks
+ * each leaf array in turn.
+ *
+ * @param <E> The type of elements in the list.
+ */
+public class MyTreeList<E> implements ListADT<E>, Serializable {
+    private static final long serialVersionUID = 1853002757614397128L;
+
+    /**
+     * The default number of slots in each node.
+     */
+    public static final int DEFAULT_NODE_CAPACITY = 64;
+
+    /**
+     * The root of the tree; an empty leaf when the list is empty.
+     */
+    private Node root;
+
+    /**
+     * The maximum number of slots in a node.
+     */
+    private final int capacity;
+
+    /**
+     * The number of slots below which a node is merged with, or borrows from, a sibling.
+     */
+    private final int minimum;
+
+    /**
+     * The number of structural modifications, used by iterators to fail fast.
+     */
+    private transient int modCount;
+
+    /**
+     * Creates an empty list with nodes of 64 slots.
+     */
+    public MyTreeList() {
+        this(DEFAULT_NODE_CAPACITY);
+    }
+
+    /**
+     * Creates an empty list with nodes of the given number of slots.
+     *
+     * @param nodeCapacity The number of slots in each node, at least 4.
+     * @throws IllegalArgumentException If the capacity is less than 4.
+     */
+    public MyTreeList(int nodeCapacity) {
+        if (nodeCapacity < 4) throw new IllegalArgumentException("Node capacity must be at least 4.");
+        capacity = nodeCapacity;
+        minimum = nodeCapacity / 2;
+        root = new Node(true, capacity);
+    }
+
+    /**
+     * Adds an item to a specific position in the list.
+     *
+     * @param index   The position to add the item.
+     * @param element The item to add.
+     * @return True if the item was added successfully.
+     * @throws NullPointerException      If the element is null.
+     * @throws IndexOutOfBoundsException If the index is out of bounds.
+     */
+    @Override
+    public boolean add(int index, E element) {
+        if (element == null) throw new NullPointerException("Cannot add null item.");
+        if (index < 0 || index > root.size) throw new IndexOutOfBoundsException("Invalid position.");
+        if (root.size == Integer.MAX_VALUE) throw new OutOfMemoryError("List is full.");
+        Node split = insert(root, index, element);
+        if (split != null) { // The root was split, so the tree grows one level
+            Node newRoot = new Node(false, capacity);
+            newRoot.slots[0] = root;
+            newRoot.slots[1] = split;
+            newRoot.count = 2;
+            newRoot.size = root.size + split.size;
+            root = newRoot;
+        }
+        modCount++;
+        return true;
+    }
+
+    /**
+     * Adds an item to the end of the list.
+     *
+     * @param element The item to add.
+     * @return True if the item was added successfully.
+     * @throws NullPointerException If the element is null.
+     */
+    @Override
+    public boolean add(E element) {
+        return add(root.size, element);
+    }
+
+    /**
+     * Adds all items from another list to the end of this list.
+     *
+     * @param toAdd The list of items to add.
+     * @return True if the items were added successfully.
+     * @throws NullPointerException If the provided list is null or contains a null item.
+     */
+    @Override
+    public boolean addAll(ListADT<? extends E> toAdd) {
+        if (toAdd == null) throw new NullPointerException("Cannot add from a null list.");
+        Object[] source = toAdd.toArray();
+        for (Object item : source) {
+            if (item == null) throw new NullPointerException("Cannot add null item.");
+        }
+        for (Object item : source) {
+            @SuppressWarnings("unchecked")
+            E element = (E) item;
+            add(element);
+        }
+        return true;
+    }
+
+    /**
+     * Removes an item from a specific position.
+     *
+     * @param index The position of the item to remove.
+     * @return The removed item.
+     * @throws IndexOutOfBoundsException If the index is invalid.
+     */
+    @Override
+    @SuppressWarnings("unchecked")
+    public E remove(int index) {
+        if (index < 0 || index >= root.size) throw new IndexOutOfBoundsException("Invalid position.");
+        Object removed = delete(root, index);
+        if (!root.leaf && root.count == 1) { // The root has one child, so the tree shrinks one level
+            root = root.child(0);
+        }
+        modCount++;
+        return (E) removed;
+    }
+
+    /**
+     * Removes the first occurrence of a specific item.
+     *
+     * @param element The item to remove.
+     * @return The removed item, or null if not found.
+     * @throws NullPointerException If the element is null.
+     */
+    @Override
+    public E remove(E element) {
+        if (element == null) throw new NullPointerException("Cannot remove null item.");
+        int index = indexOf(element);
+        return index == -1 ? null : remove(index);
+    }
+
+    /**
+     * Gets the item at a specific position.
+     *
+     * @param index The position of the item.
+     * @return The item at the specified position.
+     * @throws IndexOutOfBoundsException If the index is invalid.
+     */
+    @Override
+    @SuppressWarnings("unchecked")
+    public E get(int index) {
+        if (index < 0 || index >= root.size) throw new IndexOutOfBoundsException("Invalid position.");
+        Node node = root;
+        while (!node.leaf) {
+            int i = 0;
+            while (index >= node.child(i).size) {
+                index -= node.child(i).size;
+                i++;
+            }
+            node = node.child(i);
+        }
+        return (E) node.slots[index];
+    }
+
+    /**
+     * Updates the item at a specific position with a new value.
+     *
+     * @param index   The position to update.
+     * @param element The new item.
+     * @return The old item that was replaced.
+     * @throws NullPointerException      If the new element is null.
+     * @throws IndexOutOfBoundsException If the index is invalid.
+     */
+    @Override
+    @SuppressWarnings("unchecked")
+    public E set(int index, E element) {
+        if (index < 0 || index >= root.size) throw new IndexOutOfBoundsException("Invalid position.");
+        if (element == null) throw new NullPointerException("Cannot set null item.");
+        Node node = root;
+        while (!node.leaf) {
+            int i = 0;
+            while (index >= node.child(i).size) {
+                index -= node.child(i).size;
+                i++;
+            }
+            node = node.child(i);
+        }
+        E old = (E) node.slots[index];
+        node.slots[index] = element;
+        return old;
+    }
+
+    /**
+     * Checks if the list contains a specific item.
+     *
+     * @param element The item to check for.
+     * @return True if the item is in the list, false otherwise.
+     * @throws NullPointerException If the element is null.
+     */
+    @Override
+    public boolean contains(E element) {
+        if (element == null) throw new NullPointerException("Cannot check for null item.");
+        return indexOf(element) != -1;
+    }
+
+    /**
+     * Clears all items from the list.
+     */
+    @Override
+    public void clear() {
+        root = new Node(true, capacity);
+        modCount++;
+    }
+
+    /**
+     * Gets the number of items in the list.
+     *
+     * @return The number of items in the list.
+     */
+    @Override
+    public int size() {
+        return root.size;
+    }
+
+    /**
+     * Checks if the list is empty.
+     *
+     * @return True if the list is empty, false otherwise.
+     */
+    @Override
+    public boolean isEmpty() {
+        return root.size == 0;
+    }
+
+    /**
+     * Converts the list to an array.
+     *
+     * @param holder The array to store the items.
+     * @return The array containing the list items.
+     * @throws NullPointerException If the provided array is null.
+     */
+    @Override
+    public E[] toArray(E[] holder) {
+        if (holder == null) throw new NullPointerException("Provided array cannot be null.");
+        int size = root.size;
+        if (holder.length < size) {
+            @SuppressWarnings("unchecked")
+            E[] newArray = (E[]) new Object[size];
+            holder = newArray;
+        }
+        copyInto(root, holder, 0);
+        if (holder.length > size) holder[size] = null;
+        return holder;
+    }
+
+    /**
+     * Converts the list to an array.
+     *
+     * @return An array containing the list items.
+     */
+    @Override
+    public Object[] toArray() {
+        Object[] array = new Object[root.size];
+        copyInto(root, array, 0);
+        return array;
+    }
+
+    /**
+     * Returns an iterator for the list. The iterator walks one leaf array at a time,
+     * descending from the root only when it moves to the next leaf, and fails fast
+     * if the list is structurally modified while it is in use.
+     *
+     * @return An iterator to traverse the list.
+     */
+    @Override
+    public Iterator<E> iterator() {
+        return new Iterator<E>() {
+            private Node leaf;
+            private int offset;
+            private int currentIndex = 0;
+            private final int expectedModCount = modCount;
+
+            @Override
+            public boolean hasNext() {
+                return currentIndex < root.size;
+            }
+
+            @Override
+            @SuppressWarnings("unchecked")
+            public E next() {
+                if (modCount != expectedModCount) throw new ConcurrentModificationException();
+                if (!hasNext()) throw new NoSuchElementException();
+                if (leaf == null || offset == leaf.count) {
+                    int index = currentIndex;
+                    Node node = root;
+                    while (!node.leaf) {
+                        int i = 0;
+                        while (index >= node.child(i).size) {
+                            index -= node.child(i).size;
+                            i++;
+                        }
+                        node = node.child(i);
+                    }
+                    leaf = node;
+                    offset = index;
+                }
+                currentIndex++;
+                return (E) leaf.slots[offset++];
+            }
+        };
+    }
+
+    /**
+     * Performs an action on each item in order, walking each leaf array in turn
+     * without allocating an iterator. Fails fast if the action structurally modifies
+     * the list.
+     *
+     * @param action The action to perform.
+     * @throws NullPointerException If the action is null.
+     */
+    @Override
+    public void forEach(Consumer<? super E> action) {
+        if (action == null) throw new NullPointerException("Action cannot be null.");
+        int expectedModCount = modCount;
+        forEachIn(root, 0, action, null, expectedModCount);
+        if (modCount != expectedModCount) throw new ConcurrentModificationException();
+    }
+
+    /**
+     * Performs an action on each item and its position, walking each leaf array in
+     * turn. Fails fast like {@link #forEach(Consumer)}.
+     *
+     * @param action The action to perform.
+     * @throws NullPointerException If the action is null.
+     */
+    @Override
+    public void forEachIndexed(IndexedConsumer<? super E> action) {
+        if (action == null) throw new NullPointerException("Action cannot be null.");
+        int expectedModCount = modCount;
+        forEachIn(root, 0, null, action, expectedModCount);
+        if (modCount != expectedModCount) throw new ConcurrentModificationException();
+    }
+
+    /**
+     * Gets the height of the tree, counting the leaves as one level.
+     *
+     * @return The number of levels in the tree.
+     */
+    public int height() {
+        int height = 1;
+        for (Node node = root; !node.leaf; node = node.child(0)) {
+            height++;
+        }
+        return height;
+    }
+
+    /**
+     * Inserts an item into a subtree.
+     *
+     * @param node  The root of the subtree.
+     * @param index The position within the subtree.
+     * @param item  The item to insert.
+     * @return The new right sibling if the node had to be split, otherwise null.
+     */
+    private Node insert(Node node, int index, Object item) {
+        if (node.leaf) {
+            return insertSlot(node, index, item);
+        }
+        int i = 0;
+        while (i < node.count - 1 && index > node.child(i).size) {
+            index -= node.child(i).size;
+            i++;
+        }
+        node.size++;
+        Node split = insert(node.child(i), index, item);
+        return split == null ? null : insertSlot(node, i + 1, split);
+    }
+
+    /**
+     * Places an item or child into a node, splitting the node in half if it is full.
+     *
+     * @param node     The node to insert into.
+     * @param position The slot to insert at.
+     * @param item     The item, or the child node for inner nodes.
+     * @return The new right half if the node was split, otherwise null.
+     */
+    private Node insertSlot(Node node, int position, Object item) {
+        if (node.count < capacity) {
+            System.arraycopy(node.slots, position, node.slots, position + 1, node.count - position);
+            node.slots[position] = item;
+            node.count++;
+            node.updateSize();
+            return null;
+        }
+        Node right = new Node(node.leaf, capacity);
+        int half = capacity / 2;
+        System.arraycopy(node.slots, half, right.slots, 0, capacity - half);
+        for (int i = half; i < capacity; i++) {
+            node.slots[i] = null;
+        }
+        right.count = capacity - half;
+        node.count = half;
+        if (position <= half) {
+            insertSlot(node, position, item);
+            right.updateSize();
+        } else {
+            insertSlot(right, position - half, item);
+            node.updateSize();
+        }
+        return right;
+    }
+
+    /**
+     * Removes an item from a subtree, merging or rebalancing any child left too small.
+     *
+     * @param node  The root of the subtree.
+     * @param index The position within the subtree.
+     * @return The removed item.
+     */
+    private Object delete(Node node, int index) {
+        if (node.leaf) {
+            Object removed = node.slots[index];
+            System.arraycopy(node.slots, index + 1, node.slots, index, node.count - index - 1);
+            node.slots[--node.count] = null;
+            node.size--;
+            return removed;
+        }
+        int i = 0;
+        while (index >= node.child(i).size) {
+            index -= node.child(i).size;
+            i++;
+        }
+        node.size--;
+        Object removed = delete(node.child(i), index);
+        if (node.child(i).count < minimum && node.count > 1) {
+            rebalance(node, i);
+        }
+        return removed;
+    }
+
+    /**
+     * Fixes a child that has fallen below the minimum fill, either by merging it with
+     * a neighbour or by moving slots across from the neighbour.
+     *
+     * @param parent The parent of the small child.
+     * @param i      The position of the small child.
+     */
+    private void rebalance(Node parent, int i) {
+        int j = i > 0 ? i - 1 : i;
+        Node left = parent.child(j);
+        Node right = parent.child(j + 1);
+        int total = left.count + right.count;
+        if (total <= capacity) { // Merge the right node into the left
+            System.arraycopy(right.slots, 0, left.slots, left.count, right.count);
+            left.count = total;
+            left.updateSize();
+            System.arraycopy(parent.slots, j + 2, parent.slots, j + 1, parent.count - j - 2);
+            parent.slots[--parent.count] = null;
+            return;
+        }
+        int target = total / 2;
+        if (left.count < target) { // Move slots from the front of the right node
+            int move = target - left.count;
+            System.arraycopy(right.slots, 0, left.slots, left.count, move);
+            System.arraycopy(right.slots, move, right.slots, 0, right.count - move);
+            for (int k = right.count - move; k < right.count; k++) {
+                right.slots[k] = null;
+            }
+            left.count += move;
+            right.count -= move;
+        } else { // Move slots from the end of the left node
+            int move = left.count - target;
+            System.arraycopy(right.slots, 0, right.slots, move, right.count);
+            System.arraycopy(left.slots, target, right.slots, 0, move);
+            for (int k = target; k < left.count; k++) {
+                left.slots[k] = null;
+            }
+            left.count -= move;
+            right.count += move;
+        }
+        left.updateSize();
+        right.updateSize();
+    }
+
+    /**
+     * Finds the position of the first occurrence of an item.
+     *
+     * @param element The item to find.
+     * @return The position of the item, or -1 if it is not in the list.
+     */
+    private int indexOf(E element) {
+        int index = 0;
+        Iterator<E> it = iterator();
+        while (it.hasNext()) {
+            if (it.next().equals(element)) return index;
+            index++;
+        }
+        return -1;
+    }
+
+    /**
+     * Copies every item of a subtree into an array, one leaf at a time.
+     *
+     * @param node   The root of the subtree.
+     * @param target The array to fill.
+     * @param start  The position of the first item of the subtree in the array.
+     * @return The position after the last item copied.
+     */
+    private static int copyInto(Node node, Object[] target, int start) {
+        if (node.leaf) {
+            System.arraycopy(node.slots, 0, target, start, node.count);
+            return start + node.count;
+        }
+        for (int i = 0; i < node.count; i++) {
+            start = copyInto(node.child(i), target, start);
+        }
+        return start;
+    }
+
+    /**
+     * Performs an action on the items of a subtree, one leaf array at a time, and
+     * stops early if the list is structurally modified.
+     *
+     * @param node             The root of the subtree.
+     * @param index            The position of the subtree's first item.
+     * @param action           The action to perform, or null if <code>indexed</code> is used.
+     * @param indexed          The action to perform with positions, or null.
+     * @param expectedModCount The modification count the walk started with.
+     * @return The position after the subtree's last item.
+     */
+    @SuppressWarnings("unchecked")
+    private int forEachIn(Node node, int index, Consumer<? super E> action, IndexedConsumer<? super E> indexed, int expectedModCount) {
+        if (node.leaf) {
+            Object[] slots = node.slots;
+            for (int i = 0, end = node.count; i < end && modCount == expectedModCount; i++) {
+                if (indexed != null) {
+                    indexed.accept(index + i, (E) slots[i]);
+                } else {
+                    action.accept((E) slots[i]);
+                }
+            }
+            return index + node.count;
+        }
+        for (int i = 0; i < node.count && modCount == expectedModCount; i++) {
+            index = forEachIn(node.child(i), index, action, indexed, expectedModCount);
+        }
+        return index;
+    }
+
+    /**
+     * A tree node. Leaves hold items in their slots; inner nodes hold child nodes.
+     */
+    private static final class Node implements Serializable {
+        private static final long serialVersionUID = -6007386329170213592L;
+
+        /**
+         * Whether the slots hold items rather than child nodes.
+         */
+        final boolean leaf;
+
+        /**
+         * The items or children of this node.
+         */
+        final Object[] slots;
+
+        /**
+         * The number of slots in use.
+         */
+        int count;
+
+        /**
+         * The number of items in this subtree.
+         */
+        int size;
+
+        Node(boolean leaf, int capacity) {
+            this.leaf = leaf;
+            this.slots = new Object[capacity];
+        }
+
+        Node child(int i) {
+            return (Node) slots[i];
+        }
+
+        /**
+         * Recomputes the subtree size from the slots.
+         */
+        void updateSize() {
+            if (leaf) {
+                size = count;
+                return;
+            }
+            int total = 0;
+            for (int i = 0; i < count; i++) {
+                total += child(i).size;
+            }
+            size = total;
+        }
+    }
+}
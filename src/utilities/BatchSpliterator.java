@@ -0,0 +1,110 @@
+package utilities;
+
+import java.util.Spliterator;
+import java.util.Spliterators;
+import java.util.function.Consumer;
+
+/**
+ * A spliterator over an {@link Iterator} for structures that cannot be split by
+ * position, such as linked lists. Each split copies the next batch of elements into
+ * an array and hands that array off, so a parallel pipeline can work on one batch
+ * while the next is being read. Batches grow with every split, which keeps the
+ * overhead low for large structures while still giving small ones some parallelism.
+ *
+ * @param <E> The type of elements returned.
+ */
+public class BatchSpliterator<E> implements Spliterator<E> {
+
+    /**
+     * The number of elements added to each batch over the previous one.
+     */
+    public static final int BATCH_UNIT = 1 << 10;
+
+    /**
+     * The largest batch handed off by a single split.
+     */
+    public static final int MAX_BATCH = 1 << 25;
+
+    /**
+     * The source of the elements.
+     */
+    private final Iterator<E> iterator;
+
+    /**
+     * The characteristics reported, which always include SIZED and SUBSIZED for the
+     * batches split off.
+     */
+    private final int characteristics;
+
+    /**
+     * The number of elements not yet returned or split off.
+     */
+    private long remaining;
+
+    /**
+     * The size of the last batch split off.
+     */
+    private int batch;
+
+    /**
+     * Creates a spliterator over the remaining elements of an iterator.
+     *
+     * @param iterator        The iterator to read from.
+     * @param size            The number of elements the iterator will return.
+     * @param characteristics Extra characteristics, such as ORDERED and NONNULL.
+     */
+    public BatchSpliterator(Iterator<E> iterator, long size, int characteristics) {
+        if (iterator == null) throw new NullPointerException("Iterator cannot be null.");
+        this.iterator = iterator;
+        this.remaining = size;
+        this.characteristics = characteristics | Spliterator.SIZED | Spliterator.SUBSIZED;
+    }
+
+    @Override
+    public boolean tryAdvance(Consumer<? super E> action) {
+        if (action == null) throw new NullPointerException("Action cannot be null.");
+        if (!iterator.hasNext()) return false;
+        remaining--;
+        action.accept(iterator.next());
+        return true;
+    }
+
+    @Override
+    public void forEachRemaining(Consumer<? super E> action) {
+        if (action == null) throw new NullPointerException("Action cannot be null.");
+        while (iterator.hasNext()) {
+            remaining--;
+            action.accept(iterator.next());
+        }
+    }
+
+    /**
+     * Copies the next batch of elements into an array and returns a spliterator over
+     * it, which can be split further by position.
+     *
+     * @return A spliterator over the next batch, or null if too few elements remain.
+     */
+    @Override
+    public Spliterator<E> trySplit() {
+        if (remaining <= 1 || !iterator.hasNext()) return null;
+        int length = (int) Math.min(Math.min(batch + (long) BATCH_UNIT, MAX_BATCH), remaining);
+        Object[] items = new Object[length];
+        int count = 0;
+        while (count < length && iterator.hasNext()) {
+            items[count++] = iterator.next();
+        }
+        batch = count;
+        remaining -= count;
+        return Spliterators.spliterator(items, 0, count, characteristics);
+    }
+
+    @Override
+    public long estimateSize() {
+        return Math.max(remaining, 0);
+    }
+
+    @Override
+    public int characteristics() {
+        return characteristics;
+    }
+}
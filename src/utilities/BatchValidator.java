@@ -0,0 +1,527 @@
+package utilities;
+
+import implementations.MyArrayList;
+import implementations.MyQueue;
+
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Paths;
+import java.util.Arrays;
+import java.util.Comparator;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Validates a batch of XML files on a fixed pool of worker threads.
+ * <p>
+ * Jobs are grouped by priority and the groups share the workers by start-time fair
+ * queuing: each group is given a weight by the rank of its priority (the lowest
+ * priority in the batch has weight 1, the next 2, and so on), and every job started
+ * advances its group's virtual clock by its size divided by that weight. The job
+ * whose group clock is lowest starts next. Higher priorities therefore get a larger
+ * share of the bytes validated, but every priority starts work from the beginning of
+ * the batch instead of waiting for the ones above it to drain. Within a group the
+ * largest files are started first so that long-running files do not end up as the
+ * tail of the batch.
+ * </p>
+ * <p>
+ * Each job reserves an estimate of its working memory from a shared budget before
+ * it starts, and the batch reports progress with an estimated time remaining after
+ * every completed file.
+ * </p>
+ */
+public class BatchValidator {
+
+    /**
+     * The default memory budget shared by jobs in flight, in bytes.
+     */
+    public static final long DEFAULT_MEMORY_BUDGET = 256L * 1024 * 1024;
+
+    /**
+     * The average line length assumed when estimating the size of a line index.
+     */
+    private static final int ASSUMED_LINE_LENGTH = 40;
+
+    /**
+     * The number of worker threads.
+     */
+    private final int threads;
+
+    /**
+     * The total estimated memory that jobs in flight may reserve.
+     */
+    private final long memoryBudget;
+
+    /**
+     * The estimated memory currently reserved by jobs in flight.
+     */
+    private long memoryInUse;
+
+    /**
+     * Receives progress updates as jobs complete.
+     */
+    public interface ProgressListener {
+
+        /**
+         * Called after each job completes. Calls are made one at a time.
+         *
+         * @param completedJobs  The number of jobs completed so far.
+         * @param totalJobs      The number of jobs in the batch.
+         * @param completedBytes The combined size of the completed files.
+         * @param totalBytes     The combined size of all files in the batch.
+         * @param etaMillis      The estimated time remaining in milliseconds.
+         */
+        void progress(int completedJobs, int totalJobs, long completedBytes, long totalBytes, long etaMillis);
+    }
+
+    /**
+     * A file to validate, with its scheduling hints.
+     */
+    public static class Job {
+
+        private final String fileName;
+        private final int priority;
+        private final long sizeHint;
+
+        /**
+         * Creates a job with the given priority whose size is read from the file system.
+         *
+         * @param fileName The path to the XML file.
+         * @param priority Jobs with a higher priority get a larger share of the workers.
+         */
+        public Job(String fileName, int priority) {
+            this(fileName, priority, -1);
+        }
+
+        /**
+         * Creates a job with the given priority and size hint.
+         *
+         * @param fileName The path to the XML file.
+         * @param priority Jobs with a higher priority get a larger share of the workers.
+         * @param sizeHint The expected size of the file in bytes, or a negative value to
+         *                 read the size from the file system.
+         * @throws NullPointerException If the file name is null.
+         */
+        public Job(String fileName, int priority, long sizeHint) {
+            if (fileName == null) throw new NullPointerException("File name cannot be null.");
+            this.fileName = fileName;
+            this.priority = priority;
+            this.sizeHint = sizeHint;
+        }
+
+        /**
+         * Gets the path of the file to validate.
+         *
+         * @return The path to the XML file.
+         */
+        public String getFileName() {
+            return fileName;
+        }
+
+        /**
+         * Gets the priority of this job.
+         *
+         * @return The priority; higher values get a larger share of the workers.
+         */
+        public int getPriority() {
+            return priority;
+        }
+
+        /**
+         * Gets the expected size of the file.
+         *
+         * @return The size hint in bytes, or a negative value if none was given.
+         */
+        public long getSizeHint() {
+            return sizeHint;
+        }
+    }
+
+    /**
+     * The outcome of validating one file.
+     */
+    public static class Result {
+
+        private final Job job;
+        private final MyQueue<String> errors;
+        private final long elapsedMillis;
+
+        Result(Job job, MyQueue<String> errors, long elapsedMillis) {
+            this.job = job;
+            this.errors = errors;
+            this.elapsedMillis = elapsedMillis;
+        }
+
+        /**
+         * Gets the job this result belongs to.
+         *
+         * @return The job.
+         */
+        public Job getJob() {
+            return job;
+        }
+
+        /**
+         * Gets the errors reported for the file.
+         *
+         * @return The errors in the order they occurred, empty if the file is valid.
+         */
+        public MyQueue<String> getErrors() {
+            return errors;
+        }
+
+        /**
+         * Checks whether the file was valid.
+         *
+         * @return True if no errors were reported.
+         */
+        public boolean isValid() {
+            return errors.isEmpty();
+        }
+
+        /**
+         * Gets how long the file took to validate.
+         *
+         * @return The elapsed time in milliseconds.
+         */
+        public long getElapsedMillis() {
+            return elapsedMillis;
+        }
+    }
+
+    /**
+     * Creates a validator with one thread per available processor and the default
+     * memory budget.
+     */
+    public BatchValidator() {
+        this(Runtime.getRuntime().availableProcessors(), DEFAULT_MEMORY_BUDGET);
+    }
+
+    /**
+     * Creates a validator with the given number of threads and memory budget.
+     *
+     * @param threads      The number of worker threads.
+     * @param memoryBudget The total estimated memory that jobs in flight may reserve, in
+     *                     bytes. A job whose estimate exceeds the budget runs on its own.
+     * @throws IllegalArgumentException If either value is not positive.
+     */
+    public BatchValidator(int threads, long memoryBudget) {
+        if (threads < 1) throw new IllegalArgumentException("At least one thread is required.");
+        if (memoryBudget < 1) throw new IllegalArgumentException("Memory budget must be positive.");
+        this.threads = threads;
+        this.memoryBudget = memoryBudget;
+    }
+
+    /**
+     * Reads a job manifest. Each line holds a file path, optionally followed by a
+     * priority and a size hint in bytes, separated by tabs. Blank lines and lines
+     * starting with <code>#</code> are ignored.
+     *
+     * @param manifestFile The path to the manifest.
+     * @return The jobs in the order they appear in the manifest.
+     * @throws IOException              If the manifest cannot be read.
+     * @throws IllegalArgumentException If a priority or size hint is not a number.
+     */
+    public static MyArrayList<Job> readManifest(String manifestFile) throws IOException {
+        MyArrayList<Job> jobs = new MyArrayList<>();
+        try (BufferedReader br = Files.newBufferedReader(Paths.get(manifestFile), StandardCharsets.UTF_8)) {
+            String line;
+            int lineNumber = 0;
+            while ((line = br.readLine()) != null) {
+                lineNumber++;
+                if (line.trim().isEmpty() || line.startsWith("#")) continue;
+                String[] fields = line.split("\t");
+                try {
+                    int priority = fields.length > 1 ? Integer.parseInt(fields[1].trim()) : 0;
+                    long sizeHint = fields.length > 2 ? Long.parseLong(fields[2].trim()) : -1;
+                    jobs.add(new Job(fields[0], priority, sizeHint));
+                } catch (NumberFormatException e) {
+                    throw new IllegalArgumentException("Invalid manifest entry on line " + lineNumber + ": " + line);
+                }
+            }
+        }
+        return jobs;
+    }
+
+    /**
+     * Validates every job in the batch and waits for all of them to finish.
+     *
+     * @param jobs     The jobs to run.
+     * @param listener Receives progress after each completed job, or null for none.
+     * @return The results, in the same order as the jobs.
+     * @throws NullPointerException If the job list is null.
+     * @throws InterruptedException If the calling thread is interrupted while waiting.
+     */
+    public MyArrayList<Result> run(MyArrayList<Job> jobs, ProgressListener listener) throws InterruptedException {
+        if (jobs == null) throw new NullPointerException("Job list cannot be null.");
+        final int total = jobs.size();
+        final long[] sizes = resolveSizes(jobs);
+        long totalBytes = 0;
+        for (long size : sizes) {
+            totalBytes += size;
+        }
+        int[] order = startOrder(jobs, sizes);
+
+        final Result[] results = new Result[total];
+        final Progress progress = new Progress(total, totalBytes, listener);
+        ExecutorService pool = Executors.newFixedThreadPool(Math.min(threads, Math.max(total, 1)));
+        try {
+            for (final int slot : order) {
+                final Job job = jobs.get(slot);
+                final long reserved = Math.min(estimateMemory(sizes[slot]), memoryBudget);
+                reserve(reserved);
+                pool.execute(new Runnable() {
+                    @Override
+                    public void run() {
+                        long start = System.nanoTime();
+                        try {
+                            MyQueue<String> errors = validate(job);
+                            results[slot] = new Result(job, errors, (System.nanoTime() - start) / 1000000);
+                        } catch (Throwable e) { // An Error such as OutOfMemoryError fails only this job
+                            MyQueue<String> errors = new MyQueue<>();
+                            errors.enqueue("Validation failed: " + e);
+                            results[slot] = new Result(job, errors, (System.nanoTime() - start) / 1000000);
+                        } finally {
+                            release(reserved);
+                            progress.completed(sizes[slot]);
+                        }
+                    }
+                });
+            }
+        } finally {
+            pool.shutdown();
+        }
+        pool.awaitTermination(Long.MAX_VALUE, TimeUnit.NANOSECONDS);
+
+        MyArrayList<Result> list = new MyArrayList<>(total);
+        for (Result result : results) {
+            list.add(result);
+        }
+        return list;
+    }
+
+    /**
+     * Validates the file of a single job. Called on a worker thread; anything thrown is
+     * reported as a failure of this job alone.
+     *
+     * @param job The job to validate.
+     * @return The errors found, or an empty queue if the file is valid.
+     */
+    protected MyQueue<String> validate(Job job) {
+        XMLParser parser = new XMLParser();
+        parser.readFile(job.fileName);
+        return parser.takeErrors();
+    }
+
+    /**
+     * Works out the order in which {@link #run(MyArrayList, ProgressListener)} starts a
+     * batch of jobs, without running them.
+     *
+     * @param jobs The jobs to order.
+     * @return The same jobs in the order they would be started.
+     * @throws NullPointerException If the job list is null.
+     */
+    public static MyArrayList<Job> schedule(MyArrayList<Job> jobs) {
+        if (jobs == null) throw new NullPointerException("Job list cannot be null.");
+        MyArrayList<Job> scheduled = new MyArrayList<>(jobs.size());
+        for (int index : startOrder(jobs, resolveSizes(jobs))) {
+            scheduled.add(jobs.get(index));
+        }
+        return scheduled;
+    }
+
+    /**
+     * Gets the size of every job, from its hint or else from the file system. The jobs
+     * themselves are left unchanged.
+     *
+     * @param jobs The jobs.
+     * @return The size of each job in bytes, zero if the file cannot be read.
+     */
+    private static long[] resolveSizes(MyArrayList<Job> jobs) {
+        long[] sizes = new long[jobs.size()];
+        for (int i = 0; i < sizes.length; i++) {
+            Job job = jobs.get(i);
+            if (job.sizeHint >= 0) {
+                sizes[i] = job.sizeHint;
+                continue;
+            }
+            try {
+                sizes[i] = Files.size(Paths.get(job.fileName));
+            } catch (IOException e) {
+                sizes[i] = 0; // The parser reports the file as unreadable
+            }
+        }
+        return sizes;
+    }
+
+    /**
+     * Orders jobs by start-time fair queuing across priority groups. Each job is tagged
+     * with its group's virtual clock at the time it would start, and jobs are started in
+     * order of tag, breaking ties by descending priority and then descending size.
+     *
+     * @param jobs  The jobs to order.
+     * @param sizes The size of each job in bytes.
+     * @return The job indices in start order.
+     */
+    private static int[] startOrder(final MyArrayList<Job> jobs, final long[] sizes) {
+        final int total = jobs.size();
+        Integer[] bySize = new Integer[total];
+        for (int i = 0; i < total; i++) {
+            bySize[i] = i;
+        }
+        Arrays.sort(bySize, new Comparator<Integer>() {
+            @Override
+            public int compare(Integer a, Integer b) {
+                int order = Integer.compare(jobs.get(b).priority, jobs.get(a).priority);
+                return order != 0 ? order : Long.compare(sizes[b], sizes[a]);
+            }
+        });
+
+        int groups = 0;
+        for (int i = 0; i < total; i++) {
+            if (i == 0 || jobs.get(bySize[i]).priority != jobs.get(bySize[i - 1]).priority) groups++;
+        }
+        final double[] tags = new double[total];
+        double clock = 0;
+        int weight = groups + 1;
+        for (int i = 0; i < total; i++) {
+            if (i == 0 || jobs.get(bySize[i]).priority != jobs.get(bySize[i - 1]).priority) {
+                clock = 0;
+                weight--;
+            }
+            tags[bySize[i]] = clock;
+            clock += (double) Math.max(sizes[bySize[i]], 1) / weight;
+        }
+
+        final int[] rank = new int[total];
+        for (int i = 0; i < total; i++) {
+            rank[bySize[i]] = i;
+        }
+        Integer[] order = bySize.clone();
+        Arrays.sort(order, new Comparator<Integer>() {
+            @Override
+            public int compare(Integer a, Integer b) {
+                int byTag = Double.compare(tags[a], tags[b]);
+                return byTag != 0 ? byTag : Integer.compare(rank[a], rank[b]);
+            }
+        });
+        int[] indices = new int[total];
+        for (int i = 0; i < total; i++) {
+            indices[i] = order[i];
+        }
+        return indices;
+    }
+
+    /**
+     * Estimates the working memory needed to validate a file: the prefetch buffers
+     * plus a line index entry for every expected line.
+     *
+     * @param size The size of the file in bytes.
+     * @return The estimated memory in bytes.
+     */
+    public static long estimateMemory(long size) {
+        long buffers = (long) PrefetchingInputStream.DEFAULT_BUFFER_SIZE * PrefetchingInputStream.DEFAULT_BUFFER_COUNT;
+        return buffers + size / ASSUMED_LINE_LENGTH * Long.BYTES;
+    }
+
+    /**
+     * Blocks until the given amount of memory fits within the budget, then reserves it.
+     * A job is always allowed to start when nothing else is in flight.
+     *
+     * @param amount The memory to reserve.
+     * @throws InterruptedException If interrupted while waiting.
+     */
+    private synchronized void reserve(long amount) throws InterruptedException {
+        while (memoryInUse > 0 && memoryInUse + amount > memoryBudget) {
+            wait();
+        }
+        memoryInUse += amount;
+    }
+
+    /**
+     * Returns reserved memory to the budget.
+     *
+     * @param amount The memory to release.
+     */
+    private synchronized void release(long amount) {
+        memoryInUse -= amount;
+        notifyAll();
+    }
+
+    /**
+     * Tracks completed work and forwards progress with an estimated time remaining.
+     */
+    private static class Progress {
+
+        private final int totalJobs;
+        private final long totalBytes;
+        private final ProgressListener listener;
+        private final long startNanos;
+        private int completedJobs;
+        private long completedBytes;
+
+        Progress(int totalJobs, long totalBytes, ProgressListener listener) {
+            this.totalJobs = totalJobs;
+            this.totalBytes = totalBytes;
+            this.listener = listener;
+            this.startNanos = System.nanoTime();
+        }
+
+        /**
+         * Records a completed job and notifies the listener.
+         *
+         * @param bytes The size of the completed file.
+         */
+        synchronized void completed(long bytes) {
+            completedJobs++;
+            completedBytes += bytes;
+            if (listener == null) return;
+            long elapsedMillis = (System.nanoTime() - startNanos) / 1000000;
+            long etaMillis;
+            if (completedJobs == totalJobs) {
+                etaMillis = 0;
+            } else if (completedBytes > 0) {
+                etaMillis = (long) (elapsedMillis * ((double) (totalBytes - completedBytes) / completedBytes));
+            } else {
+                etaMillis = elapsedMillis * (totalJobs - completedJobs) / completedJobs;
+            }
+            listener.progress(completedJobs, totalJobs, completedBytes, totalBytes, etaMillis);
+        }
+    }
+
+    /**
+     * Runs a manifest from the command line, printing progress and then every file
+     * with errors.
+     *
+     * @param args Command-line arguments. The first argument should be the manifest path.
+     * @throws Exception If the manifest cannot be read or the run is interrupted.
+     */
+    public static void main(String[] args) throws Exception {
+        if (args.length < 1) {
+            System.out.println("Usage: java BatchValidator <manifest>");
+            return;
+        }
+
+        MyArrayList<Result> results = new BatchValidator().run(readManifest(args[0]), new ProgressListener() {
+            @Override
+            public void progress(int completedJobs, int totalJobs, long completedBytes, long totalBytes, long etaMillis) {
+                System.err.println(completedJobs + "/" + totalJobs + " files, ETA " + etaMillis / 1000 + "s");
+            }
+        });
+        int invalid = 0;
+        for (int i = 0; i < results.size(); i++) {
+            Result result = results.get(i);
+            if (result.isValid()) continue;
+            invalid++;
+            System.out.println(result.getJob().getFileName() + ":");
+            MyQueue<String> errors = result.getErrors();
+            while (!errors.isEmpty()) {
+                System.out.println("  " + errors.dequeue());
+            }
+        }
+        System.out.println(invalid + " of " + results.size() + " files have errors.");
+    }
+}
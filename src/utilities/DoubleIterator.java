@@ -0,0 +1,27 @@
+package utilities;
+
+import java.util.NoSuchElementException;
+
+/**
+ * A mono-directional iterator over primitive <code>double</code> values. It mirrors
+ * {@link Iterator} but returns values without boxing them.
+ */
+public interface DoubleIterator
+{
+	/**
+	 * Returns <code>true</code> if the iteration has more elements. (In other
+	 * words, returns <code>true</code> if <code>nextDouble()</code> would return an
+	 * element rather than throwing an exception.)
+	 * 
+	 * @return <code>true</code> if the iterator has more elements.
+	 */
+	public boolean hasNext();
+
+	/**
+	 * Returns the next element in the iteration.
+	 * 
+	 * @return The next element in the iteration.
+	 * @throws NoSuchElementException If the iteration has no more elements.
+	 */
+	public double nextDouble() throws NoSuchElementException;
+}
@@ -0,0 +1,114 @@
+package utilities;
+
+/**
+ * Common {@link GrowthPolicy} implementations. Every policy computes its result
+ * in <code>long</code> arithmetic and caps it at {@link #MAX_CAPACITY}, so growth
+ * never overflows near <code>Integer.MAX_VALUE</code>.
+ */
+public final class GrowthPolicies {
+
+    /**
+     * The largest capacity handed out. Some virtual machines reserve header words
+     * in arrays, so allocations right at <code>Integer.MAX_VALUE</code> may fail.
+     */
+    public static final int MAX_CAPACITY = Integer.MAX_VALUE - 8;
+
+    private static final GrowthPolicy DOUBLING = new Multiplying(2.0);
+    private static final GrowthPolicy ONE_AND_A_HALF = new Multiplying(1.5);
+
+    private GrowthPolicies() {
+    }
+
+    /**
+     * Gets a policy that doubles the capacity, the historic behaviour of the
+     * array-backed structures.
+     *
+     * @return The doubling policy.
+     */
+    public static GrowthPolicy doubling() {
+        return DOUBLING;
+    }
+
+    /**
+     * Gets a policy that grows the capacity by half, wasting less memory at the
+     * cost of more frequent copies.
+     *
+     * @return The 1.5x policy.
+     */
+    public static GrowthPolicy oneAndAHalf() {
+        return ONE_AND_A_HALF;
+    }
+
+    /**
+     * Gets a policy that multiplies the capacity by the given factor.
+     *
+     * @param factor The growth factor.
+     * @return The multiplying policy.
+     * @throws IllegalArgumentException If the factor is not greater than one.
+     */
+    public static GrowthPolicy multiplying(double factor) {
+        if (!(factor > 1.0)) throw new IllegalArgumentException("Growth factor must be greater than one.");
+        return new Multiplying(factor);
+    }
+
+    /**
+     * Gets a policy that adds a fixed number of slots each time.
+     *
+     * @param increment The number of slots to add.
+     * @return The fixed increment policy.
+     * @throws IllegalArgumentException If the increment is not positive.
+     */
+    public static GrowthPolicy fixedIncrement(int increment) {
+        if (increment < 1) throw new IllegalArgumentException("Increment must be positive.");
+        return new FixedIncrement(increment);
+    }
+
+    /**
+     * Clamps a proposed capacity to the range allowed for the request.
+     *
+     * @param proposed    The capacity suggested by a policy.
+     * @param minCapacity The smallest acceptable capacity.
+     * @return The capacity to allocate.
+     * @throws OutOfMemoryError If the minimum capacity cannot be allocated.
+     */
+    static int clamp(long proposed, int minCapacity) {
+        if (minCapacity < 0 || minCapacity > MAX_CAPACITY) {
+            throw new OutOfMemoryError("Required array size too large.");
+        }
+        return (int) Math.max(minCapacity, Math.min(proposed, MAX_CAPACITY));
+    }
+
+    /**
+     * Multiplies the current capacity by a constant factor.
+     */
+    private static class Multiplying implements GrowthPolicy {
+        private static final long serialVersionUID = -4213318920150541467L;
+        private final double factor;
+
+        Multiplying(double factor) {
+            this.factor = factor;
+        }
+
+        @Override
+        public int newCapacity(int currentCapacity, int minCapacity) {
+            return clamp((long) (currentCapacity * factor), minCapacity);
+        }
+    }
+
+    /**
+     * Adds a constant number of slots to the current capacity.
+     */
+    private static class FixedIncrement implements GrowthPolicy {
+        private static final long serialVersionUID = 3172851057761628815L;
+        private final int increment;
+
+        FixedIncrement(int increment) {
+            this.increment = increment;
+        }
+
+        @Override
+        public int newCapacity(int currentCapacity, int minCapacity) {
+            return clamp((long) currentCapacity + increment, minCapacity);
+        }
+    }
+}
@@ -0,0 +1,23 @@
+package utilities;
+
+import java.io.Serializable;
+
+/**
+ * Decides how much an array-backed data structure grows when it runs out of room.
+ * Ready-made policies are available from {@link GrowthPolicies}.
+ */
+public interface GrowthPolicy extends Serializable
+{
+	/**
+	 * Works out the new capacity of a full backing array.
+	 * 
+	 * @param currentCapacity The current length of the backing array.
+	 * @param minCapacity     The smallest capacity that will hold the pending
+	 *                        elements. Always greater than
+	 *                        <code>currentCapacity</code>.
+	 * @return The new capacity, at least <code>minCapacity</code>.
+	 * @throws OutOfMemoryError If <code>minCapacity</code> exceeds the largest
+	 *                          array size that can be allocated.
+	 */
+	public int newCapacity( int currentCapacity, int minCapacity ) throws OutOfMemoryError;
+}
@@ -0,0 +1,20 @@
+package utilities;
+
+/**
+ * An action performed on each element of a data structure together with its
+ * position, as used by <code>forEachIndexed</code>. Positions count from zero in
+ * iteration order.
+ *
+ * @param <E> The type of elements the action accepts.
+ */
+@FunctionalInterface
+public interface IndexedConsumer<E>
+{
+	/**
+	 * Performs the action on one element.
+	 * 
+	 * @param index   The position of the element in iteration order.
+	 * @param element The element.
+	 */
+	public void accept( int index, E element );
+}
@@ -0,0 +1,125 @@
+package utilities;
+
+/**
+ * Records the byte offset at which each line of a file starts, so that any line
+ * can be located again without rescanning the file from the beginning.
+ * Offsets are kept in a growable primitive array. With a stride greater than one
+ * only every n-th line is recorded, trading a short forward scan for less memory.
+ */
+public class LineOffsetIndex {
+
+    /**
+     * The default stride, which records every line.
+     */
+    public static final int DEFAULT_STRIDE = 1;
+
+    /**
+     * The default initial capacity of the offset array.
+     */
+    private static final int DEFAULT_CAPACITY = 64;
+
+    /**
+     * The recorded line start offsets, one per stride.
+     */
+    private long[] offsets;
+
+    /**
+     * The number of offsets recorded in the array.
+     */
+    private int count;
+
+    /**
+     * The total number of lines seen.
+     */
+    private int lines;
+
+    /**
+     * The number of lines between recorded offsets.
+     */
+    private final int stride;
+
+    /**
+     * Creates an index that records every line.
+     */
+    public LineOffsetIndex() {
+        this(DEFAULT_STRIDE);
+    }
+
+    /**
+     * Creates an index that records every n-th line.
+     *
+     * @param stride The number of lines between recorded offsets.
+     * @throws IllegalArgumentException If the stride is less than one.
+     */
+    public LineOffsetIndex(int stride) {
+        if (stride < 1) throw new IllegalArgumentException("Stride must be at least one.");
+        this.stride = stride;
+        offsets = new long[DEFAULT_CAPACITY];
+    }
+
+    /**
+     * Records the start of the next line.
+     *
+     * @param offset The byte offset at which the line starts.
+     */
+    public void addLine(long offset) {
+        if (lines % stride == 0) {
+            if (count == offsets.length) {
+                long[] newArray = new long[offsets.length * 2];
+                System.arraycopy(offsets, 0, newArray, 0, count);
+                offsets = newArray;
+            }
+            offsets[count++] = offset;
+        }
+        lines++;
+    }
+
+    /**
+     * Gets the number of lines seen.
+     *
+     * @return The number of lines seen.
+     */
+    public int lineCount() {
+        return lines;
+    }
+
+    /**
+     * Gets the number of lines between recorded offsets.
+     *
+     * @return The stride of this index.
+     */
+    public int stride() {
+        return stride;
+    }
+
+    /**
+     * Finds the closest recorded line at or before the given line.
+     *
+     * @param line The 1-based line number.
+     * @return The 1-based number of the closest recorded line.
+     * @throws IndexOutOfBoundsException If the line number is invalid.
+     */
+    public int nearestLine(int line) {
+        if (line < 1 || line > lines) throw new IndexOutOfBoundsException("Invalid line number.");
+        return (line - 1) / stride * stride + 1;
+    }
+
+    /**
+     * Gets the start offset of the closest recorded line at or before the given line.
+     *
+     * @param line The 1-based line number.
+     * @return The byte offset of the line returned by {@link #nearestLine(int)}.
+     * @throws IndexOutOfBoundsException If the line number is invalid.
+     */
+    public long nearestOffset(int line) {
+        return offsets[(nearestLine(line) - 1) / stride];
+    }
+
+    /**
+     * Removes all recorded lines.
+     */
+    public void clear() {
+        count = 0;
+        lines = 0;
+    }
+}
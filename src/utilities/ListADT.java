@@ -1,6 +1,10 @@
 package utilities;
 
 import java.io.Serializable;
+import java.util.Spliterator;
+import java.util.function.Consumer;
+import java.util.stream.Stream;
+import java.util.stream.StreamSupport;
 
 /**
  * <p>
@@ -12,6 +16,7 @@ import java.io.Serializable;
  * 
  * @param <E> The type of elements this list holds.
  */
+@SuppressWarnings( "serial" )
 public interface ListADT<E> extends Serializable
 {
 	/**
@@ -183,4 +188,73 @@ public interface ListADT<E> extends Serializable
 	 *         <code>java.util.Iterator</code>.
 	 */
 	public Iterator<E> iterator();
+
+	/**
+	 * Performs an action on each element of this list, in the same order as
+	 * <code>iterator()</code>. The default implementation uses the iterator;
+	 * implementations override it with a loop over their own storage so that a
+	 * traversal allocates nothing.
+	 * 
+	 * @param action The action to perform.
+	 * @throws NullPointerException If the action is null.
+	 */
+	public default void forEach( Consumer<? super E> action ) throws NullPointerException
+	{
+		if( action == null )
+			throw new NullPointerException( "Action cannot be null." );
+		Iterator<E> it = iterator();
+		while( it.hasNext() )
+			action.accept( it.next() );
+	}
+
+	/**
+	 * Performs an action on each element of this list together with its position,
+	 * counting from zero in the same order as <code>iterator()</code>.
+	 * 
+	 * @param action The action to perform.
+	 * @throws NullPointerException If the action is null.
+	 */
+	public default void forEachIndexed( IndexedConsumer<? super E> action ) throws NullPointerException
+	{
+		if( action == null )
+			throw new NullPointerException( "Action cannot be null." );
+		Iterator<E> it = iterator();
+		for( int i = 0; it.hasNext(); i++ )
+			action.accept( i, it.next() );
+	}
+
+	/**
+	 * Creates a spliterator over the elements in this list, in the same order as
+	 * <code>iterator()</code>. The default implementation splits off growing batches
+	 * of elements from the iterator; implementations that can be split by position
+	 * should override it.
+	 * 
+	 * @return A spliterator over the elements in this list.
+	 */
+	public default Spliterator<E> spliterator()
+	{
+		return new BatchSpliterator<>( iterator(), size(), Spliterator.ORDERED | Spliterator.NONNULL );
+	}
+
+	/**
+	 * Returns a sequential stream over the elements in this list.
+	 * 
+	 * @return A sequential stream over this list.
+	 */
+	public default Stream<E> stream()
+	{
+		return StreamSupport.stream( spliterator(), false );
+	}
+
+	/**
+	 * Returns a possibly parallel stream over the elements in this list. The
+	 * elements are partitioned by the spliterator rather than copied into a
+	 * collection first.
+	 * 
+	 * @return A possibly parallel stream over this list.
+	 */
+	public default Stream<E> parallelStream()
+	{
+		return StreamSupport.stream( spliterator(), true );
+	}
 }
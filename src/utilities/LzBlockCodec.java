@@ -0,0 +1,194 @@
+package utilities;
+
+import java.io.IOException;
+import java.util.Arrays;
+
+/**
+ * A small LZ77 block compressor in the style of LZ4. Repeated runs of at least four
+ * bytes within the last 64 KB are replaced by a two-byte offset and a length, found
+ * through a hash table of four-byte sequences. It favours speed over ratio, which
+ * suits snapshots that are written often.
+ * <p>
+ * Each sequence is a token byte whose high four bits hold the number of literals
+ * and whose low four bits hold the match length minus four, either of which is
+ * continued in following bytes of 255 when it reaches 15. The literals come next,
+ * then the offset in little-endian order and any match length bytes. The last
+ * sequence has literals only.
+ * </p>
+ */
+final class LzBlockCodec {
+
+    /**
+     * The shortest match worth encoding.
+     */
+    private static final int MIN_MATCH = 4;
+
+    /**
+     * The farthest back a match may start.
+     */
+    private static final int MAX_OFFSET = 0xFFFF;
+
+    /**
+     * The number of bits in a hash table index.
+     */
+    private static final int HASH_BITS = 12;
+
+    /**
+     * Matches are not started within this many bytes of the end, so the block always
+     * ends with literals.
+     */
+    private static final int END_LITERALS = 5;
+
+    private LzBlockCodec() {
+    }
+
+    /**
+     * Gets the largest compressed size of a block, for sizing the output array.
+     *
+     * @param length The length of the uncompressed block.
+     * @return The worst-case compressed length.
+     */
+    static int maxCompressedLength(int length) {
+        return length + length / 255 + 16;
+    }
+
+    /**
+     * Compresses a block.
+     *
+     * @param source The bytes to compress.
+     * @param length The number of bytes to compress from the start of the array.
+     * @param target The array to write to, at least <code>maxCompressedLength(length)</code> long.
+     * @param table  A hash table of <code>4096</code> entries, reused between calls.
+     * @return The compressed length.
+     */
+    static int compress(byte[] source, int length, byte[] target, int[] table) {
+        Arrays.fill(table, -1);
+        int anchor = 0;
+        int out = 0;
+        int i = 0;
+        int matchLimit = length - END_LITERALS;
+        while (i < matchLimit - MIN_MATCH) {
+            int sequence = readInt(source, i);
+            int hash = (sequence * -1640531535) >>> (32 - HASH_BITS);
+            int candidate = table[hash];
+            table[hash] = i;
+            if (candidate < 0 || i - candidate > MAX_OFFSET || readInt(source, candidate) != sequence) {
+                i++;
+                continue;
+            }
+            int matchLength = MIN_MATCH;
+            while (i + matchLength < matchLimit && source[candidate + matchLength] == source[i + matchLength]) {
+                matchLength++;
+            }
+            out = writeSequence(source, anchor, i - anchor, target, out, matchLength - MIN_MATCH);
+            target[out++] = (byte) (i - candidate);
+            target[out++] = (byte) ((i - candidate) >>> 8);
+            out = writeLength(target, out, matchLength - MIN_MATCH);
+            i += matchLength;
+            anchor = i;
+        }
+        return writeSequence(source, anchor, length - anchor, target, out, 0);
+    }
+
+    /**
+     * Decompresses a block.
+     *
+     * @param source    The compressed bytes.
+     * @param length    The number of compressed bytes.
+     * @param target    The array to write to.
+     * @param rawLength The expected uncompressed length.
+     * @throws IOException If the block is corrupt.
+     */
+    static void decompress(byte[] source, int length, byte[] target, int rawLength) throws IOException {
+        int in = 0;
+        int out = 0;
+        while (true) {
+            if (in >= length) throw new IOException("Corrupt compressed block.");
+            int token = source[in++] & 0xFF;
+            int literals = token >>> 4;
+            if (literals == 15) {
+                int extra;
+                do {
+                    if (in >= length) throw new IOException("Corrupt compressed block.");
+                    extra = source[in++] & 0xFF;
+                    literals += extra;
+                } while (extra == 255);
+            }
+            if (literals > length - in || literals > rawLength - out) throw new IOException("Corrupt compressed block.");
+            System.arraycopy(source, in, target, out, literals);
+            in += literals;
+            out += literals;
+            if (in == length) break;
+            if (in + 2 > length) throw new IOException("Corrupt compressed block.");
+            int offset = (source[in] & 0xFF) | (source[in + 1] & 0xFF) << 8;
+            in += 2;
+            int matchLength = token & 0x0F;
+            if (matchLength == 15) {
+                int extra;
+                do {
+                    if (in >= length) throw new IOException("Corrupt compressed block.");
+                    extra = source[in++] & 0xFF;
+                    matchLength += extra;
+                } while (extra == 255);
+            }
+            matchLength += MIN_MATCH;
+            if (offset == 0 || offset > out || matchLength > rawLength - out) throw new IOException("Corrupt compressed block.");
+            for (int k = 0; k < matchLength; k++) { // Byte by byte, since the match may overlap itself
+                target[out] = target[out - offset];
+                out++;
+            }
+        }
+        if (out != rawLength) throw new IOException("Corrupt compressed block.");
+    }
+
+    /**
+     * Writes a token and its literals.
+     *
+     * @param source    The uncompressed bytes.
+     * @param from      The position of the first literal.
+     * @param literals  The number of literals.
+     * @param target    The output array.
+     * @param out       The output position.
+     * @param matchCode The match length minus four, or zero for the last sequence.
+     * @return The new output position.
+     */
+    private static int writeSequence(byte[] source, int from, int literals, byte[] target, int out, int matchCode) {
+        int tokenPosition = out++;
+        int token = Math.min(matchCode, 15);
+        token |= Math.min(literals, 15) << 4;
+        out = writeLength(target, out, literals);
+        target[tokenPosition] = (byte) token;
+        System.arraycopy(source, from, target, out, literals);
+        return out + literals;
+    }
+
+    /**
+     * Writes the bytes that continue a length of 15 or more.
+     *
+     * @param target The output array.
+     * @param out    The output position.
+     * @param code   The full length; nothing is written below 15.
+     * @return The new output position.
+     */
+    private static int writeLength(byte[] target, int out, int code) {
+        if (code < 15) return out;
+        int remaining = code - 15;
+        while (remaining >= 255) {
+            target[out++] = (byte) 255;
+            remaining -= 255;
+        }
+        target[out++] = (byte) remaining;
+        return out;
+    }
+
+    /**
+     * Reads four bytes as an int, in little-endian order.
+     *
+     * @param source The array to read from.
+     * @param at     The position of the first byte.
+     * @return The int value.
+     */
+    private static int readInt(byte[] source, int at) {
+        return (source[at] & 0xFF) | (source[at + 1] & 0xFF) << 8 | (source[at + 2] & 0xFF) << 16 | (source[at + 3] & 0xFF) << 24;
+    }
+}
@@ -0,0 +1,179 @@
+package utilities;
+
+import java.util.Comparator;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.RecursiveAction;
+
+/**
+ * A stable merge sort over a range of an object array. Large ranges are split into
+ * halves that are sorted in parallel on the common {@link ForkJoinPool}, and short
+ * runs are finished with an insertion sort, which is faster than merging for a
+ * handful of items. One scratch array of half the range is shared by every task,
+ * since each task only touches its own slice of it.
+ */
+public final class ParallelMergeSort {
+
+    /**
+     * Runs of this many items or fewer are sorted by insertion.
+     */
+    static final int INSERTION_THRESHOLD = 32;
+
+    /**
+     * Ranges of this many items or fewer are sorted on the calling thread.
+     */
+    static final int PARALLEL_THRESHOLD = 1 << 13;
+
+    private ParallelMergeSort() {
+    }
+
+    /**
+     * Sorts the items from <code>fromIndex</code>, inclusive, to <code>toIndex</code>,
+     * exclusive. Equal items keep their relative order.
+     *
+     * @param array      The array to sort in place.
+     * @param fromIndex  The position of the first item to sort.
+     * @param toIndex    The position after the last item to sort.
+     * @param comparator The order to sort by, or null for the natural order.
+     * @param <T>        The type of items in the array.
+     * @throws IndexOutOfBoundsException If the range is invalid.
+     * @throws ClassCastException        If the comparator is null and the items are not
+     *                                   mutually comparable.
+     */
+    public static <T> void sort(T[] array, int fromIndex, int toIndex, Comparator<? super T> comparator) {
+        if (fromIndex < 0 || toIndex > array.length || fromIndex > toIndex) throw new IndexOutOfBoundsException("Invalid range.");
+        Comparator<? super T> order = comparator != null ? comparator : naturalOrder();
+        int length = toIndex - fromIndex;
+        if (length <= INSERTION_THRESHOLD) {
+            insertionSort(array, fromIndex, toIndex, order);
+            return;
+        }
+        Object[] scratch = new Object[(length + 1) / 2];
+        if (length <= PARALLEL_THRESHOLD || ForkJoinPool.getCommonPoolParallelism() < 2) {
+            mergeSort(array, scratch, fromIndex, toIndex, fromIndex, order);
+        } else {
+            ForkJoinPool.commonPool().invoke(new SortTask<>(array, scratch, fromIndex, toIndex, fromIndex, order));
+        }
+    }
+
+    /**
+     * Gets a comparator that uses the natural order of the items.
+     *
+     * @param <T> The type of items compared.
+     * @return The natural-order comparator.
+     */
+    @SuppressWarnings("unchecked")
+    public static <T> Comparator<T> naturalOrder() {
+        return (a, b) -> ((Comparable<Object>) a).compareTo(b);
+    }
+
+    /**
+     * Sorts a range on the current thread.
+     *
+     * @param array   The array to sort.
+     * @param scratch The shared scratch array.
+     * @param lo      The first position of the range.
+     * @param hi      The position after the range.
+     * @param base    The position in the array that maps to the start of the scratch array.
+     * @param order   The order to sort by.
+     */
+    private static <T> void mergeSort(T[] array, Object[] scratch, int lo, int hi, int base, Comparator<? super T> order) {
+        if (hi - lo <= INSERTION_THRESHOLD) {
+            insertionSort(array, lo, hi, order);
+            return;
+        }
+        int mid = (lo + hi) >>> 1;
+        mergeSort(array, scratch, lo, mid, base, order);
+        mergeSort(array, scratch, mid, hi, base, order);
+        merge(array, scratch, lo, mid, hi, base, order);
+    }
+
+    /**
+     * Merges two sorted neighbouring runs. The left run is copied out to the scratch
+     * array and merged back with the right run, which is read in place.
+     *
+     * @param array   The array holding both runs.
+     * @param scratch The shared scratch array.
+     * @param lo      The first position of the left run.
+     * @param mid     The first position of the right run.
+     * @param hi      The position after the right run.
+     * @param base    The position in the array that maps to the start of the scratch array.
+     * @param order   The order to sort by.
+     */
+    @SuppressWarnings("unchecked")
+    private static <T> void merge(T[] array, Object[] scratch, int lo, int mid, int hi, int base, Comparator<? super T> order) {
+        if (order.compare(array[mid - 1], array[mid]) <= 0) return; // Already in order
+        // Disjoint ranges map to disjoint slices of the scratch array, half their length each
+        int offset = (lo - base) / 2;
+        int leftLength = mid - lo;
+        System.arraycopy(array, lo, scratch, offset, leftLength);
+        int left = offset;
+        int leftEnd = offset + leftLength;
+        int right = mid;
+        int out = lo;
+        while (left < leftEnd && right < hi) {
+            T candidate = (T) scratch[left];
+            if (order.compare(array[right], candidate) < 0) {
+                array[out++] = array[right++];
+            } else {
+                array[out++] = candidate;
+                left++;
+            }
+        }
+        System.arraycopy(scratch, left, array, out, leftEnd - left);
+    }
+
+    /**
+     * Sorts a short range by insertion.
+     *
+     * @param array The array to sort.
+     * @param lo    The first position of the range.
+     * @param hi    The position after the range.
+     * @param order The order to sort by.
+     */
+    private static <T> void insertionSort(T[] array, int lo, int hi, Comparator<? super T> order) {
+        for (int i = lo + 1; i < hi; i++) {
+            T item = array[i];
+            int j = i - 1;
+            while (j >= lo && order.compare(array[j], item) > 0) {
+                array[j + 1] = array[j];
+                j--;
+            }
+            array[j + 1] = item;
+        }
+    }
+
+    /**
+     * Sorts a range by sorting its halves in parallel and then merging them.
+     */
+    private static class SortTask<T> extends RecursiveAction {
+        private static final long serialVersionUID = 2460281164127618807L;
+
+        private final T[] array;
+        private final Object[] scratch;
+        private final int lo;
+        private final int hi;
+        private final int base;
+        private final Comparator<? super T> order;
+
+        SortTask(T[] array, Object[] scratch, int lo, int hi, int base, Comparator<? super T> order) {
+            this.array = array;
+            this.scratch = scratch;
+            this.lo = lo;
+            this.hi = hi;
+            this.base = base;
+            this.order = order;
+        }
+
+        @Override
+        protected void compute() {
+            if (hi - lo <= PARALLEL_THRESHOLD) {
+                mergeSort(array, scratch, lo, hi, base, order);
+                return;
+            }
+            int mid = (lo + hi) >>> 1;
+            invokeAll(new SortTask<>(array, scratch, lo, mid, base, order),
+                    new SortTask<>(array, scratch, mid, hi, base, order));
+            merge(array, scratch, lo, mid, hi, base, order);
+        }
+    }
+}
@@ -0,0 +1,299 @@
+package utilities;
+
+import implementations.MyQueue;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.InterruptedIOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.AsynchronousFileChannel;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.Future;
+
+/**
+ * An input stream over a file that reads ahead asynchronously. While the caller
+ * consumes one buffer, the following buffers are already being filled by an
+ * {@link AsynchronousFileChannel}, so the reading thread rarely waits on the disk.
+ * Each stream holds a fixed number of buffers and recycles them as each one is consumed.
+ * <p>
+ * Buffers of the default size are direct, and are returned on {@link #close()} to a
+ * bounded pool shared by every stream, so opening many files one after another reuses
+ * the same direct memory instead of leaving it for the garbage collector to free.
+ * Buffers of any other size are allocated on the heap.
+ * </p>
+ */
+public class PrefetchingInputStream extends InputStream {
+
+    /**
+     * The default size of each buffer in bytes.
+     */
+    public static final int DEFAULT_BUFFER_SIZE = 64 * 1024;
+
+    /**
+     * The default number of buffers, one being consumed and two being filled.
+     */
+    public static final int DEFAULT_BUFFER_COUNT = 3;
+
+    /**
+     * The most direct buffers kept in the shared pool between streams.
+     */
+    private static final int SHARED_POOL_LIMIT = 16;
+
+    /**
+     * Direct buffers of the default size released by closed streams. Guarded by its
+     * own lock.
+     */
+    private static final MyQueue<ByteBuffer> SHARED_POOL = new MyQueue<>();
+
+    /**
+     * The channel that the buffers are filled from.
+     */
+    private final AsynchronousFileChannel channel;
+
+    /**
+     * The size of the file when it was opened.
+     */
+    private final long fileSize;
+
+    /**
+     * Buffers that are free to be filled.
+     */
+    private final MyQueue<ByteBuffer> pool;
+
+    /**
+     * Reads that have been issued, in file order.
+     */
+    private final MyQueue<PendingRead> inFlight;
+
+    /**
+     * The buffer currently being consumed, or null before the first read.
+     */
+    private ByteBuffer current;
+
+    /**
+     * The file position of the next read to issue.
+     */
+    private long nextPosition;
+
+    /**
+     * Whether the stream has been closed.
+     */
+    private boolean closed;
+
+    /**
+     * Opens a file with the default buffer size and count.
+     *
+     * @param path The file to read.
+     * @throws IOException If the file cannot be opened.
+     */
+    public PrefetchingInputStream(Path path) throws IOException {
+        this(path, DEFAULT_BUFFER_SIZE, DEFAULT_BUFFER_COUNT);
+    }
+
+    /**
+     * Opens a file with the given buffer size and count.
+     *
+     * @param path        The file to read.
+     * @param bufferSize  The size of each buffer in bytes.
+     * @param bufferCount The number of buffers, at least two so that one can be filled
+     *                    while another is consumed.
+     * @throws IOException              If the file cannot be opened.
+     * @throws IllegalArgumentException If the buffer size is not positive or fewer than
+     *                                  two buffers are requested.
+     */
+    public PrefetchingInputStream(Path path, int bufferSize, int bufferCount) throws IOException {
+        if (bufferSize < 1) throw new IllegalArgumentException("Buffer size must be positive.");
+        if (bufferCount < 2) throw new IllegalArgumentException("At least two buffers are required.");
+        channel = AsynchronousFileChannel.open(path, StandardOpenOption.READ);
+        fileSize = channel.size();
+        pool = new MyQueue<>();
+        inFlight = new MyQueue<>();
+        for (int i = 0; i < bufferCount; i++) {
+            pool.enqueue(borrowBuffer(bufferSize));
+        }
+        issueReads();
+    }
+
+    @Override
+    public int read() throws IOException {
+        if (closed) throw new IOException("Stream closed.");
+        if ((current == null || !current.hasRemaining()) && !nextBuffer()) {
+            return -1;
+        }
+        return current.get() & 0xFF;
+    }
+
+    @Override
+    public int read(byte[] b, int off, int len) throws IOException {
+        if (off < 0 || len < 0 || len > b.length - off) throw new IndexOutOfBoundsException("Invalid range.");
+        if (closed) throw new IOException("Stream closed.");
+        if (len == 0) return 0;
+        if ((current == null || !current.hasRemaining()) && !nextBuffer()) {
+            return -1;
+        }
+        int count = Math.min(len, current.remaining());
+        current.get(b, off, count);
+        return count;
+    }
+
+    @Override
+    public int available() {
+        return current == null ? 0 : current.remaining();
+    }
+
+    /**
+     * Closes the file and returns the buffers to the shared pool. Reads still in flight
+     * are waited for first, so that no buffer is handed to another stream while the
+     * channel may still be writing into it.
+     *
+     * @throws IOException If the channel cannot be closed.
+     */
+    @Override
+    public void close() throws IOException {
+        if (closed) return;
+        closed = true;
+        try {
+            channel.close();
+        } finally {
+            if (current != null) {
+                pool.enqueue(current);
+                current = null;
+            }
+            boolean interrupted = false;
+            while (!inFlight.isEmpty()) {
+                PendingRead pending = inFlight.dequeue();
+                while (true) {
+                    try {
+                        pending.result.get();
+                        break;
+                    } catch (InterruptedException e) {
+                        interrupted = true;
+                    } catch (ExecutionException e) {
+                        break; // The read failed or was cut short by closing the channel
+                    }
+                }
+                pool.enqueue(pending.buffer);
+            }
+            if (interrupted) Thread.currentThread().interrupt();
+            while (!pool.isEmpty()) {
+                releaseBuffer(pool.dequeue());
+            }
+        }
+    }
+
+    /**
+     * Recycles the consumed buffer, tops up the reads in flight and waits for the next
+     * buffer in file order.
+     *
+     * @return True if a buffer with data is ready, false at the end of the file.
+     * @throws IOException If a read fails or the thread is interrupted while waiting.
+     */
+    private boolean nextBuffer() throws IOException {
+        if (current != null) {
+            pool.enqueue(current);
+            current = null;
+        }
+        issueReads();
+        if (inFlight.isEmpty()) {
+            return false;
+        }
+        PendingRead pending = inFlight.dequeue();
+        int read = await(pending.result);
+        ByteBuffer buffer = pending.buffer;
+        long expected = Math.min(buffer.capacity(), fileSize - pending.position);
+        while (read >= 0 && buffer.position() < expected) { // Complete a short read in place
+            read = await(channel.read(buffer, pending.position + buffer.position()));
+        }
+        buffer.flip();
+        current = buffer;
+        return current.hasRemaining();
+    }
+
+    /**
+     * Starts filling every free buffer with the next unread part of the file.
+     */
+    private void issueReads() {
+        while (!pool.isEmpty() && nextPosition < fileSize) {
+            ByteBuffer buffer = pool.dequeue();
+            buffer.clear();
+            inFlight.enqueue(new PendingRead(buffer, nextPosition, channel.read(buffer, nextPosition)));
+            nextPosition += buffer.capacity();
+        }
+    }
+
+    /**
+     * Takes a buffer from the shared pool, or allocates one if the pool is empty.
+     *
+     * @param bufferSize The size of the buffer in bytes.
+     * @return A direct buffer of the default size, or a heap buffer of any other size.
+     */
+    private static ByteBuffer borrowBuffer(int bufferSize) {
+        if (bufferSize != DEFAULT_BUFFER_SIZE) return ByteBuffer.allocate(bufferSize);
+        synchronized (SHARED_POOL) {
+            if (!SHARED_POOL.isEmpty()) return SHARED_POOL.dequeue();
+        }
+        return ByteBuffer.allocateDirect(bufferSize);
+    }
+
+    /**
+     * Returns a buffer to the shared pool if it is a direct buffer of the default size
+     * and the pool has room. Other buffers are left to the garbage collector.
+     *
+     * @param buffer The buffer to release.
+     */
+    private static void releaseBuffer(ByteBuffer buffer) {
+        if (!buffer.isDirect() || buffer.capacity() != DEFAULT_BUFFER_SIZE) return;
+        synchronized (SHARED_POOL) {
+            if (SHARED_POOL.size() < SHARED_POOL_LIMIT) SHARED_POOL.enqueue(buffer);
+        }
+    }
+
+    /**
+     * Waits for an asynchronous read to complete.
+     *
+     * @param result The pending result.
+     * @return The number of bytes read, or -1 at the end of the file.
+     * @throws IOException If the read failed or the thread was interrupted.
+     */
+    private static int await(Future<Integer> result) throws IOException {
+        try {
+            return result.get();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new InterruptedIOException("Interrupted while waiting for a read.");
+        } catch (ExecutionException e) {
+            Throwable cause = e.getCause();
+            if (cause instanceof IOException) throw (IOException) cause;
+            throw new IOException(cause);
+        }
+    }
+
+    /**
+     * A read that has been issued but not yet consumed.
+     */
+    private static class PendingRead {
+
+        /**
+         * The buffer being filled.
+         */
+        final ByteBuffer buffer;
+
+        /**
+         * The file position the read started at.
+         */
+        final long position;
+
+        /**
+         * The number of bytes read, once complete.
+         */
+        final Future<Integer> result;
+
+        PendingRead(ByteBuffer buffer, long position, Future<Integer> result) {
+            this.buffer = buffer;
+            this.position = position;
+            this.result = result;
+        }
+    }
+}
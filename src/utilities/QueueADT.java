@@ -2,6 +2,10 @@ package utilities;
 
 import exceptions.EmptyQueueException;
 import java.io.*;
+import java.util.Spliterator;
+import java.util.function.Consumer;
+import java.util.stream.Stream;
+import java.util.stream.StreamSupport;
 
 /**
  * This is the professional Queue Interface for Object-Oriented Programming 3
@@ -9,6 +13,7 @@ import java.io.*;
  * Queue operations, and includes several helper methods that will give the data
  * structure more flexibility and use.
  */
+@SuppressWarnings( "serial" )
 public interface QueueADT<E> extends Serializable
 {
 	/**
@@ -86,6 +91,75 @@ public interface QueueADT<E> extends Serializable
 	 */
 	public Iterator<E> iterator();
 
+	/**
+	 * Performs an action on each element of this queue, in the same order as
+	 * <code>iterator()</code>. The default implementation uses the iterator;
+	 * implementations override it with a loop over their own storage so that a
+	 * traversal allocates nothing.
+	 * 
+	 * @param action The action to perform.
+	 * @throws NullPointerException If the action is null.
+	 */
+	public default void forEach( Consumer<? super E> action ) throws NullPointerException
+	{
+		if( action == null )
+			throw new NullPointerException( "Action cannot be null." );
+		Iterator<E> it = iterator();
+		while( it.hasNext() )
+			action.accept( it.next() );
+	}
+
+	/**
+	 * Performs an action on each element of this queue together with its position,
+	 * counting from zero in the same order as <code>iterator()</code>.
+	 * 
+	 * @param action The action to perform.
+	 * @throws NullPointerException If the action is null.
+	 */
+	public default void forEachIndexed( IndexedConsumer<? super E> action ) throws NullPointerException
+	{
+		if( action == null )
+			throw new NullPointerException( "Action cannot be null." );
+		Iterator<E> it = iterator();
+		for( int i = 0; it.hasNext(); i++ )
+			action.accept( i, it.next() );
+	}
+
+	/**
+	 * Creates a spliterator over the elements in this queue, in the same order as
+	 * <code>iterator()</code>. The default implementation splits off growing batches
+	 * of elements from the iterator; implementations that can be split by position
+	 * should override it.
+	 * 
+	 * @return A spliterator over the elements in this queue.
+	 */
+	public default Spliterator<E> spliterator()
+	{
+		return new BatchSpliterator<>( iterator(), size(), Spliterator.ORDERED | Spliterator.NONNULL );
+	}
+
+	/**
+	 * Returns a sequential stream over the elements in this queue.
+	 * 
+	 * @return A sequential stream over this queue.
+	 */
+	public default Stream<E> stream()
+	{
+		return StreamSupport.stream( spliterator(), false );
+	}
+
+	/**
+	 * Returns a possibly parallel stream over the elements in this queue. The
+	 * elements are partitioned by the spliterator rather than copied into a
+	 * collection first.
+	 * 
+	 * @return A possibly parallel stream over this queue.
+	 */
+	public default Stream<E> parallelStream()
+	{
+		return StreamSupport.stream( spliterator(), true );
+	}
+
 	/**
 	 * Used to compare two Queue ADT's. To be equal two queues must contain equal
 	 * items appearing in the same order.
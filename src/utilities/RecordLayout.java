@@ -0,0 +1,42 @@
+package utilities;
+
+import java.nio.ByteBuffer;
+
+/**
+ * Describes how a record of a fixed size is stored in raw memory, so that records
+ * can be kept outside the Java heap. Implementations write and read fields with the
+ * absolute methods of {@link ByteBuffer}, for example
+ * <code>buffer.putLong( offset + 8, record.id )</code>, and must never touch the
+ * buffer's position or limit. Layouts for single primitives are available from
+ * {@link RecordLayouts}.
+ *
+ * @param <T> The type of record described.
+ */
+public interface RecordLayout<T>
+{
+	/**
+	 * Returns the number of bytes each record occupies.
+	 *
+	 * @return The record size in bytes, at least one.
+	 */
+	public int size();
+
+	/**
+	 * Writes a record into memory.
+	 *
+	 * @param buffer The buffer to write into.
+	 * @param offset The position of the first byte of the record.
+	 * @param record The record to write.
+	 * @throws NullPointerException If the record is null.
+	 */
+	public void write( ByteBuffer buffer, int offset, T record );
+
+	/**
+	 * Reads a record from memory.
+	 *
+	 * @param buffer The buffer to read from.
+	 * @param offset The position of the first byte of the record.
+	 * @return A new object holding the record's fields.
+	 */
+	public T read( ByteBuffer buffer, int offset );
+}
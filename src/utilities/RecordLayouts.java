@@ -0,0 +1,91 @@
+package utilities;
+
+import java.nio.ByteBuffer;
+
+/**
+ * Common {@link RecordLayout} implementations for records that hold a single
+ * primitive value.
+ */
+public final class RecordLayouts {
+
+    private static final RecordLayout<Integer> INT = new RecordLayout<Integer>() {
+        @Override
+        public int size() {
+            return Integer.BYTES;
+        }
+
+        @Override
+        public void write(ByteBuffer buffer, int offset, Integer record) {
+            buffer.putInt(offset, record);
+        }
+
+        @Override
+        public Integer read(ByteBuffer buffer, int offset) {
+            return buffer.getInt(offset);
+        }
+    };
+
+    private static final RecordLayout<Long> LONG = new RecordLayout<Long>() {
+        @Override
+        public int size() {
+            return Long.BYTES;
+        }
+
+        @Override
+        public void write(ByteBuffer buffer, int offset, Long record) {
+            buffer.putLong(offset, record);
+        }
+
+        @Override
+        public Long read(ByteBuffer buffer, int offset) {
+            return buffer.getLong(offset);
+        }
+    };
+
+    private static final RecordLayout<Double> DOUBLE = new RecordLayout<Double>() {
+        @Override
+        public int size() {
+            return Double.BYTES;
+        }
+
+        @Override
+        public void write(ByteBuffer buffer, int offset, Double record) {
+            buffer.putDouble(offset, record);
+        }
+
+        @Override
+        public Double read(ByteBuffer buffer, int offset) {
+            return buffer.getDouble(offset);
+        }
+    };
+
+    private RecordLayouts() {
+    }
+
+    /**
+     * Gets a layout for a single four-byte <code>int</code>.
+     *
+     * @return The int layout.
+     */
+    public static RecordLayout<Integer> ofInt() {
+        return INT;
+    }
+
+    /**
+     * Gets a layout for a single eight-byte <code>long</code>.
+     *
+     * @return The long layout.
+     */
+    public static RecordLayout<Long> ofLong() {
+        return LONG;
+    }
+
+    /**
+     * Gets a layout for a single eight-byte <code>double</code>.
+     *
+     * @return The double layout.
+     */
+    public static RecordLayout<Double> ofDouble() {
+        return DOUBLE;
+    }
+}
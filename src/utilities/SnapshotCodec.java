@@ -0,0 +1,576 @@
+package utilities;
+
+import implementations.IntArrayList;
+import implementations.LongArrayList;
+import implementations.MyArrayList;
+
+import java.io.EOFException;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.ReadableByteChannel;
+import java.nio.channels.WritableByteChannel;
+import java.nio.charset.StandardCharsets;
+import java.util.Arrays;
+
+/**
+ * Writes and reads lists of ints, longs and strings in a compact, versioned binary
+ * format, streaming through NIO channels. Numbers are written as zigzag varints, so
+ * small values of either sign take one or two bytes, and strings as a varint byte
+ * length followed by their UTF-8 bytes. There are no per-object headers and no
+ * reflection, unlike Java serialization.
+ * <p>
+ * A snapshot starts with the magic bytes <code>LSNP</code>, the format version,
+ * the element type, a flags byte and the number of elements as a varint. The
+ * encoded elements follow in blocks of up to 64 KB. Each block is its length as a
+ * varint, a method byte, and then either the raw bytes or, when compression is on
+ * and helps, an LZ4-style compressed block preceded by its compressed length. A
+ * zero length marks the end.
+ * </p>
+ * <p>
+ * Boxed and primitive lists share an encoding, so a list written with
+ * {@link #writeInts(IntArrayList, WritableByteChannel)} can be read back with
+ * {@link #readIntegers(ReadableByteChannel)} and the other way round. Readers
+ * buffer their input, so a snapshot should be the last thing in its channel.
+ * </p>
+ */
+public class SnapshotCodec {
+
+    /**
+     * The current format version.
+     */
+    public static final int VERSION = 1;
+
+    /**
+     * The largest number of encoded bytes in a block.
+     */
+    public static final int BLOCK_SIZE = 64 * 1024;
+
+    private static final byte[] MAGIC = { 'L', 'S', 'N', 'P' };
+
+    private static final int TYPE_INT = 1;
+    private static final int TYPE_LONG = 2;
+    private static final int TYPE_STRING = 3;
+
+    private static final int FLAG_COMPRESSED = 1;
+
+    private static final int METHOD_STORED = 0;
+    private static final int METHOD_LZ = 1;
+
+    /**
+     * The most elements a list is sized for before any are read. The element count
+     * comes from the snapshot itself, so a corrupt count must not decide how much
+     * memory is allocated up front; larger lists grow as elements arrive.
+     */
+    private static final int MAX_PRESIZE = 1 << 16;
+
+    /**
+     * Whether blocks are compressed when written.
+     */
+    private final boolean compress;
+
+    /**
+     * Creates a codec that writes uncompressed blocks.
+     */
+    public SnapshotCodec() {
+        this(false);
+    }
+
+    /**
+     * Creates a codec.
+     *
+     * @param compress True to compress blocks when writing. Reading handles either.
+     */
+    public SnapshotCodec(boolean compress) {
+        this.compress = compress;
+    }
+
+    /**
+     * Writes a list of primitive ints.
+     *
+     * @param list    The list to write.
+     * @param channel The channel to write to. It is not closed.
+     * @throws IOException          If the channel cannot be written.
+     * @throws NullPointerException If the list or channel is null.
+     */
+    public void writeInts(IntArrayList list, WritableByteChannel channel) throws IOException {
+        BlockWriter out = start(channel, TYPE_INT, list.size());
+        for (int i = 0; i < list.size(); i++) {
+            out.writeVarLong(zigzag(list.get(i)));
+        }
+        out.finish();
+    }
+
+    /**
+     * Writes a list of boxed ints.
+     *
+     * @param list    The list to write.
+     * @param channel The channel to write to. It is not closed.
+     * @throws IOException          If the channel cannot be written.
+     * @throws NullPointerException If the list, channel or an item is null.
+     */
+    public void writeIntegers(ListADT<Integer> list, WritableByteChannel channel) throws IOException {
+        BlockWriter out = start(channel, TYPE_INT, list.size());
+        Iterator<Integer> it = list.iterator();
+        while (it.hasNext()) {
+            out.writeVarLong(zigzag(it.next()));
+        }
+        out.finish();
+    }
+
+    /**
+     * Writes a list of primitive longs.
+     *
+     * @param list    The list to write.
+     * @param channel The channel to write to. It is not closed.
+     * @throws IOException          If the channel cannot be written.
+     * @throws NullPointerException If the list or channel is null.
+     */
+    public void writeLongs(LongArrayList list, WritableByteChannel channel) throws IOException {
+        BlockWriter out = start(channel, TYPE_LONG, list.size());
+        for (int i = 0; i < list.size(); i++) {
+            out.writeVarLong(zigzag(list.get(i)));
+        }
+        out.finish();
+    }
+
+    /**
+     * Writes a list of strings.
+     *
+     * @param list    The list to write.
+     * @param channel The channel to write to. It is not closed.
+     * @throws IOException          If the channel cannot be written.
+     * @throws NullPointerException If the list, channel or an item is null.
+     */
+    public void writeStrings(ListADT<String> list, WritableByteChannel channel) throws IOException {
+        BlockWriter out = start(channel, TYPE_STRING, list.size());
+        Iterator<String> it = list.iterator();
+        while (it.hasNext()) {
+            byte[] bytes = it.next().getBytes(StandardCharsets.UTF_8);
+            out.writeVarLong(bytes.length);
+            out.writeBytes(bytes);
+        }
+        out.finish();
+    }
+
+    /**
+     * Reads a snapshot of ints into a primitive list.
+     *
+     * @param channel The channel to read from. It is not closed.
+     * @return The list read.
+     * @throws IOException If the channel cannot be read or does not hold an int snapshot.
+     */
+    public IntArrayList readInts(ReadableByteChannel channel) throws IOException {
+        BlockReader in = new BlockReader(channel);
+        int count = in.readHeader(TYPE_INT);
+        IntArrayList list = new IntArrayList(Math.min(count, MAX_PRESIZE));
+        for (int i = 0; i < count; i++) {
+            list.add(toInt(unzigzag(in.readVarLong())));
+        }
+        in.readEnd();
+        return list;
+    }
+
+    /**
+     * Reads a snapshot of ints into a list of boxed values.
+     *
+     * @param channel The channel to read from. It is not closed.
+     * @return The list read.
+     * @throws IOException If the channel cannot be read or does not hold an int snapshot.
+     */
+    public MyArrayList<Integer> readIntegers(ReadableByteChannel channel) throws IOException {
+        BlockReader in = new BlockReader(channel);
+        int count = in.readHeader(TYPE_INT);
+        MyArrayList<Integer> list = new MyArrayList<>(Math.min(count, MAX_PRESIZE));
+        for (int i = 0; i < count; i++) {
+            list.add(toInt(unzigzag(in.readVarLong())));
+        }
+        in.readEnd();
+        return list;
+    }
+
+    /**
+     * Reads a snapshot of longs into a primitive list.
+     *
+     * @param channel The channel to read from. It is not closed.
+     * @return The list read.
+     * @throws IOException If the channel cannot be read or does not hold a long snapshot.
+     */
+    public LongArrayList readLongs(ReadableByteChannel channel) throws IOException {
+        BlockReader in = new BlockReader(channel);
+        int count = in.readHeader(TYPE_LONG);
+        LongArrayList list = new LongArrayList(Math.min(count, MAX_PRESIZE));
+        for (int i = 0; i < count; i++) {
+            list.add(unzigzag(in.readVarLong()));
+        }
+        in.readEnd();
+        return list;
+    }
+
+    /**
+     * Reads a snapshot of strings into a list.
+     *
+     * @param channel The channel to read from. It is not closed.
+     * @return The list read.
+     * @throws IOException If the channel cannot be read or does not hold a string snapshot.
+     */
+    public MyArrayList<String> readStrings(ReadableByteChannel channel) throws IOException {
+        BlockReader in = new BlockReader(channel);
+        int count = in.readHeader(TYPE_STRING);
+        MyArrayList<String> list = new MyArrayList<>(Math.min(count, MAX_PRESIZE));
+        for (int i = 0; i < count; i++) {
+            long length = in.readVarLong();
+            if (length < 0 || length > Integer.MAX_VALUE) throw new IOException("Invalid string length: " + length);
+            list.add(in.readString((int) length));
+        }
+        in.readEnd();
+        return list;
+    }
+
+    /**
+     * Writes the snapshot header and returns a writer for the elements.
+     *
+     * @param channel The channel to write to.
+     * @param type    The element type.
+     * @param count   The number of elements.
+     * @return The block writer.
+     * @throws IOException If the channel cannot be written.
+     */
+    private BlockWriter start(WritableByteChannel channel, int type, int count) throws IOException {
+        if (channel == null) throw new NullPointerException("Channel cannot be null.");
+        BlockWriter out = new BlockWriter(channel, compress);
+        out.buffer.put(MAGIC);
+        out.buffer.put((byte) VERSION);
+        out.buffer.put((byte) type);
+        out.buffer.put((byte) (compress ? FLAG_COMPRESSED : 0));
+        putVarLong(out.buffer, count);
+        return out;
+    }
+
+    /**
+     * Maps a signed value to an unsigned one so that small magnitudes stay small.
+     *
+     * @param value The signed value.
+     * @return The zigzag encoding.
+     */
+    private static long zigzag(long value) {
+        return (value << 1) ^ (value >> 63);
+    }
+
+    /**
+     * Reverses {@link #zigzag(long)}.
+     *
+     * @param value The zigzag encoding.
+     * @return The signed value.
+     */
+    private static long unzigzag(long value) {
+        return (value >>> 1) ^ -(value & 1);
+    }
+
+    /**
+     * Narrows a decoded value to an int.
+     *
+     * @param value The decoded value.
+     * @return The int value.
+     * @throws IOException If the value does not fit in an int.
+     */
+    private static int toInt(long value) throws IOException {
+        if (value != (int) value) throw new IOException("Value out of int range: " + value);
+        return (int) value;
+    }
+
+    /**
+     * Writes an unsigned varint, seven bits per byte with the high bit set on all but
+     * the last byte.
+     *
+     * @param buffer The buffer to write to.
+     * @param value  The value, treated as unsigned.
+     */
+    private static void putVarLong(ByteBuffer buffer, long value) {
+        while ((value & ~0x7FL) != 0) {
+            buffer.put((byte) ((value & 0x7F) | 0x80));
+            value >>>= 7;
+        }
+        buffer.put((byte) value);
+    }
+
+    /**
+     * Collects encoded elements into blocks and writes each full block to the channel.
+     */
+    private static class BlockWriter {
+        private final WritableByteChannel channel;
+        private final boolean compress;
+        private final byte[] block = new byte[BLOCK_SIZE];
+        private int blockLength;
+        private final byte[] compressed;
+        private final int[] table;
+        final ByteBuffer buffer = ByteBuffer.allocate(BLOCK_SIZE + LzBlockCodec.maxCompressedLength(BLOCK_SIZE) + 32);
+
+        BlockWriter(WritableByteChannel channel, boolean compress) {
+            this.channel = channel;
+            this.compress = compress;
+            this.compressed = compress ? new byte[LzBlockCodec.maxCompressedLength(BLOCK_SIZE)] : null;
+            this.table = compress ? new int[1 << 12] : null;
+        }
+
+        /**
+         * Appends an unsigned varint to the current block.
+         *
+         * @param value The value, treated as unsigned.
+         * @throws IOException If a full block cannot be written.
+         */
+        void writeVarLong(long value) throws IOException {
+            if (blockLength > BLOCK_SIZE - 10) flushBlock();
+            while ((value & ~0x7FL) != 0) {
+                block[blockLength++] = (byte) ((value & 0x7F) | 0x80);
+                value >>>= 7;
+            }
+            block[blockLength++] = (byte) value;
+        }
+
+        /**
+         * Appends raw bytes, spilling into as many blocks as needed.
+         *
+         * @param bytes The bytes to append.
+         * @throws IOException If a full block cannot be written.
+         */
+        void writeBytes(byte[] bytes) throws IOException {
+            int offset = 0;
+            while (offset < bytes.length) {
+                if (blockLength == BLOCK_SIZE) flushBlock();
+                int count = Math.min(bytes.length - offset, BLOCK_SIZE - blockLength);
+                System.arraycopy(bytes, offset, block, blockLength, count);
+                blockLength += count;
+                offset += count;
+            }
+        }
+
+        /**
+         * Writes the last block and the end marker.
+         *
+         * @throws IOException If the channel cannot be written.
+         */
+        void finish() throws IOException {
+            if (blockLength > 0) flushBlock();
+            putVarLong(buffer, 0);
+            drain();
+        }
+
+        /**
+         * Writes the current block, compressed if that makes it smaller.
+         *
+         * @throws IOException If the channel cannot be written.
+         */
+        private void flushBlock() throws IOException {
+            putVarLong(buffer, blockLength);
+            int length = compress ? LzBlockCodec.compress(block, blockLength, compressed, table) : blockLength;
+            if (compress && length < blockLength) {
+                buffer.put((byte) METHOD_LZ);
+                putVarLong(buffer, length);
+                buffer.put(compressed, 0, length);
+            } else {
+                buffer.put((byte) METHOD_STORED);
+                buffer.put(block, 0, blockLength);
+            }
+            blockLength = 0;
+            drain();
+        }
+
+        /**
+         * Writes everything buffered to the channel.
+         *
+         * @throws IOException If the channel cannot be written.
+         */
+        private void drain() throws IOException {
+            buffer.flip();
+            while (buffer.hasRemaining()) {
+                channel.write(buffer);
+            }
+            buffer.clear();
+        }
+    }
+
+    /**
+     * Reads blocks from the channel and hands out their decoded bytes.
+     */
+    private static class BlockReader {
+        private final ReadableByteChannel channel;
+        private final ByteBuffer buffer = ByteBuffer.allocate(BLOCK_SIZE);
+        private final byte[] block = new byte[BLOCK_SIZE];
+        private byte[] compressed;
+        private int blockLength;
+        private int position;
+
+        BlockReader(ReadableByteChannel channel) {
+            if (channel == null) throw new NullPointerException("Channel cannot be null.");
+            this.channel = channel;
+            buffer.flip();
+        }
+
+        /**
+         * Reads and checks the snapshot header.
+         *
+         * @param expectedType The element type the caller can decode.
+         * @return The number of elements.
+         * @throws IOException If the header is invalid or of another type or version.
+         */
+        int readHeader(int expectedType) throws IOException {
+            for (byte b : MAGIC) {
+                if (rawByte() != b) throw new IOException("Not a snapshot.");
+            }
+            int version = rawByte() & 0xFF;
+            if (version != VERSION) throw new IOException("Unsupported snapshot version: " + version);
+            int type = rawByte() & 0xFF;
+            if (type != expectedType) throw new IOException("Snapshot holds a different element type: " + type);
+            rawByte(); // Flags; every block says how it is stored
+            long count = rawVarLong();
+            if (count < 0 || count > Integer.MAX_VALUE) throw new IOException("Invalid element count: " + count);
+            return (int) count;
+        }
+
+        /**
+         * Reads an unsigned varint from the decoded blocks.
+         *
+         * @return The value.
+         * @throws IOException If the snapshot ends or the varint is malformed.
+         */
+        long readVarLong() throws IOException {
+            long value = 0;
+            for (int shift = 0; shift < 64; shift += 7) {
+                int b = nextByte();
+                value |= (long) (b & 0x7F) << shift;
+                if ((b & 0x80) == 0) return value;
+            }
+            throw new IOException("Malformed varint.");
+        }
+
+        /**
+         * Decodes a UTF-8 string, straight from the block when it does not cross into
+         * the next one. A longer string is gathered a block at a time, so a corrupt
+         * length fails at the end of the snapshot instead of allocating it up front.
+         *
+         * @param length The number of encoded bytes.
+         * @return The string.
+         * @throws IOException If the snapshot ends early.
+         */
+        String readString(int length) throws IOException {
+            if (blockLength - position >= length) {
+                String value = new String(block, position, length, StandardCharsets.UTF_8);
+                position += length;
+                return value;
+            }
+            byte[] bytes = new byte[Math.min(length, BLOCK_SIZE)];
+            int offset = 0;
+            while (offset < length) {
+                if (position == blockLength) nextBlock();
+                int count = Math.min(length - offset, blockLength - position);
+                if (offset + count > bytes.length) {
+                    bytes = Arrays.copyOf(bytes, (int) Math.min(length, Math.max(2L * bytes.length, offset + count)));
+                }
+                System.arraycopy(block, position, bytes, offset, count);
+                position += count;
+                offset += count;
+            }
+            return new String(bytes, StandardCharsets.UTF_8);
+        }
+
+        /**
+         * Checks that every block has been consumed and reads the end marker.
+         *
+         * @throws IOException If data is left over or the marker is missing.
+         */
+        void readEnd() throws IOException {
+            if (position != blockLength || rawVarLong() != 0) throw new IOException("Snapshot has trailing data.");
+        }
+
+        private int nextByte() throws IOException {
+            if (position == blockLength) nextBlock();
+            return block[position++] & 0xFF;
+        }
+
+        /**
+         * Reads and, if needed, decompresses the next block.
+         *
+         * @throws IOException If the snapshot ends or the block is corrupt.
+         */
+        private void nextBlock() throws IOException {
+            long length = rawVarLong();
+            if (length == 0) throw new EOFException("Snapshot ended early.");
+            if (length > BLOCK_SIZE) throw new IOException("Invalid block length: " + length);
+            int method = rawByte();
+            if (method == METHOD_STORED) {
+                rawBytes(block, (int) length);
+            } else if (method == METHOD_LZ) {
+                long compressedLength = rawVarLong();
+                if (compressedLength < 1 || compressedLength > LzBlockCodec.maxCompressedLength(BLOCK_SIZE)) {
+                    throw new IOException("Invalid compressed length: " + compressedLength);
+                }
+                if (compressed == null) compressed = new byte[LzBlockCodec.maxCompressedLength(BLOCK_SIZE)];
+                rawBytes(compressed, (int) compressedLength);
+                LzBlockCodec.decompress(compressed, (int) compressedLength, block, (int) length);
+            } else {
+                throw new IOException("Unknown block method: " + method);
+            }
+            blockLength = (int) length;
+            position = 0;
+        }
+
+        /**
+         * Reads an unsigned varint from the channel, outside any block.
+         *
+         * @return The value.
+         * @throws IOException If the channel ends or the varint is malformed.
+         */
+        private long rawVarLong() throws IOException {
+            long value = 0;
+            for (int shift = 0; shift < 64; shift += 7) {
+                int b = rawByte();
+                value |= (long) (b & 0x7F) << shift;
+                if ((b & 0x80) == 0) return value;
+            }
+            throw new IOException("Malformed varint.");
+        }
+
+        /**
+         * Reads one byte from the channel, outside any block.
+         *
+         * @return The byte as an unsigned value.
+         * @throws IOException If the channel ends.
+         */
+        private int rawByte() throws IOException {
+            if (!buffer.hasRemaining()) fill();
+            return buffer.get() & 0xFF;
+        }
+
+        /**
+         * Reads bytes from the channel, outside any block.
+         *
+         * @param target The array to fill from the start.
+         * @param length The number of bytes to read.
+         * @throws IOException If the channel ends.
+         */
+        private void rawBytes(byte[] target, int length) throws IOException {
+            int offset = 0;
+            while (offset < length) {
+                if (!buffer.hasRemaining()) fill();
+                int count = Math.min(length - offset, buffer.remaining());
+                buffer.get(target, offset, count);
+                offset += count;
+            }
+        }
+
+        /**
+         * Refills the read buffer from the channel.
+         *
+         * @throws IOException If the channel ends.
+         */
+        private void fill() throws IOException {
+            buffer.clear();
+            int read;
+            do {
+                read = channel.read(buffer);
+            } while (read == 0);
+            buffer.flip();
+            if (read < 0) throw new EOFException("Snapshot ended early.");
+        }
+    }
+}
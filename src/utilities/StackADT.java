@@ -2,6 +2,9 @@ package utilities;
 
 import java.util.*;
 import java.io.*;
+import java.util.function.Consumer;
+import java.util.stream.Stream;
+import java.util.stream.StreamSupport;
 
 /**
  * This is the professional Stack Interface for Object-Oriented Programming 3
@@ -9,6 +12,7 @@ import java.io.*;
  * Stack operations, and includes several helper methods that will give the data
  * structure more flexibility and use.
  */
+@SuppressWarnings( "serial" )
 public interface StackADT<E> extends Serializable
 {
 
@@ -107,6 +111,75 @@ public interface StackADT<E> extends Serializable
 	 */
 	public Iterator<E> iterator();
 
+	/**
+	 * Performs an action on each element of this stack, in the same order as
+	 * <code>iterator()</code>. The default implementation uses the iterator;
+	 * implementations override it with a loop over their own storage so that a
+	 * traversal allocates nothing.
+	 * 
+	 * @param action The action to perform.
+	 * @throws NullPointerException If the action is null.
+	 */
+	public default void forEach( Consumer<? super E> action ) throws NullPointerException
+	{
+		if( action == null )
+			throw new NullPointerException( "Action cannot be null." );
+		Iterator<E> it = iterator();
+		while( it.hasNext() )
+			action.accept( it.next() );
+	}
+
+	/**
+	 * Performs an action on each element of this stack together with its position,
+	 * counting from zero in the same order as <code>iterator()</code>.
+	 * 
+	 * @param action The action to perform.
+	 * @throws NullPointerException If the action is null.
+	 */
+	public default void forEachIndexed( IndexedConsumer<? super E> action ) throws NullPointerException
+	{
+		if( action == null )
+			throw new NullPointerException( "Action cannot be null." );
+		Iterator<E> it = iterator();
+		for( int i = 0; it.hasNext(); i++ )
+			action.accept( i, it.next() );
+	}
+
+	/**
+	 * Creates a spliterator over the elements in this stack, in the same order as
+	 * <code>iterator()</code>. The default implementation splits off growing batches
+	 * of elements from the iterator; implementations that can be split by position
+	 * should override it.
+	 * 
+	 * @return A spliterator over the elements in this stack.
+	 */
+	public default Spliterator<E> spliterator()
+	{
+		return new BatchSpliterator<>( iterator(), size(), Spliterator.ORDERED | Spliterator.NONNULL );
+	}
+
+	/**
+	 * Returns a sequential stream over the elements in this stack.
+	 * 
+	 * @return A sequential stream over this stack.
+	 */
+	public default Stream<E> stream()
+	{
+		return StreamSupport.stream( spliterator(), false );
+	}
+
+	/**
+	 * Returns a possibly parallel stream over the elements in this stack. The
+	 * elements are partitioned by the spliterator rather than copied into a
+	 * collection first.
+	 * 
+	 * @return A possibly parallel stream over this stack.
+	 */
+	public default Stream<E> parallelStream()
+	{
+		return StreamSupport.stream( spliterator(), true );
+	}
+
 	/**
 	 * Used to compare two Stack ADT's. To be equal two stacks must contain equal
 	 * items appearing in the same order.
@@ -0,0 +1,224 @@
+package utilities;
+
+import java.nio.charset.Charset;
+import java.nio.charset.IllegalCharsetNameException;
+import java.nio.charset.StandardCharsets;
+import java.nio.charset.UnsupportedCharsetException;
+import java.util.Arrays;
+
+/**
+ * Describes how the markup characters of an XML document are laid out in bytes.
+ * Every encoding supported here stores the characters the parser looks for
+ * (<code>&lt;</code>, <code>&gt;</code>, <code>/</code>, <code>?</code>, whitespace
+ * and line breaks) as a single code unit of one or two bytes, so documents can be
+ * scanned unit by unit and only tag names need to be decoded.
+ */
+public final class XMLEncoding {
+
+    /**
+     * UTF-8, the XML default when no byte order mark or declaration says otherwise.
+     */
+    public static final XMLEncoding UTF_8 = new XMLEncoding(StandardCharsets.UTF_8, 1, false);
+
+    /**
+     * UTF-16 with the least significant byte of each unit first.
+     */
+    public static final XMLEncoding UTF_16LE = new XMLEncoding(StandardCharsets.UTF_16LE, 2, false);
+
+    /**
+     * UTF-16 with the most significant byte of each unit first.
+     */
+    public static final XMLEncoding UTF_16BE = new XMLEncoding(StandardCharsets.UTF_16BE, 2, true);
+
+    /**
+     * ISO-8859-1 (Latin-1), one byte per character.
+     */
+    public static final XMLEncoding ISO_8859_1 = new XMLEncoding(StandardCharsets.ISO_8859_1, 1, false);
+
+    /**
+     * The characters whose encoding must match ASCII for a charset to be scanned a
+     * byte at a time.
+     */
+    private static final String ASCII_SAMPLE = "<>/?=\"' \t\r\nazAZ09:_-.";
+
+    /**
+     * The charset used to decode tag names and context lines.
+     */
+    private final Charset charset;
+
+    /**
+     * The number of bytes in each code unit.
+     */
+    private final int unitSize;
+
+    /**
+     * Whether two-byte units store their most significant byte first.
+     */
+    private final boolean bigEndian;
+
+    private XMLEncoding(Charset charset, int unitSize, boolean bigEndian) {
+        this.charset = charset;
+        this.unitSize = unitSize;
+        this.bigEndian = bigEndian;
+    }
+
+    /**
+     * Gets the charset used to decode text in this encoding.
+     *
+     * @return The charset of this encoding.
+     */
+    public Charset charset() {
+        return charset;
+    }
+
+    /**
+     * Gets the number of bytes in each code unit.
+     *
+     * @return One for byte-oriented encodings, two for UTF-16.
+     */
+    public int unitSize() {
+        return unitSize;
+    }
+
+    /**
+     * Reads the code unit starting at the given byte position.
+     *
+     * @param bytes The encoded bytes.
+     * @param index The position of the first byte of the unit.
+     * @return The unsigned value of the code unit.
+     */
+    public int unitAt(byte[] bytes, int index) {
+        if (unitSize == 1) {
+            return bytes[index] & 0xFF;
+        }
+        int first = bytes[index] & 0xFF;
+        int second = bytes[index + 1] & 0xFF;
+        return bigEndian ? (first << 8) | second : (second << 8) | first;
+    }
+
+    /**
+     * Works out the encoding of a document from its first bytes. A byte order mark
+     * takes priority, followed by the byte pattern of <code>&lt;?</code> in UTF-16,
+     * followed by the <code>encoding</code> attribute of the XML declaration.
+     * Documents with none of these, or whose single-byte declaration names UTF-16,
+     * are treated as UTF-8.
+     *
+     * @param head   The first bytes of the document.
+     * @param length The number of valid bytes in <code>head</code>.
+     * @return The detected encoding.
+     * @throws UnsupportedCharsetException If the document is in UTF-32 or EBCDIC, or
+     *                                     declares another encoding whose markup
+     *                                     characters are not single ASCII bytes.
+     */
+    public static XMLEncoding detect(byte[] head, int length) {
+        if (startsWith(head, length, 0x00, 0x00, 0xFE, 0xFF) || startsWith(head, length, 0x00, 0x00, 0x00, 0x3C)) {
+            throw new UnsupportedCharsetException("UTF-32BE");
+        }
+        if (startsWith(head, length, 0xFF, 0xFE, 0x00, 0x00) || startsWith(head, length, 0x3C, 0x00, 0x00, 0x00)) {
+            throw new UnsupportedCharsetException("UTF-32LE");
+        }
+        if (startsWith(head, length, 0x4C, 0x6F, 0xA7, 0x94)) throw new UnsupportedCharsetException("EBCDIC");
+        if (startsWith(head, length, 0xEF, 0xBB, 0xBF)) return UTF_8;
+        if (startsWith(head, length, 0xFE, 0xFF)) return UTF_16BE;
+        if (startsWith(head, length, 0xFF, 0xFE)) return UTF_16LE;
+        if (startsWith(head, length, 0x00, 0x3C, 0x00, 0x3F)) return UTF_16BE;
+        if (startsWith(head, length, 0x3C, 0x00, 0x3F, 0x00)) return UTF_16LE;
+        String declared = declaredEncoding(head, length);
+        return declared == null ? UTF_8 : forName(declared);
+    }
+
+    /**
+     * Gets the length of the byte order mark at the start of a document, if any.
+     *
+     * @param head   The first bytes of the document.
+     * @param length The number of valid bytes in <code>head</code>.
+     * @return The number of bytes to skip before the document content.
+     */
+    public static int bomLength(byte[] head, int length) {
+        if (startsWith(head, length, 0xEF, 0xBB, 0xBF)) return 3;
+        if (startsWith(head, length, 0xFE, 0xFF) || startsWith(head, length, 0xFF, 0xFE)) return 2;
+        return 0;
+    }
+
+    /**
+     * Maps a declared encoding name to an encoding. Names of unsupported charsets fall
+     * back to UTF-8. The declaration has already been read as single bytes, so a
+     * declared UTF-16 is a mislabel and the document is scanned as UTF-8 instead.
+     * Other supported charsets are accepted only if they are ASCII compatible, so that
+     * they can be scanned one byte at a time.
+     *
+     * @param name The encoding name from the XML declaration.
+     * @return The matching encoding.
+     * @throws UnsupportedCharsetException If the charset is not ASCII compatible.
+     */
+    private static XMLEncoding forName(String name) {
+        Charset charset;
+        try {
+            charset = Charset.forName(name);
+        } catch (IllegalCharsetNameException | UnsupportedCharsetException e) {
+            return UTF_8;
+        }
+        if (charset.equals(StandardCharsets.UTF_8)) return UTF_8;
+        if (charset.equals(StandardCharsets.ISO_8859_1)) return ISO_8859_1;
+        if (charset.equals(StandardCharsets.UTF_16) || charset.equals(StandardCharsets.UTF_16LE)
+                || charset.equals(StandardCharsets.UTF_16BE)) return UTF_8;
+        if (!isAsciiCompatible(charset)) throw new UnsupportedCharsetException(charset.name());
+        return new XMLEncoding(charset, 1, false);
+    }
+
+    /**
+     * Checks whether a charset encodes the markup characters and tag name letters as
+     * the same single bytes as ASCII.
+     *
+     * @param charset The charset to check.
+     * @return True if the charset can be scanned as ASCII.
+     */
+    private static boolean isAsciiCompatible(Charset charset) {
+        if (!charset.canEncode()) return false;
+        byte[] encoded = ASCII_SAMPLE.getBytes(charset);
+        byte[] expected = ASCII_SAMPLE.getBytes(StandardCharsets.US_ASCII);
+        return Arrays.equals(encoded, expected);
+    }
+
+    /**
+     * Reads the value of the <code>encoding</code> attribute from an ASCII compatible
+     * XML declaration.
+     *
+     * @param head   The first bytes of the document.
+     * @param length The number of valid bytes in <code>head</code>.
+     * @return The declared encoding name, or null if there is none.
+     */
+    private static String declaredEncoding(byte[] head, int length) {
+        if (!startsWith(head, length, '<', '?', 'x', 'm', 'l')) return null;
+        int end = 5;
+        while (end < length - 1 && !(head[end] == '?' && head[end + 1] == '>')) end++;
+        String declaration = new String(head, 0, end, StandardCharsets.ISO_8859_1);
+        int attribute = declaration.indexOf("encoding");
+        if (attribute == -1) return null;
+        int equals = declaration.indexOf('=', attribute);
+        if (equals == -1) return null;
+        int open = equals + 1;
+        while (open < declaration.length() && Character.isWhitespace(declaration.charAt(open))) open++;
+        if (open == declaration.length()) return null;
+        char quote = declaration.charAt(open);
+        if (quote != '"' && quote != '\'') return null;
+        int close = declaration.indexOf(quote, open + 1);
+        return close == -1 ? null : declaration.substring(open + 1, close);
+    }
+
+    /**
+     * Checks whether a byte sequence starts with the given unsigned byte values.
+     *
+     * @param head   The bytes to check.
+     * @param length The number of valid bytes in <code>head</code>.
+     * @param prefix The expected leading byte values.
+     * @return True if the bytes start with the prefix.
+     */
+    private static boolean startsWith(byte[] head, int length, int... prefix) {
+        if (length < prefix.length) return false;
+        for (int i = 0; i < prefix.length; i++) {
+            if ((head[i] & 0xFF) != prefix[i]) return false;
+        }
+        return true;
+    }
+}
@@ -3,9 +3,14 @@ package utilities;
 import implementations.MyStack;
 import implementations.MyQueue;
 
-import java.io.BufferedReader;
-import java.io.FileReader;
 import java.io.IOException;
+import java.io.InputStream;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.UnsupportedCharsetException;
+import java.nio.file.NoSuchFileException;
+import java.nio.file.Paths;
+import java.nio.file.StandardOpenOption;
 
 /**
  * A simple XML parser to validate the structure of an XML document.
@@ -13,68 +18,392 @@ import java.io.IOException;
  */
 public class XMLParser {
 
+    /**
+     * The default number of open tags searched when recovering from a mismatched closing tag.
+     */
+    public static final int DEFAULT_RECOVERY_DEPTH = 8;
+
+    /**
+     * The number of leading bytes examined to detect the encoding of a file.
+     */
+    private static final int HEAD_SIZE = 512;
+
+    /**
+     * The size of the chunk the file is read into. It matches the read-ahead buffers, so
+     * each bulk read drains one filled buffer.
+     */
+    private static final int CHUNK_SIZE = PrefetchingInputStream.DEFAULT_BUFFER_SIZE;
+
     private MyStack<String> tagStack;
     private MyQueue<String> errorQueue;
 
     /**
-     * Constructs an XMLParser instance.
+     * How far down the tag stack a mismatched closing tag may be matched. Zero disables recovery.
+     */
+    private int recoveryDepth;
+
+    /**
+     * The start offset of every line (or every n-th line) of the last file read.
+     */
+    private LineOffsetIndex lineIndex;
+
+    /**
+     * The path of the last file read, used to serve error context.
+     */
+    private String fileName;
+
+    /**
+     * The encoding detected for the last file read.
+     */
+    private XMLEncoding encoding;
+
+    /**
+     * The 1-based number of the line currently being validated.
+     */
+    private int lineNumber;
+
+    /**
+     * Constructs an XMLParser instance with the default recovery depth.
      */
     public XMLParser() {
+        this(DEFAULT_RECOVERY_DEPTH);
+    }
+
+    /**
+     * Constructs an XMLParser instance with the given recovery depth.
+     *
+     * @param recoveryDepth The number of open tags searched for a match when a closing tag
+     *                      does not match the innermost open tag. Zero disables recovery.
+     * @throws IllegalArgumentException If the recovery depth is negative.
+     */
+    public XMLParser(int recoveryDepth) {
+        this(recoveryDepth, LineOffsetIndex.DEFAULT_STRIDE);
+    }
+
+    /**
+     * Constructs an XMLParser instance with the given recovery depth and line index stride.
+     *
+     * @param recoveryDepth   The number of open tags searched for a match when a closing tag
+     *                        does not match the innermost open tag. Zero disables recovery.
+     * @param lineIndexStride The number of lines between recorded line offsets. Larger values
+     *                        use less memory but scan further when extracting error context.
+     * @throws IllegalArgumentException If the recovery depth is negative or the stride is less than one.
+     */
+    public XMLParser(int recoveryDepth, int lineIndexStride) {
+        if (recoveryDepth < 0) throw new IllegalArgumentException("Recovery depth cannot be negative.");
         tagStack = new MyStack<>();
         errorQueue = new MyQueue<>();
+        lineIndex = new LineOffsetIndex(lineIndexStride);
+        encoding = XMLEncoding.UTF_8;
+        this.recoveryDepth = recoveryDepth;
     }
 
     /**
      * Reads an XML file line by line and validates its structure.
+     * The file is read ahead asynchronously while earlier parts are validated, and the
+     * start offset of each line is recorded so that error context can later be
+     * extracted with {@link #getContext(int, int)}.
      *
      * @param fileName The path to the XML file.
      */
     public void readFile(String fileName) {
-        try (BufferedReader br = new BufferedReader(new FileReader(fileName))) {
-            String line;
-            while ((line = br.readLine()) != null) {
-                validateXML(line.trim());
-            }
+        this.fileName = fileName;
+        lineIndex.clear();
+        lineNumber = 0;
+        try (InputStream in = new PrefetchingInputStream(Paths.get(fileName))) {
+            scan(in);
+        } catch (NoSuchFileException e) {
+            errorQueue.enqueue("File not found: " + e.getMessage());
+        } catch (UnsupportedCharsetException e) {
+            errorQueue.enqueue("Unsupported encoding: " + e.getCharsetName());
         } catch (IOException e) {
             errorQueue.enqueue("Error reading file: " + e.getMessage());
         }
     }
 
     /**
-     * Validates a single line of XML.
+     * Detects the encoding of a byte stream, then splits it into lines, recording where
+     * each line starts and validating it. The stream is read in bulk into a reused
+     * chunk, the encoding is detected from the head of the first chunk, and lines are
+     * split on encoded line feed units within the chunk so that no character decoding
+     * is needed. Only a line that spans two chunks is copied.
      *
-     * @param line The XML line to validate.
+     * @param in The stream to read.
+     * @throws IOException                 If the stream cannot be read.
+     * @throws UnsupportedCharsetException If the encoding cannot be scanned.
      */
-    private void validateXML(String line) {
-        String[] parts = line.split("<|>"); // Split tags
-        for (String part : parts) {
-            if (part.isEmpty()) continue;
+    private void scan(InputStream in) throws IOException {
+        byte[] chunk = new byte[CHUNK_SIZE];
+        int filled = 0;
+        int read;
+        while (filled < HEAD_SIZE && (read = in.read(chunk, filled, chunk.length - filled)) != -1) {
+            filled += read;
+        }
+        int headLength = Math.min(filled, HEAD_SIZE);
+        encoding = XMLEncoding.detect(chunk, headLength);
+        int unit = encoding.unitSize();
 
-            if (part.startsWith("/")) { // Closing tag
-                String tag = part.substring(1);
-                if (tagStack.isEmpty() || !tagStack.peek().equals(tag)) {
-                    errorQueue.enqueue("Mismatched or unexpected closing tag: </" + tag + ">");
+        byte[] line = new byte[256];
+        int length = 0;
+        long base = 0; // The file offset of chunk[0]
+        int from = XMLEncoding.bomLength(chunk, headLength);
+        long lineStart = from;
+        while (true) {
+            int end = from + (filled - from) / unit * unit; // Only whole code units are scanned
+            for (int i = from; i < end; i += unit) {
+                if (encoding.unitAt(chunk, i) != '\n') continue;
+                if (length == 0) {
+                    endLine(chunk, from, i, lineStart);
                 } else {
+                    line = append(line, length, chunk, from, i - from);
+                    endLine(line, 0, length + i - from, lineStart);
+                    length = 0;
+                }
+                from = i + unit;
+                lineStart = base + from;
+            }
+            line = append(line, length, chunk, from, end - from);
+            length += end - from;
+
+            int rest = filled - end; // A code unit split across two reads
+            System.arraycopy(chunk, end, chunk, 0, rest);
+            base += end;
+            filled = rest;
+            from = 0;
+            if ((read = in.read(chunk, filled, chunk.length - filled)) == -1) break;
+            filled += read;
+        }
+        line = append(line, length, chunk, 0, filled);
+        length += filled;
+        if (length > 0) {
+            endLine(line, 0, length, lineStart);
+        }
+    }
+
+    /**
+     * Appends bytes to the end of a partial line, growing it if needed.
+     *
+     * @param line   The bytes of the partial line.
+     * @param length The number of bytes in the partial line.
+     * @param source The bytes to append.
+     * @param from   The position of the first byte to append.
+     * @param count  The number of bytes to append.
+     * @return The partial line, or a larger copy of it if it had to grow.
+     */
+    private static byte[] append(byte[] line, int length, byte[] source, int from, int count) {
+        if (length + count > line.length) {
+            byte[] newArray = new byte[Math.max(line.length * 2, length + count)];
+            System.arraycopy(line, 0, newArray, 0, length);
+            line = newArray;
+        }
+        System.arraycopy(source, from, line, length, count);
+        return line;
+    }
+
+    /**
+     * Records and validates a complete line.
+     *
+     * @param bytes     The bytes holding the line.
+     * @param from      The position of the first byte of the line.
+     * @param to        The position just past the line, excluding the line feed.
+     * @param lineStart The file offset at which the line starts.
+     */
+    private void endLine(byte[] bytes, int from, int to, long lineStart) {
+        lineIndex.addLine(lineStart);
+        lineNumber++;
+        validateXML(bytes, from, stripCarriageReturn(bytes, from, to));
+    }
+
+    /**
+     * Extracts the lines surrounding a line of the last file read. The lines are read
+     * directly from their recorded offset rather than by rescanning the file.
+     *
+     * @param line   The 1-based line number to centre the context on.
+     * @param radius The number of lines to include before and after the line.
+     * @return The context lines, each prefixed with its line number.
+     * @throws IllegalStateException     If no file has been read.
+     * @throws IndexOutOfBoundsException If the line number is invalid.
+     * @throws IOException               If the file cannot be read.
+     */
+    public String getContext(int line, int radius) throws IOException {
+        if (fileName == null) throw new IllegalStateException("No file has been read.");
+        if (line < 1 || line > lineIndex.lineCount()) throw new IndexOutOfBoundsException("Invalid line number.");
+        int first = Math.max(1, line - Math.max(radius, 0));
+        int last = Math.min(lineIndex.lineCount(), line + Math.max(radius, 0));
+        int current = lineIndex.nearestLine(first);
+        long position = lineIndex.nearestOffset(first);
+        int unit = encoding.unitSize();
+
+        StringBuilder context = new StringBuilder();
+        byte[] text = new byte[256];
+        int length = 0;
+        ByteBuffer buffer = ByteBuffer.allocate(8192);
+        try (FileChannel channel = FileChannel.open(Paths.get(fileName), StandardOpenOption.READ)) {
+            while (current <= last) {
+                buffer.clear();
+                int read = channel.read(buffer, position);
+                if (read == -1) break;
+                position += read;
+                buffer.flip();
+                while (buffer.hasRemaining() && current <= last) {
+                    if (length == text.length) {
+                        byte[] newArray = new byte[text.length * 2];
+                        System.arraycopy(text, 0, newArray, 0, length);
+                        text = newArray;
+                    }
+                    text[length++] = buffer.get();
+                    if (length % unit == 0 && encoding.unitAt(text, length - unit) == '\n') {
+                        if (current >= first) appendContextLine(context, current, text, length - unit);
+                        length = 0;
+                        current++;
+                    }
+                }
+            }
+        }
+        if (current <= last) {
+            appendContextLine(context, current, text, length);
+        }
+        return context.toString();
+    }
+
+    /**
+     * Appends one numbered line of context.
+     *
+     * @param context The context being built.
+     * @param number  The 1-based line number.
+     * @param text    The encoded bytes of the line.
+     * @param length  The number of bytes in the line, without the line feed.
+     */
+    private void appendContextLine(StringBuilder context, int number, byte[] text, int length) {
+        length = stripCarriageReturn(text, 0, length);
+        context.append(number).append(": ").append(new String(text, 0, length, encoding.charset())).append(System.lineSeparator());
+    }
+
+    /**
+     * Drops a trailing carriage return unit from a line.
+     *
+     * @param line The encoded bytes holding the line.
+     * @param from The position of the first byte of the line.
+     * @param to   The position just past the line.
+     * @return The end of the line without the carriage return.
+     */
+    private int stripCarriageReturn(byte[] line, int from, int to) {
+        int unit = encoding.unitSize();
+        if (to - from >= unit && encoding.unitAt(line, to - unit) == '\r') {
+            return to - unit;
+        }
+        return to;
+    }
+
+    /**
+     * Adds an error for the line currently being validated.
+     *
+     * @param message The error message.
+     */
+    private void reportError(String message) {
+        errorQueue.enqueue("Line " + lineNumber + ": " + message);
+    }
+
+    /**
+     * Validates a single line of XML. The line is scanned in encoded code units and
+     * only tag names are decoded.
+     *
+     * @param line The encoded bytes holding the line.
+     * @param from The position of the first byte of the line.
+     * @param to   The position just past the line.
+     */
+    private void validateXML(byte[] line, int from, int to) {
+        int unit = encoding.unitSize();
+        int start = indexOf(line, from, to, '<');
+        while (start != -1) {
+            int end = indexOf(line, start + unit, to, '>');
+            if (end == -1) break; // Tag continues past this line
+            int name = start + unit;
+            start = indexOf(line, end + unit, to, '<');
+            if (name == end) continue;
+
+            int first = encoding.unitAt(line, name);
+            if (first == '/') { // Closing tag
+                String tag = tagName(line, name + unit, end);
+                if (!tagStack.isEmpty() && tagStack.peek().equals(tag)) {
                     tagStack.pop();
+                } else if (!recover(tag)) {
+                    reportError("Mismatched or unexpected closing tag: </" + tag + ">");
                 }
-            } else if (part.endsWith("/")) { // Self-closing tag
+            } else if (encoding.unitAt(line, end - unit) == '/') { // Self-closing tag
                 continue; // No need to add to stack
-            } else if (isProcessingInstruction(part)) { // Ignore processing instructions
+            } else if (isProcessingInstruction(first)) { // Ignore processing instructions
                 continue;
             } else { // Opening tag
-                tagStack.push(part);
+                tagStack.push(tagName(line, name, end));
             }
         }
     }
 
     /**
-     * Checks if a string is a processing instruction (e.g., <?xml version="1.0"?>).
+     * Finds the next occurrence of a code unit in a line.
      *
-     * @param part The string to check.
+     * @param line   The encoded bytes holding the line.
+     * @param from   The byte position to start searching at.
+     * @param to     The position just past the line.
+     * @param target The code unit to find.
+     * @return The byte position of the unit, or -1 if it does not occur.
+     */
+    private int indexOf(byte[] line, int from, int to, int target) {
+        int unit = encoding.unitSize();
+        for (int i = from; i + unit <= to; i += unit) {
+            if (encoding.unitAt(line, i) == target) return i;
+        }
+        return -1;
+    }
+
+    /**
+     * Attempts to resynchronize the tag stack after a mismatched closing tag.
+     * If the tag is open within the recovery depth, every tag above it is popped
+     * and reported as unclosed, and the matching tag is popped as well.
+     *
+     * @param tag The name of the closing tag.
+     * @return True if the stack was resynchronized, false if no match was found.
+     */
+    private boolean recover(String tag) {
+        int distance = tagStack.search(tag, recoveryDepth);
+        if (distance == -1) {
+            return false;
+        }
+        for (int i = 1; i < distance; i++) {
+            reportError("Unclosed tag: <" + tagStack.pop() + "> closed by </" + tag + ">");
+        }
+        tagStack.pop();
+        return true;
+    }
+
+    /**
+     * Decodes the element name from the contents of a tag, dropping any attributes.
+     *
+     * @param line The encoded bytes of the line.
+     * @param from The byte position where the name starts.
+     * @param end  The byte position of the closing angle bracket.
+     * @return The element name.
+     */
+    private String tagName(byte[] line, int from, int end) {
+        int unit = encoding.unitSize();
+        int i = from;
+        while (i < end) {
+            int c = encoding.unitAt(line, i);
+            if (c == ' ' || c == '\t' || c == '\r' || c == '\n') break;
+            i += unit;
+        }
+        return new String(line, from, i - from, encoding.charset());
+    }
+
+    /**
+     * Checks if a tag is a processing instruction (e.g., <?xml version="1.0"?>).
+     *
+     * @param firstUnit The first code unit inside the tag.
      * @return True if it is a processing instruction, false otherwise.
      */
-    private boolean isProcessingInstruction(String part) {
-        return part.startsWith("?");
+    private boolean isProcessingInstruction(int firstUnit) {
+        return firstUnit == '?';
     }
 
     /**
@@ -83,18 +412,32 @@ public class XMLParser {
      * If no errors are found, a success message is displayed.
      */
     public void printErrors() {
-        if (errorQueue.isEmpty() && tagStack.isEmpty()) {
+        MyQueue<String> errors = takeErrors();
+        if (errors.isEmpty()) {
             System.out.println("The XML is valid.");
         } else {
-            while (!errorQueue.isEmpty()) {
-                System.out.println(errorQueue.dequeue());
-            }
-            while (!tagStack.isEmpty()) {
-                System.out.println("Unclosed tag: <" + tagStack.pop() + ">");
+            while (!errors.isEmpty()) {
+                System.out.println(errors.dequeue());
             }
         }
     }
 
+    /**
+     * Removes and returns the results of the XML validation: every reported error in
+     * the order it occurred, followed by any tags that were never closed.
+     * The parser is left empty and ready to read another file.
+     *
+     * @return The errors found, or an empty queue if the XML is valid.
+     */
+    public MyQueue<String> takeErrors() {
+        MyQueue<String> errors = errorQueue;
+        errorQueue = new MyQueue<>();
+        while (!tagStack.isEmpty()) {
+            errors.enqueue("Unclosed tag: <" + tagStack.pop() + ">");
+        }
+        return errors;
+    }
+
     /**
      * The main method to run the XMLParser from the command line.
      *
@@ -3,13 +3,20 @@ package unitTests;
 import static org.junit.Assert.*;
 
 import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.ConcurrentModificationException;
+import java.util.Random;
+import java.util.Spliterator;
+import java.util.stream.Collectors;
 
 import org.junit.After;
 import org.junit.Before;
 import org.junit.Test;
 
 import implementations.MyArrayList;
+import utilities.GrowthPolicies;
 import utilities.Iterator;
+import utilities.ListADT;
 
 /**
  * @author kitty
@@ -366,6 +373,95 @@ public class ArrayListTest
 		assertEquals( "Elements were not added to the end of list correctly.", expected, actual );
 	}
 
+	/**
+	 * Test method for
+	 * {@link implementations.MyArrayList#addAll(utilities.ListADT)}.
+	 */
+	@Test
+	public void testAddAll_GrowsPastCapacity()
+	{
+		MyArrayList<Integer> intArray = new MyArrayList<>();
+		for ( int i = 0; i < 25; i++ )
+		{
+			intArray.add( Integer.valueOf( i ) );
+		}
+		myList.add( one );
+		myList.addAll( intArray );
+		assertEquals( "Size was not updated correctly.", 26, myList.size() );
+		assertEquals( "Last element was not copied correctly.", Integer.valueOf( 24 ), myList.get( 25 ) );
+	}
+
+	/**
+	 * Test method for
+	 * {@link implementations.MyArrayList#addAll(utilities.ListADT)}.
+	 */
+	@Test
+	public void testAddAll_Self()
+	{
+		myList.add( one );
+		myList.add( two );
+		myList.addAll( myList );
+		assertArrayEquals( "List was not appended to itself correctly.", new Object[] { one, two, one, two },
+				myList.toArray() );
+	}
+
+	/**
+	 * Test method for
+	 * {@link implementations.MyArrayList#addAll(int, utilities.ListADT)}.
+	 */
+	@Test
+	public void testAddAllIndex_Middle()
+	{
+		MyArrayList<Integer> intArray = new MyArrayList<>();
+		intArray.add( two );
+		intArray.add( three );
+		intArray.add( four );
+
+		myList.add( one );
+		myList.add( five );
+		myList.addAll( 1, intArray );
+		assertArrayEquals( "Elements were not inserted in the middle correctly.",
+				new Object[] { one, two, three, four, five }, myList.toArray() );
+	}
+
+	/**
+	 * Test method for
+	 * {@link implementations.MyArrayList#addAll(int, utilities.ListADT)}.
+	 */
+	@Test( expected = IndexOutOfBoundsException.class )
+	public void testAddAllIndex_IndexOutOfBounds()
+	{
+		myList.addAll( 1, new MyArrayList<Integer>() );
+	}
+
+	/**
+	 * Test method for
+	 * {@link implementations.MyArrayList#removeRange(int, int)}.
+	 */
+	@Test
+	public void testRemoveRange()
+	{
+		myList.add( one );
+		myList.add( two );
+		myList.add( three );
+		myList.add( four );
+		myList.add( five );
+		myList.removeRange( 1, 4 );
+		assertArrayEquals( "Range was not removed correctly.", new Object[] { one, five }, myList.toArray() );
+		assertFalse( "Removed element is still in the list.", myList.contains( three ) );
+	}
+
+	/**
+	 * Test method for
+	 * {@link implementations.MyArrayList#removeRange(int, int)}.
+	 */
+	@Test( expected = IndexOutOfBoundsException.class )
+	public void testRemoveRange_IndexOutOfBounds()
+	{
+		myList.add( one );
+		myList.removeRange( 0, 2 );
+	}
+
 	/**
 	 * Test method for {@link arrayBasedListImplementation.MyArrayList#clear()}.
 	 */
@@ -1053,4 +1149,445 @@ public class ArrayListTest
 
 		assertArrayEquals( "ToArray did not correctly convert list to array.", original, returnArray );
 	}
+
+	/**
+	 * Test method for {@link implementations.MyArrayList#MyArrayList(int)}.
+	 */
+	@Test
+	public void testConstructor_InitialCapacity()
+	{
+		MyArrayList<Integer> list = new MyArrayList<>( 100 );
+		assertEquals( "Initial capacity was not applied ", 100, list.capacity() );
+		assertEquals( "New list should be empty ", 0, list.size() );
+	}
+
+	/**
+	 * Test method for {@link implementations.MyArrayList#MyArrayList(int)}.
+	 */
+	@Test( expected = IllegalArgumentException.class )
+	public void testConstructor_NegativeCapacity()
+	{
+		new MyArrayList<Integer>( -1 );
+	}
+
+	/**
+	 * Test method for {@link implementations.MyArrayList#ensureCapacity(int)}.
+	 */
+	@Test
+	public void testEnsureCapacity()
+	{
+		myList.add( one );
+		myList.ensureCapacity( 500 );
+		assertTrue( "Capacity was not increased ", myList.capacity() >= 500 );
+		assertEquals( "Elements were lost while growing ", one, myList.get( 0 ) );
+	}
+
+	/**
+	 * Test method for {@link implementations.MyArrayList#trimToSize()}.
+	 */
+	@Test
+	public void testTrimToSize()
+	{
+		for ( int i = 0; i < 50; i++ )
+		{
+			myList.add( Integer.valueOf( i ) );
+		}
+		myList.removeRange( 3, 50 );
+		myList.trimToSize();
+		assertEquals( "Capacity was not trimmed ", 3, myList.capacity() );
+		myList.add( four );
+		assertEquals( "List did not grow after trimming ", 4, myList.size() );
+	}
+
+	/**
+	 * Test method for
+	 * {@link implementations.MyArrayList#MyArrayList(int, utilities.GrowthPolicy)}.
+	 */
+	@Test
+	public void testGrowthPolicy_FixedIncrement()
+	{
+		MyArrayList<Integer> list = new MyArrayList<>( 2, GrowthPolicies.fixedIncrement( 3 ) );
+		list.add( one );
+		list.add( two );
+		list.add( three );
+		assertEquals( "Fixed increment was not applied ", 5, list.capacity() );
+	}
+
+	/**
+	 * Test method for {@link utilities.GrowthPolicies#doubling()}.
+	 */
+	@Test
+	public void testGrowthPolicy_CappedNearMaxValue()
+	{
+		int capacity = GrowthPolicies.doubling().newCapacity( Integer.MAX_VALUE / 2 + 10, Integer.MAX_VALUE / 2 + 11 );
+		assertEquals( "Doubling should be capped instead of overflowing ", GrowthPolicies.MAX_CAPACITY, capacity );
+	}
+
+	/**
+	 * Test method for {@link utilities.GrowthPolicies#oneAndAHalf()}.
+	 */
+	@Test( expected = OutOfMemoryError.class )
+	public void testGrowthPolicy_BeyondMaxCapacity()
+	{
+		GrowthPolicies.oneAndAHalf().newCapacity( GrowthPolicies.MAX_CAPACITY, Integer.MAX_VALUE );
+	}
+
+	/**
+	 * Test method for {@link implementations.MyArrayList#iterator()}.
+	 */
+	@Test( expected = ConcurrentModificationException.class )
+	public void testIterator_FailFast()
+	{
+		myList.add( one );
+		myList.add( two );
+		Iterator<Integer> it = myList.iterator();
+		it.next();
+		myList.add( three );
+		it.next();
+	}
+
+	/**
+	 * Test method for {@link implementations.MyArrayList#iterator()}.
+	 */
+	@Test
+	public void testIterator_SetIsNotStructural()
+	{
+		myList.add( one );
+		myList.add( two );
+		Iterator<Integer> it = myList.iterator();
+		it.next();
+		myList.set( 1, five );
+		assertEquals( "Iterator did not read the list directly ", five, it.next() );
+	}
+
+	/**
+	 * Test method for {@link implementations.MyArrayList#snapshotIterator()}.
+	 */
+	@Test
+	public void testSnapshotIterator()
+	{
+		myList.add( one );
+		myList.add( two );
+		Iterator<Integer> it = myList.snapshotIterator();
+		myList.clear();
+		assertEquals( "Snapshot lost its first element ", one, it.next() );
+		assertEquals( "Snapshot lost its second element ", two, it.next() );
+		assertFalse( "Snapshot should have ended ", it.hasNext() );
+	}
+
+	/**
+	 * Test method for {@link implementations.MyArrayList#enableIndex()}.
+	 */
+	@Test
+	public void testIndex_TracksChanges()
+	{
+		myList.add( one );
+		myList.add( two );
+		myList.add( two );
+		myList.enableIndex();
+		assertTrue( "Index should be enabled ", myList.isIndexed() );
+		myList.remove( two );
+		assertTrue( "Index lost the second copy ", myList.contains( two ) );
+		myList.set( 1, three );
+		assertFalse( "Index kept a replaced element ", myList.contains( two ) );
+		assertTrue( "Index missed the new element ", myList.contains( three ) );
+		myList.removeRange( 0, 1 );
+		assertFalse( "Index kept a removed range ", myList.contains( one ) );
+		assertNull( "Remove of an absent element should return null ", myList.remove( one ) );
+		myList.clear();
+		assertFalse( "Index kept elements after clear ", myList.contains( three ) );
+	}
+
+	/**
+	 * Test method for {@link implementations.MyArrayList#disableIndex()}.
+	 */
+	@Test
+	public void testIndex_Disable()
+	{
+		myList.add( one );
+		myList.enableIndex();
+		assertTrue( "Index should use memory ", myList.indexMemoryBytes() > 0 );
+		myList.disableIndex();
+		assertEquals( "Disabled index should use no memory ", 0, myList.indexMemoryBytes() );
+		assertTrue( "Lookup failed without the index ", myList.contains( one ) );
+	}
+
+	/**
+	 * Test method for {@link implementations.MyArrayList#sort(java.util.Comparator)}.
+	 */
+	@Test
+	public void testSort_NaturalOrder()
+	{
+		myList.add( three );
+		myList.add( one );
+		myList.add( five );
+		myList.add( two );
+		myList.sort( null );
+		Integer[] expected = { one, two, three, five };
+		assertArrayEquals( "List was not sorted ", expected, myList.toArray() );
+	}
+
+	/**
+	 * Test method for {@link implementations.MyArrayList#sort(java.util.Comparator)}
+	 * on a list large enough to be sorted in parallel.
+	 */
+	@Test
+	public void testSort_LargeMatchesJavaUtil()
+	{
+		Random random = new Random( 38 );
+		ArrayList<Integer> expected = new ArrayList<>();
+		for( int i = 0; i < 100000; i++ )
+		{
+			Integer value = Integer.valueOf( random.nextInt( 1000 ) );
+			myList.add( value );
+			expected.add( value );
+		}
+		Comparator<Integer> descending = Comparator.reverseOrder();
+		myList.sort( descending );
+		expected.sort( descending );
+		assertArrayEquals( "Sorted list does not match java.util ", expected.toArray(), myList.toArray() );
+	}
+
+	/**
+	 * Test method for {@link implementations.MyArrayList#sort(java.util.Comparator)}
+	 * checking that equal items keep their order.
+	 */
+	@Test
+	public void testSort_Stable()
+	{
+		MyArrayList<String> words = new MyArrayList<>();
+		for( int i = 0; i < 20000; i++ )
+		{
+			words.add( ( i % 7 ) + ":" + i );
+		}
+		words.sort( Comparator.comparing( ( String w ) -> w.charAt( 0 ) ) );
+		for( int i = 1; i < words.size(); i++ )
+		{
+			String previous = words.get( i - 1 );
+			String current = words.get( i );
+			if( previous.charAt( 0 ) == current.charAt( 0 ) )
+			{
+				int a = Integer.parseInt( previous.substring( 2 ) );
+				int b = Integer.parseInt( current.substring( 2 ) );
+				assertTrue( "Equal items changed order ", a < b );
+			}
+		}
+	}
+
+	/**
+	 * Test method for {@link implementations.MyArrayList#binarySearch(Object, java.util.Comparator)}.
+	 */
+	@Test
+	public void testBinarySearch()
+	{
+		myList.add( one );
+		myList.add( three );
+		myList.add( five );
+		assertEquals( "Existing item not found ", 1, myList.binarySearch( three, null ) );
+		assertEquals( "Insertion point is wrong ", -2, myList.binarySearch( two, null ) );
+		assertEquals( "Insertion point past the end is wrong ", -4, myList.binarySearch( Integer.valueOf( 9 ), null ) );
+	}
+
+	/**
+	 * Test method for {@link implementations.MyArrayList#addSorted(Object, java.util.Comparator)}.
+	 */
+	@Test
+	public void testAddSorted()
+	{
+		assertEquals( "First item should go at the start ", 0, myList.addSorted( three, null ) );
+		assertEquals( "Smaller item should go first ", 0, myList.addSorted( one, null ) );
+		assertEquals( "Larger item should go last ", 2, myList.addSorted( five, null ) );
+		assertEquals( "Equal item should go after its match ", 2, myList.addSorted( Integer.valueOf( 3 ), null ) );
+		Integer[] expected = { one, three, three, five };
+		assertArrayEquals( "List is not sorted ", expected, myList.toArray() );
+	}
+
+	/**
+	 * Test method for {@link implementations.MyArrayList#spliterator()}.
+	 */
+	@Test
+	public void testSpliterator_SplitsInHalf()
+	{
+		for( int i = 0; i < 10; i++ )
+		{
+			myList.add( Integer.valueOf( i ) );
+		}
+		Spliterator<Integer> rest = myList.spliterator();
+		Spliterator<Integer> prefix = rest.trySplit();
+		assertEquals( "Prefix should hold the first half ", 5, prefix.estimateSize() );
+		assertEquals( "Remainder should hold the second half ", 5, rest.estimateSize() );
+		assertTrue( "Spliterator should be sized ", rest.hasCharacteristics( Spliterator.SUBSIZED ) );
+		prefix.tryAdvance( i -> assertEquals( "Prefix should start at the front ", 0, i.intValue() ) );
+		rest.tryAdvance( i -> assertEquals( "Remainder should start at the middle ", 5, i.intValue() ) );
+	}
+
+	/**
+	 * Test method for {@link utilities.ListADT#parallelStream()}.
+	 */
+	@Test
+	public void testParallelStream()
+	{
+		long expected = 0;
+		for( int i = 0; i < 100000; i++ )
+		{
+			myList.add( Integer.valueOf( i ) );
+			expected += i;
+		}
+		assertEquals( "Parallel sum is wrong ", expected, myList.parallelStream().mapToLong( Integer::longValue ).sum() );
+		assertEquals( "Parallel stream lost the order ", myList.get( 99999 ),
+				myList.parallelStream().collect( Collectors.toList() ).get( 99999 ) );
+	}
+
+	/**
+	 * Test method for {@link implementations.MyArrayList#spliterator()} checking that
+	 * it fails fast.
+	 */
+	@Test( expected = ConcurrentModificationException.class )
+	public void testSpliterator_FailFast()
+	{
+		myList.add( one );
+		myList.add( two );
+		Spliterator<Integer> it = myList.spliterator();
+		myList.add( three );
+		it.tryAdvance( i -> { } );
+	}
+
+	/**
+	 * Test method for serializing {@link implementations.MyArrayList}.
+	 *
+	 * @throws Exception If the list cannot be serialized.
+	 */
+	@Test
+	public void testSerialization_RoundTrip() throws Exception
+	{
+		myList.ensureCapacity( 1000 );
+		myList.add( one );
+		myList.add( two );
+		myList.add( three );
+		myList.enableIndex();
+		MyArrayList<Integer> copy = Serialization.roundTrip( myList );
+		assertArrayEquals( "Items were not restored ", myList.toArray(), copy.toArray() );
+		assertEquals( "Copy should be sized to its items ", 3, copy.capacity() );
+		assertTrue( "Index was not rebuilt ", copy.isIndexed() );
+		assertTrue( "Rebuilt index is wrong ", copy.contains( two ) );
+		copy.add( four );
+		assertEquals( "Copy should keep growing ", four, copy.get( 3 ) );
+	}
+
+	/**
+	 * Test method for {@link implementations.MyArrayList#subList(int, int)} reading and
+	 * writing through the view.
+	 */
+	@Test
+	public void testSubList()
+	{
+		for( int i = 0; i < 10; i++ )
+		{
+			myList.add( i );
+		}
+		ListADT<Integer> view = myList.subList( 3, 7 );
+		assertEquals( "View size is wrong ", 4, view.size() );
+		assertEquals( "View is not offset ", Integer.valueOf( 3 ), view.get( 0 ) );
+		view.set( 1, 40 );
+		assertEquals( "Set did not write through ", Integer.valueOf( 40 ), myList.get( 4 ) );
+		view.add( 2, 99 );
+		assertEquals( "Add did not write through ", Integer.valueOf( 99 ), myList.get( 5 ) );
+		assertEquals( "List size is wrong after adding through the view ", 11, myList.size() );
+		assertEquals( "Removed the wrong item ", Integer.valueOf( 3 ), view.remove( 0 ) );
+		assertEquals( "Removed the wrong item ", Integer.valueOf( 99 ), view.remove( Integer.valueOf( 99 ) ) );
+		assertNull( "Item outside the view should not be removed ", view.remove( Integer.valueOf( 8 ) ) );
+		assertArrayEquals( "View holds the wrong items ", new Object[] { 40, 5, 6 }, view.toArray() );
+		assertFalse( "Item outside the view should not be found ", view.contains( Integer.valueOf( 2 ) ) );
+	}
+
+	/**
+	 * Test method for {@link implementations.MyArrayList#subList(int, int)} iterating a range.
+	 */
+	@Test
+	public void testSubList_Iterator()
+	{
+		for( int i = 0; i < 10; i++ )
+		{
+			myList.add( i );
+		}
+		Iterator<Integer> it = myList.subList( 2, 6 ).iterator();
+		int expected = 2;
+		while( it.hasNext() )
+		{
+			assertEquals( "Iterator is out of order ", Integer.valueOf( expected++ ), it.next() );
+		}
+		assertEquals( "Iterator left the range ", 6, expected );
+	}
+
+	/**
+	 * Test method for {@link implementations.MyArrayList#subList(int, int)} clearing a range.
+	 */
+	@Test
+	public void testSubList_Clear()
+	{
+		for( int i = 0; i < 10; i++ )
+		{
+			myList.add( i );
+		}
+		ListADT<Integer> view = myList.subList( 2, 8 );
+		view.clear();
+		assertTrue( "View should be empty ", view.isEmpty() );
+		assertArrayEquals( "Range was not removed ", new Object[] { 0, 1, 8, 9 }, myList.toArray() );
+		view.add( 5 );
+		assertEquals( "Cleared view should still add at its offset ", Integer.valueOf( 5 ), myList.get( 2 ) );
+	}
+
+	/**
+	 * Test method for {@link implementations.MyArrayList#subList(int, int)} after the
+	 * list changes around the view.
+	 */
+	@Test( expected = ConcurrentModificationException.class )
+	public void testSubList_ParentModified()
+	{
+		myList.add( one );
+		myList.add( two );
+		myList.add( three );
+		ListADT<Integer> view = myList.subList( 0, 2 );
+		myList.add( four );
+		view.get( 0 );
+	}
+
+	/**
+	 * Test method for {@link implementations.MyArrayList#subList(int, int)}.
+	 */
+	@Test( expected = IndexOutOfBoundsException.class )
+	public void testSubList_InvalidRange()
+	{
+		myList.add( one );
+		myList.subList( 1, 2 );
+	}
+
+	/**
+	 * Test method for {@link implementations.MyArrayList#forEach(java.util.function.Consumer)}
+	 * and {@link implementations.MyArrayList#forEachIndexed(utilities.IndexedConsumer)}.
+	 */
+	@Test
+	public void testForEach()
+	{
+		for( int i = 0; i < 20; i++ )
+		{
+			myList.add( i );
+		}
+		int[] sum = new int[1];
+		myList.forEach( n -> sum[0] += n );
+		assertEquals( "ForEach did not visit every item ", 190, sum[0] );
+		myList.forEachIndexed( ( i, n ) -> assertEquals( "Index does not match the item ", Integer.valueOf( i ), n ) );
+	}
+
+	/**
+	 * Test method for {@link implementations.MyArrayList#forEach(java.util.function.Consumer)}
+	 * with an action that changes the list.
+	 */
+	@Test( expected = ConcurrentModificationException.class )
+	public void testForEach_Modified()
+	{
+		myList.add( one );
+		myList.add( two );
+		myList.forEach( n -> myList.add( three ) );
+	}
 }
@@ -0,0 +1,245 @@
+package unitTests;
+
+import static org.junit.Assert.*;
+
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.DirectoryStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+
+import implementations.MyArrayList;
+import implementations.MyQueue;
+import utilities.BatchValidator;
+import utilities.BatchValidator.Job;
+import utilities.BatchValidator.Result;
+import utilities.PrefetchingInputStream;
+
+/**
+ * Class Description:
+ * Batch validator: manifest parsing, fair start order across priorities, memory
+ * estimates and a full run over files in a temporary directory.
+ */
+
+public class BatchValidatorTest
+{
+	// Attributes
+	private Path directory;
+	private BatchValidator validator;
+
+	/**
+	 * @throws java.lang.Exception
+	 */
+	@Before
+	public void setUp() throws Exception
+	{
+		directory = Files.createTempDirectory( "batch" );
+		validator = new BatchValidator( 2, BatchValidator.DEFAULT_MEMORY_BUDGET );
+	}
+
+	/**
+	 * @throws java.lang.Exception
+	 */
+	@After
+	public void tearDown() throws Exception
+	{
+		validator = null;
+		try( DirectoryStream<Path> files = Files.newDirectoryStream( directory ) )
+		{
+			for( Path file : files )
+			{
+				Files.delete( file );
+			}
+		}
+		Files.delete( directory );
+	}
+
+	/**
+	 * Test method for {@link utilities.BatchValidator#readManifest(String)}.
+	 *
+	 * @throws IOException If the manifest cannot be written.
+	 */
+	@Test
+	public void testReadManifest() throws IOException
+	{
+		Path manifest = write( "manifest.txt", "# nightly\na.xml\n\nb.xml\t3\nc.xml\t-1\t4096\n" );
+		MyArrayList<Job> jobs = BatchValidator.readManifest( manifest.toString() );
+		assertEquals( "Comments and blank lines should be skipped ", 3, jobs.size() );
+		assertEquals( "File name is wrong ", "a.xml", jobs.get( 0 ).getFileName() );
+		assertEquals( "Priority should default to zero ", 0, jobs.get( 0 ).getPriority() );
+		assertEquals( "Size hint should default to unknown ", -1, jobs.get( 0 ).getSizeHint() );
+		assertEquals( "Priority is wrong ", 3, jobs.get( 1 ).getPriority() );
+		assertEquals( "Negative priority is wrong ", -1, jobs.get( 2 ).getPriority() );
+		assertEquals( "Size hint is wrong ", 4096, jobs.get( 2 ).getSizeHint() );
+	}
+
+	/**
+	 * Test method for {@link utilities.BatchValidator#readManifest(String)}.
+	 *
+	 * @throws IOException If the manifest cannot be written.
+	 */
+	@Test( expected = IllegalArgumentException.class )
+	public void testReadManifest_BadPriority() throws IOException
+	{
+		Path manifest = write( "manifest.txt", "a.xml\thigh\n" );
+		BatchValidator.readManifest( manifest.toString() );
+	}
+
+	/**
+	 * Test method for {@link utilities.BatchValidator#schedule(MyArrayList)}. The higher
+	 * priority has twice the weight, so the lower priority starts its largest file
+	 * straight away and its next file once the higher priority has started twice as
+	 * many bytes.
+	 */
+	@Test
+	public void testSchedule_Fair()
+	{
+		MyArrayList<Job> jobs = new MyArrayList<>();
+		jobs.add( new Job( "c.xml", 1, 100 ) );
+		jobs.add( new Job( "e.xml", 0, 200 ) );
+		jobs.add( new Job( "a.xml", 1, 1000 ) );
+		jobs.add( new Job( "d.xml", 0, 800 ) );
+		jobs.add( new Job( "b.xml", 1, 500 ) );
+		MyArrayList<Job> order = BatchValidator.schedule( jobs );
+		String[] expected = { "a.xml", "d.xml", "b.xml", "c.xml", "e.xml" };
+		for( int i = 0; i < expected.length; i++ )
+		{
+			assertEquals( "Start order is wrong at " + i, expected[i], order.get( i ).getFileName() );
+		}
+	}
+
+	/**
+	 * Test method for {@link utilities.BatchValidator#schedule(MyArrayList)} with a
+	 * single priority, which starts the largest files first.
+	 */
+	@Test
+	public void testSchedule_LargestFirst()
+	{
+		MyArrayList<Job> jobs = new MyArrayList<>();
+		jobs.add( new Job( "small.xml", 0, 10 ) );
+		jobs.add( new Job( "large.xml", 0, 1000 ) );
+		jobs.add( new Job( "medium.xml", 0, 100 ) );
+		MyArrayList<Job> order = BatchValidator.schedule( jobs );
+		assertEquals( "Largest file should start first ", "large.xml", order.get( 0 ).getFileName() );
+		assertEquals( "Medium file should start second ", "medium.xml", order.get( 1 ).getFileName() );
+		assertEquals( "Smallest file should start last ", "small.xml", order.get( 2 ).getFileName() );
+	}
+
+	/**
+	 * Test method for {@link utilities.BatchValidator#estimateMemory(long)}.
+	 */
+	@Test
+	public void testEstimateMemory()
+	{
+		long buffers = (long) PrefetchingInputStream.DEFAULT_BUFFER_SIZE * PrefetchingInputStream.DEFAULT_BUFFER_COUNT;
+		assertEquals( "Empty file needs only the buffers ", buffers, BatchValidator.estimateMemory( 0 ) );
+		assertEquals( "Line index estimate is wrong ", buffers + 1000 * Long.BYTES, BatchValidator.estimateMemory( 40000 ) );
+	}
+
+	/**
+	 * Test method for
+	 * {@link utilities.BatchValidator#run(MyArrayList, utilities.BatchValidator.ProgressListener)}.
+	 * Results come back in job order, progress covers every byte, and the jobs keep the
+	 * size hints they were given.
+	 *
+	 * @throws Exception If a file cannot be written or the run is interrupted.
+	 */
+	@Test
+	public void testRun() throws Exception
+	{
+		Path valid = write( "valid.xml", "<root>\n\t<child/>\n</root>\n" );
+		Path invalid = write( "invalid.xml", "<root>\n\t<child>\n\t</mismatched>\n</root>\n" );
+		MyArrayList<Job> jobs = new MyArrayList<>();
+		jobs.add( new Job( valid.toString(), 0 ) );
+		jobs.add( new Job( invalid.toString(), 5 ) );
+		jobs.add( new Job( directory.resolve( "missing.xml" ).toString(), 0 ) );
+		final long totalBytes = Files.size( valid ) + Files.size( invalid );
+		final int[] calls = new int[1];
+		final long[] last = new long[2];
+
+		MyArrayList<Result> results = validator.run( jobs, new BatchValidator.ProgressListener()
+		{
+			@Override
+			public void progress( int completedJobs, int totalJobs, long completedBytes, long total, long etaMillis )
+			{
+				calls[0]++;
+				assertEquals( "Total jobs is wrong ", 3, totalJobs );
+				assertEquals( "Total bytes is wrong ", totalBytes, total );
+				last[0] = completedBytes;
+				last[1] = etaMillis;
+			}
+		} );
+
+		assertEquals( "Listener should be called once per job ", 3, calls[0] );
+		assertEquals( "Every byte should be completed ", totalBytes, last[0] );
+		assertEquals( "Nothing should remain at the end ", 0, last[1] );
+		assertTrue( "Valid file was reported invalid ", results.get( 0 ).isValid() );
+		assertEquals( "Invalid file has the wrong number of errors ", 2, results.get( 1 ).getErrors().size() );
+		assertFalse( "Missing file should be reported ", results.get( 2 ).isValid() );
+		assertSame( "Results should be in job order ", jobs.get( 1 ), results.get( 1 ).getJob() );
+		assertEquals( "Size hint should not be changed ", -1, jobs.get( 0 ).getSizeHint() );
+	}
+
+	/**
+	 * Test method for {@link utilities.BatchValidator#run(MyArrayList, BatchValidator.ProgressListener)}.
+	 * A job that dies with an error is reported as failed, and the other results are
+	 * still returned.
+	 *
+	 * @throws Exception If the files cannot be written or the run is interrupted.
+	 */
+	@Test
+	public void testRun_JobFails() throws Exception
+	{
+		Path valid = write( "valid.xml", "<root/>\n" );
+		final Path huge = write( "huge.xml", "<root/>\n" );
+		validator = new BatchValidator( 2, BatchValidator.DEFAULT_MEMORY_BUDGET )
+		{
+			@Override
+			protected MyQueue<String> validate( Job job )
+			{
+				if( job.getFileName().equals( huge.toString() ) )
+				{
+					throw new OutOfMemoryError( "Java heap space" );
+				}
+				return super.validate( job );
+			}
+		};
+		MyArrayList<Job> jobs = new MyArrayList<>();
+		jobs.add( new Job( valid.toString(), 0 ) );
+		jobs.add( new Job( huge.toString(), 0 ) );
+		jobs.add( new Job( valid.toString(), 1 ) );
+
+		MyArrayList<Result> results = validator.run( jobs, null );
+		assertEquals( "Every job should have a result ", 3, results.size() );
+		assertTrue( "Valid file was reported invalid ", results.get( 0 ).isValid() );
+		assertTrue( "Valid file was reported invalid ", results.get( 2 ).isValid() );
+		assertEquals( "Failure is wrong ", "Validation failed: java.lang.OutOfMemoryError: Java heap space",
+				results.get( 1 ).getErrors().dequeue() );
+	}
+
+	/**
+	 * Test method for {@link utilities.BatchValidator#BatchValidator(int, long)}.
+	 */
+	@Test( expected = IllegalArgumentException.class )
+	public void testConstructor_NoThreads()
+	{
+		new BatchValidator( 0, 1 );
+	}
+
+	/**
+	 * Writes a file to the temporary directory.
+	 *
+	 * @param name The file name.
+	 * @param text The contents.
+	 * @return The path of the file.
+	 * @throws IOException If the file cannot be written.
+	 */
+	private Path write( String name, String text ) throws IOException
+	{
+		return Files.write( directory.resolve( name ), text.getBytes( StandardCharsets.UTF_8 ) );
+	}
+}
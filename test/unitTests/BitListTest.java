@@ -0,0 +1,181 @@
+package unitTests;
+
+import static org.junit.Assert.*;
+
+import java.util.BitSet;
+import java.util.Random;
+
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+
+import implementations.MyBitList;
+
+/**
+ * Class Description:
+ * Bit-packed boolean list, checked against java.util.BitSet on sizes that end
+ * part-way through a word.
+ */
+
+public class BitListTest
+{
+	// Attributes
+	private MyBitList myList;
+	private BitSet expected;
+
+	/**
+	 * @throws java.lang.Exception
+	 */
+	@Before
+	public void setUp() throws Exception
+	{
+		myList = new MyBitList( 0 );
+		expected = new BitSet();
+	}
+
+	/**
+	 * @throws java.lang.Exception
+	 */
+	@After
+	public void tearDown() throws Exception
+	{
+		myList = null;
+		expected = null;
+	}
+
+	@Test
+	public void testConstructor()
+	{
+		assertTrue( "New list should be empty ", myList.isEmpty() );
+		assertEquals( "Empty list has no true values ", 0, myList.cardinality() );
+		assertEquals( "Empty list has no set bit ", -1, myList.nextSetBit( 0 ) );
+	}
+
+	/**
+	 * Test method for {@link implementations.MyBitList#add(boolean)},
+	 * {@link implementations.MyBitList#get(int)} and
+	 * {@link implementations.MyBitList#set(int, boolean)}.
+	 */
+	@Test
+	public void testAddGetSet()
+	{
+		fill( myList, expected, 1000, 50 );
+		assertTrue( "Set did not return the old value ", myList.set( 999, false ) == expected.get( 999 ) );
+		expected.clear( 999 );
+		myList.flip( 3 );
+		expected.flip( 3 );
+		for( int i = 0; i < 1000; i++ )
+		{
+			assertEquals( "Value is wrong at " + i, expected.get( i ), myList.get( i ) );
+		}
+		assertEquals( "Cardinality is wrong ", expected.cardinality(), myList.cardinality() );
+	}
+
+	/**
+	 * Test method for {@link implementations.MyBitList#get(int)}.
+	 */
+	@Test( expected = IndexOutOfBoundsException.class )
+	public void testGet_OutOfBounds()
+	{
+		myList.add( true );
+		myList.get( 1 );
+	}
+
+	/**
+	 * Test method for {@link implementations.MyBitList#and(MyBitList)},
+	 * {@link implementations.MyBitList#or(MyBitList)},
+	 * {@link implementations.MyBitList#xor(MyBitList)} and
+	 * {@link implementations.MyBitList#andNot(MyBitList)}.
+	 */
+	@Test
+	public void testBulkOperations()
+	{
+		MyBitList other = new MyBitList();
+		BitSet otherExpected = new BitSet();
+		fill( myList, expected, 777, 1 );
+		fill( other, otherExpected, 777, 2 );
+		myList.and( other );
+		expected.and( otherExpected );
+		assertEquals( "And is wrong ", expected.cardinality(), myList.cardinality() );
+		myList.or( other );
+		expected.or( otherExpected );
+		assertEquals( "Or is wrong ", expected.cardinality(), myList.cardinality() );
+		myList.xor( other );
+		expected.xor( otherExpected );
+		assertEquals( "Xor is wrong ", expected.cardinality(), myList.cardinality() );
+		myList.flip( 5 );
+		expected.flip( 5 );
+		myList.andNot( other );
+		expected.andNot( otherExpected );
+		for( int i = 0; i < 777; i++ )
+		{
+			assertEquals( "Value is wrong at " + i, expected.get( i ), myList.get( i ) );
+		}
+	}
+
+	/**
+	 * Test method for {@link implementations.MyBitList#and(MyBitList)}.
+	 */
+	@Test( expected = IllegalArgumentException.class )
+	public void testAnd_DifferentSize()
+	{
+		MyBitList other = new MyBitList();
+		myList.add( true );
+		myList.and( other );
+	}
+
+	/**
+	 * Test method for {@link implementations.MyBitList#nextSetBit(int)} and
+	 * {@link implementations.MyBitList#forEachSetBit(java.util.function.IntConsumer)}.
+	 */
+	@Test
+	public void testNextSetBit()
+	{
+		myList.addRepeated( false, 300 );
+		myList.set( 5, true );
+		myList.set( 64, true );
+		myList.set( 299, true );
+		assertEquals( "First set bit is wrong ", 5, myList.nextSetBit( 0 ) );
+		assertEquals( "Set bit in a later word was missed ", 64, myList.nextSetBit( 6 ) );
+		assertEquals( "Last set bit was missed ", 299, myList.nextSetBit( 65 ) );
+		assertEquals( "There should be no set bit after the last ", -1, myList.nextSetBit( 300 ) );
+		int[] seen = new int[3];
+		int[] count = new int[1];
+		myList.forEachSetBit( i -> seen[count[0]++] = i );
+		assertArrayEquals( "ForEachSetBit is wrong ", new int[] { 5, 64, 299 }, seen );
+	}
+
+	/**
+	 * Test method for {@link implementations.MyBitList#nextClearBit(int)} and
+	 * {@link implementations.MyBitList#addRepeated(boolean, int)}.
+	 */
+	@Test
+	public void testNextClearBit()
+	{
+		myList.addRepeated( true, 130 );
+		myList.addRepeated( false, 1 );
+		myList.addRepeated( true, 3 );
+		assertEquals( "Repeated values were not all set ", 133, myList.cardinality() );
+		assertEquals( "Clear bit is wrong ", 130, myList.nextClearBit( 0 ) );
+		assertEquals( "There should be no clear bit after the last ", -1, myList.nextClearBit( 131 ) );
+	}
+
+	/**
+	 * Fills a list and a bit set with the same random values.
+	 *
+	 * @param list  The list to fill.
+	 * @param bits  The bit set to fill.
+	 * @param count The number of values.
+	 * @param seed  The random seed.
+	 */
+	private static void fill( MyBitList list, BitSet bits, int count, long seed )
+	{
+		Random random = new Random( seed );
+		for( int i = 0; i < count; i++ )
+		{
+			boolean value = random.nextBoolean();
+			list.add( value );
+			bits.set( i, value );
+		}
+	}
+}
@@ -0,0 +1,248 @@
+package unitTests;
+
+import static org.junit.Assert.*;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.InvalidObjectException;
+import java.io.ObjectInputStream;
+import java.io.ObjectOutputStream;
+
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+
+import implementations.MyColumnarList;
+import implementations.MyColumnarList.ColumnType;
+import utilities.GrowthPolicies;
+
+/**
+ * Class Description:
+ * Struct-of-arrays list of (id, timestamp, value) records. An initial capacity of
+ * two is used so that every column grows after only a few rows.
+ */
+
+public class ColumnarListTest
+{
+	// Columns
+	private static final int ID = 0;
+	private static final int TIME = 1;
+	private static final int VALUE = 2;
+
+	// Attributes
+	private MyColumnarList records;
+
+	/**
+	 * @throws java.lang.Exception
+	 */
+	@Before
+	public void setUp() throws Exception
+	{
+		records = new MyColumnarList( 2, GrowthPolicies.doubling(), ColumnType.INT, ColumnType.LONG, ColumnType.DOUBLE );
+	}
+
+	/**
+	 * @throws java.lang.Exception
+	 */
+	@After
+	public void tearDown() throws Exception
+	{
+		records = null;
+	}
+
+	@Test
+	public void testConstructor()
+	{
+		assertTrue( "New list should be empty ", records.isEmpty() );
+		assertEquals( "Column count is wrong ", 3, records.columnCount() );
+		assertEquals( "Column type is wrong ", ColumnType.LONG, records.columnType( TIME ) );
+	}
+
+	/**
+	 * Test method for {@link implementations.MyColumnarList.Cursor#append()} and the
+	 * row accessors, across several growths.
+	 */
+	@Test
+	public void testAppendAndGet()
+	{
+		fill( 50 );
+		assertEquals( "Size is wrong ", 50, records.size() );
+		for( int i = 0; i < 50; i++ )
+		{
+			assertEquals( "Id was not stored ", i, records.getInt( i, ID ) );
+			assertEquals( "Time was not stored ", 1000L + i, records.getLong( i, TIME ) );
+			assertEquals( "Value was not stored ", i * 0.5, records.getDouble( i, VALUE ), 0.0 );
+		}
+	}
+
+	/**
+	 * Test method for {@link implementations.MyColumnarList#getLong(int, int)} on a
+	 * column of another type.
+	 */
+	@Test( expected = IllegalArgumentException.class )
+	public void testGet_WrongType()
+	{
+		records.addRow();
+		records.getLong( 0, ID );
+	}
+
+	/**
+	 * Test method for {@link implementations.MyColumnarList#getInt(int, int)}.
+	 */
+	@Test( expected = IndexOutOfBoundsException.class )
+	public void testGet_OutOfBounds()
+	{
+		records.addRow();
+		records.getInt( 1, ID );
+	}
+
+	/**
+	 * Test method for {@link implementations.MyColumnarList#removeRow(int)} and
+	 * {@link implementations.MyColumnarList#insertRow(int)} keeping columns in step.
+	 */
+	@Test
+	public void testRemoveAndInsertRow()
+	{
+		fill( 10 );
+		records.removeRow( 3 );
+		records.removeRange( 5, 7 );
+		assertEquals( "Size is wrong after removals ", 7, records.size() );
+		assertArrayEquals( "Ids are out of step ", new int[] { 0, 1, 2, 4, 5, 8, 9 }, records.toIntArray( ID ) );
+		assertArrayEquals( "Times are out of step ", new long[] { 1000, 1001, 1002, 1004, 1005, 1008, 1009 }, records.toLongArray( TIME ) );
+		records.insertRow( 1 );
+		assertEquals( "Inserted row should be zero ", 0L, records.getLong( 1, TIME ) );
+		assertEquals( "Later rows were not shifted ", 1, records.getInt( 2, ID ) );
+		int row = records.addRow();
+		assertEquals( "Reused row should be zero ", 0.0, records.getDouble( row, VALUE ), 0.0 );
+	}
+
+	/**
+	 * Test method for {@link implementations.MyColumnarList#sumLong(int)},
+	 * {@link implementations.MyColumnarList#sumDouble(int)} and
+	 * {@link implementations.MyColumnarList#forEachLong(int, java.util.function.LongConsumer)}.
+	 */
+	@Test
+	public void testColumnScans()
+	{
+		fill( 100 );
+		assertEquals( "Int column sum is wrong ", 4950L, records.sumLong( ID ) );
+		assertEquals( "Long column sum is wrong ", 104950L, records.sumLong( TIME ) );
+		assertEquals( "Double column sum is wrong ", 2475.0, records.sumDouble( VALUE ), 1e-9 );
+		long[] max = { Long.MIN_VALUE };
+		records.forEachLong( TIME, t -> max[0] = Math.max( max[0], t ) );
+		assertEquals( "Scan missed the last row ", 1099L, max[0] );
+	}
+
+	/**
+	 * Test method for {@link implementations.MyColumnarList.Cursor#next()}.
+	 */
+	@Test
+	public void testCursor()
+	{
+		fill( 20 );
+		MyColumnarList.Cursor cursor = records.cursor();
+		int rows = 0;
+		while( cursor.next() )
+		{
+			assertEquals( "Cursor fields are out of step ", 1000L + cursor.getInt( ID ), cursor.getLong( TIME ) );
+			cursor.setDouble( VALUE, -1 );
+			rows++;
+		}
+		assertEquals( "Cursor missed rows ", 20, rows );
+		assertFalse( "Cursor should stay past the end ", cursor.next() );
+		assertEquals( "Cursor writes were lost ", -20.0, records.sumDouble( VALUE ), 0.0 );
+		assertEquals( "MoveTo went to the wrong row ", 7, cursor.moveTo( 7 ).getInt( ID ) );
+	}
+
+	/**
+	 * Test method for {@link implementations.MyColumnarList#trimToSize()}.
+	 */
+	@Test
+	public void testTrimToSize()
+	{
+		fill( 5 );
+		records.trimToSize();
+		assertEquals( "Capacity should match the size ", 5, records.capacity() );
+		assertEquals( "Trim lost a value ", 1004L, records.getLong( 4, TIME ) );
+	}
+
+	/**
+	 * Test method for serialization of {@link implementations.MyColumnarList}. Only the
+	 * used rows are written, and the copy holds the same values in every column.
+	 *
+	 * @throws Exception If the list cannot be serialized or read back.
+	 */
+	@Test
+	public void testSerialization() throws Exception
+	{
+		fill( 20 );
+		records.removeRow( 0 );
+		MyColumnarList copy = Serialization.roundTrip( records );
+		assertEquals( "Size is wrong ", 19, copy.size() );
+		assertEquals( "Spare rows should not be kept ", 19, copy.capacity() );
+		assertArrayEquals( "Int column is wrong ", records.toIntArray( ID ), copy.toIntArray( ID ) );
+		assertArrayEquals( "Long column is wrong ", records.toLongArray( TIME ), copy.toLongArray( TIME ) );
+		assertArrayEquals( "Double column is wrong ", records.toDoubleArray( VALUE ), copy.toDoubleArray( VALUE ), 0.0 );
+		copy.addRow();
+		assertEquals( "Copy should grow again ", 20, copy.size() );
+	}
+
+	/**
+	 * Test method for serialization of {@link implementations.MyColumnarList} with a
+	 * corrupt size.
+	 *
+	 * @throws Exception If the list cannot be serialized.
+	 */
+	@Test( expected = InvalidObjectException.class )
+	public void testSerialization_NegativeSize() throws Exception
+	{
+		fill( 0x0102 );
+		ByteArrayOutputStream bytes = new ByteArrayOutputStream();
+		ObjectOutputStream out = new ObjectOutputStream( bytes );
+		out.writeObject( records );
+		out.close();
+		byte[] data = bytes.toByteArray();
+		int at = indexOf( data, new byte[] { 0, 0, 1, 2 } );
+		assertTrue( "Size was not found in the stream ", at != -1 );
+		data[at] = data[at + 1] = data[at + 2] = data[at + 3] = (byte) 0xFF;
+		new ObjectInputStream( new ByteArrayInputStream( data ) ).readObject();
+	}
+
+	/**
+	 * Finds the first occurrence of a byte pattern.
+	 *
+	 * @param data    The bytes to search.
+	 * @param pattern The bytes to find.
+	 * @return The position of the pattern, or -1 if it does not occur.
+	 */
+	private static int indexOf( byte[] data, byte[] pattern )
+	{
+		for( int i = 0; i + pattern.length <= data.length; i++ )
+		{
+			int j = 0;
+			while( j < pattern.length && data[i + j] == pattern[j] )
+			{
+				j++;
+			}
+			if( j == pattern.length )
+			{
+				return i;
+			}
+		}
+		return -1;
+	}
+
+	/**
+	 * Appends rows with id i, time 1000 + i and value i / 2.
+	 *
+	 * @param count The number of rows to append.
+	 */
+	private void fill( int count )
+	{
+		MyColumnarList.Cursor cursor = records.cursor();
+		for( int i = 0; i < count; i++ )
+		{
+			cursor.append().setInt( ID, i ).setLong( TIME, 1000L + i ).setDouble( VALUE, i * 0.5 );
+		}
+	}
+}
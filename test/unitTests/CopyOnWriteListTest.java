@@ -0,0 +1,212 @@
+package unitTests;
+
+import static org.junit.Assert.*;
+
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicReference;
+
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+
+import implementations.MyArrayList;
+import implementations.MyCopyOnWriteList;
+import utilities.Iterator;
+
+/**
+ * Class Description:
+ * Copy-on-write implementation of the ListADT, shared between reader threads.
+ */
+
+public class CopyOnWriteListTest
+{
+	// Attributes
+	private MyCopyOnWriteList<Integer> myList;
+	private Integer one;
+	private Integer two;
+	private Integer three;
+	private Integer four;
+
+	/**
+	 * @throws java.lang.Exception
+	 */
+	@Before
+	public void setUp() throws Exception
+	{
+		myList = new MyCopyOnWriteList<>();
+		one = Integer.valueOf( 1 );
+		two = Integer.valueOf( 2 );
+		three = Integer.valueOf( 3 );
+		four = Integer.valueOf( 4 );
+	}
+
+	/**
+	 * @throws java.lang.Exception
+	 */
+	@After
+	public void tearDown() throws Exception
+	{
+		myList = null;
+	}
+
+	@Test
+	public void testConstructor()
+	{
+		assertNotNull( "List was not created ", myList );
+		assertTrue( "New list should be empty ", myList.isEmpty() );
+	}
+
+	/**
+	 * Test method for {@link implementations.MyCopyOnWriteList#add(int, Object)}.
+	 */
+	@Test
+	public void testAddAndRemove()
+	{
+		myList.add( one );
+		myList.add( three );
+		myList.add( 1, two );
+		assertArrayEquals( "Items are in the wrong order ", new Object[] { one, two, three }, myList.toArray() );
+		assertEquals( "Wrong item removed by position ", one, myList.remove( 0 ) );
+		assertEquals( "Wrong item removed by value ", three, myList.remove( three ) );
+		assertNull( "Removing an absent item should return null ", myList.remove( four ) );
+		assertEquals( "Size is wrong after removals ", 1, myList.size() );
+	}
+
+	/**
+	 * Test method for {@link implementations.MyCopyOnWriteList#add(Object)}.
+	 */
+	@Test( expected = NullPointerException.class )
+	public void testAdd_Null()
+	{
+		myList.add( null );
+	}
+
+	/**
+	 * Test method for {@link implementations.MyCopyOnWriteList#get(int)}.
+	 */
+	@Test( expected = IndexOutOfBoundsException.class )
+	public void testGet_OutOfBounds()
+	{
+		myList.add( one );
+		myList.get( 1 );
+	}
+
+	/**
+	 * Test method for {@link implementations.MyCopyOnWriteList#set(int, Object)}.
+	 */
+	@Test
+	public void testSet()
+	{
+		myList.add( one );
+		assertEquals( "Set did not return the old item ", one, myList.set( 0, two ) );
+		assertTrue( "Set did not store the new item ", myList.contains( two ) );
+		assertFalse( "Set kept the old item ", myList.contains( one ) );
+	}
+
+	/**
+	 * Test method for {@link implementations.MyCopyOnWriteList#iterator()}.
+	 */
+	@Test
+	public void testIterator_IsSnapshot()
+	{
+		myList.add( one );
+		myList.add( two );
+		Iterator<Integer> it = myList.iterator();
+		myList.clear();
+		myList.add( three );
+		assertEquals( "Snapshot lost its first item ", one, it.next() );
+		assertEquals( "Snapshot lost its second item ", two, it.next() );
+		assertFalse( "Snapshot saw a later change ", it.hasNext() );
+	}
+
+	/**
+	 * Test method for {@link implementations.MyCopyOnWriteList#addAll(int, utilities.ListADT)}.
+	 */
+	@Test
+	public void testAddAll_Index()
+	{
+		myList.add( one );
+		myList.add( four );
+		MyArrayList<Integer> middle = new MyArrayList<>();
+		middle.add( two );
+		middle.add( three );
+		myList.addAll( 1, middle );
+		assertArrayEquals( "Batch was not inserted in place ", new Object[] { one, two, three, four }, myList.toArray() );
+		myList.addAll( myList );
+		assertEquals( "Adding the list to itself failed ", 8, myList.size() );
+	}
+
+	/**
+	 * Test method for {@link implementations.MyCopyOnWriteList#removeIf(java.util.function.Predicate)}.
+	 */
+	@Test
+	public void testRemoveIf()
+	{
+		for( int i = 0; i < 10; i++ )
+		{
+			myList.add( Integer.valueOf( i ) );
+		}
+		assertTrue( "Matching items should be removed ", myList.removeIf( i -> i % 2 == 0 ) );
+		assertFalse( "Nothing should match a second time ", myList.removeIf( i -> i % 2 == 0 ) );
+		assertArrayEquals( "Wrong items were kept ", new Object[] { 1, 3, 5, 7, 9 }, myList.toArray() );
+	}
+
+	/**
+	 * Test method for {@link implementations.MyCopyOnWriteList#replaceAll(java.util.function.UnaryOperator)}
+	 * and {@link implementations.MyCopyOnWriteList#removeRange(int, int)}.
+	 */
+	@Test
+	public void testReplaceAllAndRemoveRange()
+	{
+		myList.add( one );
+		myList.add( two );
+		myList.add( three );
+		myList.replaceAll( i -> i * 10 );
+		myList.removeRange( 0, 2 );
+		assertArrayEquals( "Batch changes were not applied ", new Object[] { 30 }, myList.toArray() );
+	}
+
+	/**
+	 * Readers on other threads should only ever see whole lists while a writer
+	 * replaces every item in one batch.
+	 *
+	 * @throws InterruptedException If the test is interrupted.
+	 */
+	@Test
+	public void testConcurrentReaders() throws InterruptedException
+	{
+		MyArrayList<Integer> batch = new MyArrayList<>();
+		for( int i = 0; i < 100; i++ )
+		{
+			batch.add( Integer.valueOf( i ) );
+		}
+		myList.addAll( batch );
+		AtomicBoolean running = new AtomicBoolean( true );
+		AtomicReference<String> failure = new AtomicReference<>();
+		Thread[] readers = new Thread[4];
+		for( int r = 0; r < readers.length; r++ )
+		{
+			readers[r] = new Thread( () -> {
+				while( running.get() )
+				{
+					long sum = myList.stream().mapToLong( Integer::longValue ).sum();
+					if( sum != 4950 )
+					{
+						failure.set( "Reader saw a partial list with sum " + sum );
+					}
+				}
+			} );
+			readers[r].start();
+		}
+		for( int i = 0; i < 500; i++ )
+		{
+			myList.replaceAll( n -> 99 - n );
+		}
+		running.set( false );
+		for( Thread reader : readers )
+		{
+			reader.join();
+		}
+		assertNull( failure.get(), failure.get() );
+	}
+}
@@ -2,13 +2,17 @@ package unitTests;
 
 import static org.junit.Assert.*;
 
+import java.util.ConcurrentModificationException;
 import java.util.LinkedList;
+import java.util.List;
+import java.util.stream.Collectors;
 
 import org.junit.After;
 import org.junit.Before;
 import org.junit.Test;
 
 import utilities.Iterator;
+import utilities.ListADT;
 import implementations.MyDLL;
 
 /**
@@ -1054,4 +1058,242 @@ public class DLLTest
 
 		assertArrayEquals( "ToArray did not correctly convert list to array.", original, returnArray );
 	}
+
+	/**
+	 * Test method for {@link implementations.MyDLL#enableIndex()}.
+	 */
+	@Test
+	public void testIndex_TracksChanges()
+	{
+		myList.add( one );
+		myList.add( two );
+		myList.add( two );
+		myList.enableIndex();
+		myList.remove( two );
+		assertTrue( "Index lost the second copy ", myList.contains( two ) );
+		myList.set( 1, three );
+		assertFalse( "Index kept a replaced element ", myList.contains( two ) );
+		myList.remove( 0 );
+		assertFalse( "Index kept a removed element ", myList.contains( one ) );
+		assertNull( "Remove of an absent element should return null ", myList.remove( four ) );
+		myList.clear();
+		assertFalse( "Index kept elements after clear ", myList.contains( three ) );
+	}
+
+	/**
+	 * Test method for {@link utilities.ListADT#parallelStream()} over linked nodes.
+	 */
+	@Test
+	public void testParallelStream_KeepsOrder()
+	{
+		for( int i = 0; i < 50000; i++ )
+		{
+			myList.add( Integer.valueOf( i ) );
+		}
+		List<Integer> items = myList.parallelStream().map( i -> i * 2 ).collect( Collectors.toList() );
+		assertEquals( "Parallel stream lost items ", 50000, items.size() );
+		for( int i = 0; i < items.size(); i++ )
+		{
+			assertEquals( "Parallel stream is out of order ", i * 2, items.get( i ).intValue() );
+		}
+	}
+
+	/**
+	 * Test method for {@link utilities.ListADT#stream()} on an empty list.
+	 */
+	@Test
+	public void testStream_Empty()
+	{
+		assertEquals( "Empty list should stream nothing ", 0, myList.stream().count() );
+	}
+
+	/**
+	 * Test method for serializing {@link implementations.MyDLL}, with a list long
+	 * enough to overflow the stack if nodes were written recursively.
+	 *
+	 * @throws Exception If the list cannot be serialized.
+	 */
+	@Test
+	public void testSerialization_LongList() throws Exception
+	{
+		for( int i = 0; i < 100000; i++ )
+		{
+			myList.add( Integer.valueOf( i ) );
+		}
+		myList.enableIndex();
+		MyDLL<Integer> copy = Serialization.roundTrip( myList );
+		assertEquals( "Size was not restored ", 100000, copy.size() );
+		assertEquals( "Last item was not restored ", Integer.valueOf( 99999 ), copy.get( 99999 ) );
+		assertTrue( "Index was not rebuilt ", copy.isIndexed() );
+		copy.remove( 0 );
+		assertEquals( "Restored links are broken ", Integer.valueOf( 1 ), copy.get( 0 ) );
+	}
+
+	/**
+	 * Test method for {@link implementations.MyDLL#subList(int, int)} reading and
+	 * writing through the view.
+	 */
+	@Test
+	public void testSubList()
+	{
+		for( int i = 0; i < 10; i++ )
+		{
+			myList.add( i );
+		}
+		ListADT<Integer> view = myList.subList( 3, 7 );
+		assertEquals( "View size is wrong ", 4, view.size() );
+		assertEquals( "View is not offset ", Integer.valueOf( 3 ), view.get( 0 ) );
+		view.set( 1, 40 );
+		assertEquals( "Set did not write through ", Integer.valueOf( 40 ), myList.get( 4 ) );
+		view.add( 2, 99 );
+		assertEquals( "Add did not write through ", Integer.valueOf( 99 ), myList.get( 5 ) );
+		assertEquals( "List size is wrong after adding through the view ", 11, myList.size() );
+		assertEquals( "Removed the wrong item ", Integer.valueOf( 3 ), view.remove( 0 ) );
+		assertEquals( "Removed the wrong item ", Integer.valueOf( 99 ), view.remove( Integer.valueOf( 99 ) ) );
+		assertNull( "Item outside the view should not be removed ", view.remove( Integer.valueOf( 8 ) ) );
+		assertArrayEquals( "View holds the wrong items ", new Object[] { 40, 5, 6 }, view.toArray() );
+		assertFalse( "Item outside the view should not be found ", view.contains( Integer.valueOf( 2 ) ) );
+	}
+
+	/**
+	 * Test method for {@link implementations.MyDLL#subList(int, int)} iterating a range.
+	 */
+	@Test
+	public void testSubList_Iterator()
+	{
+		for( int i = 0; i < 10; i++ )
+		{
+			myList.add( i );
+		}
+		Iterator<Integer> it = myList.subList( 2, 6 ).iterator();
+		int expected = 2;
+		while( it.hasNext() )
+		{
+			assertEquals( "Iterator is out of order ", Integer.valueOf( expected++ ), it.next() );
+		}
+		assertEquals( "Iterator left the range ", 6, expected );
+	}
+
+	/**
+	 * Test method for {@link implementations.MyDLL#subList(int, int)} clearing a range.
+	 */
+	@Test
+	public void testSubList_Clear()
+	{
+		for( int i = 0; i < 10; i++ )
+		{
+			myList.add( i );
+		}
+		ListADT<Integer> view = myList.subList( 2, 8 );
+		view.clear();
+		assertTrue( "View should be empty ", view.isEmpty() );
+		assertArrayEquals( "Range was not removed ", new Object[] { 0, 1, 8, 9 }, myList.toArray() );
+		view.add( 5 );
+		assertEquals( "Cleared view should still add at its offset ", Integer.valueOf( 5 ), myList.get( 2 ) );
+	}
+
+	/**
+	 * Test method for {@link implementations.MyDLL#subList(int, int)} adding a batch
+	 * through the view, at the end of the list and in the middle, with the element
+	 * index enabled.
+	 */
+	@Test
+	public void testSubList_AddAll()
+	{
+		MyDLL<Integer> batch = new MyDLL<>();
+		batch.add( 20 );
+		batch.add( 21 );
+		for( int i = 0; i < 6; i++ )
+		{
+			myList.add( i );
+		}
+		myList.enableIndex();
+		ListADT<Integer> view = myList.subList( 1, 3 );
+		assertTrue( "AddAll should report a change ", view.addAll( batch ) );
+		assertArrayEquals( "Batch was not spliced in after the view ", new Object[] { 0, 1, 2, 20, 21, 3, 4, 5 }, myList.toArray() );
+		assertArrayEquals( "View holds the wrong items ", new Object[] { 1, 2, 20, 21 }, view.toArray() );
+		assertTrue( "Index was not updated ", myList.contains( Integer.valueOf( 21 ) ) );
+		view.addAll( new MyDLL<Integer>() );
+		assertEquals( "Empty batch should change nothing ", 4, view.size() );
+
+		ListADT<Integer> tail = myList.subList( 6, 8 );
+		tail.addAll( batch );
+		assertEquals( "Batch was not added at the end ", Integer.valueOf( 21 ), myList.get( 9 ) );
+		assertEquals( "List size is wrong ", 10, myList.size() );
+		myList.add( 30 );
+		assertEquals( "Tail was not relinked ", Integer.valueOf( 30 ), myList.get( 10 ) );
+	}
+
+	/**
+	 * Test method for {@link implementations.MyDLL#subList(int, int)} after the
+	 * list changes around the view.
+	 */
+	@Test( expected = ConcurrentModificationException.class )
+	public void testSubList_ParentModified()
+	{
+		myList.add( one );
+		myList.add( two );
+		myList.add( three );
+		ListADT<Integer> view = myList.subList( 0, 2 );
+		myList.add( four );
+		view.get( 0 );
+	}
+
+	/**
+	 * Test method for {@link implementations.MyDLL#subList(int, int)}.
+	 */
+	@Test( expected = IndexOutOfBoundsException.class )
+	public void testSubList_InvalidRange()
+	{
+		myList.add( one );
+		myList.subList( 1, 2 );
+	}
+
+	/**
+	 * Test method for {@link implementations.MyDLL#removeRange(int, int)}.
+	 */
+	@Test
+	public void testRemoveRange_Ends()
+	{
+		for( int i = 0; i < 6; i++ )
+		{
+			myList.add( i );
+		}
+		myList.removeRange( 4, 6 );
+		myList.removeRange( 0, 1 );
+		assertArrayEquals( "Ends were not removed ", new Object[] { 1, 2, 3 }, myList.toArray() );
+		myList.add( five );
+		assertEquals( "List should still grow at the end ", five, myList.get( 3 ) );
+	}
+
+	/**
+	 * Test method for {@link implementations.MyDLL#forEachIndexed(utilities.IndexedConsumer)}.
+	 */
+	@Test
+	public void testForEachIndexed()
+	{
+		for( int i = 0; i < 20; i++ )
+		{
+			myList.add( i * 2 );
+		}
+		int[] count = new int[1];
+		myList.forEachIndexed( ( i, n ) ->
+		{
+			assertEquals( "Index does not match the item ", Integer.valueOf( i * 2 ), n );
+			count[0]++;
+		} );
+		assertEquals( "ForEach did not visit every item ", 20, count[0] );
+	}
+
+	/**
+	 * Test method for {@link implementations.MyDLL#forEach(java.util.function.Consumer)}
+	 * with an action that changes the list.
+	 */
+	@Test( expected = ConcurrentModificationException.class )
+	public void testForEach_Modified()
+	{
+		myList.add( one );
+		myList.add( two );
+		myList.forEach( n -> myList.remove( 0 ) );
+	}
 }
@@ -0,0 +1,283 @@
+package unitTests;
+
+import static org.junit.Assert.*;
+
+import java.util.NoSuchElementException;
+
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+
+import implementations.DoubleArrayList;
+import utilities.DoubleIterator;
+
+/**
+ * Class Description:
+ * Tests for the primitive double specialization of the array based list.
+ */
+
+public class DoubleArrayListTest
+{
+	// Attributes
+	private DoubleArrayList myList;
+
+	/**
+	 * @throws java.lang.Exception
+	 */
+	@Before
+	public void setUp() throws Exception
+	{
+		myList = new DoubleArrayList();
+	}
+
+	/**
+	 * @throws java.lang.Exception
+	 */
+	@After
+	public void tearDown() throws Exception
+	{
+		myList = null;
+	}
+
+	@Test
+	public void testConstructor()
+	{
+		assertNotNull( "List was not created ", myList );
+		assertEquals( "Size of the array was not returned correctly ", 0, myList.size() );
+		assertTrue( "New list should be empty ", myList.isEmpty() );
+	}
+
+	/**
+	 * Test method for {@link implementations.DoubleArrayList#add(double)}.
+	 */
+	@Test
+	public void testAdd_PastInitialCapacity()
+	{
+		for ( int i = 0; i < 25; i++ )
+		{
+			myList.add( i * 2 );
+		}
+		assertEquals( "Size was not updated correctly ", 25, myList.size() );
+		for ( int i = 0; i < 25; i++ )
+		{
+			assertEquals( "Value was not stored correctly ", i * 2, myList.get( i ), 0.0 );
+		}
+	}
+
+	/**
+	 * Test method for {@link implementations.DoubleArrayList#add(int, double)}.
+	 */
+	@Test
+	public void testAddIntInt_Middle()
+	{
+		myList.add( 1 );
+		myList.add( 3 );
+		myList.add( 1, 2 );
+		assertArrayEquals( "Value was not inserted in the middle ", new double[] { 1, 2, 3 }, myList.toArray(), 0.0 );
+	}
+
+	/**
+	 * Test method for {@link implementations.DoubleArrayList#add(int, double)}.
+	 */
+	@Test( expected = IndexOutOfBoundsException.class )
+	public void testAddIntInt_IndexOutOfBounds()
+	{
+		myList.add( 1, 5 );
+	}
+
+	/**
+	 * Test method for {@link implementations.DoubleArrayList#addAll(DoubleArrayList)}.
+	 */
+	@Test
+	public void testAddAll()
+	{
+		DoubleArrayList other = new DoubleArrayList();
+		for ( int i = 0; i < 15; i++ )
+		{
+			other.add( i );
+		}
+		myList.add( -1 );
+		myList.addAll( other );
+		assertEquals( "Size was not updated correctly ", 16, myList.size() );
+		assertEquals( "First value was overwritten ", -1, myList.get( 0 ), 0.0 );
+		assertEquals( "Last value was not appended ", 14, myList.get( 15 ), 0.0 );
+	}
+
+	/**
+	 * Test method for {@link implementations.DoubleArrayList#addAll(DoubleArrayList)}. A list
+	 * much larger than the target grows it once, straight to the combined size.
+	 */
+	@Test
+	public void testAddAll_GrowsOnce()
+	{
+		DoubleArrayList other = new DoubleArrayList( 100 );
+		for ( int i = 0; i < 100; i++ )
+		{
+			other.add( i );
+		}
+		myList.add( -1 );
+		myList.addAll( other );
+		assertEquals( "Array should grow to the combined size ", 101, myList.capacity() );
+		assertEquals( "Last value was not appended ", 99.0, myList.get( 100 ), 0.0 );
+	}
+
+	/**
+	 * Test method for {@link implementations.DoubleArrayList#ensureCapacity(int)},
+	 * {@link implementations.DoubleArrayList#trimToSize()} and
+	 * {@link implementations.DoubleArrayList#capacity()}.
+	 */
+	@Test
+	public void testCapacity()
+	{
+		assertEquals( "Default capacity is wrong ", 10, myList.capacity() );
+		myList.ensureCapacity( 1000 );
+		assertEquals( "Capacity was not ensured ", 1000, myList.capacity() );
+		myList.ensureCapacity( 5 );
+		assertEquals( "Capacity should never shrink when ensured ", 1000, myList.capacity() );
+		myList.add( 7 );
+		myList.add( 8 );
+		myList.trimToSize();
+		assertEquals( "Capacity was not trimmed ", 2, myList.capacity() );
+		myList.add( 9 );
+		assertEquals( "Trimmed list should double when full ", 4, myList.capacity() );
+		assertEquals( "Values were lost while resizing ", 9.0, myList.get( 2 ), 0.0 );
+		DoubleArrayList empty = new DoubleArrayList( 0 );
+		empty.add( 1 );
+		assertEquals( "Zero capacity list should grow ", 1, empty.size() );
+	}
+
+	/**
+	 * Test method for {@link implementations.DoubleArrayList#DoubleArrayList(int)}.
+	 */
+	@Test( expected = IllegalArgumentException.class )
+	public void testConstructor_NegativeCapacity()
+	{
+		new DoubleArrayList( -1 );
+	}
+
+	/**
+	 * Test method for {@link implementations.DoubleArrayList#remove(int)}.
+	 */
+	@Test
+	public void testRemoveInt()
+	{
+		myList.add( 1 );
+		myList.add( 2 );
+		myList.add( 3 );
+		assertEquals( "Removed value is incorrect ", 2, myList.remove( 1 ), 0.0 );
+		assertArrayEquals( "Values were not shifted ", new double[] { 1, 3 }, myList.toArray(), 0.0 );
+	}
+
+	/**
+	 * Test method for {@link implementations.DoubleArrayList#removeValue(double)}.
+	 */
+	@Test
+	public void testRemoveValue()
+	{
+		myList.add( 7 );
+		myList.add( 8 );
+		myList.add( 7 );
+		assertTrue( "Value was not removed ", myList.removeValue( 7 ) );
+		assertFalse( "Missing value should not be removed ", myList.removeValue( 9 ) );
+		assertArrayEquals( "Only the first occurrence should be removed ", new double[] { 8, 7 }, myList.toArray(), 0.0 );
+	}
+
+	/**
+	 * Test method for {@link implementations.DoubleArrayList#set(int, double)}.
+	 */
+	@Test
+	public void testSet()
+	{
+		myList.add( 1 );
+		assertEquals( "Old value was not returned ", 1, myList.set( 0, 5 ), 0.0 );
+		assertEquals( "Value was not replaced ", 5, myList.get( 0 ), 0.0 );
+	}
+
+	/**
+	 * Test method for {@link implementations.DoubleArrayList#get(int)}.
+	 */
+	@Test( expected = IndexOutOfBoundsException.class )
+	public void testGet_IndexOutOfBounds()
+	{
+		myList.add( 1 );
+		myList.get( 1 );
+	}
+
+	/**
+	 * Test method for {@link implementations.DoubleArrayList#contains(double)}.
+	 */
+	@Test
+	public void testContains()
+	{
+		myList.add( 4 );
+		myList.add( 5 );
+		assertTrue( "Value should be found ", myList.contains( 5 ) );
+		assertFalse( "Value should not be found ", myList.contains( 6 ) );
+	}
+
+	/**
+	 * Test method for {@link implementations.DoubleArrayList#clear()}.
+	 */
+	@Test
+	public void testClear()
+	{
+		myList.add( 1 );
+		myList.add( 2 );
+		myList.clear();
+		assertTrue( "List was not cleared ", myList.isEmpty() );
+		assertFalse( "Cleared values should not be found ", myList.contains( 1 ) );
+	}
+
+	/**
+	 * Test method for {@link implementations.DoubleArrayList#toArray(double[])}.
+	 */
+	@Test
+	public void testToArrayHolder()
+	{
+		myList.add( 1 );
+		myList.add( 2 );
+		double[] holder = new double[5];
+		assertSame( "Large enough holder should be reused ", holder, myList.toArray( holder ) );
+		assertEquals( "Holder was not filled ", 2, holder[1], 0.0 );
+		assertEquals( "Small holder should be replaced ", 2, myList.toArray( new double[0] ).length );
+	}
+
+	/**
+	 * Test method for {@link implementations.DoubleArrayList#iterator()}.
+	 */
+	@Test
+	public void testIterator()
+	{
+		myList.add( 1 );
+		myList.add( 2 );
+		myList.add( 3 );
+		DoubleIterator it = myList.iterator();
+		double sum = 0;
+		while ( it.hasNext() )
+		{
+			sum += it.nextDouble();
+		}
+		assertEquals( "Iterator did not visit every value ", 6, sum, 0.0 );
+	}
+
+	/**
+	 * Test method for {@link implementations.DoubleArrayList#iterator()}.
+	 */
+	@Test( expected = NoSuchElementException.class )
+	public void testIterator_NoSuchElement()
+	{
+		myList.iterator().nextDouble();
+	}
+
+	/**
+	 * Test method for {@link implementations.DoubleArrayList#contains(double)}.
+	 */
+	@Test
+	public void testContains_NaN()
+	{
+		myList.add( Double.NaN );
+		myList.add( 0.0 );
+		assertTrue( "NaN should be found ", myList.contains( Double.NaN ) );
+		assertFalse( "Negative zero should not match positive zero ", myList.contains( -0.0 ) );
+	}
+}
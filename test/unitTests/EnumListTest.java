@@ -0,0 +1,138 @@
+package unitTests;
+
+import static org.junit.Assert.*;
+
+import java.util.Random;
+
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+
+import implementations.MyEnumList;
+
+/**
+ * Class Description:
+ * Bit-packed list of enum values. A five-constant enum is used so that values take
+ * four bits and the padding fields of the last word hold ordinal zero.
+ */
+
+public class EnumListTest
+{
+	/**
+	 * A sample enum with five constants.
+	 */
+	private enum Status
+	{
+		NEW, ACTIVE, SUSPENDED, CLOSED, DELETED
+	}
+
+	// Attributes
+	private MyEnumList<Status> myList;
+	private Status[] expected;
+
+	/**
+	 * @throws java.lang.Exception
+	 */
+	@Before
+	public void setUp() throws Exception
+	{
+		myList = new MyEnumList<>( Status.class );
+		Random random = new Random( 50 );
+		Status[] values = Status.values();
+		expected = new Status[1001];
+		for( int i = 0; i < expected.length; i++ )
+		{
+			expected[i] = values[random.nextInt( values.length )];
+			myList.add( expected[i] );
+		}
+	}
+
+	/**
+	 * @throws java.lang.Exception
+	 */
+	@After
+	public void tearDown() throws Exception
+	{
+		myList = null;
+		expected = null;
+	}
+
+	@Test
+	public void testConstructor()
+	{
+		assertEquals( "Five constants need four bits ", 4, myList.bitsPerValue() );
+		assertEquals( "Two constants need one bit ", 1, new MyEnumList<>( Boolean2.class ).bitsPerValue() );
+	}
+
+	/**
+	 * Test method for {@link implementations.MyEnumList#get(int)} and
+	 * {@link implementations.MyEnumList#set(int, Enum)}.
+	 */
+	@Test
+	public void testGetAndSet()
+	{
+		assertEquals( "Set did not return the old value ", expected[500], myList.set( 500, Status.DELETED ) );
+		expected[500] = Status.DELETED;
+		for( int i = 0; i < expected.length; i++ )
+		{
+			assertEquals( "Value is wrong at " + i, expected[i], myList.get( i ) );
+		}
+	}
+
+	/**
+	 * Test method for {@link implementations.MyEnumList#add(Enum)}.
+	 */
+	@Test( expected = NullPointerException.class )
+	public void testAdd_Null()
+	{
+		myList.add( null );
+	}
+
+	/**
+	 * Test method for {@link implementations.MyEnumList#count(Enum)}, including the
+	 * constant with ordinal zero that matches the padding.
+	 */
+	@Test
+	public void testCount()
+	{
+		for( Status status : Status.values() )
+		{
+			int count = 0;
+			for( Status value : expected )
+			{
+				if( value == status )
+					count++;
+			}
+			assertEquals( "Count is wrong for " + status, count, myList.count( status ) );
+		}
+	}
+
+	/**
+	 * Test method for {@link implementations.MyEnumList#indexOf(Enum, int)}.
+	 */
+	@Test
+	public void testIndexOf()
+	{
+		for( Status status : Status.values() )
+		{
+			int from = 0;
+			for( int i = 0; i < expected.length; i++ )
+			{
+				if( expected[i] == status )
+				{
+					assertEquals( "Next occurrence is wrong for " + status, i, myList.indexOf( status, from ) );
+					from = i + 1;
+				}
+			}
+			assertEquals( "There should be no occurrence after the last ", -1, myList.indexOf( status, from ) );
+		}
+	}
+
+	/**
+	 * A two-constant enum.
+	 */
+	private enum Boolean2
+	{
+		NO, YES
+	}
+}
@@ -0,0 +1,134 @@
+package unitTests;
+
+import static org.junit.Assert.*;
+
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+
+import utilities.LineOffsetIndex;
+
+/**
+ * Class Description:
+ * Line offset index, recording the lines of a file laid out as
+ * "ab\ncd\r\n\nefg" (offsets 0, 3, 7 and 8).
+ */
+
+public class LineOffsetIndexTest
+{
+	// Attributes
+	private static final long[] STARTS = { 0, 3, 7, 8 };
+	private LineOffsetIndex index;
+
+	/**
+	 * @throws java.lang.Exception
+	 */
+	@Before
+	public void setUp() throws Exception
+	{
+		index = new LineOffsetIndex();
+		for( long start : STARTS )
+		{
+			index.addLine( start );
+		}
+	}
+
+	/**
+	 * @throws java.lang.Exception
+	 */
+	@After
+	public void tearDown() throws Exception
+	{
+		index = null;
+	}
+
+	/**
+	 * Test method for {@link utilities.LineOffsetIndex#nearestOffset(int)}. Every line is
+	 * recorded, including one after a CRLF ending, an empty line and the last line.
+	 */
+	@Test
+	public void testNearestOffset()
+	{
+		assertEquals( "Line count is wrong ", 4, index.lineCount() );
+		for( int line = 1; line <= STARTS.length; line++ )
+		{
+			assertEquals( "Line " + line + " should be recorded ", line, index.nearestLine( line ) );
+			assertEquals( "Offset of line " + line + " is wrong ", STARTS[line - 1], index.nearestOffset( line ) );
+		}
+	}
+
+	/**
+	 * Test method for {@link utilities.LineOffsetIndex#nearestLine(int)} with a stride of
+	 * three, at and on either side of each recorded line.
+	 */
+	@Test
+	public void testNearestLine_Stride()
+	{
+		index = new LineOffsetIndex( 3 );
+		for( int i = 0; i < 10; i++ )
+		{
+			index.addLine( i * 10L );
+		}
+		assertEquals( "First line is always recorded ", 1, index.nearestLine( 1 ) );
+		assertEquals( "Line before a recorded line is wrong ", 1, index.nearestLine( 3 ) );
+		assertEquals( "Recorded line is wrong ", 4, index.nearestLine( 4 ) );
+		assertEquals( "Line after a recorded line is wrong ", 4, index.nearestLine( 5 ) );
+		assertEquals( "Last line is wrong ", 10, index.nearestLine( 10 ) );
+		assertEquals( "Offset is wrong ", 60, index.nearestOffset( 9 ) );
+	}
+
+	/**
+	 * Test method for {@link utilities.LineOffsetIndex#addLine(long)}, growing past the
+	 * initial capacity.
+	 */
+	@Test
+	public void testAddLine_Grow()
+	{
+		index.clear();
+		for( int i = 0; i < 1000; i++ )
+		{
+			index.addLine( i * 7L );
+		}
+		assertEquals( "Line count is wrong ", 1000, index.lineCount() );
+		assertEquals( "Offset is wrong after growing ", 999 * 7L, index.nearestOffset( 1000 ) );
+	}
+
+	/**
+	 * Test method for {@link utilities.LineOffsetIndex#nearestLine(int)}.
+	 */
+	@Test( expected = IndexOutOfBoundsException.class )
+	public void testNearestLine_PastEnd()
+	{
+		index.nearestLine( 5 );
+	}
+
+	/**
+	 * Test method for {@link utilities.LineOffsetIndex#nearestLine(int)}.
+	 */
+	@Test( expected = IndexOutOfBoundsException.class )
+	public void testNearestLine_Zero()
+	{
+		index.nearestLine( 0 );
+	}
+
+	/**
+	 * Test method for {@link utilities.LineOffsetIndex#clear()}.
+	 */
+	@Test
+	public void testClear()
+	{
+		index.clear();
+		assertEquals( "Cleared index should have no lines ", 0, index.lineCount() );
+		index.addLine( 42 );
+		assertEquals( "Offset is wrong after clearing ", 42, index.nearestOffset( 1 ) );
+	}
+
+	/**
+	 * Test method for {@link utilities.LineOffsetIndex#LineOffsetIndex(int)}.
+	 */
+	@Test( expected = IllegalArgumentException.class )
+	public void testConstructor_ZeroStride()
+	{
+		new LineOffsetIndex( 0 );
+	}
+}
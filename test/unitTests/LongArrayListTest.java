@@ -0,0 +1,271 @@
+package unitTests;
+
+import static org.junit.Assert.*;
+
+import java.util.NoSuchElementException;
+
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+
+import implementations.LongArrayList;
+import utilities.LongIterator;
+
+/**
+ * Class Description:
+ * Tests for the primitive long specialization of the array based list.
+ */
+
+public class LongArrayListTest
+{
+	// Attributes
+	private LongArrayList myList;
+
+	/**
+	 * @throws java.lang.Exception
+	 */
+	@Before
+	public void setUp() throws Exception
+	{
+		myList = new LongArrayList();
+	}
+
+	/**
+	 * @throws java.lang.Exception
+	 */
+	@After
+	public void tearDown() throws Exception
+	{
+		myList = null;
+	}
+
+	@Test
+	public void testConstructor()
+	{
+		assertNotNull( "List was not created ", myList );
+		assertEquals( "Size of the array was not returned correctly ", 0, myList.size() );
+		assertTrue( "New list should be empty ", myList.isEmpty() );
+	}
+
+	/**
+	 * Test method for {@link implementations.LongArrayList#add(long)}.
+	 */
+	@Test
+	public void testAdd_PastInitialCapacity()
+	{
+		for ( int i = 0; i < 25; i++ )
+		{
+			myList.add( i * 2 );
+		}
+		assertEquals( "Size was not updated correctly ", 25, myList.size() );
+		for ( int i = 0; i < 25; i++ )
+		{
+			assertEquals( "Value was not stored correctly ", i * 2, myList.get( i ) );
+		}
+	}
+
+	/**
+	 * Test method for {@link implementations.LongArrayList#add(int, long)}.
+	 */
+	@Test
+	public void testAddIntInt_Middle()
+	{
+		myList.add( 1 );
+		myList.add( 3 );
+		myList.add( 1, 2 );
+		assertArrayEquals( "Value was not inserted in the middle ", new long[] { 1, 2, 3 }, myList.toArray() );
+	}
+
+	/**
+	 * Test method for {@link implementations.LongArrayList#add(int, long)}.
+	 */
+	@Test( expected = IndexOutOfBoundsException.class )
+	public void testAddIntInt_IndexOutOfBounds()
+	{
+		myList.add( 1, 5 );
+	}
+
+	/**
+	 * Test method for {@link implementations.LongArrayList#addAll(LongArrayList)}.
+	 */
+	@Test
+	public void testAddAll()
+	{
+		LongArrayList other = new LongArrayList();
+		for ( int i = 0; i < 15; i++ )
+		{
+			other.add( i );
+		}
+		myList.add( -1 );
+		myList.addAll( other );
+		assertEquals( "Size was not updated correctly ", 16, myList.size() );
+		assertEquals( "First value was overwritten ", -1, myList.get( 0 ) );
+		assertEquals( "Last value was not appended ", 14, myList.get( 15 ) );
+	}
+
+	/**
+	 * Test method for {@link implementations.LongArrayList#addAll(LongArrayList)}. A list
+	 * much larger than the target grows it once, straight to the combined size.
+	 */
+	@Test
+	public void testAddAll_GrowsOnce()
+	{
+		LongArrayList other = new LongArrayList( 100 );
+		for ( int i = 0; i < 100; i++ )
+		{
+			other.add( i );
+		}
+		myList.add( -1 );
+		myList.addAll( other );
+		assertEquals( "Array should grow to the combined size ", 101, myList.capacity() );
+		assertEquals( "Last value was not appended ", 99L, myList.get( 100 ) );
+	}
+
+	/**
+	 * Test method for {@link implementations.LongArrayList#ensureCapacity(int)},
+	 * {@link implementations.LongArrayList#trimToSize()} and
+	 * {@link implementations.LongArrayList#capacity()}.
+	 */
+	@Test
+	public void testCapacity()
+	{
+		assertEquals( "Default capacity is wrong ", 10, myList.capacity() );
+		myList.ensureCapacity( 1000 );
+		assertEquals( "Capacity was not ensured ", 1000, myList.capacity() );
+		myList.ensureCapacity( 5 );
+		assertEquals( "Capacity should never shrink when ensured ", 1000, myList.capacity() );
+		myList.add( 7 );
+		myList.add( 8 );
+		myList.trimToSize();
+		assertEquals( "Capacity was not trimmed ", 2, myList.capacity() );
+		myList.add( 9 );
+		assertEquals( "Trimmed list should double when full ", 4, myList.capacity() );
+		assertEquals( "Values were lost while resizing ", 9L, myList.get( 2 ) );
+		LongArrayList empty = new LongArrayList( 0 );
+		empty.add( 1 );
+		assertEquals( "Zero capacity list should grow ", 1, empty.size() );
+	}
+
+	/**
+	 * Test method for {@link implementations.LongArrayList#LongArrayList(int)}.
+	 */
+	@Test( expected = IllegalArgumentException.class )
+	public void testConstructor_NegativeCapacity()
+	{
+		new LongArrayList( -1 );
+	}
+
+	/**
+	 * Test method for {@link implementations.LongArrayList#remove(int)}.
+	 */
+	@Test
+	public void testRemoveInt()
+	{
+		myList.add( 1 );
+		myList.add( 2 );
+		myList.add( 3 );
+		assertEquals( "Removed value is incorrect ", 2, myList.remove( 1 ) );
+		assertArrayEquals( "Values were not shifted ", new long[] { 1, 3 }, myList.toArray() );
+	}
+
+	/**
+	 * Test method for {@link implementations.LongArrayList#removeValue(long)}.
+	 */
+	@Test
+	public void testRemoveValue()
+	{
+		myList.add( 7 );
+		myList.add( 8 );
+		myList.add( 7 );
+		assertTrue( "Value was not removed ", myList.removeValue( 7 ) );
+		assertFalse( "Missing value should not be removed ", myList.removeValue( 9 ) );
+		assertArrayEquals( "Only the first occurrence should be removed ", new long[] { 8, 7 }, myList.toArray() );
+	}
+
+	/**
+	 * Test method for {@link implementations.LongArrayList#set(int, long)}.
+	 */
+	@Test
+	public void testSet()
+	{
+		myList.add( 1 );
+		assertEquals( "Old value was not returned ", 1, myList.set( 0, 5 ) );
+		assertEquals( "Value was not replaced ", 5, myList.get( 0 ) );
+	}
+
+	/**
+	 * Test method for {@link implementations.LongArrayList#get(int)}.
+	 */
+	@Test( expected = IndexOutOfBoundsException.class )
+	public void testGet_IndexOutOfBounds()
+	{
+		myList.add( 1 );
+		myList.get( 1 );
+	}
+
+	/**
+	 * Test method for {@link implementations.LongArrayList#contains(long)}.
+	 */
+	@Test
+	public void testContains()
+	{
+		myList.add( 4 );
+		myList.add( 5 );
+		assertTrue( "Value should be found ", myList.contains( 5 ) );
+		assertFalse( "Value should not be found ", myList.contains( 6 ) );
+	}
+
+	/**
+	 * Test method for {@link implementations.LongArrayList#clear()}.
+	 */
+	@Test
+	public void testClear()
+	{
+		myList.add( 1 );
+		myList.add( 2 );
+		myList.clear();
+		assertTrue( "List was not cleared ", myList.isEmpty() );
+		assertFalse( "Cleared values should not be found ", myList.contains( 1 ) );
+	}
+
+	/**
+	 * Test method for {@link implementations.LongArrayList#toArray(long[])}.
+	 */
+	@Test
+	public void testToArrayHolder()
+	{
+		myList.add( 1 );
+		myList.add( 2 );
+		long[] holder = new long[5];
+		assertSame( "Large enough holder should be reused ", holder, myList.toArray( holder ) );
+		assertEquals( "Holder was not filled ", 2, holder[1] );
+		assertEquals( "Small holder should be replaced ", 2, myList.toArray( new long[0] ).length );
+	}
+
+	/**
+	 * Test method for {@link implementations.LongArrayList#iterator()}.
+	 */
+	@Test
+	public void testIterator()
+	{
+		myList.add( 1 );
+		myList.add( 2 );
+		myList.add( 3 );
+		LongIterator it = myList.iterator();
+		long sum = 0;
+		while ( it.hasNext() )
+		{
+			sum += it.nextLong();
+		}
+		assertEquals( "Iterator did not visit every value ", 6, sum );
+	}
+
+	/**
+	 * Test method for {@link implementations.LongArrayList#iterator()}.
+	 */
+	@Test( expected = NoSuchElementException.class )
+	public void testIterator_NoSuchElement()
+	{
+		myList.iterator().nextLong();
+	}
+}
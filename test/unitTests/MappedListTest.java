@@ -0,0 +1,212 @@
+package unitTests;
+
+import static org.junit.Assert.*;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+
+import implementations.MyMappedList;
+import utilities.Iterator;
+import utilities.RecordLayouts;
+
+/**
+ * Class Description:
+ * Memory-mapped persistent list. Segments of eight records are used so that the
+ * file is extended and remapped several times.
+ */
+
+public class MappedListTest
+{
+	// Attributes
+	private Path file;
+	private MyMappedList<Long> myList;
+
+	/**
+	 * @throws java.lang.Exception
+	 */
+	@Before
+	public void setUp() throws Exception
+	{
+		file = Files.createTempFile( "mapped", ".lst" );
+		Files.delete( file );
+		myList = new MyMappedList<>( file, RecordLayouts.ofLong(), 3 );
+	}
+
+	/**
+	 * @throws java.lang.Exception
+	 */
+	@After
+	public void tearDown() throws Exception
+	{
+		myList.close();
+		myList = null;
+		Files.deleteIfExists( file );
+	}
+
+	@Test
+	public void testConstructor()
+	{
+		assertTrue( "New list should be empty ", myList.isEmpty() );
+		assertEquals( "New file should have no segments ", 0, myList.capacity() );
+	}
+
+	/**
+	 * Test method for {@link implementations.MyMappedList#add(Object)} and
+	 * {@link implementations.MyMappedList#get(long)}.
+	 *
+	 * @throws IOException If the file cannot be written.
+	 */
+	@Test
+	public void testAddAndGet() throws IOException
+	{
+		for( long i = 0; i < 30; i++ )
+		{
+			myList.add( i * 3 );
+		}
+		assertEquals( "Size is wrong ", 30, myList.size() );
+		assertEquals( "Capacity should grow a segment at a time ", 32, myList.capacity() );
+		assertEquals( "Record was not stored ", Long.valueOf( 87 ), myList.get( 29 ) );
+		myList.set( 29, 1L );
+		assertEquals( "Record was not overwritten ", Long.valueOf( 1 ), myList.get( 29 ) );
+	}
+
+	/**
+	 * Test method for {@link implementations.MyMappedList#get(long)}.
+	 *
+	 * @throws IOException If the file cannot be written.
+	 */
+	@Test( expected = IndexOutOfBoundsException.class )
+	public void testGet_OutOfBounds() throws IOException
+	{
+		myList.add( 1L );
+		myList.get( 1 );
+	}
+
+	/**
+	 * Test method for {@link implementations.MyMappedList#close()} followed by
+	 * reopening the same file.
+	 *
+	 * @throws IOException If the file cannot be written or read.
+	 */
+	@Test
+	public void testReopen() throws IOException
+	{
+		for( long i = 0; i < 20; i++ )
+		{
+			myList.add( i );
+		}
+		myList.close();
+		myList = new MyMappedList<>( file, RecordLayouts.ofLong() );
+		assertEquals( "Size was not persisted ", 20, myList.size() );
+		Iterator<Long> it = myList.iterator();
+		long expected = 0;
+		while( it.hasNext() )
+		{
+			assertEquals( "Record was not persisted ", Long.valueOf( expected++ ), it.next() );
+		}
+		myList.add( 20L );
+		assertEquals( "Reopened list should keep appending ", Long.valueOf( 20 ), myList.get( 20 ) );
+	}
+
+	/**
+	 * Test method for {@link implementations.MyMappedList#force()}. Records added
+	 * after the last checkpoint must not appear when the file is opened again.
+	 *
+	 * @throws IOException If the file cannot be written or read.
+	 */
+	@Test
+	public void testForce_Checkpoint() throws IOException
+	{
+		myList.add( 1L );
+		myList.add( 2L );
+		myList.force();
+		myList.add( 3L );
+		MyMappedList<Long> reader = new MyMappedList<>( file, RecordLayouts.ofLong() );
+		assertEquals( "Only checkpointed records should be visible ", 2, reader.size() );
+		assertEquals( "Checkpointed record was lost ", Long.valueOf( 2 ), reader.get( 1 ) );
+		reader.close();
+	}
+
+	/**
+	 * Test method for {@link implementations.MyMappedList#clear()}. Records added after
+	 * a clear overwrite checkpointed ones, so the empty size must already be on disk
+	 * when the file is opened again.
+	 *
+	 * @throws IOException If the file cannot be written or read.
+	 */
+	@Test
+	public void testClear_Checkpoint() throws IOException
+	{
+		for( long i = 0; i < 5; i++ )
+		{
+			myList.add( i );
+		}
+		myList.force();
+		myList.clear();
+		myList.add( 9L );
+		MyMappedList<Long> reader = new MyMappedList<>( file, RecordLayouts.ofLong() );
+		assertEquals( "Old size should not be reopened over new records ", 0, reader.size() );
+		reader.close();
+	}
+
+	/**
+	 * Test method for {@link implementations.MyMappedList#ensureCapacity(long)}. The
+	 * header only records the new capacity at the next checkpoint.
+	 *
+	 * @throws IOException If the file cannot be written or read.
+	 */
+	@Test
+	public void testEnsureCapacity_Checkpoint() throws IOException
+	{
+		myList.add( 1L );
+		myList.force();
+		myList.ensureCapacity( 20 );
+		assertEquals( "Capacity should grow a segment at a time ", 24, myList.capacity() );
+		MyMappedList<Long> reader = new MyMappedList<>( file, RecordLayouts.ofLong() );
+		assertEquals( "Capacity should not be recorded before a checkpoint ", 8, reader.capacity() );
+		reader.close();
+		myList.force();
+		reader = new MyMappedList<>( file, RecordLayouts.ofLong() );
+		assertEquals( "Capacity was not recorded at the checkpoint ", 24, reader.capacity() );
+		reader.close();
+	}
+
+	/**
+	 * Test method for {@link implementations.MyMappedList#MyMappedList(Path, utilities.RecordLayout)}
+	 * with a layout of a different record size.
+	 *
+	 * @throws IOException If the file does not match.
+	 */
+	@Test( expected = IOException.class )
+	public void testReopen_WrongLayout() throws IOException
+	{
+		myList.close();
+		new MyMappedList<>( file, RecordLayouts.ofInt() );
+	}
+
+	/**
+	 * Test method for {@link implementations.MyMappedList#MyMappedList(Path, utilities.RecordLayout)}
+	 * with a file that is not a list.
+	 *
+	 * @throws IOException If the file is not a list file.
+	 */
+	@Test( expected = IOException.class )
+	public void testOpen_NotAListFile() throws IOException
+	{
+		Path other = Files.createTempFile( "other", ".txt" );
+		try
+		{
+			Files.write( other, new byte[100] );
+			new MyMappedList<>( other, RecordLayouts.ofLong() );
+		}
+		finally
+		{
+			Files.delete( other );
+		}
+	}
+}
@@ -0,0 +1,251 @@
+package unitTests;
+
+import static org.junit.Assert.*;
+
+import java.nio.ByteBuffer;
+
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+
+import implementations.MyOffHeapList;
+import utilities.GrowthPolicies;
+import utilities.Iterator;
+import utilities.RecordLayout;
+import utilities.RecordLayouts;
+
+/**
+ * Class Description:
+ * Off-heap list of fixed-size records. Segments of four records are used so that
+ * every operation crosses segment boundaries.
+ */
+
+public class OffHeapListTest
+{
+	/**
+	 * A sample record with an int, a long and a double field.
+	 */
+	private static class Trade
+	{
+		final int id;
+		final long time;
+		final double price;
+
+		Trade( int id, long time, double price )
+		{
+			this.id = id;
+			this.time = time;
+			this.price = price;
+		}
+	}
+
+	/**
+	 * Lays a trade out as id at 0, time at 4 and price at 12.
+	 */
+	private static final RecordLayout<Trade> TRADE = new RecordLayout<Trade>()
+	{
+		@Override
+		public int size()
+		{
+			return 20;
+		}
+
+		@Override
+		public void write( ByteBuffer buffer, int offset, Trade record )
+		{
+			buffer.putInt( offset, record.id );
+			buffer.putLong( offset + 4, record.time );
+			buffer.putDouble( offset + 12, record.price );
+		}
+
+		@Override
+		public Trade read( ByteBuffer buffer, int offset )
+		{
+			return new Trade( buffer.getInt( offset ), buffer.getLong( offset + 4 ), buffer.getDouble( offset + 12 ) );
+		}
+	};
+
+	// Attributes
+	private MyOffHeapList<Long> myList;
+
+	/**
+	 * @throws java.lang.Exception
+	 */
+	@Before
+	public void setUp() throws Exception
+	{
+		myList = new MyOffHeapList<>( RecordLayouts.ofLong(), 0, GrowthPolicies.doubling(), 2 );
+	}
+
+	/**
+	 * @throws java.lang.Exception
+	 */
+	@After
+	public void tearDown() throws Exception
+	{
+		myList.close();
+		myList = null;
+	}
+
+	@Test
+	public void testConstructor()
+	{
+		assertTrue( "New list should be empty ", myList.isEmpty() );
+		assertEquals( "No memory should be allocated yet ", 0, myList.memoryBytes() );
+	}
+
+	/**
+	 * Test method for {@link implementations.MyOffHeapList#add(Object)} and
+	 * {@link implementations.MyOffHeapList#get(long)} across segments.
+	 */
+	@Test
+	public void testAddAndGet()
+	{
+		for( long i = 0; i < 37; i++ )
+		{
+			myList.add( i * i );
+		}
+		assertEquals( "Size is wrong ", 37, myList.size() );
+		for( long i = 0; i < 37; i++ )
+		{
+			assertEquals( "Record was not stored ", Long.valueOf( i * i ), myList.get( i ) );
+		}
+		assertTrue( "Capacity should cover every record ", myList.capacity() >= 37 );
+	}
+
+	/**
+	 * Test method for {@link implementations.MyOffHeapList#get(long)}.
+	 */
+	@Test( expected = IndexOutOfBoundsException.class )
+	public void testGet_OutOfBounds()
+	{
+		myList.add( 1L );
+		myList.get( 1 );
+	}
+
+	/**
+	 * Test method for {@link implementations.MyOffHeapList#set(long, Object)}.
+	 */
+	@Test
+	public void testSet()
+	{
+		myList.add( 1L );
+		myList.add( 2L );
+		myList.set( 1, 20L );
+		assertEquals( "Set did not overwrite the record ", Long.valueOf( 20 ), myList.get( 1 ) );
+	}
+
+	/**
+	 * Test method for {@link implementations.MyOffHeapList#getDouble(long, int)} and
+	 * the other field accessors on a struct layout.
+	 */
+	@Test
+	public void testFieldAccess()
+	{
+		MyOffHeapList<Trade> trades = new MyOffHeapList<>( TRADE, 0, GrowthPolicies.doubling(), 2 );
+		for( int i = 0; i < 10; i++ )
+		{
+			trades.add( new Trade( i, 1000L + i, i * 0.5 ) );
+		}
+		trades.putDouble( 7, 12, 99.25 );
+		trades.putInt( 7, 0, 70 );
+		assertEquals( "Int field read wrong ", 3, trades.getInt( 3, 0 ) );
+		assertEquals( "Long field read wrong ", 1005L, trades.getLong( 5, 4 ) );
+		Trade seven = trades.get( 7 );
+		assertEquals( "Field write was lost ", 70, seven.id );
+		assertEquals( "Field write was lost ", 99.25, seven.price, 0.0 );
+		trades.close();
+	}
+
+	/**
+	 * Test method for {@link implementations.MyOffHeapList#getLong(long, int)} with a
+	 * field past the end of the record.
+	 */
+	@Test( expected = IndexOutOfBoundsException.class )
+	public void testFieldAccess_OutOfBounds()
+	{
+		myList.add( 1L );
+		myList.getLong( 0, 4 );
+	}
+
+	/**
+	 * Test method for {@link implementations.MyOffHeapList#copyTo(long, MyOffHeapList, long, long)}.
+	 */
+	@Test
+	public void testCopyTo()
+	{
+		MyOffHeapList<Long> other = new MyOffHeapList<>( RecordLayouts.ofLong(), 0, GrowthPolicies.doubling(), 3 );
+		for( long i = 0; i < 20; i++ )
+		{
+			myList.add( i );
+			other.add( -1L );
+		}
+		myList.copyTo( 3, other, 5, 11 );
+		for( long i = 0; i < 20; i++ )
+		{
+			long expected = i >= 5 && i < 16 ? i - 2 : -1;
+			assertEquals( "Bulk copy put the wrong record at " + i, Long.valueOf( expected ), other.get( i ) );
+		}
+		other.close();
+	}
+
+	/**
+	 * Test method for {@link implementations.MyOffHeapList#copyTo(long, MyOffHeapList, long, long)}
+	 * with overlapping ranges.
+	 */
+	@Test( expected = IllegalArgumentException.class )
+	public void testCopyTo_Overlap()
+	{
+		for( long i = 0; i < 10; i++ )
+		{
+			myList.add( i );
+		}
+		myList.copyTo( 0, myList, 2, 5 );
+	}
+
+	/**
+	 * Test method for {@link implementations.MyOffHeapList#addAll(MyOffHeapList)}.
+	 */
+	@Test
+	public void testAddAll_Self()
+	{
+		for( long i = 0; i < 6; i++ )
+		{
+			myList.add( i );
+		}
+		myList.addAll( myList );
+		assertEquals( "Size is wrong after adding the list to itself ", 12, myList.size() );
+		assertEquals( "Appended copy is wrong ", Long.valueOf( 5 ), myList.get( 11 ) );
+	}
+
+	/**
+	 * Test method for {@link implementations.MyOffHeapList#iterator()}.
+	 */
+	@Test
+	public void testIterator()
+	{
+		for( long i = 0; i < 9; i++ )
+		{
+			myList.add( i );
+		}
+		Iterator<Long> it = myList.iterator();
+		long expected = 0;
+		while( it.hasNext() )
+		{
+			assertEquals( "Iterator is out of order ", Long.valueOf( expected++ ), it.next() );
+		}
+		assertEquals( "Iterator missed records ", 9, expected );
+	}
+
+	/**
+	 * Test method for {@link implementations.MyOffHeapList#close()}.
+	 */
+	@Test( expected = IllegalStateException.class )
+	public void testClose()
+	{
+		myList.add( 1L );
+		myList.close();
+		myList.close();
+		myList.get( 0 );
+	}
+}
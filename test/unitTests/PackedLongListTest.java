@@ -0,0 +1,178 @@
+package unitTests;
+
+import static org.junit.Assert.*;
+
+import java.util.Arrays;
+import java.util.Random;
+
+import org.junit.Test;
+
+import implementations.LongArrayList;
+import implementations.MyPackedLongList;
+import utilities.LongIterator;
+
+/**
+ * Class Description:
+ * Read-only compressed list of longs. Sizes that are not a multiple of the block
+ * size are used so that the last block is always partial.
+ */
+
+public class PackedLongListTest
+{
+	/**
+	 * Test method for {@link implementations.MyPackedLongList#get(int)} on sorted IDs,
+	 * which should pack to a fraction of eight bytes per value.
+	 */
+	@Test
+	public void testSortedIds()
+	{
+		long[] ids = sortedIds( 10000, 46 );
+		MyPackedLongList list = MyPackedLongList.of( ids );
+		assertEquals( "Size is wrong ", ids.length, list.size() );
+		for( int i = 0; i < ids.length; i++ )
+		{
+			assertEquals( "Value was not restored at " + i, ids[i], list.get( i ) );
+		}
+		assertTrue( "Sorted IDs should pack to under two bytes each ", list.memoryBytes() < 2L * ids.length );
+	}
+
+	/**
+	 * Test method for {@link implementations.MyPackedLongList#toArray()} on clustered,
+	 * unsorted values.
+	 */
+	@Test
+	public void testClusteredValues()
+	{
+		Random random = new Random( 49 );
+		long[] values = new long[3001];
+		for( int i = 0; i < values.length; i++ )
+		{
+			values[i] = 5000000000L + random.nextInt( 1000 ) - 500;
+		}
+		MyPackedLongList list = MyPackedLongList.of( values );
+		assertArrayEquals( "Values were not restored ", values, list.toArray() );
+		assertTrue( "Clustered values should pack to under two bytes each ", list.memoryBytes() < 2L * values.length );
+	}
+
+	/**
+	 * Test method for {@link implementations.MyPackedLongList#get(int)} with values that
+	 * need all 64 bits.
+	 */
+	@Test
+	public void testExtremeValues()
+	{
+		long[] values = new long[300];
+		Random random = new Random( 4949 );
+		for( int i = 0; i < values.length; i++ )
+		{
+			values[i] = random.nextLong();
+		}
+		values[7] = Long.MIN_VALUE;
+		values[8] = Long.MAX_VALUE;
+		values[299] = Long.MIN_VALUE;
+		MyPackedLongList list = MyPackedLongList.of( values );
+		for( int i = 0; i < values.length; i++ )
+		{
+			assertEquals( "Value was not restored at " + i, values[i], list.get( i ) );
+		}
+	}
+
+	/**
+	 * Test method for {@link implementations.MyPackedLongList#get(int)} on a run of
+	 * equal values, which packs to zero bits.
+	 */
+	@Test
+	public void testConstantRun()
+	{
+		long[] values = new long[200];
+		Arrays.fill( values, -42L );
+		MyPackedLongList list = MyPackedLongList.of( values );
+		assertEquals( "Constant value was not restored ", -42L, list.get( 150 ) );
+		assertTrue( "A constant run needs no packed words ", list.memoryBytes() < 100 );
+	}
+
+	/**
+	 * Test method for {@link implementations.MyPackedLongList#get(int)}.
+	 */
+	@Test( expected = IndexOutOfBoundsException.class )
+	public void testGet_OutOfBounds()
+	{
+		MyPackedLongList.of( 1, 2, 3 ).get( 3 );
+	}
+
+	/**
+	 * Test method for {@link implementations.MyPackedLongList#iterator()} and
+	 * {@link implementations.MyPackedLongList#forEach(java.util.function.LongConsumer)}.
+	 */
+	@Test
+	public void testSequentialDecode()
+	{
+		long[] ids = sortedIds( 1000, 7 );
+		LongArrayList source = new LongArrayList();
+		for( long id : ids )
+		{
+			source.add( id );
+		}
+		MyPackedLongList list = MyPackedLongList.of( source );
+		LongIterator it = list.iterator();
+		int i = 0;
+		while( it.hasNext() )
+		{
+			assertEquals( "Iterator is out of order ", ids[i++], it.nextLong() );
+		}
+		assertEquals( "Iterator missed values ", ids.length, i );
+		long[] sum = new long[1];
+		list.forEach( v -> sum[0] += v );
+		assertEquals( "ForEach missed values ", Arrays.stream( ids ).sum(), sum[0] );
+	}
+
+	/**
+	 * Test method for {@link implementations.MyPackedLongList#binarySearch(long)}.
+	 */
+	@Test
+	public void testBinarySearch()
+	{
+		long[] ids = sortedIds( 5000, 11 );
+		MyPackedLongList list = MyPackedLongList.of( ids );
+		for( int i = 0; i < ids.length; i += 37 )
+		{
+			assertEquals( "Present ID was not found ", i, list.binarySearch( ids[i] ) );
+			assertEquals( "Missing ID has the wrong insertion point ", Arrays.binarySearch( ids, ids[i] + 1 ), list.binarySearch( ids[i] + 1 ) );
+		}
+		assertEquals( "Key before every value should insert at zero ", -1, list.binarySearch( ids[0] - 1 ) );
+		assertEquals( "Key after every value should insert at the end ", -ids.length - 1, list.binarySearch( Long.MAX_VALUE ) );
+		assertEquals( "Empty list should insert at zero ", -1, MyPackedLongList.of().binarySearch( 5 ) );
+	}
+
+	/**
+	 * Test method for {@link implementations.MyPackedLongList.Builder#build()}.
+	 */
+	@Test( expected = IllegalStateException.class )
+	public void testBuilder_UseAfterBuild()
+	{
+		MyPackedLongList.Builder builder = new MyPackedLongList.Builder();
+		builder.add( 1 );
+		builder.build();
+		builder.add( 2 );
+	}
+
+	/**
+	 * Generates strictly increasing IDs with random gaps below 1000.
+	 *
+	 * @param count The number of IDs.
+	 * @param seed  The random seed.
+	 * @return The IDs.
+	 */
+	private static long[] sortedIds( int count, long seed )
+	{
+		Random random = new Random( seed );
+		long[] ids = new long[count];
+		long id = 1000000000000L;
+		for( int i = 0; i < count; i++ )
+		{
+			id += 1 + random.nextInt( 1000 );
+			ids[i] = id;
+		}
+		return ids;
+	}
+}
@@ -0,0 +1,247 @@
+package unitTests;
+
+import static org.junit.Assert.*;
+
+import java.util.ArrayList;
+import java.util.NoSuchElementException;
+import java.util.Random;
+
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+
+import implementations.MyArrayList;
+import implementations.MyPersistentVector;
+import utilities.Iterator;
+
+/**
+ * Class Description:
+ * Immutable vector trie. Sizes of a few thousand items are used so that the trie
+ * grows past two levels and the tail is pushed in many times.
+ */
+
+public class PersistentVectorTest
+{
+	// Attributes
+	private MyPersistentVector<Integer> vector;
+
+	/**
+	 * @throws java.lang.Exception
+	 */
+	@Before
+	public void setUp() throws Exception
+	{
+		vector = MyPersistentVector.empty();
+	}
+
+	/**
+	 * @throws java.lang.Exception
+	 */
+	@After
+	public void tearDown() throws Exception
+	{
+		vector = null;
+	}
+
+	@Test
+	public void testEmpty()
+	{
+		assertTrue( "Empty vector should be empty ", vector.isEmpty() );
+		assertEquals( "Size of the vector was not returned correctly ", 0, vector.size() );
+	}
+
+	/**
+	 * Test method for {@link implementations.MyPersistentVector#plus(Object)} and
+	 * {@link implementations.MyPersistentVector#get(int)}.
+	 */
+	@Test
+	public void testPlusAndGet()
+	{
+		for( int i = 0; i < 40000; i++ )
+		{
+			vector = vector.plus( i );
+		}
+		assertEquals( "Size is wrong ", 40000, vector.size() );
+		for( int i = 0; i < 40000; i++ )
+		{
+			assertEquals( "Item was not stored ", Integer.valueOf( i ), vector.get( i ) );
+		}
+	}
+
+	/**
+	 * Test method for {@link implementations.MyPersistentVector#plus(Object)} leaving
+	 * older versions unchanged.
+	 */
+	@Test
+	public void testPlus_KeepsOldVersions()
+	{
+		ArrayList<MyPersistentVector<Integer>> versions = new ArrayList<>();
+		for( int i = 0; i < 1100; i++ )
+		{
+			versions.add( vector );
+			vector = vector.plus( i );
+		}
+		for( int i = 0; i < versions.size(); i++ )
+		{
+			assertEquals( "Older version changed size ", i, versions.get( i ).size() );
+		}
+		assertEquals( "Older version changed content ", Integer.valueOf( 1049 ), versions.get( 1050 ).get( 1049 ) );
+	}
+
+	/**
+	 * Test method for {@link implementations.MyPersistentVector#with(int, Object)}.
+	 */
+	@Test
+	public void testWith()
+	{
+		vector = build( 3000 );
+		MyPersistentVector<Integer> changed = vector.with( 1234, -1 ).with( 2999, -2 );
+		assertEquals( "New version was not changed ", Integer.valueOf( -1 ), changed.get( 1234 ) );
+		assertEquals( "Tail was not changed ", Integer.valueOf( -2 ), changed.get( 2999 ) );
+		assertEquals( "Original version changed ", Integer.valueOf( 1234 ), vector.get( 1234 ) );
+		assertEquals( "Original tail changed ", Integer.valueOf( 2999 ), vector.get( 2999 ) );
+	}
+
+	/**
+	 * Test method for {@link implementations.MyPersistentVector#with(int, Object)}.
+	 */
+	@Test( expected = IndexOutOfBoundsException.class )
+	public void testWith_OutOfBounds()
+	{
+		vector.plus( 1 ).with( 1, 2 );
+	}
+
+	/**
+	 * Test method for {@link implementations.MyPersistentVector#pop()} down to empty.
+	 */
+	@Test
+	public void testPop()
+	{
+		vector = build( 1100 );
+		MyPersistentVector<Integer> original = vector;
+		for( int i = 1099; i >= 0; i-- )
+		{
+			assertEquals( "Last item is wrong ", Integer.valueOf( i ), vector.peek() );
+			vector = vector.pop();
+			assertEquals( "Size is wrong after pop ", i, vector.size() );
+			if( i > 0 )
+			{
+				assertEquals( "Item before the last was lost ", Integer.valueOf( i - 1 ), vector.get( i - 1 ) );
+			}
+		}
+		assertEquals( "Popping changed the original ", 1100, original.size() );
+		assertEquals( "Vector should grow again after popping ", Integer.valueOf( 7 ), vector.plus( 7 ).get( 0 ) );
+	}
+
+	/**
+	 * Test method for {@link implementations.MyPersistentVector#pop()}.
+	 */
+	@Test( expected = NoSuchElementException.class )
+	public void testPop_Empty()
+	{
+		vector.pop();
+	}
+
+	/**
+	 * Test method for {@link implementations.MyPersistentVector#add(Object)}.
+	 */
+	@Test( expected = UnsupportedOperationException.class )
+	public void testAdd_Unsupported()
+	{
+		vector.add( 1 );
+	}
+
+	/**
+	 * Test method for {@link implementations.MyPersistentVector.Builder#set(int, Object)}
+	 * on a builder from an existing vector.
+	 */
+	@Test
+	public void testToBuilder()
+	{
+		vector = build( 2000 );
+		MyPersistentVector.Builder<Integer> builder = vector.toBuilder();
+		builder.set( 5, -5 ).set( 1999, -1999 ).add( 2000 );
+		MyPersistentVector<Integer> built = builder.build();
+		assertEquals( "Builder did not set the item ", Integer.valueOf( -5 ), built.get( 5 ) );
+		assertEquals( "Builder did not set the tail ", Integer.valueOf( -1999 ), built.get( 1999 ) );
+		assertEquals( "Builder did not add ", 2001, built.size() );
+		assertEquals( "Builder changed the original ", Integer.valueOf( 5 ), vector.get( 5 ) );
+		assertEquals( "Builder changed the original size ", 2000, vector.size() );
+	}
+
+	/**
+	 * Test method for {@link implementations.MyPersistentVector.Builder#build()}.
+	 */
+	@Test( expected = IllegalStateException.class )
+	public void testBuilder_UseAfterBuild()
+	{
+		MyPersistentVector.Builder<Integer> builder = MyPersistentVector.builder();
+		builder.add( 1 );
+		builder.build();
+		builder.add( 2 );
+	}
+
+	/**
+	 * Test method for {@link implementations.MyPersistentVector#of(utilities.ListADT)}
+	 * and {@link implementations.MyPersistentVector#toArray()}.
+	 */
+	@Test
+	public void testOf()
+	{
+		MyArrayList<Integer> list = new MyArrayList<>();
+		Random random = new Random( 45 );
+		for( int i = 0; i < 5000; i++ )
+		{
+			list.add( random.nextInt() );
+		}
+		vector = MyPersistentVector.of( list );
+		assertArrayEquals( "Items were not copied ", list.toArray(), vector.toArray() );
+		assertTrue( "Contains missed an item ", vector.contains( list.get( 4321 ) ) );
+	}
+
+	/**
+	 * Test method for {@link implementations.MyPersistentVector#iterator()}.
+	 */
+	@Test
+	public void testIterator()
+	{
+		vector = build( 1057 );
+		Iterator<Integer> it = vector.iterator();
+		int expected = 0;
+		while( it.hasNext() )
+		{
+			assertEquals( "Iterator is out of order ", Integer.valueOf( expected++ ), it.next() );
+		}
+		assertEquals( "Iterator missed items ", 1057, expected );
+	}
+
+	/**
+	 * Test method for serializing a {@link implementations.MyPersistentVector}.
+	 *
+	 * @throws Exception If the vector cannot be serialized.
+	 */
+	@Test
+	public void testSerialization() throws Exception
+	{
+		vector = build( 1500 );
+		MyPersistentVector<Integer> copy = Serialization.roundTrip( vector );
+		assertArrayEquals( "Items were not restored ", vector.toArray(), copy.toArray() );
+		assertEquals( "Copy should keep growing ", Integer.valueOf( 1500 ), copy.plus( 1500 ).get( 1500 ) );
+	}
+
+	/**
+	 * Builds a vector of the numbers from zero.
+	 *
+	 * @param count The number of items.
+	 * @return The vector.
+	 */
+	private static MyPersistentVector<Integer> build( int count )
+	{
+		MyPersistentVector.Builder<Integer> builder = MyPersistentVector.builder();
+		for( int i = 0; i < count; i++ )
+		{
+			builder.add( i );
+		}
+		return builder.build();
+	}
+}
@@ -0,0 +1,205 @@
+package unitTests;
+
+import static org.junit.Assert.*;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+
+import utilities.PrefetchingInputStream;
+
+/**
+ * Class Description:
+ * Read-ahead file stream. Small buffers are used so that files span many buffers
+ * and every buffer is recycled several times.
+ */
+
+public class PrefetchingInputStreamTest
+{
+	// Attributes
+	private Path file;
+
+	/**
+	 * @throws java.lang.Exception
+	 */
+	@Before
+	public void setUp() throws Exception
+	{
+		file = Files.createTempFile( "prefetch", ".bin" );
+	}
+
+	/**
+	 * @throws java.lang.Exception
+	 */
+	@After
+	public void tearDown() throws Exception
+	{
+		Files.deleteIfExists( file );
+	}
+
+	/**
+	 * Test method for {@link utilities.PrefetchingInputStream#read(byte[], int, int)} on
+	 * a file that spans many buffers and ends part-way through one.
+	 *
+	 * @throws IOException If the file cannot be read.
+	 */
+	@Test
+	public void testRead_ManyBuffers() throws IOException
+	{
+		byte[] data = data( 1000 );
+		Files.write( file, data );
+		try( InputStream in = new PrefetchingInputStream( file, 7, 3 ) )
+		{
+			assertArrayEquals( "Bytes were not read in file order ", data, readAll( in, 5 ) );
+			assertEquals( "End of file should be reported again ", -1, in.read() );
+		}
+	}
+
+	/**
+	 * Test method for {@link utilities.PrefetchingInputStream#read()} on a file shorter
+	 * than one buffer.
+	 *
+	 * @throws IOException If the file cannot be read.
+	 */
+	@Test
+	public void testRead_ShortFile() throws IOException
+	{
+		Files.write( file, new byte[] { 1, (byte) 200, 3 } );
+		try( InputStream in = new PrefetchingInputStream( file ) )
+		{
+			assertEquals( "First byte is wrong ", 1, in.read() );
+			assertEquals( "Bytes should be unsigned ", 200, in.read() );
+			assertEquals( "Last byte is wrong ", 3, in.read() );
+			assertEquals( "End of file was not reported ", -1, in.read() );
+			assertEquals( "End of file was not reported ", -1, in.read( new byte[4], 0, 4 ) );
+		}
+	}
+
+	/**
+	 * Test method for {@link utilities.PrefetchingInputStream#read()} on an empty file.
+	 *
+	 * @throws IOException If the file cannot be read.
+	 */
+	@Test
+	public void testRead_EmptyFile() throws IOException
+	{
+		try( InputStream in = new PrefetchingInputStream( file, 16, 2 ) )
+		{
+			assertEquals( "Empty file should be at its end ", -1, in.read() );
+			assertEquals( "Nothing should be available ", 0, in.available() );
+		}
+	}
+
+	/**
+	 * Test method for {@link utilities.PrefetchingInputStream#close()}. Streams opened
+	 * one after another reuse the pooled buffers and still read their own file.
+	 *
+	 * @throws IOException If the file cannot be read.
+	 */
+	@Test
+	public void testClose_ReusesBuffers() throws IOException
+	{
+		for( int i = 1; i <= 5; i++ )
+		{
+			byte[] data = data( i * 50000 );
+			Files.write( file, data );
+			InputStream in = new PrefetchingInputStream( file );
+			in.read(); // Close with reads still in flight
+			in.close();
+			in.close();
+			try( InputStream again = new PrefetchingInputStream( file ) )
+			{
+				assertArrayEquals( "Reused buffers returned the wrong bytes ", data, readAll( again, 4096 ) );
+			}
+		}
+	}
+
+	/**
+	 * Test method for {@link utilities.PrefetchingInputStream#read()}.
+	 *
+	 * @throws IOException If the stream is closed.
+	 */
+	@Test( expected = IOException.class )
+	public void testRead_Closed() throws IOException
+	{
+		Files.write( file, data( 10 ) );
+		InputStream in = new PrefetchingInputStream( file );
+		in.close();
+		in.read();
+	}
+
+	/**
+	 * Test method for {@link utilities.PrefetchingInputStream#read()}. A failed read
+	 * surfaces as an IOException rather than an ExecutionException.
+	 *
+	 * @throws IOException If the directory cannot be read as a file.
+	 */
+	@Test( expected = IOException.class )
+	public void testRead_Failure() throws IOException
+	{
+		Path directory = Files.createTempDirectory( "prefetch" );
+		try( InputStream in = new PrefetchingInputStream( directory ) )
+		{
+			in.read();
+		}
+		finally
+		{
+			Files.delete( directory );
+		}
+	}
+
+	/**
+	 * Test method for
+	 * {@link utilities.PrefetchingInputStream#PrefetchingInputStream(java.nio.file.Path, int, int)}.
+	 *
+	 * @throws IOException If the file cannot be opened.
+	 */
+	@Test( expected = IllegalArgumentException.class )
+	public void testConstructor_OneBuffer() throws IOException
+	{
+		new PrefetchingInputStream( file, 16, 1 );
+	}
+
+	/**
+	 * Builds a byte array with a repeating pattern that does not line up with the
+	 * buffer sizes.
+	 *
+	 * @param length The number of bytes.
+	 * @return The bytes.
+	 */
+	private static byte[] data( int length )
+	{
+		byte[] data = new byte[length];
+		for( int i = 0; i < length; i++ )
+		{
+			data[i] = (byte) ( i * 31 % 251 );
+		}
+		return data;
+	}
+
+	/**
+	 * Reads a stream to its end in chunks.
+	 *
+	 * @param in    The stream.
+	 * @param chunk The number of bytes to ask for at a time.
+	 * @return Every byte read.
+	 * @throws IOException If the stream cannot be read.
+	 */
+	private static byte[] readAll( InputStream in, int chunk ) throws IOException
+	{
+		ByteArrayOutputStream out = new ByteArrayOutputStream();
+		byte[] buffer = new byte[chunk];
+		int read;
+		while( ( read = in.read( buffer, 0, chunk ) ) != -1 )
+		{
+			out.write( buffer, 0, read );
+		}
+		return out.toByteArray();
+	}
+}
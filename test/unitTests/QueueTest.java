@@ -410,4 +410,78 @@ public class QueueTest
 			assertTrue(true);
 		}
 	}
+
+	/**
+	 * Test method for {@link implementations.MyQueue#enableIndex()}.
+	 */
+	@Test
+	public void testIndex_TracksChanges()
+	{
+		queue.enqueue( one );
+		queue.enqueue( two );
+		queue.enableIndex();
+		queue.enqueue( three );
+		assertTrue( "Index missed an enqueued element ", queue.contains( three ) );
+		queue.dequeue();
+		assertFalse( "Index kept a dequeued element ", queue.contains( one ) );
+		assertEquals( "Search should skip absent elements ", -1, queue.search( one ) );
+		assertEquals( "Search position is wrong ", 2, queue.search( three ) );
+		queue.dequeueAll();
+		assertFalse( "Index kept elements after dequeueAll ", queue.contains( two ) );
+	}
+
+	/**
+	 * Test method for {@link utilities.QueueADT#parallelStream()}.
+	 */
+	@Test
+	public void testParallelStream()
+	{
+		long expected = 0;
+		for( int i = 0; i < 50000; i++ )
+		{
+			queue.enqueue( Integer.valueOf( i ) );
+			expected += i;
+		}
+		assertEquals( "Parallel sum is wrong ", expected, queue.parallelStream().mapToLong( Integer::longValue ).sum() );
+		assertEquals( "Stream should start at the head ", Integer.valueOf( 0 ), queue.stream().findFirst().get() );
+	}
+
+	/**
+	 * Test method for serializing {@link implementations.MyQueue}, with a queue long
+	 * enough to overflow the stack if nodes were written recursively.
+	 *
+	 * @throws Exception If the queue cannot be serialized.
+	 */
+	@Test
+	public void testSerialization_LongQueue() throws Exception
+	{
+		for( int i = 0; i < 100000; i++ )
+		{
+			queue.enqueue( Integer.valueOf( i ) );
+		}
+		MyQueue<Integer> copy = Serialization.roundTrip( queue );
+		assertEquals( "Size was not restored ", 100000, copy.size() );
+		assertEquals( "Front was not restored ", Integer.valueOf( 0 ), copy.dequeue() );
+		Integer last = Integer.valueOf( -1 );
+		copy.enqueue( last );
+		assertEquals( "Restored rear is broken ", 100000, copy.search( last ) );
+	}
+
+	/**
+	 * Test method for {@link implementations.MyQueue#forEachIndexed(utilities.IndexedConsumer)}
+	 * visiting the queue from the front.
+	 */
+	@Test
+	public void testForEachIndexed()
+	{
+		queue.enqueue( one );
+		queue.enqueue( two );
+		queue.enqueue( three );
+		Integer[] seen = new Integer[3];
+		queue.forEachIndexed( ( i, n ) -> seen[i] = n );
+		assertArrayEquals( "ForEach should start at the front ", new Integer[] { one, two, three }, seen );
+		int[] sum = new int[1];
+		queue.forEach( n -> sum[0] += n );
+		assertEquals( "ForEach did not visit every item ", one + two + three, sum[0] );
+	}
 }
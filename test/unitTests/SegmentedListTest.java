@@ -0,0 +1,272 @@
+package unitTests;
+
+import static org.junit.Assert.*;
+
+import java.util.ArrayList;
+import java.util.ConcurrentModificationException;
+import java.util.Random;
+
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+
+import implementations.MySegmentedList;
+import utilities.Iterator;
+
+/**
+ * Class Description:
+ * Chunked implementation of the ListADT. A chunk size of four is used so that
+ * every operation crosses chunk boundaries.
+ */
+
+public class SegmentedListTest
+{
+	// Attributes
+	private MySegmentedList<Integer> myList;
+	private ArrayList<Integer> jList;
+
+	/**
+	 * @throws java.lang.Exception
+	 */
+	@Before
+	public void setUp() throws Exception
+	{
+		myList = new MySegmentedList<>( 2 );
+		jList = new ArrayList<>();
+	}
+
+	/**
+	 * @throws java.lang.Exception
+	 */
+	@After
+	public void tearDown() throws Exception
+	{
+		myList = null;
+		jList = null;
+	}
+
+	@Test
+	public void testConstructor()
+	{
+		assertNotNull( "List was not created ", myList );
+		assertEquals( "Size of the list was not returned correctly ", 0, myList.size() );
+		assertEquals( "No chunks should be allocated yet ", 0, myList.chunkCount() );
+	}
+
+	/**
+	 * Test method for {@link implementations.MySegmentedList#MySegmentedList(int)}.
+	 */
+	@Test( expected = IllegalArgumentException.class )
+	public void testConstructor_InvalidShift()
+	{
+		new MySegmentedList<Integer>( 0 );
+	}
+
+	/**
+	 * Test method for {@link implementations.MySegmentedList#add(java.lang.Object)}.
+	 */
+	@Test
+	public void testAdd_AllocatesChunks()
+	{
+		for ( int i = 0; i < 100; i++ )
+		{
+			myList.add( Integer.valueOf( i ) );
+		}
+		assertEquals( "Size was not updated correctly ", 100, myList.size() );
+		assertEquals( "Chunks were not allocated on demand ", 25, myList.chunkCount() );
+		for ( int i = 0; i < 100; i++ )
+		{
+			assertEquals( "Element was not stored correctly ", Integer.valueOf( i ), myList.get( i ) );
+		}
+	}
+
+	/**
+	 * Test method for {@link implementations.MySegmentedList#add(int, java.lang.Object)}.
+	 */
+	@Test
+	public void testAddIntE_AcrossChunks()
+	{
+		for ( int i = 0; i < 10; i++ )
+		{
+			myList.add( Integer.valueOf( i ) );
+		}
+		myList.add( 1, Integer.valueOf( 100 ) );
+		myList.add( 0, Integer.valueOf( 200 ) );
+		assertArrayEquals( "Elements were not shifted across chunks ",
+				new Object[] { 200, 0, 100, 1, 2, 3, 4, 5, 6, 7, 8, 9 }, myList.toArray() );
+	}
+
+	/**
+	 * Test method for {@link implementations.MySegmentedList#add(java.lang.Object)}.
+	 */
+	@Test( expected = NullPointerException.class )
+	public void testAdd_NullPointerException()
+	{
+		myList.add( null );
+	}
+
+	/**
+	 * Test method for {@link implementations.MySegmentedList#remove(int)}.
+	 */
+	@Test
+	public void testRemoveInt_AcrossChunks()
+	{
+		for ( int i = 0; i < 10; i++ )
+		{
+			myList.add( Integer.valueOf( i ) );
+		}
+		assertEquals( "Removed element is incorrect ", Integer.valueOf( 2 ), myList.remove( 2 ) );
+		assertEquals( "Removed element is incorrect ", Integer.valueOf( 9 ), myList.remove( 8 ) );
+		assertArrayEquals( "Elements were not shifted across chunks ", new Object[] { 0, 1, 3, 4, 5, 6, 7, 8 },
+				myList.toArray() );
+	}
+
+	/**
+	 * Test method for {@link implementations.MySegmentedList#remove(java.lang.Object)}.
+	 */
+	@Test
+	public void testRemoveE()
+	{
+		myList.add( Integer.valueOf( 5 ) );
+		myList.add( Integer.valueOf( 6 ) );
+		assertEquals( "Removed element is incorrect ", Integer.valueOf( 6 ), myList.remove( Integer.valueOf( 6 ) ) );
+		assertNull( "Missing element should return null ", myList.remove( Integer.valueOf( 7 ) ) );
+	}
+
+	/**
+	 * Test method for {@link implementations.MySegmentedList#releaseEmptyChunks()}.
+	 */
+	@Test
+	public void testReleaseEmptyChunks()
+	{
+		for ( int i = 0; i < 20; i++ )
+		{
+			myList.add( Integer.valueOf( i ) );
+		}
+		while ( myList.size() > 5 )
+		{
+			myList.remove( myList.size() - 1 );
+		}
+		assertEquals( "Chunks should be kept until released ", 5, myList.chunkCount() );
+		myList.releaseEmptyChunks();
+		assertEquals( "Empty chunks were not released ", 2, myList.chunkCount() );
+		myList.add( Integer.valueOf( 99 ) );
+		myList.add( Integer.valueOf( 100 ) );
+		myList.add( Integer.valueOf( 101 ) );
+		assertEquals( "List did not grow after releasing chunks ", Integer.valueOf( 101 ), myList.get( 7 ) );
+	}
+
+	/**
+	 * Test method for {@link implementations.MySegmentedList#set(int, java.lang.Object)}.
+	 */
+	@Test
+	public void testSet()
+	{
+		myList.add( Integer.valueOf( 1 ) );
+		assertEquals( "Old element was not returned ", Integer.valueOf( 1 ), myList.set( 0, Integer.valueOf( 2 ) ) );
+		assertEquals( "Element was not replaced ", Integer.valueOf( 2 ), myList.get( 0 ) );
+	}
+
+	/**
+	 * Test method for {@link implementations.MySegmentedList#get(int)}.
+	 */
+	@Test( expected = IndexOutOfBoundsException.class )
+	public void testGet_IndexOutOfBounds()
+	{
+		myList.get( 0 );
+	}
+
+	/**
+	 * Test method for {@link implementations.MySegmentedList#clear()}.
+	 */
+	@Test
+	public void testClear()
+	{
+		for ( int i = 0; i < 10; i++ )
+		{
+			myList.add( Integer.valueOf( i ) );
+		}
+		myList.clear();
+		assertTrue( "List was not cleared ", myList.isEmpty() );
+		assertEquals( "Chunks were not released ", 0, myList.chunkCount() );
+		assertFalse( "Cleared element should not be found ", myList.contains( Integer.valueOf( 3 ) ) );
+	}
+
+	/**
+	 * Test method for {@link implementations.MySegmentedList#toArray(java.lang.Object[])}.
+	 */
+	@Test
+	public void testToArrayEArray()
+	{
+		for ( int i = 0; i < 6; i++ )
+		{
+			myList.add( Integer.valueOf( i ) );
+		}
+		Integer[] holder = new Integer[8];
+		assertSame( "Large enough holder should be reused ", holder, myList.toArray( holder ) );
+		assertEquals( "Holder was not filled ", Integer.valueOf( 5 ), holder[5] );
+		assertNull( "Element after the last should be null ", holder[6] );
+	}
+
+	/**
+	 * Test method for {@link implementations.MySegmentedList#iterator()}.
+	 */
+	@Test
+	public void testIterator()
+	{
+		for ( int i = 0; i < 9; i++ )
+		{
+			myList.add( Integer.valueOf( i ) );
+		}
+		Iterator<Integer> it = myList.iterator();
+		int expected = 0;
+		while ( it.hasNext() )
+		{
+			assertEquals( "Iterator returned the wrong element ", Integer.valueOf( expected++ ), it.next() );
+		}
+		assertEquals( "Iterator did not visit every element ", 9, expected );
+	}
+
+	/**
+	 * Test method for {@link implementations.MySegmentedList#iterator()}.
+	 */
+	@Test( expected = ConcurrentModificationException.class )
+	public void testIterator_FailFast()
+	{
+		myList.add( Integer.valueOf( 1 ) );
+		Iterator<Integer> it = myList.iterator();
+		myList.add( Integer.valueOf( 2 ) );
+		it.next();
+	}
+
+	/**
+	 * Random operations compared with <code>java.util.ArrayList</code>.
+	 */
+	@Test
+	public void testRandomOperations_MatchArrayList()
+	{
+		Random random = new Random( 304 );
+		for ( int step = 0; step < 2000; step++ )
+		{
+			int op = random.nextInt( 3 );
+			if ( op == 0 || jList.isEmpty() )
+			{
+				int index = random.nextInt( jList.size() + 1 );
+				Integer value = Integer.valueOf( random.nextInt( 50 ) );
+				myList.add( index, value );
+				jList.add( index, value );
+			}
+			else if ( op == 1 )
+			{
+				int index = random.nextInt( jList.size() );
+				assertEquals( "Removed element differs ", jList.remove( index ), myList.remove( index ) );
+			}
+			else
+			{
+				int index = random.nextInt( jList.size() );
+				assertEquals( "Element differs ", jList.get( index ), myList.get( index ) );
+			}
+		}
+		assertArrayEquals( "Lists differ after random operations ", jList.toArray(), myList.toArray() );
+	}
+}
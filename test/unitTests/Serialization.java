@@ -0,0 +1,36 @@
+package unitTests;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.ObjectInputStream;
+import java.io.ObjectOutputStream;
+
+/**
+ * Class Description:
+ * Shared helper for the serialization tests of the list, stack and queue classes.
+ */
+
+final class Serialization
+{
+	private Serialization()
+	{
+	}
+
+	/**
+	 * Serializes an object and reads it back.
+	 *
+	 * @param original The object to copy.
+	 * @return The copy read back from the serialized bytes.
+	 * @throws Exception If the object cannot be serialized or read back.
+	 */
+	@SuppressWarnings( "unchecked" )
+	static <T> T roundTrip( T original ) throws Exception
+	{
+		ByteArrayOutputStream bytes = new ByteArrayOutputStream();
+		ObjectOutputStream out = new ObjectOutputStream( bytes );
+		out.writeObject( original );
+		out.close();
+		ObjectInputStream in = new ObjectInputStream( new ByteArrayInputStream( bytes.toByteArray() ) );
+		return (T) in.readObject();
+	}
+}
@@ -0,0 +1,247 @@
+package unitTests;
+
+import static org.junit.Assert.*;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.nio.channels.Channels;
+import java.util.Random;
+
+import org.junit.Before;
+import org.junit.Test;
+
+import implementations.IntArrayList;
+import implementations.LongArrayList;
+import implementations.MyArrayList;
+import implementations.MyDLL;
+import utilities.SnapshotCodec;
+
+/**
+ * Class Description:
+ * Binary snapshot codec for int, long and string lists, with and without block
+ * compression.
+ */
+
+public class SnapshotCodecTest
+{
+	// Attributes
+	private SnapshotCodec plain;
+	private SnapshotCodec compressed;
+	private ByteArrayOutputStream bytes;
+
+	/**
+	 * @throws java.lang.Exception
+	 */
+	@Before
+	public void setUp() throws Exception
+	{
+		plain = new SnapshotCodec();
+		compressed = new SnapshotCodec( true );
+		bytes = new ByteArrayOutputStream();
+	}
+
+	/**
+	 * Test method for {@link utilities.SnapshotCodec#writeInts(IntArrayList, java.nio.channels.WritableByteChannel)}.
+	 *
+	 * @throws IOException If the snapshot cannot be written or read.
+	 */
+	@Test
+	public void testInts_RoundTrip() throws IOException
+	{
+		IntArrayList list = new IntArrayList();
+		list.add( 0 );
+		list.add( -1 );
+		list.add( 300 );
+		list.add( Integer.MIN_VALUE );
+		list.add( Integer.MAX_VALUE );
+		plain.writeInts( list, Channels.newChannel( bytes ) );
+		IntArrayList copy = plain.readInts( input() );
+		assertArrayEquals( "Ints were not restored ", list.toArray(), copy.toArray() );
+	}
+
+	/**
+	 * Test method for {@link utilities.SnapshotCodec#writeIntegers(utilities.ListADT, java.nio.channels.WritableByteChannel)}
+	 * read back as primitives.
+	 *
+	 * @throws IOException If the snapshot cannot be written or read.
+	 */
+	@Test
+	public void testIntegers_SmallValuesAreCompact() throws IOException
+	{
+		MyDLL<Integer> list = new MyDLL<>();
+		for( int i = -50; i < 50; i++ )
+		{
+			list.add( Integer.valueOf( i ) );
+		}
+		plain.writeIntegers( list, Channels.newChannel( bytes ) );
+		assertTrue( "Small values should take one byte each ", bytes.size() < 120 );
+		IntArrayList copy = plain.readInts( input() );
+		assertEquals( "Count was not restored ", 100, copy.size() );
+		assertEquals( "Negative value was not restored ", -50, copy.get( 0 ) );
+	}
+
+	/**
+	 * Test method for {@link utilities.SnapshotCodec#writeLongs(LongArrayList, java.nio.channels.WritableByteChannel)}
+	 * over several blocks.
+	 *
+	 * @throws IOException If the snapshot cannot be written or read.
+	 */
+	@Test
+	public void testLongs_RoundTripManyBlocks() throws IOException
+	{
+		LongArrayList list = new LongArrayList();
+		Random random = new Random( 44 );
+		list.add( Long.MIN_VALUE );
+		list.add( Long.MAX_VALUE );
+		for( int i = 0; i < 50000; i++ )
+		{
+			list.add( random.nextLong() );
+		}
+		compressed.writeLongs( list, Channels.newChannel( bytes ) );
+		LongArrayList copy = plain.readLongs( input() );
+		assertArrayEquals( "Longs were not restored ", list.toArray(), copy.toArray() );
+	}
+
+	/**
+	 * Test method for {@link utilities.SnapshotCodec#writeStrings(utilities.ListADT, java.nio.channels.WritableByteChannel)}.
+	 *
+	 * @throws IOException If the snapshot cannot be written or read.
+	 */
+	@Test
+	public void testStrings_RoundTrip() throws IOException
+	{
+		MyArrayList<String> list = new MyArrayList<>();
+		list.add( "" );
+		list.add( "caf\u00e9 \u65e5\u672c \ud83d\ude00" );
+		StringBuilder large = new StringBuilder();
+		for( int i = 0; i < 30000; i++ )
+		{
+			large.append( (char) ( 'a' + i % 26 ) );
+		}
+		list.add( large.toString() ); // Longer than a block when repeated below
+		list.add( large.toString() );
+		list.add( large.toString() );
+		plain.writeStrings( list, Channels.newChannel( bytes ) );
+		MyArrayList<String> copy = plain.readStrings( input() );
+		assertArrayEquals( "Strings were not restored ", list.toArray(), copy.toArray() );
+	}
+
+	/**
+	 * Test method for {@link utilities.SnapshotCodec#SnapshotCodec(boolean)} checking
+	 * that repetitive data gets smaller and still reads back.
+	 *
+	 * @throws IOException If the snapshot cannot be written or read.
+	 */
+	@Test
+	public void testCompression_Shrinks() throws IOException
+	{
+		MyArrayList<String> list = new MyArrayList<>();
+		for( int i = 0; i < 20000; i++ )
+		{
+			list.add( "customer-" + ( i % 100 ) + "@example.com" );
+		}
+		plain.writeStrings( list, Channels.newChannel( bytes ) );
+		int plainSize = bytes.size();
+		bytes = new ByteArrayOutputStream();
+		compressed.writeStrings( list, Channels.newChannel( bytes ) );
+		assertTrue( "Compression should shrink repetitive data ", bytes.size() * 4 < plainSize );
+		MyArrayList<String> copy = plain.readStrings( input() );
+		assertArrayEquals( "Compressed strings were not restored ", list.toArray(), copy.toArray() );
+	}
+
+	/**
+	 * Test method for {@link utilities.SnapshotCodec#readStrings(java.nio.channels.ReadableByteChannel)}
+	 * with a snapshot of another type.
+	 *
+	 * @throws IOException If the snapshot does not hold strings.
+	 */
+	@Test( expected = IOException.class )
+	public void testRead_WrongType() throws IOException
+	{
+		plain.writeInts( new IntArrayList(), Channels.newChannel( bytes ) );
+		plain.readStrings( input() );
+	}
+
+	/**
+	 * Test method for {@link utilities.SnapshotCodec#readInts(java.nio.channels.ReadableByteChannel)}
+	 * with a truncated snapshot.
+	 *
+	 * @throws IOException If the snapshot ends early.
+	 */
+	@Test( expected = IOException.class )
+	public void testRead_Truncated() throws IOException
+	{
+		IntArrayList list = new IntArrayList();
+		for( int i = 0; i < 1000; i++ )
+		{
+			list.add( i );
+		}
+		plain.writeInts( list, Channels.newChannel( bytes ) );
+		byte[] data = bytes.toByteArray();
+		byte[] cut = new byte[data.length / 2];
+		System.arraycopy( data, 0, cut, 0, cut.length );
+		plain.readInts( Channels.newChannel( new ByteArrayInputStream( cut ) ) );
+	}
+
+	/**
+	 * Test method for {@link utilities.SnapshotCodec#readIntegers(java.nio.channels.ReadableByteChannel)}
+	 * with a corrupt element count. The list must not be sized from the count before
+	 * any element is read.
+	 *
+	 * @throws IOException If the snapshot ends early.
+	 */
+	@Test( expected = IOException.class )
+	public void testRead_CorruptCount() throws IOException
+	{
+		bytes.write( new byte[] { 'L', 'S', 'N', 'P', 1, 1, 0, (byte) 0xFF, (byte) 0xFF, (byte) 0xFF, (byte) 0xFF, 0x07, 0 } );
+		plain.readIntegers( input() );
+	}
+
+	/**
+	 * Test method for {@link utilities.SnapshotCodec#readStrings(java.nio.channels.ReadableByteChannel)}
+	 * with a corrupt string length. The string must not be allocated before its bytes
+	 * are read.
+	 *
+	 * @throws IOException If the snapshot ends early.
+	 */
+	@Test( expected = IOException.class )
+	public void testRead_CorruptStringLength() throws IOException
+	{
+		bytes.write( new byte[] { 'L', 'S', 'N', 'P', 1, 3, 0, 1 } );
+		bytes.write( new byte[] { 5, 0, (byte) 0xFF, (byte) 0xFF, (byte) 0xFF, (byte) 0xFF, 0x07, 0 } );
+		plain.readStrings( input() );
+	}
+
+	/**
+	 * Test method for {@link utilities.SnapshotCodec#readStrings(java.nio.channels.ReadableByteChannel)}
+	 * with a string that spans several blocks.
+	 *
+	 * @throws IOException If the snapshot cannot be written or read.
+	 */
+	@Test
+	public void testStrings_SpanBlocks() throws IOException
+	{
+		StringBuilder text = new StringBuilder();
+		for( int i = 0; i < 50000; i++ )
+		{
+			text.append( (char) ( 'a' + i % 26 ) ).append( '\u00e9' );
+		}
+		MyArrayList<String> list = new MyArrayList<>();
+		list.add( "x" );
+		list.add( text.toString() );
+		plain.writeStrings( list, Channels.newChannel( bytes ) );
+		MyArrayList<String> copy = plain.readStrings( input() );
+		assertEquals( "Long string was not restored ", text.toString(), copy.get( 1 ) );
+	}
+
+	/**
+	 * Gets a channel over the bytes written so far.
+	 *
+	 * @return A readable channel.
+	 */
+	private java.nio.channels.ReadableByteChannel input()
+	{
+		return Channels.newChannel( new ByteArrayInputStream( bytes.toByteArray() ) );
+	}
+}
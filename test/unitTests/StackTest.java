@@ -2,12 +2,16 @@ package unitTests;
 
 import static org.junit.Assert.*;
 
+import java.util.ConcurrentModificationException;
+import java.util.List;
+import java.util.stream.Collectors;
 import java.util.EmptyStackException;
 
 import org.junit.After;
 import org.junit.Before;
 import org.junit.Test;
 
+import utilities.GrowthPolicies;
 import utilities.Iterator;
 import implementations.MyStack;
 
@@ -453,6 +457,37 @@ public class StackTest
 		assertEquals( "Search should return -1 if not found. ", expected, actual );
 	}
 
+	/**
+	 * Test method for {@link implementations.MyStack#search(java.lang.Object, int)}.
+	 */
+	@Test
+	public void testSearchDepth_WithinDepth()
+	{
+		stack.push( one );
+		stack.push( two );
+		stack.push( three );
+		stack.push( four );
+		stack.push( five );
+
+		assertEquals( "Value within the searched depth was not found ", 3, stack.search( three, 3 ) );
+	}
+
+	/**
+	 * Test method for {@link implementations.MyStack#search(java.lang.Object, int)}.
+	 */
+	@Test
+	public void testSearchDepth_BeyondDepth()
+	{
+		stack.push( one );
+		stack.push( two );
+		stack.push( three );
+		stack.push( four );
+		stack.push( five );
+
+		assertEquals( "Value below the searched depth should not be found ", -1, stack.search( two, 3 ) );
+		assertEquals( "Zero depth should never find a value ", -1, stack.search( five, 0 ) );
+	}
+
 	/**
 	 * Test method for {@link utilities.MyStack#size()}.
 	 */
@@ -541,4 +576,185 @@ public class StackTest
 			assertTrue(true);
 		}
 	}
+
+	/**
+	 * Test method for {@link implementations.MyStack#MyStack(int)}.
+	 */
+	@Test
+	public void testConstructor_InitialCapacity()
+	{
+		MyStack<Integer> sized = new MyStack<>( 3 );
+		sized.push( one );
+		sized.push( two );
+		sized.push( three );
+		assertTrue( "Stack should be at capacity ", sized.stackOverflow() );
+		sized.push( four );
+		assertEquals( "Stack did not grow past its initial capacity ", 4, sized.size() );
+	}
+
+	/**
+	 * Test method for {@link implementations.MyStack#ensureCapacity(int)}.
+	 */
+	@Test
+	public void testEnsureCapacity()
+	{
+		stack.push( one );
+		stack.ensureCapacity( 200 );
+		assertTrue( "Capacity was not increased ", stack.capacity() >= 200 );
+		assertEquals( "Top of stack was lost while growing ", one, stack.peek() );
+	}
+
+	/**
+	 * Test method for {@link implementations.MyStack#trimToSize()}.
+	 */
+	@Test
+	public void testTrimToSize()
+	{
+		stack.push( one );
+		stack.push( two );
+		stack.trimToSize();
+		assertEquals( "Capacity was not trimmed ", 2, stack.capacity() );
+		assertEquals( "Top of stack changed after trimming ", two, stack.pop() );
+	}
+
+	/**
+	 * Test method for
+	 * {@link implementations.MyStack#MyStack(int, utilities.GrowthPolicy)}.
+	 */
+	@Test
+	public void testGrowthPolicy_OneAndAHalf()
+	{
+		MyStack<Integer> sized = new MyStack<>( 4, GrowthPolicies.oneAndAHalf() );
+		for ( int i = 0; i < 5; i++ )
+		{
+			sized.push( Integer.valueOf( i ) );
+		}
+		assertEquals( "1.5x growth was not applied ", 6, sized.capacity() );
+	}
+
+	/**
+	 * Test method for {@link implementations.MyStack#iterator()}.
+	 */
+	@Test( expected = ConcurrentModificationException.class )
+	public void testIterator_FailFast()
+	{
+		stack.push( one );
+		stack.push( two );
+		Iterator<Integer> it = stack.iterator();
+		it.next();
+		stack.pop();
+		it.next();
+	}
+
+	/**
+	 * Test method for {@link implementations.MyStack#snapshotIterator()}.
+	 */
+	@Test
+	public void testSnapshotIterator()
+	{
+		stack.push( one );
+		stack.push( two );
+		Iterator<Integer> it = stack.snapshotIterator();
+		stack.clear();
+		assertEquals( "Snapshot should start at the top ", two, it.next() );
+		assertEquals( "Snapshot lost the bottom element ", one, it.next() );
+		assertFalse( "Snapshot should have ended ", it.hasNext() );
+	}
+
+	/**
+	 * Test method for {@link implementations.MyStack#enableIndex()}.
+	 */
+	@Test
+	public void testIndex_TracksChanges()
+	{
+		stack.push( one );
+		stack.push( two );
+		stack.enableIndex();
+		stack.push( three );
+		assertTrue( "Index missed a pushed element ", stack.contains( three ) );
+		stack.pop();
+		assertFalse( "Index kept a popped element ", stack.contains( three ) );
+		assertEquals( "Search should skip absent elements ", -1, stack.search( three ) );
+		assertEquals( "Search position is wrong ", 2, stack.search( one ) );
+		stack.clear();
+		assertFalse( "Index kept elements after clear ", stack.contains( one ) );
+	}
+
+	/**
+	 * Test method for {@link implementations.MyStack#spliterator()} checking that
+	 * streams run from the top of the stack down.
+	 */
+	@Test
+	public void testStream_TopFirst()
+	{
+		stack.push( one );
+		stack.push( two );
+		stack.push( three );
+		List<Integer> items = stack.stream().collect( Collectors.toList() );
+		assertEquals( "Stream should start at the top ", three, items.get( 0 ) );
+		assertEquals( "Stream should end at the bottom ", one, items.get( 2 ) );
+	}
+
+	/**
+	 * Test method for {@link utilities.StackADT#parallelStream()}.
+	 */
+	@Test
+	public void testParallelStream_KeepsOrder()
+	{
+		for( int i = 0; i < 50000; i++ )
+		{
+			stack.push( Integer.valueOf( i ) );
+		}
+		List<Integer> items = stack.parallelStream().collect( Collectors.toList() );
+		assertEquals( "Parallel stream lost items ", 50000, items.size() );
+		for( int i = 0; i < items.size(); i++ )
+		{
+			assertEquals( "Parallel stream is out of order ", 49999 - i, items.get( i ).intValue() );
+		}
+	}
+
+	/**
+	 * Test method for serializing {@link implementations.MyStack}.
+	 *
+	 * @throws Exception If the stack cannot be serialized.
+	 */
+	@Test
+	public void testSerialization_RoundTrip() throws Exception
+	{
+		stack.ensureCapacity( 1000 );
+		stack.push( one );
+		stack.push( two );
+		MyStack<Integer> copy = Serialization.roundTrip( stack );
+		assertEquals( "Copy should be sized to its items ", 2, copy.capacity() );
+		assertEquals( "Top was not restored ", two, copy.pop() );
+		assertEquals( "Bottom was not restored ", one, copy.pop() );
+		assertTrue( "Copy should now be empty ", copy.isEmpty() );
+	}
+
+	/**
+	 * Test method for {@link implementations.MyStack#forEachIndexed(utilities.IndexedConsumer)}
+	 * visiting the stack from the top.
+	 */
+	@Test
+	public void testForEachIndexed()
+	{
+		stack.push( one );
+		stack.push( two );
+		stack.push( three );
+		Integer[] seen = new Integer[3];
+		stack.forEachIndexed( ( i, n ) -> seen[i] = n );
+		assertArrayEquals( "ForEach should start at the top ", new Integer[] { three, two, one }, seen );
+	}
+
+	/**
+	 * Test method for {@link implementations.MyStack#forEach(java.util.function.Consumer)}
+	 * with an action that changes the stack.
+	 */
+	@Test( expected = ConcurrentModificationException.class )
+	public void testForEach_Modified()
+	{
+		stack.push( one );
+		stack.push( two );
+		stack.forEach( n -> stack.pop() );
+	}
 }
@@ -0,0 +1,305 @@
+package unitTests;
+
+import static org.junit.Assert.*;
+
+import java.util.ArrayList;
+import java.util.ConcurrentModificationException;
+import java.util.Random;
+
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+
+import implementations.MyTreeList;
+import utilities.Iterator;
+
+/**
+ * Class Description:
+ * Balanced tree implementation of the ListADT. A node capacity of four is used
+ * so that nodes split, merge and rebalance after only a few operations.
+ */
+
+public class TreeListTest
+{
+	// Attributes
+	private MyTreeList<Integer> myList;
+	private ArrayList<Integer> jList;
+
+	/**
+	 * @throws java.lang.Exception
+	 */
+	@Before
+	public void setUp() throws Exception
+	{
+		myList = new MyTreeList<>( 4 );
+		jList = new ArrayList<>();
+	}
+
+	/**
+	 * @throws java.lang.Exception
+	 */
+	@After
+	public void tearDown() throws Exception
+	{
+		myList = null;
+		jList = null;
+	}
+
+	@Test
+	public void testConstructor()
+	{
+		assertNotNull( "List was not created ", myList );
+		assertEquals( "Size of the list was not returned correctly ", 0, myList.size() );
+		assertEquals( "Empty tree should be a single leaf ", 1, myList.height() );
+	}
+
+	/**
+	 * Test method for {@link implementations.MyTreeList#MyTreeList(int)}.
+	 */
+	@Test( expected = IllegalArgumentException.class )
+	public void testConstructor_InvalidShift()
+	{
+		new MyTreeList<Integer>( 3 );
+	}
+
+	/**
+	 * Test method for {@link implementations.MyTreeList#add(java.lang.Object)}.
+	 */
+	@Test
+	public void testAdd_TreeStaysBalanced()
+	{
+		for ( int i = 0; i < 1000; i++ )
+		{
+			myList.add( Integer.valueOf( i ) );
+		}
+		assertEquals( "Size was not updated correctly ", 1000, myList.size() );
+		assertTrue( "Tree is too tall to be balanced ", myList.height() <= 10 );
+		for ( int i = 0; i < 1000; i++ )
+		{
+			assertEquals( "Element was not stored correctly ", Integer.valueOf( i ), myList.get( i ) );
+		}
+	}
+
+	/**
+	 * Test method for {@link implementations.MyTreeList#add(int, java.lang.Object)}.
+	 */
+	@Test
+	public void testAddIntE_AcrossNodes()
+	{
+		for ( int i = 0; i < 10; i++ )
+		{
+			myList.add( Integer.valueOf( i ) );
+		}
+		myList.add( 1, Integer.valueOf( 100 ) );
+		myList.add( 0, Integer.valueOf( 200 ) );
+		assertArrayEquals( "Elements were not placed correctly ",
+				new Object[] { 200, 0, 100, 1, 2, 3, 4, 5, 6, 7, 8, 9 }, myList.toArray() );
+	}
+
+	/**
+	 * Test method for {@link implementations.MyTreeList#add(java.lang.Object)}.
+	 */
+	@Test( expected = NullPointerException.class )
+	public void testAdd_NullPointerException()
+	{
+		myList.add( null );
+	}
+
+	/**
+	 * Test method for {@link implementations.MyTreeList#remove(int)}.
+	 */
+	@Test
+	public void testRemoveInt_AcrossNodes()
+	{
+		for ( int i = 0; i < 10; i++ )
+		{
+			myList.add( Integer.valueOf( i ) );
+		}
+		assertEquals( "Removed element is incorrect ", Integer.valueOf( 2 ), myList.remove( 2 ) );
+		assertEquals( "Removed element is incorrect ", Integer.valueOf( 9 ), myList.remove( 8 ) );
+		assertArrayEquals( "Elements were not placed correctly ", new Object[] { 0, 1, 3, 4, 5, 6, 7, 8 },
+				myList.toArray() );
+	}
+
+	/**
+	 * Test method for {@link implementations.MyTreeList#remove(java.lang.Object)}.
+	 */
+	@Test
+	public void testRemoveE()
+	{
+		myList.add( Integer.valueOf( 5 ) );
+		myList.add( Integer.valueOf( 6 ) );
+		assertEquals( "Removed element is incorrect ", Integer.valueOf( 6 ), myList.remove( Integer.valueOf( 6 ) ) );
+		assertNull( "Missing element should return null ", myList.remove( Integer.valueOf( 7 ) ) );
+	}
+
+	/**
+	 * Test method for {@link implementations.MyTreeList#remove(int)}.
+	 */
+	@Test
+	public void testRemoveInt_TreeShrinks()
+	{
+		for ( int i = 0; i < 1000; i++ )
+		{
+			myList.add( Integer.valueOf( i ) );
+		}
+		int tallest = myList.height();
+		while ( myList.size() > 3 )
+		{
+			myList.remove( myList.size() / 2 );
+		}
+		assertTrue( "Tree did not shrink after removals ", myList.height() < tallest );
+		assertArrayEquals( "Remaining elements are incorrect ", new Object[] { 0, 1, 999 }, myList.toArray() );
+	}
+
+	/**
+	 * Test method for {@link implementations.MyTreeList#set(int, java.lang.Object)}.
+	 */
+	@Test
+	public void testSet()
+	{
+		myList.add( Integer.valueOf( 1 ) );
+		assertEquals( "Old element was not returned ", Integer.valueOf( 1 ), myList.set( 0, Integer.valueOf( 2 ) ) );
+		assertEquals( "Element was not replaced ", Integer.valueOf( 2 ), myList.get( 0 ) );
+	}
+
+	/**
+	 * Test method for {@link implementations.MyTreeList#get(int)}.
+	 */
+	@Test( expected = IndexOutOfBoundsException.class )
+	public void testGet_IndexOutOfBounds()
+	{
+		myList.get( 0 );
+	}
+
+	/**
+	 * Test method for {@link implementations.MyTreeList#clear()}.
+	 */
+	@Test
+	public void testClear()
+	{
+		for ( int i = 0; i < 10; i++ )
+		{
+			myList.add( Integer.valueOf( i ) );
+		}
+		myList.clear();
+		assertTrue( "List was not cleared ", myList.isEmpty() );
+		assertFalse( "Cleared element should not be found ", myList.contains( Integer.valueOf( 3 ) ) );
+	}
+
+	/**
+	 * Test method for {@link implementations.MyTreeList#toArray(java.lang.Object[])}.
+	 */
+	@Test
+	public void testToArrayEArray()
+	{
+		for ( int i = 0; i < 6; i++ )
+		{
+			myList.add( Integer.valueOf( i ) );
+		}
+		Integer[] holder = new Integer[8];
+		assertSame( "Large enough holder should be reused ", holder, myList.toArray( holder ) );
+		assertEquals( "Holder was not filled ", Integer.valueOf( 5 ), holder[5] );
+		assertNull( "Element after the last should be null ", holder[6] );
+	}
+
+	/**
+	 * Test method for {@link implementations.MyTreeList#iterator()}.
+	 */
+	@Test
+	public void testIterator()
+	{
+		for ( int i = 0; i < 9; i++ )
+		{
+			myList.add( Integer.valueOf( i ) );
+		}
+		Iterator<Integer> it = myList.iterator();
+		int expected = 0;
+		while ( it.hasNext() )
+		{
+			assertEquals( "Iterator returned the wrong element ", Integer.valueOf( expected++ ), it.next() );
+		}
+		assertEquals( "Iterator did not visit every element ", 9, expected );
+	}
+
+	/**
+	 * Test method for {@link implementations.MyTreeList#iterator()}.
+	 */
+	@Test( expected = ConcurrentModificationException.class )
+	public void testIterator_FailFast()
+	{
+		myList.add( Integer.valueOf( 1 ) );
+		Iterator<Integer> it = myList.iterator();
+		myList.add( Integer.valueOf( 2 ) );
+		it.next();
+	}
+
+	/**
+	 * Test method for {@link implementations.MyTreeList#forEach(java.util.function.Consumer)}
+	 * and {@link implementations.MyTreeList#forEachIndexed(utilities.IndexedConsumer)}
+	 * over a tree several levels deep.
+	 */
+	@Test
+	public void testForEach()
+	{
+		for ( int i = 0; i < 200; i++ )
+		{
+			myList.add( Integer.valueOf( i ) );
+		}
+		int[] sum = new int[1];
+		myList.forEach( n -> sum[0] += n );
+		assertEquals( "ForEach did not visit every element ", 19900, sum[0] );
+		int[] count = new int[1];
+		myList.forEachIndexed( ( i, n ) ->
+		{
+			assertEquals( "Index does not match the element ", Integer.valueOf( i ), n );
+			count[0]++;
+		} );
+		assertEquals( "ForEachIndexed did not visit every element ", 200, count[0] );
+	}
+
+	/**
+	 * Test method for {@link implementations.MyTreeList#forEach(java.util.function.Consumer)}
+	 * with an action that changes the list.
+	 */
+	@Test( expected = ConcurrentModificationException.class )
+	public void testForEach_Modified()
+	{
+		for ( int i = 0; i < 20; i++ )
+		{
+			myList.add( Integer.valueOf( i ) );
+		}
+		myList.forEach( n -> myList.add( n ) );
+	}
+
+	/**
+	 * Random operations compared with <code>java.util.ArrayList</code>.
+	 */
+	@Test
+	public void testRandomOperations_MatchArrayList()
+	{
+		Random random = new Random( 304 );
+		for ( int step = 0; step < 20000; step++ )
+		{
+			int op = random.nextInt( step < 10000 ? 3 : 4 );
+			if ( op == 0 || jList.isEmpty() )
+			{
+				int index = random.nextInt( jList.size() + 1 );
+				Integer value = Integer.valueOf( random.nextInt( 50 ) );
+				myList.add( index, value );
+				jList.add( index, value );
+			}
+			else if ( op == 1 || op == 3 )
+			{
+				int index = random.nextInt( jList.size() );
+				assertEquals( "Removed element differs ", jList.remove( index ), myList.remove( index ) );
+			}
+			else
+			{
+				int index = random.nextInt( jList.size() );
+				assertEquals( "Element differs ", jList.get( index ), myList.get( index ) );
+			}
+		}
+		assertArrayEquals( "Lists differ after random operations ", jList.toArray(), myList.toArray() );
+	}
+}
@@ -0,0 +1,168 @@
+package unitTests;
+
+import static org.junit.Assert.*;
+
+import java.nio.charset.Charset;
+import java.nio.charset.StandardCharsets;
+import java.nio.charset.UnsupportedCharsetException;
+
+import org.junit.Test;
+
+import utilities.XMLEncoding;
+
+/**
+ * Class Description:
+ * Encoding detection from the first bytes of a document: byte order marks, the
+ * UTF-16 pattern of "&lt;?" and the encoding attribute of the XML declaration.
+ */
+
+public class XMLEncodingTest
+{
+	/**
+	 * Test method for {@link utilities.XMLEncoding#detect(byte[], int)} and
+	 * {@link utilities.XMLEncoding#bomLength(byte[], int)} with a byte order mark.
+	 */
+	@Test
+	public void testDetect_ByteOrderMark()
+	{
+		byte[] utf8 = bytes( 0xEF, 0xBB, 0xBF, '<', 'a' );
+		byte[] utf16be = bytes( 0xFE, 0xFF, 0x00, '<' );
+		byte[] utf16le = bytes( 0xFF, 0xFE, '<', 0x00 );
+		assertSame( "UTF-8 mark was not detected ", XMLEncoding.UTF_8, XMLEncoding.detect( utf8, utf8.length ) );
+		assertSame( "UTF-16BE mark was not detected ", XMLEncoding.UTF_16BE, XMLEncoding.detect( utf16be, utf16be.length ) );
+		assertSame( "UTF-16LE mark was not detected ", XMLEncoding.UTF_16LE, XMLEncoding.detect( utf16le, utf16le.length ) );
+		assertEquals( "UTF-8 mark length is wrong ", 3, XMLEncoding.bomLength( utf8, utf8.length ) );
+		assertEquals( "UTF-16 mark length is wrong ", 2, XMLEncoding.bomLength( utf16be, utf16be.length ) );
+		assertEquals( "UTF-16 mark length is wrong ", 2, XMLEncoding.bomLength( utf16le, utf16le.length ) );
+	}
+
+	/**
+	 * Test method for {@link utilities.XMLEncoding#bomLength(byte[], int)}. Only the
+	 * valid bytes of the head are checked.
+	 */
+	@Test
+	public void testBomLength_Truncated()
+	{
+		byte[] head = bytes( 0xEF, 0xBB, 0xBF );
+		assertEquals( "Partial mark should not be skipped ", 0, XMLEncoding.bomLength( head, 2 ) );
+		assertSame( "Partial mark should be treated as UTF-8 ", XMLEncoding.UTF_8, XMLEncoding.detect( head, 2 ) );
+	}
+
+	/**
+	 * Test method for {@link utilities.XMLEncoding#detect(byte[], int)} on UTF-16 without
+	 * a byte order mark.
+	 */
+	@Test
+	public void testDetect_Utf16WithoutMark()
+	{
+		byte[] be = "<?xml version=\"1.0\"?>".getBytes( StandardCharsets.UTF_16BE );
+		byte[] le = "<?xml version=\"1.0\"?>".getBytes( StandardCharsets.UTF_16LE );
+		assertSame( "UTF-16BE was not detected ", XMLEncoding.UTF_16BE, XMLEncoding.detect( be, be.length ) );
+		assertSame( "UTF-16LE was not detected ", XMLEncoding.UTF_16LE, XMLEncoding.detect( le, le.length ) );
+		assertEquals( "Document without a mark has nothing to skip ", 0, XMLEncoding.bomLength( le, le.length ) );
+	}
+
+	/**
+	 * Test method for {@link utilities.XMLEncoding#unitAt(byte[], int)}.
+	 */
+	@Test
+	public void testUnitAt()
+	{
+		byte[] be = "<\u00e9".getBytes( StandardCharsets.UTF_16BE );
+		byte[] le = "<\u00e9".getBytes( StandardCharsets.UTF_16LE );
+		assertEquals( "UTF-16BE unit is wrong ", '<', XMLEncoding.UTF_16BE.unitAt( be, 0 ) );
+		assertEquals( "UTF-16BE unit is wrong ", 0xE9, XMLEncoding.UTF_16BE.unitAt( be, 2 ) );
+		assertEquals( "UTF-16LE unit is wrong ", '<', XMLEncoding.UTF_16LE.unitAt( le, 0 ) );
+		assertEquals( "UTF-16LE unit is wrong ", 0xE9, XMLEncoding.UTF_16LE.unitAt( le, 2 ) );
+		assertEquals( "Single byte units should be unsigned ", 0xE9, XMLEncoding.ISO_8859_1.unitAt( bytes( 0xE9 ), 0 ) );
+	}
+
+	/**
+	 * Test method for {@link utilities.XMLEncoding#detect(byte[], int)} with an encoding
+	 * declaration.
+	 */
+	@Test
+	public void testDetect_Declaration()
+	{
+		assertSame( "Declared Latin-1 was not detected ", XMLEncoding.ISO_8859_1, detect( "<?xml version=\"1.0\" encoding=\"ISO-8859-1\"?>" ) );
+		assertSame( "Single quotes and spaces should be accepted ", XMLEncoding.ISO_8859_1, detect( "<?xml encoding = 'latin1' ?>" ) );
+		assertSame( "Missing declaration should default to UTF-8 ", XMLEncoding.UTF_8, detect( "<root/>" ) );
+		assertSame( "Declaration without an encoding should default to UTF-8 ", XMLEncoding.UTF_8, detect( "<?xml version=\"1.0\"?>" ) );
+		assertSame( "Unknown encoding should default to UTF-8 ", XMLEncoding.UTF_8, detect( "<?xml encoding=\"no-such-charset\"?>" ) );
+		assertEquals( "Other ASCII compatible charsets should be accepted ", Charset.forName( "windows-1252" ),
+				detect( "<?xml encoding=\"windows-1252\"?>" ).charset() );
+	}
+
+	/**
+	 * Test method for {@link utilities.XMLEncoding#detect(byte[], int)}. A UTF-16
+	 * declaration read from single bytes is a mislabel, so the document is scanned
+	 * as UTF-8 rather than in two-byte units.
+	 */
+	@Test
+	public void testDetect_DeclaredUtf16()
+	{
+		assertSame( "Declared UTF-16 should be scanned as UTF-8 ", XMLEncoding.UTF_8, detect( "<?xml encoding=\"UTF-16\"?>" ) );
+		assertSame( "Declared UTF-16LE should be scanned as UTF-8 ", XMLEncoding.UTF_8, detect( "<?xml encoding=\"UTF-16LE\"?>" ) );
+		assertSame( "Declared UTF-16BE should be scanned as UTF-8 ", XMLEncoding.UTF_8, detect( "<?xml encoding=\"UTF-16BE\"?>" ) );
+	}
+
+	/**
+	 * Test method for {@link utilities.XMLEncoding#detect(byte[], int)}. A declared
+	 * charset that does not encode markup as single ASCII bytes is rejected.
+	 */
+	@Test( expected = UnsupportedCharsetException.class )
+	public void testDetect_DeclaredUtf32()
+	{
+		detect( "<?xml encoding=\"UTF-32\"?>" );
+	}
+
+	/**
+	 * Test method for {@link utilities.XMLEncoding#detect(byte[], int)}. A UTF-32 byte
+	 * order mark is not mistaken for UTF-16.
+	 */
+	@Test( expected = UnsupportedCharsetException.class )
+	public void testDetect_Utf32Mark()
+	{
+		byte[] head = bytes( 0xFF, 0xFE, 0x00, 0x00, '<', 0x00, 0x00, 0x00 );
+		XMLEncoding.detect( head, head.length );
+	}
+
+	/**
+	 * Test method for {@link utilities.XMLEncoding#detect(byte[], int)} on the EBCDIC
+	 * form of "&lt;?xm".
+	 */
+	@Test( expected = UnsupportedCharsetException.class )
+	public void testDetect_Ebcdic()
+	{
+		byte[] head = bytes( 0x4C, 0x6F, 0xA7, 0x94 );
+		XMLEncoding.detect( head, head.length );
+	}
+
+	/**
+	 * Detects the encoding of an ASCII document head.
+	 *
+	 * @param head The start of the document.
+	 * @return The detected encoding.
+	 */
+	private static XMLEncoding detect( String head )
+	{
+		byte[] bytes = head.getBytes( StandardCharsets.US_ASCII );
+		return XMLEncoding.detect( bytes, bytes.length );
+	}
+
+	/**
+	 * Builds a byte array from unsigned values.
+	 *
+	 * @param values The byte values.
+	 * @return The bytes.
+	 */
+	private static byte[] bytes( int... values )
+	{
+		byte[] bytes = new byte[values.length];
+		for( int i = 0; i < values.length; i++ )
+		{
+			bytes[i] = (byte) values[i];
+		}
+		return bytes;
+	}
+}
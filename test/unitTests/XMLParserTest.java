@@ -0,0 +1,345 @@
+package unitTests;
+
+import static org.junit.Assert.*;
+
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+
+import implementations.MyQueue;
+import utilities.XMLParser;
+
+/**
+ * Class Description:
+ * XML parser, run over small documents written to a temporary file. Each test checks
+ * the exact errors reported and the lines they are reported on.
+ */
+
+public class XMLParserTest
+{
+	// Attributes
+	private Path file;
+	private XMLParser parser;
+
+	/**
+	 * @throws java.lang.Exception
+	 */
+	@Before
+	public void setUp() throws Exception
+	{
+		file = Files.createTempFile( "parser", ".xml" );
+		parser = new XMLParser();
+	}
+
+	/**
+	 * @throws java.lang.Exception
+	 */
+	@After
+	public void tearDown() throws Exception
+	{
+		parser = null;
+		Files.deleteIfExists( file );
+	}
+
+	/**
+	 * Test method for {@link utilities.XMLParser#readFile(String)} on a valid document.
+	 *
+	 * @throws IOException If the file cannot be written.
+	 */
+	@Test
+	public void testReadFile_Valid() throws IOException
+	{
+		write( "<?xml version=\"1.0\"?>\n<root>\n\t<child id=\"1\">\n\t\t<subchild/>\n\t</child>\n</root>\n" );
+		parser.readFile( file.toString() );
+		assertTrue( "Valid document should have no errors ", parser.takeErrors().isEmpty() );
+	}
+
+	/**
+	 * Test method for {@link utilities.XMLParser#readFile(String)}. A closing tag that
+	 * skips an open tag reports the skipped tag once, and the rest of the document
+	 * still matches.
+	 *
+	 * @throws IOException If the file cannot be written.
+	 */
+	@Test
+	public void testReadFile_SkippedTag() throws IOException
+	{
+		write( "<root>\n\t<a>\n\t\t<b>\n\t</a>\n\t<c></c>\n</root>\n" );
+		parser.readFile( file.toString() );
+		assertErrors( "Line 4: Unclosed tag: <b> closed by </a>" );
+	}
+
+	/**
+	 * Test method for {@link utilities.XMLParser#readFile(String)}. An unknown closing
+	 * tag is reported on its own line, and does not make every later closing tag
+	 * mismatch.
+	 *
+	 * @throws IOException If the file cannot be written.
+	 */
+	@Test
+	public void testReadFile_UnknownClosingTag() throws IOException
+	{
+		write( "<root>\n\t<child>\n\t</mismatched>\n</root>\n" );
+		parser.readFile( file.toString() );
+		assertErrors( "Line 3: Mismatched or unexpected closing tag: </mismatched>",
+				"Line 4: Unclosed tag: <child> closed by </root>" );
+	}
+
+	/**
+	 * Test method for {@link utilities.XMLParser#XMLParser(int)}. With recovery
+	 * disabled every later closing tag mismatches.
+	 *
+	 * @throws IOException If the file cannot be written.
+	 */
+	@Test
+	public void testReadFile_RecoveryDisabled() throws IOException
+	{
+		parser = new XMLParser( 0 );
+		write( "<root>\n\t<child>\n\t</mismatched>\n</root>\n" );
+		parser.readFile( file.toString() );
+		assertErrors( "Line 3: Mismatched or unexpected closing tag: </mismatched>",
+				"Line 4: Mismatched or unexpected closing tag: </root>",
+				"Unclosed tag: <child>",
+				"Unclosed tag: <root>" );
+	}
+
+	/**
+	 * Test method for {@link utilities.XMLParser#readFile(String)}. A closing tag
+	 * deeper than the recovery depth is not matched.
+	 *
+	 * @throws IOException If the file cannot be written.
+	 */
+	@Test
+	public void testReadFile_BeyondRecoveryDepth() throws IOException
+	{
+		parser = new XMLParser( 2 );
+		write( "<a>\n<b>\n<c>\n<d>\n</a>\n" );
+		parser.readFile( file.toString() );
+		assertErrors( "Line 5: Mismatched or unexpected closing tag: </a>",
+				"Unclosed tag: <d>",
+				"Unclosed tag: <c>",
+				"Unclosed tag: <b>",
+				"Unclosed tag: <a>" );
+	}
+
+	/**
+	 * Test method for {@link utilities.XMLParser#readFile(String)} on UTF-16 documents,
+	 * with and without a byte order mark. Lines and tags are found in two-byte units.
+	 *
+	 * @throws IOException If the file cannot be written.
+	 */
+	@Test
+	public void testReadFile_Utf16() throws IOException
+	{
+		String text = "<?xml version=\"1.0\"?>\r\n<r\u00e9sum\u00e9>\r\n\t<a>\r\n</r\u00e9sum\u00e9>\r\n";
+		Files.write( file, text.getBytes( StandardCharsets.UTF_16LE ) );
+		parser.readFile( file.toString() );
+		assertErrors( "Line 4: Unclosed tag: <a> closed by </r\u00e9sum\u00e9>" );
+		assertEquals( "Context is wrong ", lines( "3: \t<a>" ), parser.getContext( 3, 0 ) );
+
+		Files.write( file, ( "\ufeff" + text ).getBytes( StandardCharsets.UTF_16BE ) );
+		parser.readFile( file.toString() );
+		assertErrors( "Line 4: Unclosed tag: <a> closed by </r\u00e9sum\u00e9>" );
+		assertEquals( "Context is wrong ", lines( "2: <r\u00e9sum\u00e9>" ), parser.getContext( 2, 0 ) );
+	}
+
+	/**
+	 * Test method for {@link utilities.XMLParser#readFile(String)} on documents larger
+	 * than one read, with a long line that spans the boundary between reads.
+	 *
+	 * @throws IOException If the file cannot be written.
+	 */
+	@Test
+	public void testReadFile_SpansReads() throws IOException
+	{
+		StringBuilder text = new StringBuilder( "<root>\n" );
+		for( int i = 0; i < 10000; i++ )
+		{
+			text.append( "\t<a></a>\n" );
+		}
+		text.append( "\t<long>" );
+		for( int i = 0; i < 20000; i++ )
+		{
+			text.append( "<b/>" );
+		}
+		text.append( "</long>\r\n\t<c>\n</root>" );
+
+		write( text.toString() );
+		parser.readFile( file.toString() );
+		assertErrors( "Line 10004: Unclosed tag: <c> closed by </root>" );
+		assertEquals( "Context is wrong ", lines( "10004: </root>" ), parser.getContext( 10004, 0 ) );
+
+		Files.write( file, ( "\ufeff" + text ).getBytes( StandardCharsets.UTF_16LE ) );
+		parser.readFile( file.toString() );
+		assertErrors( "Line 10004: Unclosed tag: <c> closed by </root>" );
+		assertEquals( "Context is wrong ", lines( "10003: \t<c>" ), parser.getContext( 10003, 0 ) );
+	}
+
+	/**
+	 * Test method for {@link utilities.XMLParser#readFile(String)} on a single-byte
+	 * document that declares UTF-16. It is still validated, as UTF-8.
+	 *
+	 * @throws IOException If the file cannot be written.
+	 */
+	@Test
+	public void testReadFile_MislabelledUtf16() throws IOException
+	{
+		write( "<?xml version=\"1.0\" encoding=\"UTF-16\"?>\n<a><b></c></a>\n" );
+		parser.readFile( file.toString() );
+		assertErrors( "Line 2: Mismatched or unexpected closing tag: </c>",
+				"Line 2: Unclosed tag: <b> closed by </a>" );
+	}
+
+	/**
+	 * Test method for {@link utilities.XMLParser#readFile(String)} on a document that
+	 * declares an encoding that cannot be scanned a byte at a time.
+	 *
+	 * @throws IOException If the file cannot be written.
+	 */
+	@Test
+	public void testReadFile_UnsupportedEncoding() throws IOException
+	{
+		write( "<?xml version=\"1.0\" encoding=\"UTF-32\"?>\n<a></a>\n" );
+		parser.readFile( file.toString() );
+		assertErrors( "Unsupported encoding: UTF-32" );
+	}
+
+	/**
+	 * Test method for {@link utilities.XMLParser#getContext(int, int)} at the start of
+	 * the file, where the context is cut short.
+	 *
+	 * @throws IOException If the file cannot be read.
+	 */
+	@Test
+	public void testGetContext_Start() throws IOException
+	{
+		write( "<a>\n<b>\n</b>\n</a>\n" );
+		parser.readFile( file.toString() );
+		assertEquals( "Context is wrong ", lines( "1: <a>", "2: <b>" ), parser.getContext( 1, 1 ) );
+	}
+
+	/**
+	 * Test method for {@link utilities.XMLParser#getContext(int, int)} at the end of a
+	 * file whose last line has no line feed.
+	 *
+	 * @throws IOException If the file cannot be read.
+	 */
+	@Test
+	public void testGetContext_LastLine() throws IOException
+	{
+		write( "<a>\n<b>\n</b>\n</a>" );
+		parser.readFile( file.toString() );
+		assertEquals( "Context is wrong ", lines( "3: </b>", "4: </a>" ), parser.getContext( 4, 1 ) );
+	}
+
+	/**
+	 * Test method for {@link utilities.XMLParser#getContext(int, int)} on a file with
+	 * CRLF line endings. The carriage returns are not part of the context.
+	 *
+	 * @throws IOException If the file cannot be read.
+	 */
+	@Test
+	public void testGetContext_Crlf() throws IOException
+	{
+		write( "<a>\r\n<b>\r\n</b>\r\n</a>\r\n" );
+		parser.readFile( file.toString() );
+		assertEquals( "Context is wrong ", lines( "2: <b>", "3: </b>", "4: </a>" ), parser.getContext( 3, 1 ) );
+		assertEquals( "Context is wrong ", lines( "4: </a>" ), parser.getContext( 4, 0 ) );
+	}
+
+	/**
+	 * Test method for {@link utilities.XMLParser#getContext(int, int)} with a line index
+	 * that only records every third line, so lines are found by a short forward scan.
+	 *
+	 * @throws IOException If the file cannot be read.
+	 */
+	@Test
+	public void testGetContext_Stride() throws IOException
+	{
+		parser = new XMLParser( XMLParser.DEFAULT_RECOVERY_DEPTH, 3 );
+		write( "<a>\n<b>\n<c>\n<d/>\n</c>\n</b>\n</a>\n" );
+		parser.readFile( file.toString() );
+		assertEquals( "Context is wrong ", lines( "5: </c>", "6: </b>" ), parser.getContext( 5, 0 ) + parser.getContext( 6, 0 ) );
+		assertEquals( "Context is wrong ", lines( "6: </b>", "7: </a>" ), parser.getContext( 7, 1 ) );
+	}
+
+	/**
+	 * Test method for {@link utilities.XMLParser#getContext(int, int)}.
+	 *
+	 * @throws IOException If the file cannot be read.
+	 */
+	@Test( expected = IndexOutOfBoundsException.class )
+	public void testGetContext_PastEnd() throws IOException
+	{
+		write( "<a>\n</a>\n" );
+		parser.readFile( file.toString() );
+		parser.getContext( 3, 0 );
+	}
+
+	/**
+	 * Test method for {@link utilities.XMLParser#getContext(int, int)}.
+	 *
+	 * @throws IOException If the file cannot be read.
+	 */
+	@Test( expected = IllegalStateException.class )
+	public void testGetContext_NoFile() throws IOException
+	{
+		parser.getContext( 1, 0 );
+	}
+
+	/**
+	 * Test method for {@link utilities.XMLParser#XMLParser(int)}.
+	 */
+	@Test( expected = IllegalArgumentException.class )
+	public void testConstructor_NegativeDepth()
+	{
+		new XMLParser( -1 );
+	}
+
+	/**
+	 * Writes a document to the temporary file.
+	 *
+	 * @param text The document.
+	 * @throws IOException If the file cannot be written.
+	 */
+	private void write( String text ) throws IOException
+	{
+		Files.write( file, text.getBytes( StandardCharsets.UTF_8 ) );
+	}
+
+	/**
+	 * Checks that the parser reported exactly the given errors, in order.
+	 *
+	 * @param expected The expected errors.
+	 */
+	private void assertErrors( String... expected )
+	{
+		MyQueue<String> errors = parser.takeErrors();
+		assertEquals( "Number of errors is wrong ", expected.length, errors.size() );
+		for( String error : expected )
+		{
+			assertEquals( "Error is wrong ", error, errors.dequeue() );
+		}
+	}
+
+	/**
+	 * Joins lines of expected context.
+	 *
+	 * @param lines The lines.
+	 * @return The lines, each followed by a line separator.
+	 */
+	private static String lines( String... lines )
+	{
+		StringBuilder text = new StringBuilder();
+		for( String line : lines )
+		{
+			text.append( line ).append( System.lineSeparator() );
+		}
+		return text.toString();
+	}
+}